@@ -0,0 +1,8 @@
+/**
+ * Migrates account.balance from a DOUBLE of the currency unit to a BIGINT of minor units (cents).
+ * Run once against an existing MySQL database before starting the new version of account-service.
+ */
+
+UPDATE account SET balance = ROUND(balance * 100);
+
+ALTER TABLE account MODIFY COLUMN balance BIGINT NOT NULL;
@@ -0,0 +1,20 @@
+/**
+ * Adds the outbox of the transactions that are sent to transaction-service by the background relay.
+ * Run once against an existing MySQL database before starting the new version of account-service.
+ */
+
+CREATE TABLE transaction_outbox (
+    id              BIGINT       NOT NULL,
+    account_id      BIGINT       NOT NULL,
+    amount          BIGINT       NOT NULL,
+    type            INTEGER      NOT NULL,
+    status          VARCHAR(16)  NOT NULL,
+    attempts        INTEGER      NOT NULL,
+    next_attempt_at DATETIME(6)  NOT NULL,
+    last_error      VARCHAR(255),
+    date_created    DATETIME(6)  NOT NULL,
+    date_sent       DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_outbox_status_next_attempt ON transaction_outbox (status, next_attempt_at);
@@ -0,0 +1,12 @@
+/**
+ * Account and outbox ids are allocated from pooled sequences (allocationSize 50). MySQL has no
+ * sequences, so Hibernate keeps them in single-row tables. The pooled optimizer hands out the 50 ids
+ * below the stored value, hence the + 51. Run once against an existing MySQL database before
+ * starting the new version of account-service.
+ */
+
+CREATE TABLE account_seq (next_val BIGINT);
+INSERT INTO account_seq SELECT COALESCE(MAX(id), 0) + 51 FROM account;
+
+CREATE TABLE transaction_outbox_seq (next_val BIGINT);
+INSERT INTO transaction_outbox_seq SELECT COALESCE(MAX(id), 0) + 51 FROM transaction_outbox;
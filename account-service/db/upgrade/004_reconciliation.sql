@@ -0,0 +1,40 @@
+/**
+ * Adds the reconciliation runs and the mismatches they record, with the pooled sequences of their
+ * ids (allocationSize 50). Run once against an existing MySQL database before starting the new
+ * version of account-service.
+ */
+
+CREATE TABLE reconciliation_run (
+    id               BIGINT       NOT NULL,
+    status           VARCHAR(16)  NOT NULL,
+    next_account_id  BIGINT       NOT NULL,
+    last_account_id  BIGINT       NOT NULL,
+    accounts_checked BIGINT       NOT NULL,
+    mismatch_count   BIGINT       NOT NULL,
+    last_error       VARCHAR(255),
+    date_started     DATETIME(6)  NOT NULL,
+    date_updated     DATETIME(6),
+    date_finished    DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE reconciliation_mismatch (
+    id              BIGINT      NOT NULL,
+    run_id          BIGINT      NOT NULL,
+    account_id      BIGINT      NOT NULL,
+    balance         BIGINT      NOT NULL,
+    transaction_net BIGINT      NOT NULL,
+    pending_net     BIGINT      NOT NULL,
+    failed_net      BIGINT      NOT NULL,
+    difference      BIGINT      NOT NULL,
+    date_detected   DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_reconciliation_mismatch_run_account ON reconciliation_mismatch (run_id, account_id);
+
+CREATE TABLE reconciliation_run_seq (next_val BIGINT);
+INSERT INTO reconciliation_run_seq VALUES (1);
+
+CREATE TABLE reconciliation_mismatch_seq (next_val BIGINT);
+INSERT INTO reconciliation_mismatch_seq VALUES (1);
@@ -0,0 +1,41 @@
+/**
+ * Adds the interest accrual runs and the chunks they completed, with the pooled sequences of their
+ * ids (allocationSize 50). Run once against an existing MySQL database before starting the new
+ * version of account-service.
+ */
+
+CREATE TABLE interest_accrual_run (
+    id                 BIGINT       NOT NULL,
+    accrual_date       DATE         NOT NULL,
+    annual_rate        DECIMAL(9,6) NOT NULL,
+    chunk_size         INTEGER      NOT NULL,
+    last_account_id    BIGINT       NOT NULL,
+    status             VARCHAR(16)  NOT NULL,
+    chunks_completed   BIGINT       NOT NULL,
+    accounts_processed BIGINT       NOT NULL,
+    interest_total     BIGINT       NOT NULL,
+    elapsed_millis     BIGINT       NOT NULL,
+    last_error         VARCHAR(255),
+    date_started       DATETIME(6)  NOT NULL,
+    date_updated       DATETIME(6),
+    date_finished      DATETIME(6),
+    PRIMARY KEY (id),
+    UNIQUE (accrual_date)
+);
+
+CREATE TABLE interest_accrual_chunk (
+    id              BIGINT      NOT NULL,
+    run_id          BIGINT      NOT NULL,
+    from_account_id BIGINT      NOT NULL,
+    accounts        BIGINT      NOT NULL,
+    interest        BIGINT      NOT NULL,
+    date_completed  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_interest_accrual_chunk_run_from UNIQUE (run_id, from_account_id)
+);
+
+CREATE TABLE interest_accrual_run_seq (next_val BIGINT);
+INSERT INTO interest_accrual_run_seq VALUES (1);
+
+CREATE TABLE interest_accrual_chunk_seq (next_val BIGINT);
+INSERT INTO interest_accrual_chunk_seq VALUES (1);
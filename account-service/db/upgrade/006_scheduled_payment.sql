@@ -0,0 +1,29 @@
+/**
+ * Adds the scheduled payments and the pooled sequence of their ids (allocationSize 50). Run once
+ * against an existing MySQL database before starting the new version of account-service.
+ */
+
+CREATE TABLE scheduled_payment (
+    id                 BIGINT       NOT NULL,
+    account_id         BIGINT       NOT NULL,
+    amount             BIGINT       NOT NULL,
+    type               INTEGER      NOT NULL,
+    frequency          VARCHAR(16)  NOT NULL,
+    status             VARCHAR(16)  NOT NULL,
+    first_execution_at DATETIME(6)  NOT NULL,
+    next_execution_at  DATETIME(6)  NOT NULL,
+    end_at             DATETIME(6),
+    occurrences        INTEGER      NOT NULL,
+    executions         INTEGER      NOT NULL,
+    failed_executions  INTEGER      NOT NULL,
+    last_error         VARCHAR(255),
+    last_executed_at   DATETIME(6),
+    date_created       DATETIME(6)  NOT NULL,
+    date_updated       DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_scheduled_payment_status_id ON scheduled_payment (status, id);
+
+CREATE TABLE scheduled_payment_seq (next_val BIGINT);
+INSERT INTO scheduled_payment_seq VALUES (1);
@@ -0,0 +1,69 @@
+package io.assessment.banking.service.account;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.assessment.banking.AccountServiceApp;
+import io.assessment.banking.constant.account.AccountType;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.model.account.entity.Account;
+import io.assessment.banking.repository.account.AccountRepository;
+import io.assessment.banking.repository.customer.CustomerRepository;
+
+/**
+ * Measures the throughput of concurrent credits to one hot account, with each credit and its outbox
+ * entry committed directly by its caller against routing them through the balance update
+ * sequencer. The application is started without the web layer on the embedded H2 database
+ *
+ * @author Nikhil Vibhav
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class BalanceUpdateThroughputBenchmark {
+
+  @Param({"DIRECT", "SEQUENCED"})
+  private String mode;
+
+  private ConfigurableApplicationContext context;
+  private AccountService accountService;
+  private Long accountId;
+
+  @Setup
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(AccountServiceApp.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "account.balance.update.mode=" + mode,
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN")
+            .run();
+    accountService = context.getBean(AccountService.class);
+
+    final Account account = new Account();
+    // Customer 1 is loaded by data.sql
+    account.setCustomer(context.getBean(CustomerRepository.class).findById(1L).orElseThrow());
+    account.setType(AccountType.CURRENT);
+    account.setBalance(0L);
+    accountId = context.getBean(AccountRepository.class).save(account).getId();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Account creditHotAccount() throws Exception {
+    return accountService.postTransaction(accountId, 100L, TransactionType.CREDIT);
+  }
+}
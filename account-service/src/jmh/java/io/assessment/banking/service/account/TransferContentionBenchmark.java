@@ -0,0 +1,100 @@
+package io.assessment.banking.service.account;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.assessment.banking.AccountServiceApp;
+import io.assessment.banking.constant.account.AccountType;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.model.account.entity.Account;
+import io.assessment.banking.model.customer.entity.Customer;
+import io.assessment.banking.repository.account.AccountRepository;
+import io.assessment.banking.repository.customer.CustomerRepository;
+
+/**
+ * Measures the throughput of concurrent transfers between a small set of hot accounts, moving the
+ * money with one transfer that locks both accounts in id order against a DEBIT and a CREDIT sent as
+ * two independent balance updates. Every thread picks a random pair and direction, so opposite
+ * transfers between the same accounts overlap all the time and a deadlock fails the run. The
+ * application is started without the web layer on the embedded H2 database
+ *
+ * @author Nikhil Vibhav
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class TransferContentionBenchmark {
+
+  /** Every account starts with enough money that no transfer is rejected during a run */
+  private static final long INITIAL_BALANCE = 1_000_000_000L;
+
+  private static final long AMOUNT = 100L;
+
+  @Param({"8"})
+  private int accounts;
+
+  private ConfigurableApplicationContext context;
+  private AccountService accountService;
+  private Long[] accountIds;
+
+  @Setup
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(AccountServiceApp.class)
+            .web(WebApplicationType.NONE)
+            .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+            .run();
+    accountService = context.getBean(AccountService.class);
+
+    // Customer 1 is loaded by data.sql
+    final Customer customer = context.getBean(CustomerRepository.class).findById(1L).orElseThrow();
+    final AccountRepository accountRepository = context.getBean(AccountRepository.class);
+    accountIds = new Long[accounts];
+    for (int i = 0; i < accounts; i++) {
+      final Account account = new Account();
+      account.setCustomer(customer);
+      account.setType(AccountType.CURRENT);
+      account.setBalance(INITIAL_BALANCE);
+      accountIds[i] = accountRepository.save(account).getId();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Object transfer() throws Exception {
+    final Long[] pair = randomPair();
+    return accountService.transfer(pair[0], pair[1], AMOUNT);
+  }
+
+  @Benchmark
+  public Object debitThenCredit() throws Exception {
+    final Long[] pair = randomPair();
+    accountService.updateBalance(pair[0], AMOUNT, TransactionType.DEBIT);
+    return accountService.updateBalance(pair[1], AMOUNT, TransactionType.CREDIT);
+  }
+
+  /**
+   * Picks two different accounts in random order
+   *
+   * @return the account to debit and the account to credit
+   */
+  private Long[] randomPair() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final int from = random.nextInt(accounts);
+    final int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+    return new Long[] {accountIds[from], accountIds[to]};
+  }
+}
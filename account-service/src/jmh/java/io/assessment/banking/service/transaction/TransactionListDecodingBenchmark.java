@@ -0,0 +1,98 @@
+package io.assessment.banking.service.transaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.reflect.TypeToken;
+
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.model.transaction.vo.TransactionVO;
+
+/**
+ * Compares decoding a transaction-service response by buffering it into a {@link String} and
+ * parsing it with Gson, against decoding it from the response stream with Spring's Jackson codec.
+ * Run with {@code ./gradlew :account-service:jmh}, the gc profiler reports the bytes allocated
+ * per operation ({@code gc.alloc.rate.norm})
+ *
+ * @author Nikhil Vibhav
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionListDecodingBenchmark {
+
+  private static final Type GSON_LIST_TYPE = new TypeToken<List<TransactionVO>>() {}.getType();
+
+  @Param({"100", "5000"})
+  private int transactions;
+
+  private byte[] responseBody;
+  private Gson gson;
+  private ObjectMapper objectMapper;
+  private JavaType jacksonListType;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    jacksonListType =
+        objectMapper.getTypeFactory().constructCollectionType(List.class, TransactionVO.class);
+
+    // The Gson set up that TransactionServiceImpl used before decoding with Jackson
+    gson =
+        new GsonBuilder()
+            .registerTypeAdapter(
+                ZonedDateTime.class,
+                (JsonDeserializer<ZonedDateTime>)
+                    (json, type, context) ->
+                        ZonedDateTime.from(
+                            ZonedDateTime.parse(json.getAsJsonPrimitive().getAsString())
+                                .toLocalDateTime()
+                                .atZone(ZoneId.systemDefault())))
+            .create();
+
+    final List<TransactionVO> history = new ArrayList<>(transactions);
+    final ZonedDateTime start =
+        ZonedDateTime.of(2021, 2, 9, 0, 0, 0, 0, ZoneOffset.ofHoursMinutes(5, 30));
+    for (int i = 0; i < transactions; i++) {
+      final TransactionVO transaction = new TransactionVO();
+      transaction.setId((long) i);
+      transaction.setAccountId(1L);
+      transaction.setAmount(BigDecimal.valueOf(1000L + i, 2));
+      transaction.setType(i % 2 == 0 ? TransactionType.CREDIT : TransactionType.DEBIT);
+      transaction.setDateTransacted(start.plusSeconds(i).plusNanos(441411000L));
+      history.add(transaction);
+    }
+    responseBody = objectMapper.writeValueAsBytes(history);
+  }
+
+  @Benchmark
+  public List<TransactionVO> gsonFromBufferedString() {
+    final String body = new String(responseBody, StandardCharsets.UTF_8);
+    return gson.fromJson(body, GSON_LIST_TYPE);
+  }
+
+  @Benchmark
+  public List<TransactionVO> jacksonFromStream() throws IOException {
+    return objectMapper.readValue(new ByteArrayInputStream(responseBody), jacksonListType);
+  }
+}
@@ -0,0 +1,38 @@
+package io.assessment.banking.util.time;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares {@link IsoZonedDateTimeParser} with the parse-and-re-zone of {@link ZonedDateTime}
+ * that was used for every transaction timestamp
+ *
+ * @author Nikhil Vibhav
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimestampParsingBenchmark {
+
+  private static final ZoneId SYSTEM_ZONE = ZoneId.systemDefault();
+
+  private final String timestamp = "2021-02-09T00:38:41.441411+05:30";
+  private final char[] buffer = timestamp.toCharArray();
+
+  @Benchmark
+  public ZonedDateTime zonedDateTimeParse() {
+    return ZonedDateTime.from(
+        ZonedDateTime.parse(timestamp).toLocalDateTime().atZone(ZoneId.systemDefault()));
+  }
+
+  @Benchmark
+  public ZonedDateTime isoZonedDateTimeParser() {
+    return IsoZonedDateTimeParser.parse(buffer, 0, buffer.length, SYSTEM_ZONE);
+  }
+}
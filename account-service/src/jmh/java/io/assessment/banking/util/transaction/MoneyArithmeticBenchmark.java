@@ -0,0 +1,78 @@
+package io.assessment.banking.util.transaction;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.exception.account.LowBalanceException;
+
+/**
+ * Compares the credit/debit hot path on boxed {@link Double} amounts, as {@link TransactionUtil}
+ * used to do it, against the primitive {@code long} minor units path. Each operation applies a
+ * credit and a debit to a running balance. Run with {@code ./gradlew :account-service:jmh}, the gc
+ * profiler reports the bytes allocated per operation ({@code gc.alloc.rate.norm})
+ *
+ * @author Nikhil Vibhav
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+  private Double boxedBalance;
+  private Double boxedCredit;
+  private Double boxedDebit;
+
+  private long balance;
+  private long credit;
+  private long debit;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    // Values outside of the Long/Double caches, like real balances
+    boxedBalance = 1_000_000.0;
+    boxedCredit = 12.34;
+    boxedDebit = 12.33;
+
+    balance = 100_000_000L;
+    credit = 1234L;
+    debit = 1233L;
+  }
+
+  @Benchmark
+  public Double boxedDouble() throws LowBalanceException {
+    boxedBalance = performBoxedTransaction(boxedCredit, boxedBalance, TransactionType.CREDIT);
+    boxedBalance = performBoxedTransaction(boxedDebit, boxedBalance, TransactionType.DEBIT);
+    return boxedBalance;
+  }
+
+  @Benchmark
+  public long primitiveMinorUnits() throws LowBalanceException {
+    balance = TransactionUtil.performTransaction(credit, balance, TransactionType.CREDIT);
+    balance = TransactionUtil.performTransaction(debit, balance, TransactionType.DEBIT);
+    return balance;
+  }
+
+  /** The boxed implementation {@link TransactionUtil#performTransaction} replaced */
+  private static Double performBoxedTransaction(
+      final Double amount, final Double balance, final TransactionType type)
+      throws LowBalanceException {
+
+    switch (type) {
+      case CREDIT:
+        return balance + amount;
+      case DEBIT:
+        if (balance < amount) {
+          throw new LowBalanceException(
+              "The account has low balance to perform the DEBIT operation");
+        }
+        return balance - amount;
+      default:
+        throw new IllegalStateException("Unexpected value: " + type);
+    }
+  }
+}
@@ -1,25 +1,295 @@
 package io.assessment.banking.config;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.assessment.banking.model.customer.entity.Customer;
+import io.assessment.banking.model.transaction.vo.TransactionVO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
 /**
  * Configuration class for Account Service application
  *
  * @author Nikhil Vibhav
  */
 @Configuration
+@EnableScheduling
 public class AccountServiceConfig {
 
   /**
-   * Generates a bean of {@link RestTemplate}
+   * Generates a bean of {@link RestTemplate} backed by the pooled transaction service HTTP client
    *
+   * @param restTemplateBuilder - the {@link RestTemplateBuilder} configured by Spring Boot
+   * @param transactionServiceHttpClient - the pooled HTTP client
    * @return {@link RestTemplate} bean
    */
   @Bean
-  public RestTemplate getRestTemplate() {
-    return new RestTemplateBuilder().build();
+  public RestTemplate getRestTemplate(
+      final RestTemplateBuilder restTemplateBuilder,
+      final CloseableHttpClient transactionServiceHttpClient) {
+    return restTemplateBuilder
+        .requestFactory(
+            () -> new HttpComponentsClientHttpRequestFactory(transactionServiceHttpClient))
+        .build();
+  }
+
+  /**
+   * Generates the connection pool used for the calls to transaction service
+   *
+   * @param maxTotal - the maximum number of connections in the pool
+   * @param maxPerRoute - the maximum number of connections per host
+   * @param validateAfterInactivityMillis - the idle time after which a pooled connection is
+   *     checked before it is leased again
+   * @return {@link PoolingHttpClientConnectionManager} bean
+   */
+  @Bean
+  public PoolingHttpClientConnectionManager transactionServiceConnectionManager(
+      @Value("${transaction.service.http.max-total:200}") final int maxTotal,
+      @Value("${transaction.service.http.max-per-route:50}") final int maxPerRoute,
+      @Value("${transaction.service.http.validate-after-inactivity-millis:2000}")
+          final int validateAfterInactivityMillis) {
+    final PoolingHttpClientConnectionManager connectionManager =
+        new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(maxTotal);
+    connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+    connectionManager.setValidateAfterInactivity(validateAfterInactivityMillis);
+    return connectionManager;
+  }
+
+  /**
+   * Generates the pooled, keep-alive HTTP client used for the calls to transaction service. Expired
+   * and idle connections are evicted by a background thread of the client
+   *
+   * @param connectionManager - the connection pool
+   * @param connectTimeoutMillis - the timeout for establishing a connection
+   * @param readTimeoutMillis - the timeout for waiting for data on an established connection
+   * @param poolAcquireTimeoutMillis - the timeout for leasing a connection from the pool
+   * @param keepAliveMillis - the maximum time a connection is kept alive, if the server doesn't
+   *     ask for a shorter time
+   * @param idleEvictionMillis - the idle time after which a pooled connection is closed
+   * @return {@link CloseableHttpClient} bean
+   */
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient transactionServiceHttpClient(
+      final PoolingHttpClientConnectionManager connectionManager,
+      @Value("${transaction.service.http.connect-timeout-millis:1000}")
+          final int connectTimeoutMillis,
+      @Value("${transaction.service.http.read-timeout-millis:5000}") final int readTimeoutMillis,
+      @Value("${transaction.service.http.pool-acquire-timeout-millis:500}")
+          final int poolAcquireTimeoutMillis,
+      @Value("${transaction.service.http.keep-alive-millis:30000}") final long keepAliveMillis,
+      @Value("${transaction.service.http.idle-eviction-millis:30000}")
+          final long idleEvictionMillis) {
+
+    final RequestConfig requestConfig =
+        RequestConfig.custom()
+            .setConnectTimeout(connectTimeoutMillis)
+            .setSocketTimeout(readTimeoutMillis)
+            .setConnectionRequestTimeout(poolAcquireTimeoutMillis)
+            .build();
+
+    return HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(requestConfig)
+        .setKeepAliveStrategy(
+            (response, context) -> {
+              final long serverKeepAlive =
+                  DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(
+                      response, context);
+              return serverKeepAlive > 0
+                  ? Math.min(serverKeepAlive, keepAliveMillis)
+                  : keepAliveMillis;
+            })
+        .evictExpiredConnections()
+        .evictIdleConnections(idleEvictionMillis, TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  /**
+   * Publishes the leased, available and pending connections of the transaction service pool as
+   * metrics under {@code httpcomponents.httpclient.pool.*}
+   *
+   * @param connectionManager - the connection pool
+   * @return {@link MeterBinder} bean
+   */
+  @Bean
+  public MeterBinder transactionServiceConnectionPoolMetrics(
+      final PoolingHttpClientConnectionManager connectionManager) {
+    return new PoolingHttpClientConnectionManagerMetricsBinder(
+        connectionManager, "transaction-service");
+  }
+
+  /**
+   * Generates a bounded {@link ExecutorService} used to look up transactions of several accounts
+   * concurrently
+   *
+   * @param maxParallelism - the maximum number of concurrent calls to transaction service
+   * @return {@link ExecutorService} bean
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService transactionLookupExecutor(
+      @Value("${transaction.service.lookup.max-parallelism:8}") final int maxParallelism) {
+    return Executors.newFixedThreadPool(
+        maxParallelism, new CustomizableThreadFactory("transaction-lookup-"));
+  }
+
+  /**
+   * Generates the single thread {@link Executor} reconciliation runs are driven from. The accounts
+   * of a run are checked on a separate pool sized by {@code account.reconciliation.parallelism}
+   *
+   * @return {@link ExecutorService} bean
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService reconciliationExecutor() {
+    return Executors.newSingleThreadExecutor(new CustomizableThreadFactory("reconciliation-"));
+  }
+
+  /**
+   * Generates the single thread {@link Executor} interest accrual runs are driven from. The chunks
+   * of a run are accrued on a separate pool sized by {@code account.interest.parallelism}
+   *
+   * @return {@link ExecutorService} bean
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService interestAccrualExecutor() {
+    return Executors.newSingleThreadExecutor(
+        new CustomizableThreadFactory("interest-accrual-run-"));
+  }
+
+  /**
+   * Generates the cache of customers looked up by id. The cache holds at most {@code maximumSize}
+   * customers and an entry expires {@code ttlSeconds} after it was loaded
+   *
+   * @param maximumSize - the maximum number of cached customers
+   * @param ttlSeconds - the time after which a cached customer is read from the database again
+   * @return {@link Cache} bean
+   */
+  @Bean
+  public Cache<Long, Customer> customerCache(
+      @Value("${customer.cache.maximum-size:10000}") final long maximumSize,
+      @Value("${customer.cache.ttl-seconds:300}") final long ttlSeconds) {
+    return Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Publishes the hits, misses, evictions and size of the customer cache as metrics under {@code
+   * cache.*} with the tag {@code cache=customers}
+   *
+   * @param customerCache - the customer cache
+   * @return {@link MeterBinder} bean
+   */
+  @Bean
+  public MeterBinder customerCacheMetrics(final Cache<Long, Customer> customerCache) {
+    return registry -> CaffeineCacheMetrics.monitor(registry, customerCache, "customers");
+  }
+
+  /**
+   * Generates the cache of the transactions of each account. The weight of an entry is the number
+   * of transactions it holds and the cache holds at most {@code maximumWeight} transactions. An
+   * entry expires {@code ttlSeconds} after it was loaded from transaction service, updating it in
+   * place doesn't extend its lifetime
+   *
+   * @param maximumWeight - the maximum number of cached transactions
+   * @param ttlSeconds - the time after which the transactions of an account are requested from
+   *     transaction service again
+   * @return {@link Cache} bean
+   */
+  @Bean
+  public Cache<Long, List<TransactionVO>> transactionCache(
+      @Value("${transaction.cache.maximum-weight:100000}") final long maximumWeight,
+      @Value("${transaction.cache.ttl-seconds:60}") final long ttlSeconds) {
+    final long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+
+    return Caffeine.newBuilder()
+        .maximumWeight(maximumWeight)
+        .<Long, List<TransactionVO>>weigher((accountId, transactions) -> 1 + transactions.size())
+        .expireAfter(
+            new Expiry<Long, List<TransactionVO>>() {
+              @Override
+              public long expireAfterCreate(
+                  final Long accountId, final List<TransactionVO> transactions, final long now) {
+                return ttlNanos;
+              }
+
+              @Override
+              public long expireAfterUpdate(
+                  final Long accountId,
+                  final List<TransactionVO> transactions,
+                  final long now,
+                  final long remainingNanos) {
+                return remainingNanos;
+              }
+
+              @Override
+              public long expireAfterRead(
+                  final Long accountId,
+                  final List<TransactionVO> transactions,
+                  final long now,
+                  final long remainingNanos) {
+                return remainingNanos;
+              }
+            })
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Publishes the statistics of the transaction cache as metrics under {@code cache.*} with the tag
+   * {@code cache=transactions}, along with its hit ratio and the number of transactions it holds
+   *
+   * @param transactionCache - the transaction cache
+   * @return {@link MeterBinder} bean
+   */
+  @Bean
+  public MeterBinder transactionCacheMetrics(
+      final Cache<Long, List<TransactionVO>> transactionCache) {
+    return registry -> {
+      CaffeineCacheMetrics.monitor(registry, transactionCache, "transactions");
+      Gauge.builder("cache.hit.ratio", transactionCache, cache -> cache.stats().hitRate())
+          .tag("cache", "transactions")
+          .description("The ratio of cache lookups that were hits")
+          .register(registry);
+      Gauge.builder(
+              "cache.weighted.size",
+              transactionCache,
+              cache ->
+                  cache
+                      .policy()
+                      .eviction()
+                      .map(eviction -> eviction.weightedSize().orElse(0L))
+                      .orElse(0L))
+          .tag("cache", "transactions")
+          .description("The number of cached transactions")
+          .register(registry);
+    };
   }
 }
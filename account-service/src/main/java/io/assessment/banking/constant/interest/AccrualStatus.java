@@ -0,0 +1,12 @@
+package io.assessment.banking.constant.interest;
+
+/**
+ * Enum to denote the status of an interest accrual run
+ *
+ * @author Nikhil Vibhav
+ */
+public enum AccrualStatus {
+  RUNNING,
+  FAILED,
+  COMPLETED
+}
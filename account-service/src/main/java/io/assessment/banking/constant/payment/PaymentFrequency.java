@@ -0,0 +1,13 @@
+package io.assessment.banking.constant.payment;
+
+/**
+ * Enum to denote how often a scheduled payment is executed
+ *
+ * @author Nikhil Vibhav
+ */
+public enum PaymentFrequency {
+  ONCE,
+  DAILY,
+  WEEKLY,
+  MONTHLY
+}
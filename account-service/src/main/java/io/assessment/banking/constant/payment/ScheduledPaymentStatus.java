@@ -0,0 +1,13 @@
+package io.assessment.banking.constant.payment;
+
+/**
+ * Enum to denote the status of a scheduled payment
+ *
+ * @author Nikhil Vibhav
+ */
+public enum ScheduledPaymentStatus {
+  ACTIVE,
+  COMPLETED,
+  CANCELLED,
+  FAILED
+}
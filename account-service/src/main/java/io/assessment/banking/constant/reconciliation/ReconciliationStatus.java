@@ -0,0 +1,12 @@
+package io.assessment.banking.constant.reconciliation;
+
+/**
+ * Enum to denote the status of a reconciliation run
+ *
+ * @author Nikhil Vibhav
+ */
+public enum ReconciliationStatus {
+  RUNNING,
+  FAILED,
+  COMPLETED
+}
@@ -0,0 +1,12 @@
+package io.assessment.banking.constant.transaction;
+
+/**
+ * Enum to denote the delivery status of a transaction in the outbox
+ *
+ * @author Nikhil Vibhav
+ */
+public enum OutboxStatus {
+  PENDING,
+  SENT,
+  FAILED
+}
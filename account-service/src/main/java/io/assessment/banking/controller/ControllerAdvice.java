@@ -17,6 +17,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import io.assessment.banking.controller.account.AccountController;
 import io.assessment.banking.exception.account.CreditTooLowException;
+import io.assessment.banking.exception.account.SameAccountTransferException;
 import lombok.extern.log4j.Log4j2;
 
 /**
@@ -111,4 +112,24 @@ public class ControllerAdvice extends ResponseEntityExceptionHandler {
 
     return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
   }
+
+  /**
+   * Handles the {@link SameAccountTransferException}
+   *
+   * @param ex - instance of {@link SameAccountTransferException}
+   * @return the {@link ResponseEntity} containing the error response
+   */
+  @ExceptionHandler(SameAccountTransferException.class)
+  public ResponseEntity<Object> handleSameAccountTransfer(final SameAccountTransferException ex) {
+
+    log.info("Handling SameAccountTransferException - {}", ex.getMessage());
+
+    final Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", new Date());
+    body.put("status", HttpStatus.BAD_REQUEST.value());
+    body.put("message", "The request failed validation checks. Error count - 1");
+    body.put("errors", Collections.singletonList(ex.getMessage()));
+
+    return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+  }
 }
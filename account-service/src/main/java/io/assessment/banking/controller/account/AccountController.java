@@ -11,7 +11,12 @@ import org.springframework.web.bind.annotation.*;
 import io.assessment.banking.exception.account.*;
 import io.assessment.banking.exception.customer.CustomerNotFoundException;
 import io.assessment.banking.facade.account.AccountFacade;
+import io.assessment.banking.facade.account.BulkAccountFacade;
+import io.assessment.banking.model.account.vo.AccountTransactionVO;
 import io.assessment.banking.model.account.vo.AccountVO;
+import io.assessment.banking.model.account.vo.BulkAccountRequestVO;
+import io.assessment.banking.model.account.vo.BulkAccountResponseVO;
+import io.assessment.banking.model.account.vo.TransferVO;
 import lombok.extern.log4j.Log4j2;
 
 /**
@@ -25,10 +30,12 @@ import lombok.extern.log4j.Log4j2;
 public class AccountController {
 
   private final AccountFacade facade;
+  private final BulkAccountFacade bulkFacade;
 
   @Autowired
-  public AccountController(final AccountFacade facade) {
+  public AccountController(final AccountFacade facade, final BulkAccountFacade bulkFacade) {
     this.facade = facade;
+    this.bulkFacade = bulkFacade;
   }
 
   /**
@@ -42,22 +49,84 @@ public class AccountController {
    * @throws CustomerNotFoundException - when the application cannot find the customer by the given
    *     id
    * @throws CreditTooLowException - when the initial credit in the request is 0
-   * @throws AccountCreationFailedException - thrown when the saveTransaction failed and returns an
-   *     error response to the user
    */
   @CrossOrigin("http://localhost:3000")
   @PostMapping(path = "/current", consumes = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<AccountVO> openCurrentAccount(@Valid @RequestBody final AccountVO request)
       throws AccountNotFoundException, LowBalanceException, CustomerNotFoundException,
-          CreditTooLowException, AccountCreationFailedException {
+          CreditTooLowException {
 
     log.info("Received request for opening a current bank account: {}", request);
 
-    if (request.getInitialCredit() == 0) {
+    if (request.getInitialCredit().signum() == 0) {
       throw new CreditTooLowException("Initial Credit is too low to open the account");
     }
 
     return ResponseEntity.status(HttpStatus.CREATED)
         .body(facade.saveCurrentAccount(request.getCustomerId(), request.getInitialCredit()));
   }
+
+  /**
+   * This creates a CURRENT account for each of the requests in the batch. Each request is
+   * validated on its own, the response reports the outcome of every request in request order
+   *
+   * @param request - The batch of Account creation requests
+   * @return the {@link BulkAccountResponseVO} value object
+   */
+  @CrossOrigin("http://localhost:3000")
+  @PostMapping(path = "/current/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<BulkAccountResponseVO> openCurrentAccounts(
+      @Valid @RequestBody final BulkAccountRequestVO request) {
+
+    log.info("Received request for opening {} current bank accounts", request.getAccounts().size());
+
+    return ResponseEntity.ok(bulkFacade.saveCurrentAccounts(request.getAccounts()));
+  }
+
+  /**
+   * This credits or debits an account, e.g. to settle a card payment to a merchant account
+   *
+   * @param accountId - The account id
+   * @param request - The CREDIT/DEBIT request
+   * @return the {@link AccountVO} value object with the updated balance
+   * @throws AccountNotFoundException - when the application cannot find the account by the given id
+   * @throws LowBalanceException - when the account has insufficient balance to perform the
+   *     operation
+   */
+  @CrossOrigin("http://localhost:3000")
+  @PostMapping(path = "/{accountId}/transaction", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<AccountVO> postTransaction(
+      @PathVariable final Long accountId, @Valid @RequestBody final AccountTransactionVO request)
+      throws AccountNotFoundException, LowBalanceException {
+
+    log.info("Received request for a {} to account: {}", request.getType(), accountId);
+
+    return ResponseEntity.ok(
+        facade.postTransaction(accountId, request.getAmount(), request.getType()));
+  }
+
+  /**
+   * This transfers money from one account to another. Both balances change together or not at all
+   *
+   * @param request - The transfer request
+   * @return the {@link TransferVO} value object with both updated accounts
+   * @throws AccountNotFoundException - when the application cannot find one of the accounts
+   * @throws LowBalanceException - when the debited account has insufficient balance to perform the
+   *     operation
+   * @throws SameAccountTransferException - when the request debits and credits the same account
+   */
+  @CrossOrigin("http://localhost:3000")
+  @PostMapping(path = "/transfer", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<TransferVO> transfer(@Valid @RequestBody final TransferVO request)
+      throws AccountNotFoundException, LowBalanceException, SameAccountTransferException {
+
+    log.info("Received request for transferring money between accounts: {}", request);
+
+    if (request.getFromAccountId().equals(request.getToAccountId())) {
+      throw new SameAccountTransferException("Cannot transfer money to the same account");
+    }
+
+    return ResponseEntity.ok(
+        facade.transfer(request.getFromAccountId(), request.getToAccountId(), request.getAmount()));
+  }
 }
@@ -0,0 +1,72 @@
+package io.assessment.banking.controller.interest;
+
+import java.time.LocalDate;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import io.assessment.banking.exception.interest.InterestAccrualRunNotFoundException;
+import io.assessment.banking.facade.interest.InterestAccrualFacade;
+import io.assessment.banking.model.interest.vo.InterestAccrualRunVO;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * REST controller to start the accrual of interest on the savings accounts and to follow its
+ * progress
+ *
+ * @author Nikhil Vibhav
+ */
+@RestController
+@RequestMapping(path = "/api/bank/v1/interest/accrual", produces = MediaType.APPLICATION_JSON_VALUE)
+@Validated
+@Log4j2
+public class InterestAccrualController {
+
+  private final InterestAccrualFacade facade;
+
+  @Autowired
+  public InterestAccrualController(final InterestAccrualFacade facade) {
+    this.facade = facade;
+  }
+
+  /**
+   * Starts the interest accrual of a day, or resumes it if it didn't complete. The run continues
+   * in the background
+   *
+   * @param date - The day to accrue the interest of, today when absent
+   * @return the run of the day
+   */
+  @PostMapping
+  public ResponseEntity<InterestAccrualRunVO> startOrResume(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          final LocalDate date) {
+
+    final LocalDate accrualDate = date == null ? LocalDate.now() : date;
+    log.info("Received request to accrue the interest of: {}", accrualDate);
+
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(facade.startOrResume(accrualDate));
+  }
+
+  /**
+   * Gets the progress of an interest accrual run
+   *
+   * @param id - The run id
+   * @return the run
+   * @throws InterestAccrualRunNotFoundException when there is no run with the given id
+   */
+  @GetMapping(path = "/{id}")
+  public ResponseEntity<InterestAccrualRunVO> getRun(@PathVariable @Min(1) final Long id)
+      throws InterestAccrualRunNotFoundException {
+
+    log.info("Received request to get interest accrual run: {}", id);
+
+    return ResponseEntity.ok(facade.getRun(id));
+  }
+}
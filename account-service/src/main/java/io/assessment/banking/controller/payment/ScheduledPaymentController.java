@@ -0,0 +1,86 @@
+package io.assessment.banking.controller.payment;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import io.assessment.banking.exception.account.AccountNotFoundException;
+import io.assessment.banking.exception.payment.ScheduledPaymentNotFoundException;
+import io.assessment.banking.facade.payment.ScheduledPaymentFacade;
+import io.assessment.banking.model.payment.vo.ScheduledPaymentVO;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * REST controller to schedule future-dated and recurring payments and to cancel them
+ *
+ * @author Nikhil Vibhav
+ */
+@RestController
+@RequestMapping(
+    path = "/api/bank/v1/payment/scheduled",
+    produces = MediaType.APPLICATION_JSON_VALUE)
+@Validated
+@Log4j2
+public class ScheduledPaymentController {
+
+  private final ScheduledPaymentFacade facade;
+
+  @Autowired
+  public ScheduledPaymentController(final ScheduledPaymentFacade facade) {
+    this.facade = facade;
+  }
+
+  /**
+   * Schedules a CREDIT or DEBIT of an account, once or recurring from its first execution time
+   *
+   * @param request - The payment to schedule
+   * @return the scheduled payment
+   * @throws AccountNotFoundException - when the application cannot find the account by the given id
+   */
+  @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ScheduledPaymentVO> schedule(
+      @Valid @RequestBody final ScheduledPaymentVO request) throws AccountNotFoundException {
+
+    log.info("Received request to schedule a payment: {}", request);
+
+    return ResponseEntity.status(HttpStatus.CREATED).body(facade.schedule(request));
+  }
+
+  /**
+   * Gets a scheduled payment
+   *
+   * @param id - The payment id
+   * @return the scheduled payment
+   * @throws ScheduledPaymentNotFoundException when there is no payment with the given id
+   */
+  @GetMapping(path = "/{id}")
+  public ResponseEntity<ScheduledPaymentVO> getScheduledPayment(@PathVariable @Min(1) final Long id)
+      throws ScheduledPaymentNotFoundException {
+
+    log.info("Received request to get scheduled payment: {}", id);
+
+    return ResponseEntity.ok(facade.getScheduledPayment(id));
+  }
+
+  /**
+   * Cancels a scheduled payment, it is not executed again
+   *
+   * @param id - The payment id
+   * @return the cancelled payment
+   * @throws ScheduledPaymentNotFoundException when there is no payment with the given id
+   */
+  @DeleteMapping(path = "/{id}")
+  public ResponseEntity<ScheduledPaymentVO> cancel(@PathVariable @Min(1) final Long id)
+      throws ScheduledPaymentNotFoundException {
+
+    log.info("Received request to cancel scheduled payment: {}", id);
+
+    return ResponseEntity.ok(facade.cancel(id));
+  }
+}
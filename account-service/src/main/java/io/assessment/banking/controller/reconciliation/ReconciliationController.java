@@ -0,0 +1,93 @@
+package io.assessment.banking.controller.reconciliation;
+
+import java.util.List;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import io.assessment.banking.exception.reconciliation.ReconciliationRunNotFoundException;
+import io.assessment.banking.facade.reconciliation.ReconciliationFacade;
+import io.assessment.banking.model.reconciliation.vo.ReconciliationMismatchVO;
+import io.assessment.banking.model.reconciliation.vo.ReconciliationRunVO;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * REST controller to start the reconciliation of the account balances with the transactions and
+ * to follow its progress
+ *
+ * @author Nikhil Vibhav
+ */
+@RestController
+@RequestMapping(path = "/api/bank/v1/reconciliation", produces = MediaType.APPLICATION_JSON_VALUE)
+@Validated
+@Log4j2
+public class ReconciliationController {
+
+  private static final int MAX_MISMATCHES_PER_PAGE = 1000;
+
+  private final ReconciliationFacade facade;
+
+  @Autowired
+  public ReconciliationController(final ReconciliationFacade facade) {
+    this.facade = facade;
+  }
+
+  /**
+   * Starts a reconciliation run, or resumes the latest unfinished one. The run continues in the
+   * background
+   *
+   * @return the active run
+   */
+  @PostMapping
+  public ResponseEntity<ReconciliationRunVO> startOrResume() {
+
+    log.info("Received request to start a reconciliation run");
+
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(facade.startOrResume());
+  }
+
+  /**
+   * Gets the progress of a reconciliation run
+   *
+   * @param id - The run id
+   * @return the run
+   * @throws ReconciliationRunNotFoundException when there is no run with the given id
+   */
+  @GetMapping(path = "/{id}")
+  public ResponseEntity<ReconciliationRunVO> getRun(@PathVariable @Min(1) final Long id)
+      throws ReconciliationRunNotFoundException {
+
+    log.info("Received request to get reconciliation run: {}", id);
+
+    return ResponseEntity.ok(facade.getRun(id));
+  }
+
+  /**
+   * Gets a page of the mismatches a reconciliation run found, ordered by account id. The next page
+   * starts after the account id of the last mismatch of the page
+   *
+   * @param id - The run id
+   * @param afterAccountId - The account id to start after, 0 for the first page
+   * @param limit - The maximum number of mismatches to return
+   * @return the mismatches
+   * @throws ReconciliationRunNotFoundException when there is no run with the given id
+   */
+  @GetMapping(path = "/{id}/mismatches")
+  public ResponseEntity<List<ReconciliationMismatchVO>> getMismatches(
+      @PathVariable @Min(1) final Long id,
+      @RequestParam(defaultValue = "0") @Min(0) final long afterAccountId,
+      @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_MISMATCHES_PER_PAGE) final int limit)
+      throws ReconciliationRunNotFoundException {
+
+    log.info("Received request to get the mismatches of reconciliation run: {}", id);
+
+    return ResponseEntity.ok(facade.getMismatches(id, afterAccountId, limit));
+  }
+}
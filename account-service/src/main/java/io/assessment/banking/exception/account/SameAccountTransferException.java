@@ -0,0 +1,18 @@
+package io.assessment.banking.exception.account;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a transfer request debits and credits the same account
+ *
+ * @author Nikhil Vibhav
+ */
+@ResponseStatus(
+    value = HttpStatus.BAD_REQUEST,
+    reason = "The accounts of a transfer must be different")
+public class SameAccountTransferException extends Exception {
+  public SameAccountTransferException(final String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,18 @@
+package io.assessment.banking.exception.interest;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when the required interest accrual run cannot be found in the database
+ *
+ * @author Nikhil Vibhav
+ */
+@ResponseStatus(
+    value = HttpStatus.NOT_FOUND,
+    reason = "Could not find interest accrual run with the given id")
+public class InterestAccrualRunNotFoundException extends Exception {
+  public InterestAccrualRunNotFoundException(final String message) {
+    super(message);
+  }
+}
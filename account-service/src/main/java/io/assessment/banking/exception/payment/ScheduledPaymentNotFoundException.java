@@ -0,0 +1,18 @@
+package io.assessment.banking.exception.payment;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when the required scheduled payment cannot be found in the database
+ *
+ * @author Nikhil Vibhav
+ */
+@ResponseStatus(
+    value = HttpStatus.NOT_FOUND,
+    reason = "Could not find scheduled payment with the given id")
+public class ScheduledPaymentNotFoundException extends Exception {
+  public ScheduledPaymentNotFoundException(final String message) {
+    super(message);
+  }
+}
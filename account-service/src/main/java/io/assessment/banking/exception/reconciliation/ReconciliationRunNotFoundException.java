@@ -0,0 +1,18 @@
+package io.assessment.banking.exception.reconciliation;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when the required reconciliation run cannot be found in the database
+ *
+ * @author Nikhil Vibhav
+ */
+@ResponseStatus(
+    value = HttpStatus.NOT_FOUND,
+    reason = "Could not find reconciliation run with the given id")
+public class ReconciliationRunNotFoundException extends Exception {
+  public ReconciliationRunNotFoundException(final String message) {
+    super(message);
+  }
+}
@@ -1,28 +1,33 @@
 package io.assessment.banking.facade.account;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import io.assessment.banking.constant.account.AccountType;
 import io.assessment.banking.constant.transaction.TransactionType;
-import io.assessment.banking.exception.account.AccountCreationFailedException;
 import io.assessment.banking.exception.account.AccountNotFoundException;
 import io.assessment.banking.exception.account.LowBalanceException;
+import io.assessment.banking.exception.account.SameAccountTransferException;
 import io.assessment.banking.exception.customer.CustomerNotFoundException;
-import io.assessment.banking.exception.transaction.TransactionServiceInvalidResponseException;
-import io.assessment.banking.exception.transaction.TransactionServiceRestException;
 import io.assessment.banking.facade.account.mapper.AccountMapper;
 import io.assessment.banking.model.account.entity.Account;
 import io.assessment.banking.model.account.vo.AccountVO;
+import io.assessment.banking.model.account.vo.TransferVO;
 import io.assessment.banking.model.customer.entity.Customer;
-import io.assessment.banking.model.transaction.vo.TransactionVO;
+import io.assessment.banking.model.transaction.entity.TransactionOutbox;
 import io.assessment.banking.service.account.AccountService;
 import io.assessment.banking.service.customer.CustomerService;
-import io.assessment.banking.service.transaction.TransactionService;
+import io.assessment.banking.service.outbox.TransactionOutboxService;
+import io.assessment.banking.util.money.MoneyUtil;
 import lombok.extern.log4j.Log4j2;
 
 /**
  * Facade class to hide the complexity of calling different service layers for creating an account
+ * and transferring money between accounts
  *
  * @author Nikhil Vibhav
  */
@@ -31,93 +36,125 @@ import lombok.extern.log4j.Log4j2;
 public class AccountFacade {
 
   private final AccountService accountService;
-  private final TransactionService transactionService;
+  private final TransactionOutboxService transactionOutboxService;
   private final CustomerService customerService;
 
   @Autowired
   public AccountFacade(
       final AccountService accountService,
-      final TransactionService transactionService,
+      final TransactionOutboxService transactionOutboxService,
       final CustomerService customerService) {
     this.accountService = accountService;
-    this.transactionService = transactionService;
+    this.transactionOutboxService = transactionOutboxService;
     this.customerService = customerService;
   }
 
   /**
-   * Saves a current account
+   * Saves a current account. The account, its balance and the initial credit transaction are
+   * written in one local transaction, the transaction is sent to transaction service afterwards by
+   * the outbox relay
    *
    * @param customerId - the customerId in the request
    * @param initialCredit - the initialCredit in the request
-   * @return the updated {@link AccountVO} value object with the transaction and balance
+   * @return the updated {@link AccountVO} value object with the balance
    * @throws AccountNotFoundException - when the application cannot find the account by the given id
    * @throws LowBalanceException - when the account has insufficient balance to perform the
    *     operation
    * @throws CustomerNotFoundException - when the application cannot find the customer by the given
    *     id
-   * @throws AccountCreationFailedException - thrown when the saveTransaction failed and returns an
-   *     error response to the user
    */
-  public AccountVO saveCurrentAccount(final Long customerId, final Double initialCredit)
-      throws CustomerNotFoundException, AccountNotFoundException, LowBalanceException,
-          AccountCreationFailedException {
+  @Transactional(rollbackFor = Exception.class)
+  public AccountVO saveCurrentAccount(final Long customerId, final BigDecimal initialCredit)
+      throws CustomerNotFoundException, AccountNotFoundException, LowBalanceException {
 
+    final long amount = MoneyUtil.toMinorUnits(initialCredit);
     final Customer customer = customerService.getCustomerById(customerId);
     final Account savedAccount =
         accountService.createAccount(AccountMapper.toAccount(customer, AccountType.CURRENT));
     final Account updatedAccount =
-        accountService.updateBalance(savedAccount.getId(), initialCredit, TransactionType.CREDIT);
+        accountService.updateBalance(savedAccount.getId(), amount, TransactionType.CREDIT);
 
-    saveTransaction(initialCredit, savedAccount.getId());
+    transactionOutboxService.enqueue(savedAccount.getId(), amount, TransactionType.CREDIT);
+    log.debug("Saved current account: {} for customer: {}", savedAccount.getId(), customerId);
 
     return AccountMapper.toAccountVO(updatedAccount);
   }
 
   /**
-   * Calls transaction service to save the transaction
+   * Credits or debits an account. The balance change and the transaction are written in one local
+   * transaction by {@link AccountService}, not by this method, so that with {@code
+   * account.balance.update.mode=SEQUENCED} the transactions of a hot account are applied together
+   * by the sequencer
    *
-   * @param amount - the amount to save
-   * @param accountId - the account id against which to save the transaction
+   * @param accountId - the account id
+   * @param amount - the amount to credit/debit
+   * @param type - the transaction type - CREDIT/DEBIT
+   * @return the updated {@link AccountVO} value object with the balance
    * @throws AccountNotFoundException - when the application cannot find the account by the given id
-   * @throws AccountCreationFailedException - thrown when the saveTransaction failed and returns an
-   *     error response to the user
+   * @throws LowBalanceException - when the account has insufficient balance to perform the
+   *     operation
    */
-  private void saveTransaction(final double amount, final long accountId)
-      throws AccountNotFoundException, AccountCreationFailedException {
-    try {
-      final TransactionVO transactionToSave = new TransactionVO();
-      transactionToSave.setAccountId(accountId);
-      transactionToSave.setType(TransactionType.CREDIT);
-      transactionToSave.setAmount(amount);
-
-      final TransactionVO savedTransaction = transactionService.saveTransaction(transactionToSave);
-      log.debug("Save transaction response {}", savedTransaction);
-    } catch (TransactionServiceRestException | TransactionServiceInvalidResponseException e) {
-      // Rollback account creation
-      rollbackAccountCreation(accountId);
-    }
+  public AccountVO postTransaction(
+      final Long accountId, final BigDecimal amount, final TransactionType type)
+      throws AccountNotFoundException, LowBalanceException {
+
+    final long minorUnits = MoneyUtil.toMinorUnits(amount);
+    final Account updatedAccount = accountService.postTransaction(accountId, minorUnits, type);
+    log.debug("Posted {} {} to account: {}", type, amount, accountId);
+
+    return AccountMapper.toAccountVO(updatedAccount);
   }
 
   /**
-   * Rollback the account created
+   * Transfers money between two accounts. Both balance changes and the DEBIT and CREDIT
+   * transactions are written in one local transaction, the outbox relay then sends the two
+   * transactions to transaction service in one batch
    *
-   * @param accountId - the account id to rollback
-   * @throws AccountNotFoundException - thrown when the service layer could not find the account
-   *     based on the id
-   * @throws AccountCreationFailedException - thrown when the saveTransaction failed and returns an
-   *     error response to the user
+   * @param fromAccountId - the account to debit
+   * @param toAccountId - the account to credit
+   * @param amount - the amount to transfer
+   * @return the {@link TransferVO} value object with both updated accounts
+   * @throws AccountNotFoundException - when the application cannot find one of the accounts
+   * @throws LowBalanceException - when the debited account has insufficient balance
+   * @throws SameAccountTransferException - when both ids are the same account
    */
-  private void rollbackAccountCreation(final long accountId)
-      throws AccountNotFoundException, AccountCreationFailedException {
+  @Transactional(rollbackFor = Exception.class)
+  public TransferVO transfer(
+      final Long fromAccountId, final Long toAccountId, final BigDecimal amount)
+      throws AccountNotFoundException, LowBalanceException, SameAccountTransferException {
 
-    log.error(
-        "Error occurred while trying to save the transaction entity for accountId: {}, rolling back account creation...",
-        accountId);
+    final long minorUnits = MoneyUtil.toMinorUnits(amount);
+    final List<Account> accounts = accountService.transfer(fromAccountId, toAccountId, minorUnits);
 
-    accountService.deleteAccount(accountId);
-    log.info("Deleted account for accountId: {}", accountId);
+    transactionOutboxService.enqueueAll(
+        List.of(
+            toOutboxEntry(fromAccountId, minorUnits, TransactionType.DEBIT),
+            toOutboxEntry(toAccountId, minorUnits, TransactionType.CREDIT)));
+    log.debug("Transferred {} from account: {} to account: {}", amount, fromAccountId, toAccountId);
 
-    throw new AccountCreationFailedException(
-        "Error occurred while trying to save the transaction entity for the given accountId");
+    final TransferVO transfer = new TransferVO();
+    transfer.setFromAccountId(fromAccountId);
+    transfer.setToAccountId(toAccountId);
+    transfer.setAmount(MoneyUtil.toMajorUnits(minorUnits));
+    transfer.setFromAccount(AccountMapper.toAccountVO(accounts.get(0)));
+    transfer.setToAccount(AccountMapper.toAccountVO(accounts.get(1)));
+    return transfer;
+  }
+
+  /**
+   * Creates the outbox entry of one leg of a transfer
+   *
+   * @param accountId - the account id
+   * @param amount - the amount in minor units
+   * @param type - the transaction type - CREDIT/DEBIT
+   * @return the {@link TransactionOutbox} entry
+   */
+  private static TransactionOutbox toOutboxEntry(
+      final Long accountId, final long amount, final TransactionType type) {
+    final TransactionOutbox entry = new TransactionOutbox();
+    entry.setAccountId(accountId);
+    entry.setAmount(amount);
+    entry.setType(type);
+    return entry;
   }
 }
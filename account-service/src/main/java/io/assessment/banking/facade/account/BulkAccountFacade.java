@@ -0,0 +1,220 @@
+package io.assessment.banking.facade.account;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.assessment.banking.constant.account.AccountType;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.facade.account.mapper.AccountMapper;
+import io.assessment.banking.model.account.entity.Account;
+import io.assessment.banking.model.account.vo.AccountVO;
+import io.assessment.banking.model.account.vo.BulkAccountResponseVO;
+import io.assessment.banking.model.account.vo.BulkAccountResultVO;
+import io.assessment.banking.model.customer.entity.Customer;
+import io.assessment.banking.model.transaction.entity.TransactionOutbox;
+import io.assessment.banking.service.account.AccountService;
+import io.assessment.banking.service.customer.CustomerService;
+import io.assessment.banking.service.outbox.TransactionOutboxService;
+import io.assessment.banking.util.money.MoneyUtil;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Facade class to hide the complexity of opening many current accounts at once. The requests are
+ * validated one by one, the customers are loaded with one query, and the accounts and their initial
+ * credit transactions are inserted in JDBC batches, one local transaction per chunk
+ *
+ * @author Nikhil Vibhav
+ */
+@Component
+@Log4j2
+public class BulkAccountFacade {
+
+  private final AccountService accountService;
+  private final CustomerService customerService;
+  private final TransactionOutboxService transactionOutboxService;
+  private final Validator validator;
+  private final TransactionTemplate transactionTemplate;
+  private final EntityManager entityManager;
+  private final int chunkSize;
+
+  @Autowired
+  public BulkAccountFacade(
+      final AccountService accountService,
+      final CustomerService customerService,
+      final TransactionOutboxService transactionOutboxService,
+      final Validator validator,
+      final TransactionTemplate transactionTemplate,
+      final EntityManager entityManager,
+      @Value("${account.bulk.chunk-size:500}") final int chunkSize) {
+    this.accountService = accountService;
+    this.customerService = customerService;
+    this.transactionOutboxService = transactionOutboxService;
+    this.validator = validator;
+    this.transactionTemplate = transactionTemplate;
+    this.entityManager = entityManager;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Opens a current account for each of the requests
+   *
+   * @param requests - the account requests
+   * @return the {@link BulkAccountResponseVO} with the outcome of each request, in request order
+   */
+  public BulkAccountResponseVO saveCurrentAccounts(final List<AccountVO> requests) {
+    final BulkAccountResultVO[] results = new BulkAccountResultVO[requests.size()];
+
+    final List<Integer> validIndexes = new ArrayList<>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      final String error = validate(requests.get(i));
+      if (error == null) {
+        validIndexes.add(i);
+      } else {
+        results[i] = new BulkAccountResultVO(i, null, error);
+      }
+    }
+
+    final Map<Long, Customer> customersById =
+        customerService
+            .getCustomersByIds(
+                validIndexes.stream()
+                    .map(i -> requests.get(i).getCustomerId())
+                    .collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(Customer::getId, Function.identity()));
+
+    final List<Integer> indexesToSave = new ArrayList<>(validIndexes.size());
+    for (final Integer i : validIndexes) {
+      final Long customerId = requests.get(i).getCustomerId();
+      if (customersById.containsKey(customerId)) {
+        indexesToSave.add(i);
+      } else {
+        results[i] =
+            new BulkAccountResultVO(
+                i, null, "Could not find customer with the given id: " + customerId);
+      }
+    }
+
+    for (int from = 0; from < indexesToSave.size(); from += chunkSize) {
+      saveChunk(
+          requests,
+          indexesToSave.subList(from, Math.min(from + chunkSize, indexesToSave.size())),
+          customersById,
+          results);
+    }
+
+    final int succeeded =
+        (int) Arrays.stream(results).filter(result -> result.getError() == null).count();
+    log.info("Opened {} of {} current accounts", succeeded, requests.size());
+
+    return new BulkAccountResponseVO(
+        succeeded, requests.size() - succeeded, Arrays.asList(results));
+  }
+
+  /**
+   * Validates one account request
+   *
+   * @param request - the account request
+   * @return the validation errors joined together, or null when the request is valid
+   */
+  private String validate(final AccountVO request) {
+    if (request == null) {
+      return "account request cannot be null";
+    }
+
+    final Set<ConstraintViolation<AccountVO>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      return violations.stream()
+          .map(ConstraintViolation::getMessage)
+          .sorted()
+          .collect(Collectors.joining(", "));
+    }
+
+    if (request.getInitialCredit().signum() == 0) {
+      return "Initial Credit is too low to open the account";
+    }
+    return null;
+  }
+
+  /**
+   * Inserts the accounts of one chunk together with their initial credit transactions in a single
+   * local transaction. The persistence context is flushed and cleared afterwards, so it doesn't
+   * grow with the size of the request
+   *
+   * @param requests - all the account requests
+   * @param chunk - the indexes of the requests in this chunk
+   * @param customersById - the customers of the requests
+   * @param results - the results to fill in for the requests of this chunk
+   */
+  private void saveChunk(
+      final List<AccountVO> requests,
+      final List<Integer> chunk,
+      final Map<Long, Customer> customersById,
+      final BulkAccountResultVO[] results) {
+
+    final ZonedDateTime now = ZonedDateTime.now();
+    final List<Account> accountsToSave = new ArrayList<>(chunk.size());
+    for (final Integer i : chunk) {
+      final AccountVO request = requests.get(i);
+      final Account account =
+          AccountMapper.toAccount(
+              customersById.get(request.getCustomerId()), AccountType.CURRENT);
+      account.setBalance(MoneyUtil.toMinorUnits(request.getInitialCredit()));
+      account.setDateUpdated(now);
+      accountsToSave.add(account);
+    }
+
+    try {
+      final List<Account> savedAccounts =
+          transactionTemplate.execute(
+              status -> {
+                final List<Account> accounts = accountService.createAccounts(accountsToSave);
+                transactionOutboxService.enqueueAll(
+                    accounts.stream()
+                        .map(BulkAccountFacade::toInitialCreditEntry)
+                        .collect(Collectors.toList()));
+
+                entityManager.flush();
+                entityManager.clear();
+                return accounts;
+              });
+
+      for (int k = 0; k < chunk.size(); k++) {
+        results[chunk.get(k)] =
+            new BulkAccountResultVO(
+                chunk.get(k), AccountMapper.toAccountVO(savedAccounts.get(k)), null);
+      }
+    } catch (RuntimeException e) {
+      log.error("Error occurred while opening a chunk of {} accounts", chunk.size(), e);
+      chunk.forEach(
+          i ->
+              results[i] =
+                  new BulkAccountResultVO(i, null, "Error occurred while saving the account"));
+    }
+  }
+
+  /**
+   * Creates the outbox entry of the initial credit of a new account
+   *
+   * @param account - the saved account, its balance is the initial credit
+   * @return the {@link TransactionOutbox} entry
+   */
+  private static TransactionOutbox toInitialCreditEntry(final Account account) {
+    final TransactionOutbox entry = new TransactionOutbox();
+    entry.setAccountId(account.getId());
+    entry.setAmount(account.getBalance());
+    entry.setType(TransactionType.CREDIT);
+    return entry;
+  }
+}
@@ -4,6 +4,7 @@ import io.assessment.banking.constant.account.AccountType;
 import io.assessment.banking.model.account.entity.Account;
 import io.assessment.banking.model.account.vo.AccountVO;
 import io.assessment.banking.model.customer.entity.Customer;
+import io.assessment.banking.util.money.MoneyUtil;
 
 /**
  * Maps the object of {@link io.assessment.banking.model.account.entity.Account} to {@link
@@ -37,7 +38,7 @@ public class AccountMapper {
     final AccountVO accountVO = new AccountVO();
     accountVO.setId(account.getId());
     accountVO.setCustomerId(account.getCustomer().getId());
-    accountVO.setBalance(account.getBalance());
+    accountVO.setBalance(MoneyUtil.toMajorUnits(account.getBalance()));
     accountVO.setType(account.getType());
     accountVO.setDateCreated(account.getDateCreated());
     accountVO.setDateUpdated(account.getDateUpdated());
@@ -1,22 +1,22 @@
 package io.assessment.banking.facade.customer;
 
-import java.util.List;
-import java.util.Objects;
-import java.util.function.Function;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.assessment.banking.exception.customer.CustomerNotFoundException;
-import io.assessment.banking.exception.transaction.TransactionServiceInvalidResponseException;
-import io.assessment.banking.exception.transaction.TransactionServiceRestException;
 import io.assessment.banking.facade.account.mapper.AccountMapper;
 import io.assessment.banking.facade.customer.mapper.CustomerMapper;
 import io.assessment.banking.model.account.entity.Account;
 import io.assessment.banking.model.account.vo.AccountVO;
 import io.assessment.banking.model.customer.entity.Customer;
 import io.assessment.banking.model.customer.vo.CustomerVO;
+import io.assessment.banking.model.transaction.vo.TransactionVO;
 import io.assessment.banking.service.customer.CustomerService;
 import io.assessment.banking.service.transaction.TransactionService;
 import lombok.extern.log4j.Log4j2;
@@ -32,19 +32,30 @@ public class CustomerFacade {
 
   private final CustomerService customerService;
   private final TransactionService transactionService;
+  private final ExecutorService transactionLookupExecutor;
+  private final int batchSize;
+  private final long timeoutMillis;
 
   @Autowired
   public CustomerFacade(
-      final CustomerService customerService, final TransactionService transactionService) {
+      final CustomerService customerService,
+      final TransactionService transactionService,
+      @Qualifier("transactionLookupExecutor") final ExecutorService transactionLookupExecutor,
+      @Value("${transaction.service.lookup.batch-size:50}") final int batchSize,
+      @Value("${transaction.service.lookup.timeout-millis:2000}") final long timeoutMillis) {
     this.customerService = customerService;
     this.transactionService = transactionService;
+    this.transactionLookupExecutor = transactionLookupExecutor;
+    this.batchSize = batchSize;
+    this.timeoutMillis = timeoutMillis;
   }
 
   /**
    * Gets the customer by the given id
    *
    * @param id - the given customer id
-   * @return the {@link CustomerVO} value object containing the accounts and transactions, if any
+   * @return the {@link CustomerVO} value object containing the accounts and the first page of
+   *     their transactions, if any
    * @throws CustomerNotFoundException - thrown when the application cannot find the customer by the
    *     given id
    */
@@ -58,35 +69,105 @@ public class CustomerFacade {
   }
 
   /**
-   * Returns a list of {@link AccountVO} containing the transactions for the customer
+   * Returns a list of {@link AccountVO} containing the first page of the transactions of each
+   * account of the customer, at most {@code transaction.service.page-size} of them. The account
+   * ids are split into batches of at most {@code batchSize} ids, one call to transaction service is
+   * made per batch and the batches are fetched concurrently, a single batch included, so that every
+   * lookup is bounded by {@code timeoutMillis}
    *
    * @param customer - the customer as retrieved from the DB
-   * @return a list of {@link AccountVO} containing the transactions against that account
+   * @return a list of {@link AccountVO} containing the transactions against that account, the
+   *     accounts whose batch failed or did not complete within the deadline are skipped
    */
   private List<AccountVO> getAccountsWithTransactions(final Customer customer) {
-    return customer.getAccounts().stream()
-        .map(mapTransactionsToAccount())
-        .filter(Objects::nonNull)
+    final List<Account> accounts = customer.getAccounts();
+    if (accounts.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final List<Long> accountIds =
+        accounts.stream().map(Account::getId).collect(Collectors.toList());
+    final Map<Long, List<TransactionVO>> transactionsByAccountId = new HashMap<>();
+    final Set<Long> fetchedAccountIds = new HashSet<>();
+    fetchTransactionsConcurrently(accountIds, transactionsByAccountId, fetchedAccountIds);
+
+    return accounts.stream()
+        .filter(account -> fetchedAccountIds.contains(account.getId()))
+        .map(account -> toAccountVOWithTransactions(account, transactionsByAccountId))
         .collect(Collectors.toList());
   }
 
   /**
-   * {@link Function} to get the transactions for an account and map it to {@link AccountVO} value
-   * object
+   * Fetches the transactions of the given account ids in batches on the transaction lookup
+   * executor. All the batches share one deadline of {@code timeoutMillis}, a batch that fails or is
+   * still running when the deadline passes is cancelled and its accounts are skipped
    *
-   * @return {@link AccountVO} value objects with the transactions, if an error occurs while calling
-   *     transaction service, returns null
+   * @param accountIds - the account ids to fetch the transactions for
+   * @param transactionsByAccountId - the map to add the fetched transactions to
+   * @param fetchedAccountIds - the set to add the account ids of the successful batches to
    */
-  private Function<Account, AccountVO> mapTransactionsToAccount() {
-    return account -> {
+  private void fetchTransactionsConcurrently(
+      final List<Long> accountIds,
+      final Map<Long, List<TransactionVO>> transactionsByAccountId,
+      final Set<Long> fetchedAccountIds) {
+
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    final List<List<Long>> batches = partition(accountIds);
+    final List<Future<Map<Long, List<TransactionVO>>>> futures = new ArrayList<>(batches.size());
+
+    for (final List<Long> batch : batches) {
+      futures.add(
+          transactionLookupExecutor.submit(
+              () -> transactionService.getTransactionsByAccountIds(batch)));
+    }
+
+    for (int i = 0; i < batches.size(); i++) {
+      final List<Long> batch = batches.get(i);
+      final Future<Map<Long, List<TransactionVO>>> future = futures.get(i);
       try {
-        final AccountVO accountVO = AccountMapper.toAccountVO(account);
-        accountVO.setTransactions(transactionService.getAllTransactions(account.getId()));
-        return accountVO;
-      } catch (TransactionServiceRestException | TransactionServiceInvalidResponseException e) {
-        log.error("Couldn't get transactions for accountId: {}, ignoring...", account.getId());
-        return null;
+        transactionsByAccountId.putAll(
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+        fetchedAccountIds.addAll(batch);
+      } catch (TimeoutException e) {
+        future.cancel(true);
+        log.error("Timed out getting transactions for accountIds: {}, ignoring...", batch);
+      } catch (ExecutionException e) {
+        log.error("Couldn't get transactions for accountIds: {}, ignoring...", batch);
+      } catch (InterruptedException e) {
+        futures.forEach(pending -> pending.cancel(true));
+        Thread.currentThread().interrupt();
+        log.error("Interrupted while getting transactions for accountIds: {}", accountIds);
+        return;
       }
-    };
+    }
+  }
+
+  /**
+   * Splits the account ids into consecutive batches of at most {@code batchSize} ids
+   *
+   * @param accountIds - the account ids to split
+   * @return the batches of account ids
+   */
+  private List<List<Long>> partition(final List<Long> accountIds) {
+    final List<List<Long>> batches = new ArrayList<>();
+    for (int from = 0; from < accountIds.size(); from += batchSize) {
+      batches.add(accountIds.subList(from, Math.min(from + batchSize, accountIds.size())));
+    }
+    return batches;
+  }
+
+  /**
+   * Maps the account to {@link AccountVO} value object along with its transactions
+   *
+   * @param account - the account as retrieved from the DB
+   * @param transactionsByAccountId - the transactions of the customer grouped by account id
+   * @return {@link AccountVO} value object with the transactions
+   */
+  private AccountVO toAccountVOWithTransactions(
+      final Account account, final Map<Long, List<TransactionVO>> transactionsByAccountId) {
+    final AccountVO accountVO = AccountMapper.toAccountVO(account);
+    accountVO.setTransactions(
+        transactionsByAccountId.getOrDefault(account.getId(), Collections.emptyList()));
+    return accountVO;
   }
 }
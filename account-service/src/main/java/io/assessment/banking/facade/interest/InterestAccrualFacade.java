@@ -0,0 +1,49 @@
+package io.assessment.banking.facade.interest;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.assessment.banking.exception.interest.InterestAccrualRunNotFoundException;
+import io.assessment.banking.facade.interest.mapper.InterestAccrualMapper;
+import io.assessment.banking.model.interest.vo.InterestAccrualRunVO;
+import io.assessment.banking.service.interest.InterestAccrualService;
+
+/**
+ * Facade class to map the interest accrual runs to value objects
+ *
+ * @author Nikhil Vibhav
+ */
+@Component
+public class InterestAccrualFacade {
+
+  private final InterestAccrualService interestAccrualService;
+
+  @Autowired
+  public InterestAccrualFacade(final InterestAccrualService interestAccrualService) {
+    this.interestAccrualService = interestAccrualService;
+  }
+
+  /**
+   * Starts the interest accrual of the given day, or resumes it if it didn't complete
+   *
+   * @param accrualDate - the day to accrue the interest of
+   * @return the {@link InterestAccrualRunVO} of the run
+   */
+  public InterestAccrualRunVO startOrResume(final LocalDate accrualDate) {
+    return InterestAccrualMapper.toInterestAccrualRunVO(
+        interestAccrualService.startOrResume(accrualDate));
+  }
+
+  /**
+   * Gets the progress of an interest accrual run
+   *
+   * @param id - the run id
+   * @return the {@link InterestAccrualRunVO} value object
+   * @throws InterestAccrualRunNotFoundException - when there is no run with the given id
+   */
+  public InterestAccrualRunVO getRun(final Long id) throws InterestAccrualRunNotFoundException {
+    return InterestAccrualMapper.toInterestAccrualRunVO(interestAccrualService.getRun(id));
+  }
+}
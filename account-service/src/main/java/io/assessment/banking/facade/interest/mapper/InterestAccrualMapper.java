@@ -0,0 +1,39 @@
+package io.assessment.banking.facade.interest.mapper;
+
+import io.assessment.banking.model.interest.entity.InterestAccrualRun;
+import io.assessment.banking.model.interest.vo.InterestAccrualRunVO;
+import io.assessment.banking.util.money.MoneyUtil;
+
+/**
+ * Maps the object of {@link InterestAccrualRun} to {@link InterestAccrualRunVO}
+ *
+ * @author Nikhil Vibhav
+ */
+public class InterestAccrualMapper {
+
+  /**
+   * Maps {@link InterestAccrualRun} object to {@link InterestAccrualRunVO} object
+   *
+   * @param run - the object to map of {@link InterestAccrualRun}
+   * @return mapped object of {@link InterestAccrualRunVO}
+   */
+  public static InterestAccrualRunVO toInterestAccrualRunVO(final InterestAccrualRun run) {
+    final InterestAccrualRunVO runVO = new InterestAccrualRunVO();
+    runVO.setId(run.getId());
+    runVO.setAccrualDate(run.getAccrualDate());
+    runVO.setAnnualRate(run.getAnnualRate());
+    runVO.setStatus(run.getStatus());
+    runVO.setChunksCompleted(run.getChunksCompleted());
+    runVO.setAccountsProcessed(run.getAccountsProcessed());
+    runVO.setInterestTotal(MoneyUtil.toMajorUnits(run.getInterestTotal()));
+    runVO.setAccountsPerSecond(
+        run.getElapsedMillis() == 0
+            ? 0
+            : run.getAccountsProcessed() * 1000.0 / run.getElapsedMillis());
+    runVO.setLastError(run.getLastError());
+    runVO.setDateStarted(run.getDateStarted());
+    runVO.setDateUpdated(run.getDateUpdated());
+    runVO.setDateFinished(run.getDateFinished());
+    return runVO;
+  }
+}
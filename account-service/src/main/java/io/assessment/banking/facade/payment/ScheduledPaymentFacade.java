@@ -0,0 +1,63 @@
+package io.assessment.banking.facade.payment;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.assessment.banking.exception.account.AccountNotFoundException;
+import io.assessment.banking.exception.payment.ScheduledPaymentNotFoundException;
+import io.assessment.banking.facade.payment.mapper.ScheduledPaymentMapper;
+import io.assessment.banking.model.payment.vo.ScheduledPaymentVO;
+import io.assessment.banking.service.payment.ScheduledPaymentService;
+
+/**
+ * Facade class to map the scheduled payments to value objects
+ *
+ * @author Nikhil Vibhav
+ */
+@Component
+public class ScheduledPaymentFacade {
+
+  private final ScheduledPaymentService scheduledPaymentService;
+
+  @Autowired
+  public ScheduledPaymentFacade(final ScheduledPaymentService scheduledPaymentService) {
+    this.scheduledPaymentService = scheduledPaymentService;
+  }
+
+  /**
+   * Schedules a payment
+   *
+   * @param request - the payment to schedule
+   * @return the {@link ScheduledPaymentVO} of the saved payment
+   * @throws AccountNotFoundException - when the account of the payment doesn't exist
+   */
+  public ScheduledPaymentVO schedule(final ScheduledPaymentVO request)
+      throws AccountNotFoundException {
+    return ScheduledPaymentMapper.toScheduledPaymentVO(
+        scheduledPaymentService.schedule(ScheduledPaymentMapper.toScheduledPayment(request)));
+  }
+
+  /**
+   * Cancels a scheduled payment
+   *
+   * @param id - the payment id
+   * @return the {@link ScheduledPaymentVO} value object
+   * @throws ScheduledPaymentNotFoundException - when there is no payment with the given id
+   */
+  public ScheduledPaymentVO cancel(final Long id) throws ScheduledPaymentNotFoundException {
+    return ScheduledPaymentMapper.toScheduledPaymentVO(scheduledPaymentService.cancel(id));
+  }
+
+  /**
+   * Gets a scheduled payment
+   *
+   * @param id - the payment id
+   * @return the {@link ScheduledPaymentVO} value object
+   * @throws ScheduledPaymentNotFoundException - when there is no payment with the given id
+   */
+  public ScheduledPaymentVO getScheduledPayment(final Long id)
+      throws ScheduledPaymentNotFoundException {
+    return ScheduledPaymentMapper.toScheduledPaymentVO(
+        scheduledPaymentService.getScheduledPayment(id));
+  }
+}
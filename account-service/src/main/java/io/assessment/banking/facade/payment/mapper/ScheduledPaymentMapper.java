@@ -0,0 +1,55 @@
+package io.assessment.banking.facade.payment.mapper;
+
+import io.assessment.banking.model.payment.entity.ScheduledPayment;
+import io.assessment.banking.model.payment.vo.ScheduledPaymentVO;
+import io.assessment.banking.util.money.MoneyUtil;
+
+/**
+ * Maps the object of {@link ScheduledPayment} to {@link ScheduledPaymentVO} and the other way round
+ *
+ * @author Nikhil Vibhav
+ */
+public class ScheduledPaymentMapper {
+
+  /**
+   * Maps {@link ScheduledPaymentVO} request to a new {@link ScheduledPayment} object
+   *
+   * @param request - the object to map of {@link ScheduledPaymentVO}
+   * @return mapped object of {@link ScheduledPayment}
+   */
+  public static ScheduledPayment toScheduledPayment(final ScheduledPaymentVO request) {
+    final ScheduledPayment payment = new ScheduledPayment();
+    payment.setAccountId(request.getAccountId());
+    payment.setAmount(MoneyUtil.toMinorUnits(request.getAmount()));
+    payment.setType(request.getType());
+    payment.setFrequency(request.getFrequency());
+    payment.setFirstExecutionAt(request.getFirstExecutionAt());
+    payment.setEndAt(request.getEndAt());
+    return payment;
+  }
+
+  /**
+   * Maps {@link ScheduledPayment} object to {@link ScheduledPaymentVO} object
+   *
+   * @param payment - the object to map of {@link ScheduledPayment}
+   * @return mapped object of {@link ScheduledPaymentVO}
+   */
+  public static ScheduledPaymentVO toScheduledPaymentVO(final ScheduledPayment payment) {
+    final ScheduledPaymentVO paymentVO = new ScheduledPaymentVO();
+    paymentVO.setId(payment.getId());
+    paymentVO.setAccountId(payment.getAccountId());
+    paymentVO.setAmount(MoneyUtil.toMajorUnits(payment.getAmount()));
+    paymentVO.setType(payment.getType());
+    paymentVO.setFrequency(payment.getFrequency());
+    paymentVO.setFirstExecutionAt(payment.getFirstExecutionAt());
+    paymentVO.setEndAt(payment.getEndAt());
+    paymentVO.setStatus(payment.getStatus());
+    paymentVO.setNextExecutionAt(payment.getNextExecutionAt());
+    paymentVO.setExecutions(payment.getExecutions());
+    paymentVO.setFailedExecutions(payment.getFailedExecutions());
+    paymentVO.setLastError(payment.getLastError());
+    paymentVO.setLastExecutedAt(payment.getLastExecutedAt());
+    paymentVO.setDateCreated(payment.getDateCreated());
+    return paymentVO;
+  }
+}
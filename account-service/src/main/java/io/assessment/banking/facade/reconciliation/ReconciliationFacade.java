@@ -0,0 +1,66 @@
+package io.assessment.banking.facade.reconciliation;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.assessment.banking.exception.reconciliation.ReconciliationRunNotFoundException;
+import io.assessment.banking.facade.reconciliation.mapper.ReconciliationMapper;
+import io.assessment.banking.model.reconciliation.vo.ReconciliationMismatchVO;
+import io.assessment.banking.model.reconciliation.vo.ReconciliationRunVO;
+import io.assessment.banking.service.reconciliation.ReconciliationService;
+
+/**
+ * Facade class to map the reconciliation runs and their mismatches to value objects
+ *
+ * @author Nikhil Vibhav
+ */
+@Component
+public class ReconciliationFacade {
+
+  private final ReconciliationService reconciliationService;
+
+  @Autowired
+  public ReconciliationFacade(final ReconciliationService reconciliationService) {
+    this.reconciliationService = reconciliationService;
+  }
+
+  /**
+   * Starts a reconciliation run, or resumes the latest unfinished one
+   *
+   * @return the {@link ReconciliationRunVO} of the active run
+   */
+  public ReconciliationRunVO startOrResume() {
+    return ReconciliationMapper.toReconciliationRunVO(reconciliationService.startOrResume());
+  }
+
+  /**
+   * Gets the progress of a reconciliation run
+   *
+   * @param id - the run id
+   * @return the {@link ReconciliationRunVO} value object
+   * @throws ReconciliationRunNotFoundException - when there is no run with the given id
+   */
+  public ReconciliationRunVO getRun(final Long id) throws ReconciliationRunNotFoundException {
+    return ReconciliationMapper.toReconciliationRunVO(reconciliationService.getRun(id));
+  }
+
+  /**
+   * Gets a page of the mismatches a reconciliation run found
+   *
+   * @param runId - the run id
+   * @param afterAccountId - the account id to start after, 0 for the first page
+   * @param limit - the maximum number of mismatches to return
+   * @return the {@link ReconciliationMismatchVO} value objects, ordered by account id
+   * @throws ReconciliationRunNotFoundException - when there is no run with the given id
+   */
+  public List<ReconciliationMismatchVO> getMismatches(
+      final Long runId, final long afterAccountId, final int limit)
+      throws ReconciliationRunNotFoundException {
+    return reconciliationService.getMismatches(runId, afterAccountId, limit).stream()
+        .map(ReconciliationMapper::toReconciliationMismatchVO)
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,55 @@
+package io.assessment.banking.facade.reconciliation.mapper;
+
+import io.assessment.banking.model.reconciliation.entity.ReconciliationMismatch;
+import io.assessment.banking.model.reconciliation.entity.ReconciliationRun;
+import io.assessment.banking.model.reconciliation.vo.ReconciliationMismatchVO;
+import io.assessment.banking.model.reconciliation.vo.ReconciliationRunVO;
+import io.assessment.banking.util.money.MoneyUtil;
+
+/**
+ * Maps the reconciliation entities to their value objects
+ *
+ * @author Nikhil Vibhav
+ */
+public class ReconciliationMapper {
+
+  /**
+   * Maps {@link ReconciliationRun} object to {@link ReconciliationRunVO} object
+   *
+   * @param run - the object to map of {@link ReconciliationRun}
+   * @return mapped object of {@link ReconciliationRunVO}
+   */
+  public static ReconciliationRunVO toReconciliationRunVO(final ReconciliationRun run) {
+    final ReconciliationRunVO runVO = new ReconciliationRunVO();
+    runVO.setId(run.getId());
+    runVO.setStatus(run.getStatus());
+    runVO.setNextAccountId(run.getNextAccountId());
+    runVO.setLastAccountId(run.getLastAccountId());
+    runVO.setAccountsChecked(run.getAccountsChecked());
+    runVO.setMismatchCount(run.getMismatchCount());
+    runVO.setLastError(run.getLastError());
+    runVO.setDateStarted(run.getDateStarted());
+    runVO.setDateUpdated(run.getDateUpdated());
+    runVO.setDateFinished(run.getDateFinished());
+    return runVO;
+  }
+
+  /**
+   * Maps {@link ReconciliationMismatch} object to {@link ReconciliationMismatchVO} object
+   *
+   * @param mismatch - the object to map of {@link ReconciliationMismatch}
+   * @return mapped object of {@link ReconciliationMismatchVO}
+   */
+  public static ReconciliationMismatchVO toReconciliationMismatchVO(
+      final ReconciliationMismatch mismatch) {
+    final ReconciliationMismatchVO mismatchVO = new ReconciliationMismatchVO();
+    mismatchVO.setAccountId(mismatch.getAccountId());
+    mismatchVO.setBalance(MoneyUtil.toMajorUnits(mismatch.getBalance()));
+    mismatchVO.setTransactionNet(MoneyUtil.toMajorUnits(mismatch.getTransactionNet()));
+    mismatchVO.setPendingNet(MoneyUtil.toMajorUnits(mismatch.getPendingNet()));
+    mismatchVO.setFailedNet(MoneyUtil.toMajorUnits(mismatch.getFailedNet()));
+    mismatchVO.setDifference(MoneyUtil.toMajorUnits(mismatch.getDifference()));
+    mismatchVO.setDateDetected(mismatch.getDateDetected());
+    return mismatchVO;
+  }
+}
@@ -0,0 +1,33 @@
+package io.assessment.banking.job.interest;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.assessment.banking.service.interest.InterestAccrualService;
+
+/**
+ * Background job that accrues the interest of the current day on the configured cron schedule. It
+ * is disabled unless {@code account.interest.cron} is set. Firing more than once a day is harmless,
+ * a day that was accrued already is not accrued again
+ *
+ * @author Nikhil Vibhav
+ */
+@Component
+public class InterestAccrualJob {
+
+  private final InterestAccrualService interestAccrualService;
+
+  @Autowired
+  public InterestAccrualJob(final InterestAccrualService interestAccrualService) {
+    this.interestAccrualService = interestAccrualService;
+  }
+
+  /** Starts or resumes the interest accrual of the current day */
+  @Scheduled(cron = "${account.interest.cron:-}")
+  public void accrue() {
+    interestAccrualService.startOrResume(LocalDate.now());
+  }
+}
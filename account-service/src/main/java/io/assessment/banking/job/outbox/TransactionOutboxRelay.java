@@ -0,0 +1,114 @@
+package io.assessment.banking.job.outbox;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.assessment.banking.exception.transaction.TransactionServiceInvalidResponseException;
+import io.assessment.banking.exception.transaction.TransactionServiceRestException;
+import io.assessment.banking.model.transaction.entity.TransactionOutbox;
+import io.assessment.banking.model.transaction.vo.TransactionVO;
+import io.assessment.banking.service.outbox.TransactionOutboxService;
+import io.assessment.banking.service.transaction.TransactionService;
+import io.assessment.banking.util.money.MoneyUtil;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Background job that sends the pending transactions of the outbox to transaction service. It runs
+ * on the single scheduler thread, so runs never overlap. Delivery is at least once: an entry is
+ * sent again if the application stops between sending it and marking it as sent, or if the
+ * response to a batch is lost. Every entry is sent with an idempotency key derived from its id, so
+ * transaction service saves it only once. A batch that is rejected is split in halves until the
+ * entries that fail on their own are found, so one bad entry doesn't hold back the rest of its
+ * batch and only its own failures count towards its attempts
+ *
+ * @author Nikhil Vibhav
+ */
+@Component
+@Log4j2
+public class TransactionOutboxRelay {
+
+  /** Prefixes the outbox entry id to make the idempotency key of the transaction it sends */
+  private static final String IDEMPOTENCY_KEY_PREFIX = "account-outbox-";
+
+  private final TransactionOutboxService outboxService;
+  private final TransactionService transactionService;
+  private final int batchSize;
+
+  @Autowired
+  public TransactionOutboxRelay(
+      final TransactionOutboxService outboxService,
+      final TransactionService transactionService,
+      @Value("${transaction.outbox.relay.batch-size:100}") final int batchSize) {
+    this.outboxService = outboxService;
+    this.transactionService = transactionService;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Sends the due entries batch by batch until there are none left, or until a batch couldn't be
+   * sent
+   */
+  @Scheduled(
+      initialDelayString = "${transaction.outbox.relay.interval-millis:1000}",
+      fixedDelayString = "${transaction.outbox.relay.interval-millis:1000}")
+  public void relay() {
+    List<TransactionOutbox> batch = outboxService.findDue(batchSize);
+    while (!batch.isEmpty()) {
+      final int sent = send(batch);
+      if (sent < batch.size() || batch.size() < batchSize) {
+        return;
+      }
+      batch = outboxService.findDue(batchSize);
+    }
+  }
+
+  /**
+   * Sends a batch of entries to transaction service with one request. When the request fails the
+   * two halves of the batch are sent separately, an entry is rescheduled only when it fails alone
+   *
+   * @param batch - the entries to send
+   * @return the number of entries sent
+   */
+  private int send(final List<TransactionOutbox> batch) {
+    try {
+      transactionService.saveTransactions(
+          batch.stream()
+              .map(TransactionOutboxRelay::toTransactionVO)
+              .collect(Collectors.toList()));
+    } catch (TransactionServiceRestException | TransactionServiceInvalidResponseException e) {
+      if (batch.size() == 1) {
+        log.error("Couldn't send outbox entry: {}, will retry...", batch.get(0).getId());
+        outboxService.markFailed(batch, e.getMessage());
+        return 0;
+      }
+
+      log.warn("Couldn't send {} outbox entries, sending them in halves", batch.size());
+      final int half = batch.size() / 2;
+      return send(batch.subList(0, half)) + send(batch.subList(half, batch.size()));
+    }
+
+    outboxService.markSent(batch);
+    log.debug("Sent {} outbox entries", batch.size());
+    return batch.size();
+  }
+
+  /**
+   * Maps the outbox entry to the {@link TransactionVO} sent to transaction service
+   *
+   * @param entry - the outbox entry
+   * @return {@link TransactionVO} value object
+   */
+  private static TransactionVO toTransactionVO(final TransactionOutbox entry) {
+    final TransactionVO transactionVO = new TransactionVO();
+    transactionVO.setAccountId(entry.getAccountId());
+    transactionVO.setAmount(MoneyUtil.toMajorUnits(entry.getAmount()));
+    transactionVO.setType(entry.getType());
+    transactionVO.setIdempotencyKey(IDEMPOTENCY_KEY_PREFIX + entry.getId());
+    return transactionVO;
+  }
+}
@@ -0,0 +1,32 @@
+package io.assessment.banking.job.payment;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.assessment.banking.service.payment.ScheduledPaymentService;
+
+/**
+ * Background job that ticks the scheduled payment wheel and executes the payments that fell due.
+ * It runs on the single scheduler thread, so ticks never overlap
+ *
+ * @author Nikhil Vibhav
+ */
+@Component
+public class ScheduledPaymentJob {
+
+  private final ScheduledPaymentService scheduledPaymentService;
+
+  @Autowired
+  public ScheduledPaymentJob(final ScheduledPaymentService scheduledPaymentService) {
+    this.scheduledPaymentService = scheduledPaymentService;
+  }
+
+  /** Executes the scheduled payments that fell due since the last tick */
+  @Scheduled(
+      initialDelayString = "${payment.scheduled.tick-millis:1000}",
+      fixedDelayString = "${payment.scheduled.tick-millis:1000}")
+  public void fireDue() {
+    scheduledPaymentService.fireDue();
+  }
+}
@@ -0,0 +1,31 @@
+package io.assessment.banking.job.reconciliation;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.assessment.banking.service.reconciliation.ReconciliationService;
+
+/**
+ * Background job that starts a reconciliation run on the configured cron schedule. It is disabled
+ * unless {@code account.reconciliation.cron} is set. A run that is still active when the job fires
+ * again is left alone
+ *
+ * @author Nikhil Vibhav
+ */
+@Component
+public class ReconciliationJob {
+
+  private final ReconciliationService reconciliationService;
+
+  @Autowired
+  public ReconciliationJob(final ReconciliationService reconciliationService) {
+    this.reconciliationService = reconciliationService;
+  }
+
+  /** Starts a reconciliation run, or resumes the latest unfinished one */
+  @Scheduled(cron = "${account.reconciliation.cron:-}")
+  public void reconcile() {
+    reconciliationService.startOrResume();
+  }
+}
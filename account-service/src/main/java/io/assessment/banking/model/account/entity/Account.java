@@ -19,16 +19,19 @@ import lombok.Data;
 @Entity(name = "account")
 public class Account {
 
+  /** Ids are allocated from the sequence in blocks, so inserts can be sent in JDBC batches */
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+  @SequenceGenerator(name = "account_seq", sequenceName = "account_seq", allocationSize = 50)
   private Long id;
 
   @Enumerated
   @Column(nullable = false)
   private AccountType type;
 
+  /** The balance in minor units */
   @Column(nullable = false)
-  private Double balance = 0D;
+  private long balance;
 
   @ManyToOne
   @JoinColumn(nullable = false, updatable = false)
@@ -0,0 +1,17 @@
+package io.assessment.banking.model.account.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published when an account of a customer is created, deleted or has its balance changed, so
+ * anything holding on to the accounts of that customer can drop them once the change commits
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@AllArgsConstructor
+public class CustomerAccountsChangedEvent {
+
+  private final Long customerId;
+}
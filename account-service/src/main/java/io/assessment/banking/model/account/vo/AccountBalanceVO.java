@@ -0,0 +1,19 @@
+package io.assessment.banking.model.account.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Models the id and the balance of an account, read without loading the account and its customer
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@AllArgsConstructor
+public class AccountBalanceVO {
+
+  private final Long id;
+
+  /** The balance in minor units */
+  private final long balance;
+}
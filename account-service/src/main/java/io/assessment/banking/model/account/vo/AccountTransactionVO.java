@@ -0,0 +1,29 @@
+package io.assessment.banking.model.account.vo;
+
+import java.math.BigDecimal;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Digits;
+import javax.validation.constraints.NotNull;
+
+import io.assessment.banking.constant.transaction.TransactionType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for modelling the request to credit or debit an account
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+public class AccountTransactionVO {
+
+  @NotNull(message = "type cannot be null")
+  private TransactionType type;
+
+  @NotNull(message = "amount cannot be null")
+  @DecimalMin(value = "0.01", message = "amount must be at least 0.01")
+  @Digits(integer = 16, fraction = 2, message = "amount can have at most 2 decimal places")
+  private BigDecimal amount;
+}
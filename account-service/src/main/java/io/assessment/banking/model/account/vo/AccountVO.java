@@ -1,9 +1,11 @@
 package io.assessment.banking.model.account.vo;
 
+import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.List;
 
 import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Digits;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
@@ -37,10 +39,11 @@ public class AccountVO {
 
   @NotNull(message = "initialCredit cannot be null")
   @DecimalMin(value = "0", message = "initialCredit cannot be negative")
-  private Double initialCredit;
+  @Digits(integer = 16, fraction = 2, message = "initialCredit can have at most 2 decimal places")
+  private BigDecimal initialCredit;
 
   @Schema(accessMode = Schema.AccessMode.READ_ONLY)
-  private Double balance;
+  private BigDecimal balance;
 
   @Schema(accessMode = Schema.AccessMode.READ_ONLY)
   private List<TransactionVO> transactions;
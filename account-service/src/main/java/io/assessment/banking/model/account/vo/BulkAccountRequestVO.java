@@ -0,0 +1,24 @@
+package io.assessment.banking.model.account.vo;
+
+import java.util.List;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for modelling the request to open several bank accounts at once. The accounts are validated
+ * one by one, so an invalid account only fails itself
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+public class BulkAccountRequestVO {
+
+  @NotEmpty(message = "accounts cannot be empty")
+  @Size(max = 50000, message = "accounts cannot contain more than 50000 requests")
+  private List<AccountVO> accounts;
+}
@@ -0,0 +1,24 @@
+package io.assessment.banking.model.account.vo;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for modelling the response to a bulk account-opening request
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAccountResponseVO {
+
+  private int succeeded;
+  private int failed;
+
+  /** One result per account, in the order of the request */
+  private List<BulkAccountResultVO> results;
+}
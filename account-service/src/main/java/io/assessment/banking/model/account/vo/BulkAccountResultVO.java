@@ -0,0 +1,28 @@
+package io.assessment.banking.model.account.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for modelling the outcome of one account of a bulk account-opening request
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkAccountResultVO {
+
+  /** The position of the account in the request */
+  private int index;
+
+  /** The opened account, if it succeeded */
+  private AccountVO account;
+
+  /** The reason the account couldn't be opened, if it failed */
+  private String error;
+}
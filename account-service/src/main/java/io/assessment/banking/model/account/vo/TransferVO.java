@@ -0,0 +1,44 @@
+package io.assessment.banking.model.account.vo;
+
+import java.math.BigDecimal;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Digits;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for modelling the request to transfer money between two accounts and its result
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransferVO {
+
+  @NotNull(message = "fromAccountId cannot be null")
+  @Min(1)
+  private Long fromAccountId;
+
+  @NotNull(message = "toAccountId cannot be null")
+  @Min(1)
+  private Long toAccountId;
+
+  @NotNull(message = "amount cannot be null")
+  @DecimalMin(value = "0.01", message = "amount must be at least 0.01")
+  @Digits(integer = 16, fraction = 2, message = "amount can have at most 2 decimal places")
+  private BigDecimal amount;
+
+  @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+  private AccountVO fromAccount;
+
+  @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+  private AccountVO toAccount;
+}
@@ -0,0 +1,59 @@
+package io.assessment.banking.model.interest.entity;
+
+import java.time.ZonedDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Data;
+
+/**
+ * Models a chunk of account ids an interest accrual run has credited. It is written in the same
+ * local transaction as the balance changes of the chunk, so a chunk is credited at most once
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@Entity(name = "interest_accrual_chunk")
+@Table(
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_interest_accrual_chunk_run_from",
+            columnNames = {"runId", "fromAccountId"}))
+public class InterestAccrualChunk {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interest_accrual_chunk_seq")
+  @SequenceGenerator(
+      name = "interest_accrual_chunk_seq",
+      sequenceName = "interest_accrual_chunk_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long runId;
+
+  /** The lowest account id of the chunk, the chunk ends where the next one starts */
+  @Column(nullable = false)
+  private long fromAccountId;
+
+  /** The savings accounts with a positive balance in the chunk */
+  @Column(nullable = false)
+  private long accounts;
+
+  /** The interest credited in minor units */
+  @Column(nullable = false)
+  private long interest;
+
+  @Column(nullable = false)
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private final ZonedDateTime dateCompleted = ZonedDateTime.now();
+}
@@ -0,0 +1,84 @@
+package io.assessment.banking.model.interest.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import io.assessment.banking.constant.interest.AccrualStatus;
+import lombok.Data;
+
+/**
+ * Models the accrual of one day of interest on the savings accounts. The accounts with an id up to
+ * {@code lastAccountId} are split into chunks of {@code chunkSize} ids, the rate and the chunk size
+ * are kept so that a resumed run accrues the remaining chunks the same way
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@Entity(name = "interest_accrual_run")
+public class InterestAccrualRun {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interest_accrual_run_seq")
+  @SequenceGenerator(
+      name = "interest_accrual_run_seq",
+      sequenceName = "interest_accrual_run_seq",
+      allocationSize = 50)
+  private Long id;
+
+  /** The day the interest is accrued for, at most one run accrues each day */
+  @Column(nullable = false, unique = true)
+  private LocalDate accrualDate;
+
+  @Column(nullable = false, precision = 9, scale = 6)
+  private BigDecimal annualRate;
+
+  @Column(nullable = false)
+  private int chunkSize;
+
+  /** The highest account id when the run started, accounts opened since accrue from the next day */
+  @Column(nullable = false)
+  private long lastAccountId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private AccrualStatus status = AccrualStatus.RUNNING;
+
+  @Column(nullable = false)
+  private long chunksCompleted;
+
+  /** The savings accounts with a positive balance the run went through */
+  @Column(nullable = false)
+  private long accountsProcessed;
+
+  /** The total interest credited in minor units */
+  @Column(nullable = false)
+  private long interestTotal;
+
+  /** The time spent accruing, summed up over the attempts of the run */
+  @Column(nullable = false)
+  private long elapsedMillis;
+
+  private String lastError;
+
+  @Column(nullable = false)
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private final ZonedDateTime dateStarted = ZonedDateTime.now();
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private ZonedDateTime dateUpdated;
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private ZonedDateTime dateFinished;
+}
@@ -0,0 +1,47 @@
+package io.assessment.banking.model.interest.vo;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.assessment.banking.constant.interest.AccrualStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for modelling the progress of an interest accrual run
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InterestAccrualRunVO {
+
+  private Long id;
+
+  private LocalDate accrualDate;
+
+  private BigDecimal annualRate;
+
+  private AccrualStatus status;
+
+  private long chunksCompleted;
+
+  private long accountsProcessed;
+
+  private BigDecimal interestTotal;
+
+  /** The accounts processed per second of time spent accruing */
+  private double accountsPerSecond;
+
+  private String lastError;
+
+  private ZonedDateTime dateStarted;
+
+  private ZonedDateTime dateUpdated;
+
+  private ZonedDateTime dateFinished;
+}
@@ -0,0 +1,21 @@
+package io.assessment.banking.model.interest.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Models the totals of the chunks an interest accrual run has credited
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@AllArgsConstructor
+public class InterestAccrualTotalsVO {
+
+  private final long chunks;
+
+  private final long accounts;
+
+  /** The interest in minor units */
+  private final long interest;
+}
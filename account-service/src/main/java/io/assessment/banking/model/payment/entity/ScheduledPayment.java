@@ -0,0 +1,86 @@
+package io.assessment.banking.model.payment.entity;
+
+import java.time.ZonedDateTime;
+
+import javax.persistence.*;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import io.assessment.banking.constant.payment.PaymentFrequency;
+import io.assessment.banking.constant.payment.ScheduledPaymentStatus;
+import io.assessment.banking.constant.transaction.TransactionType;
+import lombok.Data;
+
+/**
+ * Models a future-dated or recurring CREDIT/DEBIT of an account. The table is the durable state of
+ * the payments, the timing wheel that fires them is rebuilt from it on startup
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@Entity(name = "scheduled_payment")
+@Table(indexes = @Index(name = "idx_scheduled_payment_status_id", columnList = "status, id"))
+public class ScheduledPayment {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scheduled_payment_seq")
+  @SequenceGenerator(
+      name = "scheduled_payment_seq",
+      sequenceName = "scheduled_payment_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long accountId;
+
+  /** The amount in minor units */
+  @Column(nullable = false)
+  private long amount;
+
+  @Enumerated
+  @Column(nullable = false)
+  private TransactionType type;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private PaymentFrequency frequency;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private ScheduledPaymentStatus status = ScheduledPaymentStatus.ACTIVE;
+
+  /** The occurrences are counted from here, so monthly payments don't drift at the month end */
+  @Column(nullable = false)
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private ZonedDateTime firstExecutionAt;
+
+  @Column(nullable = false)
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private ZonedDateTime nextExecutionAt;
+
+  /** No occurrence after this time is executed, runs forever when null */
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private ZonedDateTime endAt;
+
+  /** The number of occurrences that are due already, executed or not */
+  @Column(nullable = false)
+  private int occurrences;
+
+  @Column(nullable = false)
+  private int executions;
+
+  @Column(nullable = false)
+  private int failedExecutions;
+
+  private String lastError;
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private ZonedDateTime lastExecutedAt;
+
+  @Column(nullable = false)
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private final ZonedDateTime dateCreated = ZonedDateTime.now();
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private ZonedDateTime dateUpdated;
+}
@@ -0,0 +1,21 @@
+package io.assessment.banking.model.payment.vo;
+
+import java.time.ZonedDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Models the id and the next execution time of a scheduled payment, read to rebuild the timing
+ * wheel without loading the whole payments
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@AllArgsConstructor
+public class ScheduledPaymentDueVO {
+
+  private final Long id;
+
+  private final ZonedDateTime nextExecutionAt;
+}
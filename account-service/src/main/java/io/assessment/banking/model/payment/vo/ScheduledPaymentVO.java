@@ -0,0 +1,79 @@
+package io.assessment.banking.model.payment.vo;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Digits;
+import javax.validation.constraints.Future;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import io.assessment.banking.constant.payment.PaymentFrequency;
+import io.assessment.banking.constant.payment.ScheduledPaymentStatus;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.util.time.SystemZoneDateTimeDeserializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for modelling the request to schedule a payment and the scheduled payment
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScheduledPaymentVO {
+
+  @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+  private Long id;
+
+  @NotNull(message = "accountId cannot be null")
+  @Min(1)
+  private Long accountId;
+
+  @NotNull(message = "amount cannot be null")
+  @DecimalMin(value = "0.01", message = "amount must be at least 0.01")
+  @Digits(integer = 16, fraction = 2, message = "amount can have at most 2 decimal places")
+  private BigDecimal amount;
+
+  @NotNull(message = "type cannot be null")
+  private TransactionType type;
+
+  @NotNull(message = "frequency cannot be null")
+  private PaymentFrequency frequency;
+
+  @NotNull(message = "firstExecutionAt cannot be null")
+  @Future(message = "firstExecutionAt must be in the future")
+  @JsonDeserialize(using = SystemZoneDateTimeDeserializer.class)
+  private ZonedDateTime firstExecutionAt;
+
+  @JsonDeserialize(using = SystemZoneDateTimeDeserializer.class)
+  private ZonedDateTime endAt;
+
+  @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+  private ScheduledPaymentStatus status;
+
+  @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+  private ZonedDateTime nextExecutionAt;
+
+  @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+  private Integer executions;
+
+  @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+  private Integer failedExecutions;
+
+  @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+  private String lastError;
+
+  @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+  private ZonedDateTime lastExecutedAt;
+
+  @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+  private ZonedDateTime dateCreated;
+}
@@ -0,0 +1,71 @@
+package io.assessment.banking.model.reconciliation.entity;
+
+import java.time.ZonedDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Data;
+
+/**
+ * Models an account whose balance doesn't match its transactions, found by a reconciliation run.
+ * All the amounts are in minor units
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@Entity(name = "reconciliation_mismatch")
+@Table(
+    indexes =
+        @Index(name = "idx_reconciliation_mismatch_run_account", columnList = "runId, accountId"))
+public class ReconciliationMismatch {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reconciliation_mismatch_seq")
+  @SequenceGenerator(
+      name = "reconciliation_mismatch_seq",
+      sequenceName = "reconciliation_mismatch_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long runId;
+
+  @Column(nullable = false)
+  private Long accountId;
+
+  /** The balance of the account */
+  @Column(nullable = false)
+  private long balance;
+
+  /** The credits minus the debits of the account in transaction service */
+  @Column(nullable = false)
+  private long transactionNet;
+
+  /** The credits minus the debits of the account still waiting in the outbox */
+  @Column(nullable = false)
+  private long pendingNet;
+
+  /**
+   * The credits minus the debits of the outbox entries of the account the relay gave up on, they
+   * never reach transaction service
+   */
+  @Column(nullable = false)
+  private long failedNet;
+
+  /** The balance minus the transaction net and the pending net */
+  @Column(nullable = false)
+  private long difference;
+
+  @Column(nullable = false)
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private final ZonedDateTime dateDetected = ZonedDateTime.now();
+}
@@ -0,0 +1,67 @@
+package io.assessment.banking.model.reconciliation.entity;
+
+import java.time.ZonedDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import io.assessment.banking.constant.reconciliation.ReconciliationStatus;
+import lombok.Data;
+
+/**
+ * Models a run of the reconciliation of the account balances with the transactions. The accounts
+ * with an id up to {@code lastAccountId} are checked in the order of their ids, {@code
+ * nextAccountId} is the checkpoint a stopped run resumes from
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@Entity(name = "reconciliation_run")
+public class ReconciliationRun {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reconciliation_run_seq")
+  @SequenceGenerator(
+      name = "reconciliation_run_seq",
+      sequenceName = "reconciliation_run_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private ReconciliationStatus status = ReconciliationStatus.RUNNING;
+
+  /** The lowest account id that hasn't been checked yet */
+  @Column(nullable = false)
+  private long nextAccountId = 1L;
+
+  /** The highest account id when the run started, accounts opened since are left to the next run */
+  @Column(nullable = false)
+  private long lastAccountId;
+
+  @Column(nullable = false)
+  private long accountsChecked;
+
+  @Column(nullable = false)
+  private long mismatchCount;
+
+  private String lastError;
+
+  @Column(nullable = false)
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private final ZonedDateTime dateStarted = ZonedDateTime.now();
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private ZonedDateTime dateUpdated;
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private ZonedDateTime dateFinished;
+}
@@ -0,0 +1,19 @@
+package io.assessment.banking.model.reconciliation.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Models the credits minus the debits of a set of transactions of an account
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@AllArgsConstructor
+public class AccountNetVO {
+
+  private final Long accountId;
+
+  /** The net amount in minor units */
+  private final long net;
+}
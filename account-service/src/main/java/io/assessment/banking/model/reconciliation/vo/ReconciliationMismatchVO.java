@@ -0,0 +1,35 @@
+package io.assessment.banking.model.reconciliation.vo;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for modelling an account whose balance doesn't match its transactions
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+public class ReconciliationMismatchVO {
+
+  private Long accountId;
+
+  private BigDecimal balance;
+
+  /** The credits minus the debits of the account in transaction service */
+  private BigDecimal transactionNet;
+
+  /** The credits minus the debits of the account not sent to transaction service yet */
+  private BigDecimal pendingNet;
+
+  /** The credits minus the debits of the account that failed to reach transaction service */
+  private BigDecimal failedNet;
+
+  /** The balance minus the transaction net and the pending net */
+  private BigDecimal difference;
+
+  private ZonedDateTime dateDetected;
+}
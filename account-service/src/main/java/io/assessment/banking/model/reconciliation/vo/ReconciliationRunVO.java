@@ -0,0 +1,42 @@
+package io.assessment.banking.model.reconciliation.vo;
+
+import java.time.ZonedDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.assessment.banking.constant.reconciliation.ReconciliationStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for modelling the progress of a reconciliation run
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReconciliationRunVO {
+
+  private Long id;
+
+  private ReconciliationStatus status;
+
+  /** The lowest account id that hasn't been checked yet */
+  private long nextAccountId;
+
+  /** The highest account id the run checks */
+  private long lastAccountId;
+
+  private long accountsChecked;
+
+  private long mismatchCount;
+
+  private String lastError;
+
+  private ZonedDateTime dateStarted;
+
+  private ZonedDateTime dateUpdated;
+
+  private ZonedDateTime dateFinished;
+}
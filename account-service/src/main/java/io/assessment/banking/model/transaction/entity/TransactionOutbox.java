@@ -0,0 +1,62 @@
+package io.assessment.banking.model.transaction.entity;
+
+import java.time.ZonedDateTime;
+
+import javax.persistence.*;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import io.assessment.banking.constant.transaction.OutboxStatus;
+import io.assessment.banking.constant.transaction.TransactionType;
+import lombok.Data;
+
+/**
+ * Models a transaction waiting to be sent to transaction service. It is written in the same local
+ * transaction as the balance change it records
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@Entity(name = "transaction_outbox")
+@Table(indexes = @Index(name = "idx_outbox_status_next_attempt", columnList = "status, nextAttemptAt"))
+public class TransactionOutbox {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_outbox_seq")
+  @SequenceGenerator(
+      name = "transaction_outbox_seq",
+      sequenceName = "transaction_outbox_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long accountId;
+
+  /** The amount in minor units */
+  @Column(nullable = false)
+  private long amount;
+
+  @Enumerated
+  @Column(nullable = false)
+  private TransactionType type;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private OutboxStatus status = OutboxStatus.PENDING;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(nullable = false)
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private ZonedDateTime nextAttemptAt = ZonedDateTime.now();
+
+  private String lastError;
+
+  @Column(nullable = false)
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private final ZonedDateTime dateCreated = ZonedDateTime.now();
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private ZonedDateTime dateSent;
+}
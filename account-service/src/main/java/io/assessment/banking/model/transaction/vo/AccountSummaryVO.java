@@ -0,0 +1,27 @@
+package io.assessment.banking.model.transaction.vo;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Models the totals of the transactions of an account as computed by transaction-service
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+public class AccountSummaryVO {
+
+  private Long accountId;
+
+  private BigDecimal creditTotal;
+
+  private BigDecimal debitTotal;
+
+  /** The credit total minus the debit total */
+  private BigDecimal balance;
+
+  private long transactionCount;
+}
@@ -0,0 +1,21 @@
+package io.assessment.banking.model.transaction.vo;
+
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Models a page of the transactions of an account as returned by transaction-service
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+public class TransactionPageVO {
+
+  private List<TransactionVO> transactions;
+
+  /** The cursor to request the next page with, null on the last page */
+  private String nextCursor;
+}
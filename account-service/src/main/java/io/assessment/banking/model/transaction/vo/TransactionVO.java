@@ -1,10 +1,13 @@
 package io.assessment.banking.model.transaction.vo;
 
+import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.util.time.SystemZoneDateTimeDeserializer;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -19,8 +22,12 @@ import lombok.NoArgsConstructor;
 public class TransactionVO {
 
   private Long id;
-  private Double amount;
+  private BigDecimal amount;
   private TransactionType type;
   private Long accountId;
+  @JsonDeserialize(using = SystemZoneDateTimeDeserializer.class)
   private ZonedDateTime dateTransacted;
+
+  /** Sent to transaction service to save the transaction only once, never returned by it */
+  private String idempotencyKey;
 }
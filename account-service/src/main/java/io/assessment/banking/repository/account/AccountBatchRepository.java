@@ -0,0 +1,14 @@
+package io.assessment.banking.repository.account;
+
+import java.time.ZonedDateTime;
+import java.util.SortedMap;
+
+/**
+ * Batched updates of the {@code account} table that are mixed into {@link AccountRepository}
+ *
+ * @author Nikhil Vibhav
+ */
+public interface AccountBatchRepository {
+
+  void addToBalances(final SortedMap<Long, Long> amountsById, final ZonedDateTime dateUpdated);
+}
@@ -0,0 +1,50 @@
+package io.assessment.banking.repository.account;
+
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Implementation of the functionalities described in {@link AccountBatchRepository} interface. The
+ * statements run on the connection of the transaction of the caller
+ *
+ * @author Nikhil Vibhav
+ */
+public class AccountBatchRepositoryImpl implements AccountBatchRepository {
+
+  private static final String ADD_TO_BALANCE_SQL =
+      "UPDATE account SET balance = balance + ?, date_updated = ? WHERE id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  public AccountBatchRepositoryImpl(final JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Adds an amount to the balance of each of the accounts with one JDBC batch. The amounts are
+   * added to the current balances, so changes committed since the balances were read are kept. The
+   * rows are updated in the order of their ids, so concurrent batches lock them in the same order
+   *
+   * @param amountsById - the amounts in minor units to add, by account id
+   * @param dateUpdated - the update timestamp
+   */
+  @Override
+  public void addToBalances(
+      final SortedMap<Long, Long> amountsById, final ZonedDateTime dateUpdated) {
+    if (amountsById.isEmpty()) {
+      return;
+    }
+
+    final Timestamp timestamp = Timestamp.from(dateUpdated.toInstant());
+    final List<Object[]> rows = new ArrayList<>(amountsById.size());
+    amountsById.forEach((id, amount) -> rows.add(new Object[] {amount, timestamp, id}));
+    jdbcTemplate.batchUpdate(ADD_TO_BALANCE_SQL, rows);
+  }
+}
@@ -1,12 +1,106 @@
 package io.assessment.banking.repository.account;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import io.assessment.banking.constant.account.AccountType;
 import io.assessment.banking.model.account.entity.Account;
+import io.assessment.banking.model.account.vo.AccountBalanceVO;
 
 /**
  * Spring Data JPA repository for {@link Account} entity
  *
  * @author Nikhil Vibhav
  */
-public interface AccountRepository extends CrudRepository<Account, Long> {}
+public interface AccountRepository
+    extends CrudRepository<Account, Long>, AccountBatchRepository {
+
+  /**
+   * Atomically adds the amount to the balance of the account, provided the current balance is at
+   * least the given minimum balance
+   *
+   * @param id - the account id
+   * @param amount - the amount in minor units to add, negative for a DEBIT
+   * @param minimumBalance - the balance the account must have for the update to happen
+   * @param dateUpdated - the update timestamp
+   * @return the number of updated rows, 0 when the account doesn't exist or has a lower balance
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "UPDATE account a SET a.balance = a.balance + :amount, a.dateUpdated = :dateUpdated "
+          + "WHERE a.id = :id AND a.balance >= :minimumBalance")
+  int addToBalance(
+      @Param("id") final Long id,
+      @Param("amount") final long amount,
+      @Param("minimumBalance") final long minimumBalance,
+      @Param("dateUpdated") final ZonedDateTime dateUpdated);
+
+  /**
+   * Finds the account by the given id and locks its row until the end of the transaction
+   *
+   * @param id - the account id
+   * @return the locked {@link Account}, if it exists
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT a FROM account a WHERE a.id = :id")
+  Optional<Account> findByIdForUpdate(@Param("id") final Long id);
+
+  /**
+   * Finds the balances of the accounts with an id in the given range
+   *
+   * @param fromId - the lowest account id, inclusive
+   * @param toId - the highest account id, exclusive
+   * @return the balances, ordered by account id
+   */
+  @Query(
+      "SELECT new io.assessment.banking.model.account.vo.AccountBalanceVO(a.id, a.balance) "
+          + "FROM account a WHERE a.id >= :fromId AND a.id < :toId ORDER BY a.id")
+  List<AccountBalanceVO> findBalancesByIdRange(
+      @Param("fromId") final long fromId, @Param("toId") final long toId);
+
+  /**
+   * Finds the positive balances of the accounts of the given type with an id in the given range
+   *
+   * @param type - the account type
+   * @param fromId - the lowest account id, inclusive
+   * @param toId - the highest account id, exclusive
+   * @return the balances, ordered by account id
+   */
+  @Query(
+      "SELECT new io.assessment.banking.model.account.vo.AccountBalanceVO(a.id, a.balance) "
+          + "FROM account a WHERE a.type = :type AND a.id >= :fromId AND a.id < :toId "
+          + "AND a.balance > 0 ORDER BY a.id")
+  List<AccountBalanceVO> findPositiveBalancesByTypeAndIdRange(
+      @Param("type") final AccountType type,
+      @Param("fromId") final long fromId,
+      @Param("toId") final long toId);
+
+  /**
+   * Finds the balances of the accounts with the given ids
+   *
+   * @param ids - the account ids
+   * @return the balances, ordered by account id
+   */
+  @Query(
+      "SELECT new io.assessment.banking.model.account.vo.AccountBalanceVO(a.id, a.balance) "
+          + "FROM account a WHERE a.id IN :ids ORDER BY a.id")
+  List<AccountBalanceVO> findBalancesByIdIn(@Param("ids") final Collection<Long> ids);
+
+  /**
+   * Finds the highest account id
+   *
+   * @return the highest account id, if there are any accounts
+   */
+  @Query("SELECT MAX(a.id) FROM account a")
+  Optional<Long> findMaxId();
+}
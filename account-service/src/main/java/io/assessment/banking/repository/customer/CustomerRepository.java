@@ -1,5 +1,8 @@
 package io.assessment.banking.repository.customer;
 
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.repository.CrudRepository;
 
 import io.assessment.banking.model.customer.entity.Customer;
@@ -9,4 +12,15 @@ import io.assessment.banking.model.customer.entity.Customer;
  *
  * @author Nikhil Vibhav
  */
-public interface CustomerRepository extends CrudRepository<Customer, Long> {}
+public interface CustomerRepository extends CrudRepository<Customer, Long> {
+
+  /**
+   * Finds the customer along with its accounts in one query, so the accounts can be read after the
+   * persistence context is closed
+   *
+   * @param id - the customer id
+   * @return the {@link Customer} with its accounts, if it exists
+   */
+  @EntityGraph(attributePaths = "accounts")
+  Optional<Customer> findWithAccountsById(final Long id);
+}
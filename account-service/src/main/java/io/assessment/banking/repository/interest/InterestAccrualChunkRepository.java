@@ -0,0 +1,40 @@
+package io.assessment.banking.repository.interest;
+
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import io.assessment.banking.model.interest.entity.InterestAccrualChunk;
+import io.assessment.banking.model.interest.vo.InterestAccrualTotalsVO;
+
+/**
+ * Spring Data JPA repository for {@link InterestAccrualChunk} entity
+ *
+ * @author Nikhil Vibhav
+ */
+public interface InterestAccrualChunkRepository
+    extends CrudRepository<InterestAccrualChunk, Long> {
+
+  /**
+   * Finds the first account id of each chunk the run has credited
+   *
+   * @param runId - the interest accrual run id
+   * @return the first account ids of the credited chunks
+   */
+  @Query("SELECT c.fromAccountId FROM interest_accrual_chunk c WHERE c.runId = :runId")
+  Set<Long> findFromAccountIdsByRunId(@Param("runId") final Long runId);
+
+  /**
+   * Sums up the chunks the run has credited
+   *
+   * @param runId - the interest accrual run id
+   * @return the {@link InterestAccrualTotalsVO} of the run
+   */
+  @Query(
+      "SELECT new io.assessment.banking.model.interest.vo.InterestAccrualTotalsVO(COUNT(c), "
+          + "COALESCE(SUM(c.accounts), 0), COALESCE(SUM(c.interest), 0)) "
+          + "FROM interest_accrual_chunk c WHERE c.runId = :runId")
+  InterestAccrualTotalsVO sumByRunId(@Param("runId") final Long runId);
+}
@@ -0,0 +1,24 @@
+package io.assessment.banking.repository.interest;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.springframework.data.repository.CrudRepository;
+
+import io.assessment.banking.model.interest.entity.InterestAccrualRun;
+
+/**
+ * Spring Data JPA repository for {@link InterestAccrualRun} entity
+ *
+ * @author Nikhil Vibhav
+ */
+public interface InterestAccrualRunRepository extends CrudRepository<InterestAccrualRun, Long> {
+
+  /**
+   * Finds the run that accrues the interest of the given day
+   *
+   * @param accrualDate - the accrual day
+   * @return the run of the day, if there is one
+   */
+  Optional<InterestAccrualRun> findByAccrualDate(final LocalDate accrualDate);
+}
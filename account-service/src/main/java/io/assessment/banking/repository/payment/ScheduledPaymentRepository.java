@@ -0,0 +1,52 @@
+package io.assessment.banking.repository.payment;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import io.assessment.banking.constant.payment.ScheduledPaymentStatus;
+import io.assessment.banking.model.payment.entity.ScheduledPayment;
+import io.assessment.banking.model.payment.vo.ScheduledPaymentDueVO;
+
+/**
+ * Spring Data JPA repository for {@link ScheduledPayment} entity
+ *
+ * @author Nikhil Vibhav
+ */
+public interface ScheduledPaymentRepository extends CrudRepository<ScheduledPayment, Long> {
+
+  /**
+   * Finds the next execution times of the payments with the given status, one page of ids at a
+   * time
+   *
+   * @param status - the payment status
+   * @param afterId - the payment id to start after, 0 for the first page
+   * @param pageable - the maximum number of payments to return
+   * @return the next execution times, ordered by payment id
+   */
+  @Query(
+      "SELECT new io.assessment.banking.model.payment.vo.ScheduledPaymentDueVO("
+          + "p.id, p.nextExecutionAt) FROM scheduled_payment p "
+          + "WHERE p.status = :status AND p.id > :afterId ORDER BY p.id")
+  List<ScheduledPaymentDueVO> findNextExecutions(
+      @Param("status") final ScheduledPaymentStatus status,
+      @Param("afterId") final long afterId,
+      final Pageable pageable);
+
+  /**
+   * Finds the payments by the given ids and locks their rows until the end of the transaction
+   *
+   * @param ids - the payment ids
+   * @return the locked payments, ordered by id
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT p FROM scheduled_payment p WHERE p.id IN :ids ORDER BY p.id")
+  List<ScheduledPayment> findByIdInForUpdate(@Param("ids") final Collection<Long> ids);
+}
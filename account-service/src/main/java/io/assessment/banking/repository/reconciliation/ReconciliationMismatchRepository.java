@@ -0,0 +1,47 @@
+package io.assessment.banking.repository.reconciliation;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.assessment.banking.model.reconciliation.entity.ReconciliationMismatch;
+
+/**
+ * Spring Data JPA repository for {@link ReconciliationMismatch} entity
+ *
+ * @author Nikhil Vibhav
+ */
+public interface ReconciliationMismatchRepository
+    extends CrudRepository<ReconciliationMismatch, Long> {
+
+  /**
+   * Deletes the mismatches a run found from the given account id onwards
+   *
+   * @param runId - the reconciliation run id
+   * @param fromAccountId - the lowest account id, inclusive
+   * @return the number of deleted mismatches
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      "DELETE FROM reconciliation_mismatch m "
+          + "WHERE m.runId = :runId AND m.accountId >= :fromAccountId")
+  int deleteByRunIdFromAccountId(
+      @Param("runId") final Long runId, @Param("fromAccountId") final long fromAccountId);
+
+  /**
+   * Finds the mismatches a run found after the given account id
+   *
+   * @param runId - the reconciliation run id
+   * @param afterAccountId - the account id to start after
+   * @param pageable - the maximum number of mismatches to return
+   * @return the mismatches, ordered by account id
+   */
+  List<ReconciliationMismatch> findByRunIdAndAccountIdGreaterThanOrderByAccountId(
+      final Long runId, final long afterAccountId, final Pageable pageable);
+}
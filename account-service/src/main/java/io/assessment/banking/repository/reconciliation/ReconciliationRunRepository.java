@@ -0,0 +1,24 @@
+package io.assessment.banking.repository.reconciliation;
+
+import java.util.Optional;
+
+import org.springframework.data.repository.CrudRepository;
+
+import io.assessment.banking.constant.reconciliation.ReconciliationStatus;
+import io.assessment.banking.model.reconciliation.entity.ReconciliationRun;
+
+/**
+ * Spring Data JPA repository for {@link ReconciliationRun} entity
+ *
+ * @author Nikhil Vibhav
+ */
+public interface ReconciliationRunRepository extends CrudRepository<ReconciliationRun, Long> {
+
+  /**
+   * Finds the latest run that doesn't have the given status
+   *
+   * @param status - the status to exclude
+   * @return the latest run without the status, if there is one
+   */
+  Optional<ReconciliationRun> findFirstByStatusNotOrderByIdDesc(final ReconciliationStatus status);
+}
@@ -0,0 +1,76 @@
+package io.assessment.banking.repository.transaction;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import io.assessment.banking.constant.transaction.OutboxStatus;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.model.reconciliation.vo.AccountNetVO;
+import io.assessment.banking.model.transaction.entity.TransactionOutbox;
+
+/**
+ * Spring JPA repository for {@link TransactionOutbox} entity
+ *
+ * @author Nikhil Vibhav
+ */
+public interface TransactionOutboxRepository extends CrudRepository<TransactionOutbox, Long> {
+
+  /**
+   * Finds the oldest entries with the given status that are due for a delivery attempt
+   *
+   * @param status - the outbox status
+   * @param now - the current time
+   * @param pageable - the maximum number of entries to return
+   * @return the due entries, ordered by id
+   */
+  List<TransactionOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderById(
+      final OutboxStatus status, final ZonedDateTime now, final Pageable pageable);
+
+  /**
+   * Sums up the credits minus the debits of the entries with the given status, for each account
+   * with an id in the given range
+   *
+   * @param status - the outbox status
+   * @param credit - the {@link TransactionType#CREDIT} type
+   * @param fromId - the lowest account id, inclusive
+   * @param toId - the highest account id, exclusive
+   * @return the net amount of each account with entries in that status
+   */
+  @Query(
+      "SELECT new io.assessment.banking.model.reconciliation.vo.AccountNetVO(o.accountId, "
+          + "SUM(CASE WHEN o.type = :credit THEN o.amount ELSE -o.amount END)) "
+          + "FROM transaction_outbox o "
+          + "WHERE o.status = :status AND o.accountId >= :fromId AND o.accountId < :toId "
+          + "GROUP BY o.accountId")
+  List<AccountNetVO> sumByStatusAndAccountIdRange(
+      @Param("status") final OutboxStatus status,
+      @Param("credit") final TransactionType credit,
+      @Param("fromId") final long fromId,
+      @Param("toId") final long toId);
+
+  /**
+   * Sums up the credits minus the debits of the entries with the given status, for each of the
+   * given accounts
+   *
+   * @param status - the outbox status
+   * @param credit - the {@link TransactionType#CREDIT} type
+   * @param accountIds - the account ids
+   * @return the net amount of each account with entries in that status
+   */
+  @Query(
+      "SELECT new io.assessment.banking.model.reconciliation.vo.AccountNetVO(o.accountId, "
+          + "SUM(CASE WHEN o.type = :credit THEN o.amount ELSE -o.amount END)) "
+          + "FROM transaction_outbox o "
+          + "WHERE o.status = :status AND o.accountId IN :accountIds "
+          + "GROUP BY o.accountId")
+  List<AccountNetVO> sumByStatusAndAccountIdIn(
+      @Param("status") final OutboxStatus status,
+      @Param("credit") final TransactionType credit,
+      @Param("accountIds") final Collection<Long> accountIds);
+}
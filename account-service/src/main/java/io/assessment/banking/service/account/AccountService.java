@@ -1,8 +1,11 @@
 package io.assessment.banking.service.account;
 
+import java.util.List;
+
 import io.assessment.banking.constant.transaction.TransactionType;
 import io.assessment.banking.exception.account.AccountNotFoundException;
 import io.assessment.banking.exception.account.LowBalanceException;
+import io.assessment.banking.exception.account.SameAccountTransferException;
 import io.assessment.banking.model.account.entity.Account;
 
 /**
@@ -14,8 +17,16 @@ public interface AccountService {
 
   Account createAccount(final Account accountToSave);
 
-  Account updateBalance(final Long accountId, final Double amount, final TransactionType type)
+  List<Account> createAccounts(final List<Account> accountsToSave);
+
+  Account updateBalance(final Long accountId, final long amount, final TransactionType type)
       throws AccountNotFoundException, LowBalanceException;
 
+  Account postTransaction(final Long accountId, final long amount, final TransactionType type)
+      throws AccountNotFoundException, LowBalanceException;
+
+  List<Account> transfer(final Long fromAccountId, final Long toAccountId, final long amount)
+      throws AccountNotFoundException, LowBalanceException, SameAccountTransferException;
+
   void deleteAccount(final Long accountId) throws AccountNotFoundException;
 }
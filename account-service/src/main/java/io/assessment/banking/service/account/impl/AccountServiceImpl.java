@@ -1,17 +1,23 @@
 package io.assessment.banking.service.account.impl;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import io.assessment.banking.constant.transaction.TransactionType;
 import io.assessment.banking.exception.account.AccountNotFoundException;
 import io.assessment.banking.exception.account.LowBalanceException;
+import io.assessment.banking.exception.account.SameAccountTransferException;
 import io.assessment.banking.model.account.entity.Account;
+import io.assessment.banking.model.account.event.CustomerAccountsChangedEvent;
 import io.assessment.banking.repository.account.AccountRepository;
 import io.assessment.banking.service.account.AccountService;
+import io.assessment.banking.service.outbox.TransactionOutboxService;
 import io.assessment.banking.util.transaction.TransactionUtil;
 import lombok.extern.log4j.Log4j2;
 
@@ -25,10 +31,17 @@ import lombok.extern.log4j.Log4j2;
 public class AccountServiceImpl implements AccountService {
 
   private final AccountRepository repository;
+  private final TransactionOutboxService transactionOutboxService;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Autowired
-  public AccountServiceImpl(final AccountRepository repository) {
+  public AccountServiceImpl(
+      final AccountRepository repository,
+      final TransactionOutboxService transactionOutboxService,
+      final ApplicationEventPublisher eventPublisher) {
     this.repository = repository;
+    this.transactionOutboxService = transactionOutboxService;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -41,16 +54,81 @@ public class AccountServiceImpl implements AccountService {
   public Account createAccount(final Account accountToSave) {
 
     final Account savedAccount = repository.save(accountToSave);
+    publishAccountsChanged(savedAccount);
 
     log.debug("Saving account: {}", savedAccount);
     return savedAccount;
   }
 
   /**
-   * Updates the balance in the account based on the {@link TransactionType}
+   * Saves several accounts to database. Together with the pooled account ids and {@code
+   * hibernate.jdbc.batch_size}, the inserts are sent in JDBC batches
+   *
+   * @param accountsToSave - the accounts to save
+   * @return the saved {@link Account} entities, in the given order
+   */
+  @Override
+  @Transactional
+  public List<Account> createAccounts(final List<Account> accountsToSave) {
+
+    final List<Account> savedAccounts = new ArrayList<>(accountsToSave.size());
+    repository.saveAll(accountsToSave).forEach(savedAccounts::add);
+    savedAccounts.stream()
+        .map(account -> account.getCustomer().getId())
+        .distinct()
+        .map(CustomerAccountsChangedEvent::new)
+        .forEach(eventPublisher::publishEvent);
+
+    log.debug("Saved {} accounts", savedAccounts.size());
+    return savedAccounts;
+  }
+
+  /**
+   * Updates the balance in the account based on the {@link TransactionType}. The balance is changed
+   * with a single conditional UPDATE in the database, so concurrent credits and debits to the same
+   * account can't overwrite each other and a DEBIT never takes the balance below 0
+   *
+   * @param id - the account id
+   * @param amount - the amount to credit/debit in minor units
+   * @param type - the transaction type - CREDIT/DEBIT
+   * @return the {@link Account} entity with the updated balance
+   * @throws AccountNotFoundException - thrown when the application can't find an account with the
+   *     given id
+   * @throws LowBalanceException - thrown when the account doesn't have sufficient balance to
+   *     perform the operation
+   */
+  @Override
+  @Transactional
+  public Account updateBalance(final Long id, final long amount, final TransactionType type)
+      throws AccountNotFoundException, LowBalanceException {
+
+    log.debug("Updating balance for account: {} by {} {}", id, type, amount);
+    final int updatedRows =
+        repository.addToBalance(
+            id,
+            TransactionUtil.toBalanceChange(amount, type),
+            TransactionUtil.toMinimumBalance(amount, type),
+            ZonedDateTime.now());
+
+    if (updatedRows == 0) {
+      if (!repository.existsById(id)) {
+        throw new AccountNotFoundException("Could not find account with the given id: " + id);
+      }
+      throw new LowBalanceException("The account has low balance to perform the DEBIT operation");
+    }
+
+    // The row stays locked by the UPDATE until commit, so this reads the state it left behind
+    final Account updatedAccount = findAccount(id);
+    publishAccountsChanged(updatedAccount);
+    return updatedAccount;
+  }
+
+  /**
+   * Credits or debits the account and adds the transaction to the outbox in one local transaction,
+   * the outbox relay sends it to transaction service afterwards
    *
    * @param id - the account id
-   * @param amount - the amount to credit/debit
+   * @param amount - the amount to credit/debit in minor units
    * @param type - the transaction type - CREDIT/DEBIT
    * @return the {@link Account} entity with the updated balance
    * @throws AccountNotFoundException - thrown when the application can't find an account with the
@@ -60,17 +138,63 @@ public class AccountServiceImpl implements AccountService {
    */
   @Override
   @Transactional
-  public Account updateBalance(final Long id, final Double amount, final TransactionType type)
+  public Account postTransaction(final Long id, final long amount, final TransactionType type)
       throws AccountNotFoundException, LowBalanceException {
 
-    final Account accountToUpdate = findAccount(id);
+    final Account updatedAccount = updateBalance(id, amount, type);
+    transactionOutboxService.enqueue(id, amount, type);
+    return updatedAccount;
+  }
+
+  /**
+   * Transfers the amount from one account to another in one local transaction. Both account rows
+   * are locked in ascending id order, so two transfers between the same accounts in opposite
+   * directions queue behind each other instead of deadlocking. The balance changes are applied to
+   * the locked entities and flushed together at commit, with {@code hibernate.jdbc.batch_size} the
+   * two UPDATEs are sent as one JDBC batch
+   *
+   * @param fromAccountId - the account to debit
+   * @param toAccountId - the account to credit
+   * @param amount - the amount to transfer in minor units
+   * @return the debited and the credited {@link Account} entities, in that order
+   * @throws AccountNotFoundException - thrown when the application can't find one of the accounts
+   * @throws LowBalanceException - thrown when the debited account doesn't have sufficient balance
+   * @throws SameAccountTransferException - thrown when both ids are the same account, whose
+   *     balance would otherwise be credited over its own debit
+   */
+  @Override
+  @Transactional
+  public List<Account> transfer(final Long fromAccountId, final Long toAccountId, final long amount)
+      throws AccountNotFoundException, LowBalanceException, SameAccountTransferException {
 
-    accountToUpdate.setBalance(
-        TransactionUtil.performTransaction(amount, accountToUpdate.getBalance(), type));
-    accountToUpdate.setDateUpdated(ZonedDateTime.now());
+    if (fromAccountId.equals(toAccountId)) {
+      throw new SameAccountTransferException("Cannot transfer money to the same account");
+    }
 
-    log.debug("Updating balance for account: {}", accountToUpdate);
-    return repository.save(accountToUpdate);
+    log.debug(
+        "Transferring {} from account: {} to account: {}", amount, fromAccountId, toAccountId);
+    final boolean fromFirst = fromAccountId < toAccountId;
+    final Account firstAccount = findAccountForUpdate(fromFirst ? fromAccountId : toAccountId);
+    final Account secondAccount = findAccountForUpdate(fromFirst ? toAccountId : fromAccountId);
+    final Account fromAccount = fromFirst ? firstAccount : secondAccount;
+    final Account toAccount = fromFirst ? secondAccount : firstAccount;
+
+    final long fromBalance =
+        TransactionUtil.performTransaction(amount, fromAccount.getBalance(), TransactionType.DEBIT);
+    final long toBalance =
+        TransactionUtil.performTransaction(amount, toAccount.getBalance(), TransactionType.CREDIT);
+
+    final ZonedDateTime now = ZonedDateTime.now();
+    fromAccount.setBalance(fromBalance);
+    fromAccount.setDateUpdated(now);
+    toAccount.setBalance(toBalance);
+    toAccount.setDateUpdated(now);
+
+    publishAccountsChanged(fromAccount);
+    if (!fromAccount.getCustomer().getId().equals(toAccount.getCustomer().getId())) {
+      publishAccountsChanged(toAccount);
+    }
+    return List.of(fromAccount, toAccount);
   }
 
   /**
@@ -87,6 +211,16 @@ public class AccountServiceImpl implements AccountService {
 
     log.debug("Deleting account: {}", accountToDelete);
     repository.delete(accountToDelete);
+    publishAccountsChanged(accountToDelete);
+  }
+
+  /**
+   * Publishes a {@link CustomerAccountsChangedEvent} for the customer owning the account
+   *
+   * @param account - the created, updated or deleted account
+   */
+  private void publishAccountsChanged(final Account account) {
+    eventPublisher.publishEvent(new CustomerAccountsChangedEvent(account.getCustomer().getId()));
   }
 
   /**
@@ -105,4 +239,21 @@ public class AccountServiceImpl implements AccountService {
         .orElseThrow(
             () -> new AccountNotFoundException("Could not find account with the given id: " + id));
   }
+
+  /**
+   * Finds the account by the given account id and locks its row until the end of the transaction
+   *
+   * @param id - the account id
+   * @return the locked {@link Account} entity
+   * @throws AccountNotFoundException thrown when the application cannot find the account with the
+   *     given id
+   */
+  private Account findAccountForUpdate(final Long id) throws AccountNotFoundException {
+
+    log.debug("Locking account with id: {}", id);
+    return repository
+        .findByIdForUpdate(id)
+        .orElseThrow(
+            () -> new AccountNotFoundException("Could not find account with the given id: " + id));
+  }
 }
@@ -0,0 +1,105 @@
+package io.assessment.banking.service.account.impl;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.exception.account.AccountNotFoundException;
+import io.assessment.banking.exception.account.LowBalanceException;
+import io.assessment.banking.exception.account.SameAccountTransferException;
+import io.assessment.banking.model.account.entity.Account;
+import io.assessment.banking.service.account.AccountService;
+import io.assessment.banking.service.account.sequencer.BalanceUpdateSequencer;
+
+/**
+ * {@link AccountService} used when {@code account.balance.update.mode=SEQUENCED}. Transactions
+ * posted to an account are routed through the {@link BalanceUpdateSequencer}, everything else is
+ * delegated to {@link AccountServiceImpl}
+ *
+ * @author Nikhil Vibhav
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "account.balance.update.mode", havingValue = "SEQUENCED")
+public class SequencedAccountServiceImpl implements AccountService {
+
+  private final AccountServiceImpl delegate;
+  private final BalanceUpdateSequencer sequencer;
+
+  @Autowired
+  public SequencedAccountServiceImpl(
+      final AccountServiceImpl delegate, final BalanceUpdateSequencer sequencer) {
+    this.delegate = delegate;
+    this.sequencer = sequencer;
+  }
+
+  @Override
+  public Account createAccount(final Account accountToSave) {
+    return delegate.createAccount(accountToSave);
+  }
+
+  @Override
+  public List<Account> createAccounts(final List<Account> accountsToSave) {
+    return delegate.createAccounts(accountsToSave);
+  }
+
+  @Override
+  public Account updateBalance(final Long accountId, final long amount, final TransactionType type)
+      throws AccountNotFoundException, LowBalanceException {
+    return delegate.updateBalance(accountId, amount, type);
+  }
+
+  /**
+   * Posts the transaction through the sequencer, which commits the balance change and the outbox
+   * entry together on its writer thread. When the caller already runs in a transaction both must
+   * roll back with it, so they are written directly by {@link AccountServiceImpl} instead
+   *
+   * @param accountId - the account id
+   * @param amount - the amount to credit/debit in minor units
+   * @param type - the transaction type - CREDIT/DEBIT
+   * @return the {@link Account} entity with the updated balance
+   * @throws AccountNotFoundException - thrown when the application can't find an account with the
+   *     given id
+   * @throws LowBalanceException - thrown when the account doesn't have sufficient balance to
+   *     perform the operation
+   */
+  @Override
+  public Account postTransaction(
+      final Long accountId, final long amount, final TransactionType type)
+      throws AccountNotFoundException, LowBalanceException {
+
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return delegate.postTransaction(accountId, amount, type);
+    }
+    return sequencer.postTransaction(accountId, amount, type);
+  }
+
+  /**
+   * Transfers the amount directly through {@link AccountServiceImpl}. The transfer locks both
+   * account rows itself, the sequencer locks the row of an account too before it writes it, so the
+   * two never overwrite each other
+   *
+   * @param fromAccountId - the account to debit
+   * @param toAccountId - the account to credit
+   * @param amount - the amount to transfer in minor units
+   * @return the debited and the credited {@link Account} entities, in that order
+   * @throws AccountNotFoundException - thrown when the application can't find one of the accounts
+   * @throws LowBalanceException - thrown when the debited account doesn't have sufficient balance
+   * @throws SameAccountTransferException - thrown when both ids are the same account
+   */
+  @Override
+  public List<Account> transfer(final Long fromAccountId, final Long toAccountId, final long amount)
+      throws AccountNotFoundException, LowBalanceException, SameAccountTransferException {
+    return delegate.transfer(fromAccountId, toAccountId, amount);
+  }
+
+  @Override
+  public void deleteAccount(final Long accountId) throws AccountNotFoundException {
+    delegate.deleteAccount(accountId);
+  }
+}
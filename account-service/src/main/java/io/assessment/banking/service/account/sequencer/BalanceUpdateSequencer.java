@@ -0,0 +1,270 @@
+package io.assessment.banking.service.account.sequencer;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.exception.account.AccountNotFoundException;
+import io.assessment.banking.exception.account.LowBalanceException;
+import io.assessment.banking.model.account.entity.Account;
+import io.assessment.banking.model.account.event.CustomerAccountsChangedEvent;
+import io.assessment.banking.model.transaction.entity.TransactionOutbox;
+import io.assessment.banking.repository.account.AccountRepository;
+import io.assessment.banking.service.outbox.TransactionOutboxService;
+import io.assessment.banking.util.transaction.TransactionUtil;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Single-writer sequencer for the transactions posted to an account. Every account id is routed to
+ * one of a fixed number of stripes, each stripe is a queue drained by its own thread. The thread
+ * takes all the pending transactions of an account at once and, in one local transaction, locks the
+ * account row, applies them in arrival order (rejecting the debits that would overdraw the account
+ * and the credits that would overflow it), writes the resulting balance with one UPDATE and adds
+ * the accepted transactions to the outbox. The balance change and its outbox entries therefore
+ * commit together on the writer thread, without the caller holding a transaction or a row lock
+ * while it waits
+ *
+ * @author Nikhil Vibhav
+ */
+@Component
+@ConditionalOnProperty(name = "account.balance.update.mode", havingValue = "SEQUENCED")
+@Log4j2
+public class BalanceUpdateSequencer {
+
+  private final AccountRepository repository;
+  private final TransactionOutboxService transactionOutboxService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int maxBatchSize;
+  private final List<BlockingQueue<BalanceUpdate>> stripes;
+  private final List<Thread> workers;
+
+  private volatile boolean running = true;
+
+  @Autowired
+  public BalanceUpdateSequencer(
+      final AccountRepository repository,
+      final TransactionOutboxService transactionOutboxService,
+      final ApplicationEventPublisher eventPublisher,
+      final TransactionTemplate transactionTemplate,
+      @Value("${account.balance.sequencer.stripes:4}") final int numberOfStripes,
+      @Value("${account.balance.sequencer.max-batch-size:256}") final int maxBatchSize) {
+    this.repository = repository;
+    this.transactionOutboxService = transactionOutboxService;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = transactionTemplate;
+    this.maxBatchSize = maxBatchSize;
+    this.stripes = new ArrayList<>(numberOfStripes);
+    this.workers = new ArrayList<>(numberOfStripes);
+
+    for (int i = 0; i < numberOfStripes; i++) {
+      final BlockingQueue<BalanceUpdate> stripe = new LinkedBlockingQueue<>();
+      stripes.add(stripe);
+
+      final Thread worker = new Thread(() -> drain(stripe), "balance-sequencer-" + i);
+      worker.setDaemon(true);
+      workers.add(worker);
+    }
+  }
+
+  @PostConstruct
+  public void start() {
+    workers.forEach(Thread::start);
+    log.info("Started balance update sequencer with {} stripes", stripes.size());
+  }
+
+  @PreDestroy
+  public void stop() {
+    running = false;
+    workers.forEach(Thread::interrupt);
+    stripes.forEach(
+        stripe -> {
+          final List<BalanceUpdate> pending = new ArrayList<>();
+          stripe.drainTo(pending);
+          pending.forEach(
+              update ->
+                  update.result.completeExceptionally(
+                      new IllegalStateException("The balance update sequencer is shutting down")));
+        });
+  }
+
+  /**
+   * Queues the transaction on the stripe of the account and waits until its balance change and
+   * its outbox entry are committed
+   *
+   * @param accountId - the account id
+   * @param amount - the amount to credit/debit in minor units
+   * @param type - the transaction type - CREDIT/DEBIT
+   * @return the {@link Account} entity as written by the batch the transaction was part of
+   * @throws AccountNotFoundException - thrown when the application can't find an account with the
+   *     given id
+   * @throws LowBalanceException - thrown when the account doesn't have sufficient balance to
+   *     perform the operation
+   */
+  public Account postTransaction(
+      final Long accountId, final long amount, final TransactionType type)
+      throws AccountNotFoundException, LowBalanceException {
+
+    if (!running) {
+      throw new IllegalStateException("The balance update sequencer is shutting down");
+    }
+
+    final BalanceUpdate update = new BalanceUpdate(accountId, amount, type);
+    stripes.get((int) Math.floorMod(accountId, (long) stripes.size())).add(update);
+
+    try {
+      return update.result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the balance update", e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof AccountNotFoundException) {
+        throw (AccountNotFoundException) cause;
+      }
+      if (cause instanceof LowBalanceException) {
+        throw (LowBalanceException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException("The balance update failed", cause);
+    }
+  }
+
+  /**
+   * Worker loop of a stripe, takes the pending transactions in batches and applies them per
+   * account
+   *
+   * @param stripe - the queue of the stripe
+   */
+  private void drain(final BlockingQueue<BalanceUpdate> stripe) {
+    final List<BalanceUpdate> batch = new ArrayList<>(maxBatchSize);
+
+    while (running) {
+      try {
+        batch.add(stripe.take());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      stripe.drainTo(batch, maxBatchSize - 1);
+
+      final Map<Long, List<BalanceUpdate>> updatesByAccount = new LinkedHashMap<>();
+      for (final BalanceUpdate update : batch) {
+        updatesByAccount.computeIfAbsent(update.accountId, id -> new ArrayList<>()).add(update);
+      }
+      updatesByAccount.forEach(this::apply);
+      batch.clear();
+    }
+  }
+
+  /**
+   * Applies the pending transactions of one account in a single local transaction and completes
+   * them once it commits
+   *
+   * @param accountId - the account id
+   * @param updates - the pending transactions of the account in arrival order
+   */
+  private void apply(final Long accountId, final List<BalanceUpdate> updates) {
+    final List<BalanceUpdate> accepted = new ArrayList<>(updates.size());
+
+    try {
+      final Account account =
+          transactionTemplate.execute(status -> coalesce(accountId, updates, accepted));
+      accepted.forEach(update -> update.result.complete(account));
+
+      log.debug(
+          "Applied {} of {} transactions to account: {}",
+          accepted.size(),
+          updates.size(),
+          accountId);
+    } catch (RuntimeException e) {
+      log.error("Error occurred while applying the transactions to account: {}", accountId, e);
+      updates.forEach(update -> update.result.completeExceptionally(e));
+    }
+  }
+
+  /**
+   * Locks the account row and applies the transactions to the balance in memory, the new balance
+   * is written by a single UPDATE when the transaction commits, together with the outbox entries of
+   * the accepted transactions
+   *
+   * @param accountId - the account id
+   * @param updates - the pending transactions of the account in arrival order
+   * @param accepted - the list to add the transactions that could be applied to
+   * @return the updated {@link Account}, or null when the account doesn't exist
+   */
+  private Account coalesce(
+      final Long accountId, final List<BalanceUpdate> updates, final List<BalanceUpdate> accepted) {
+
+    final Optional<Account> lockedAccount = repository.findByIdForUpdate(accountId);
+    if (lockedAccount.isEmpty()) {
+      final AccountNotFoundException notFound =
+          new AccountNotFoundException("Could not find account with the given id: " + accountId);
+      updates.forEach(update -> update.result.completeExceptionally(notFound));
+      return null;
+    }
+
+    final Account account = lockedAccount.get();
+    long balance = account.getBalance();
+    final List<TransactionOutbox> entries = new ArrayList<>(updates.size());
+    for (final BalanceUpdate update : updates) {
+      try {
+        balance = TransactionUtil.performTransaction(update.amount, balance, update.type);
+        accepted.add(update);
+        entries.add(update.toOutboxEntry());
+      } catch (LowBalanceException | ArithmeticException e) {
+        update.result.completeExceptionally(e);
+      }
+    }
+
+    if (!accepted.isEmpty()) {
+      account.setBalance(balance);
+      account.setDateUpdated(ZonedDateTime.now());
+      transactionOutboxService.enqueueAll(entries);
+      eventPublisher.publishEvent(new CustomerAccountsChangedEvent(account.getCustomer().getId()));
+    }
+    return account;
+  }
+
+  /** A queued transaction and the future completed once it is committed or rejected */
+  private static final class BalanceUpdate {
+    private final Long accountId;
+    private final long amount;
+    private final TransactionType type;
+    private final CompletableFuture<Account> result = new CompletableFuture<>();
+
+    private BalanceUpdate(final Long accountId, final long amount, final TransactionType type) {
+      this.accountId = accountId;
+      this.amount = amount;
+      this.type = type;
+    }
+
+    private TransactionOutbox toOutboxEntry() {
+      final TransactionOutbox entry = new TransactionOutbox();
+      entry.setAccountId(accountId);
+      entry.setAmount(amount);
+      entry.setType(type);
+      return entry;
+    }
+  }
+}
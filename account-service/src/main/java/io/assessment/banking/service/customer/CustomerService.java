@@ -1,5 +1,8 @@
 package io.assessment.banking.service.customer;
 
+import java.util.Collection;
+import java.util.List;
+
 import io.assessment.banking.exception.customer.CustomerNotFoundException;
 import io.assessment.banking.model.customer.entity.Customer;
 
@@ -10,4 +13,10 @@ import io.assessment.banking.model.customer.entity.Customer;
  */
 public interface CustomerService {
   Customer getCustomerById(final Long id) throws CustomerNotFoundException;
+
+  List<Customer> getCustomersByIds(final Collection<Long> ids);
+
+  void evictCustomer(final Long id);
+
+  void evictAllCustomers();
 }
@@ -1,16 +1,28 @@
 package io.assessment.banking.service.customer.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
 
 import io.assessment.banking.exception.customer.CustomerNotFoundException;
+import io.assessment.banking.model.account.event.CustomerAccountsChangedEvent;
 import io.assessment.banking.model.customer.entity.Customer;
 import io.assessment.banking.repository.customer.CustomerRepository;
 import io.assessment.banking.service.customer.CustomerService;
 import lombok.extern.log4j.Log4j2;
 
 /**
- * Implements the abstract functionalities defined in {@link CustomerService}
+ * Implements the abstract functionalities defined in {@link CustomerService}. Customers looked up
+ * by id are kept, along with their accounts, in a size-bounded cache whose entries expire after a
+ * fixed time. An entry is evicted once a change to the accounts of its customer commits
  *
  * @author Nikhil Vibhav
  */
@@ -19,26 +31,103 @@ import lombok.extern.log4j.Log4j2;
 public class CustomerServiceImpl implements CustomerService {
 
   private final CustomerRepository repository;
+  private final Cache<Long, Customer> customerCache;
+
+  /** Incremented on every eviction, so a load that raced with an eviction isn't left cached */
+  private final AtomicLong evictions = new AtomicLong();
 
   @Autowired
-  public CustomerServiceImpl(final CustomerRepository repository) {
+  public CustomerServiceImpl(
+      final CustomerRepository repository, final Cache<Long, Customer> customerCache) {
     this.repository = repository;
+    this.customerCache = customerCache;
   }
 
   /**
-   * Finds a customer by the given id
+   * Finds a customer by the given id, from the cache if present. Inside a transaction the cache is
+   * neither read nor filled, the caller gets its own copy attached to its persistence context
+   * rather than the shared detached one
    *
    * @param id - the customer id
-   * @return a {@link Customer}
+   * @return a {@link Customer} along with its accounts
    * @throws CustomerNotFoundException - when no customer with the given id exists in the database
    */
   @Override
   public Customer getCustomerById(final Long id) throws CustomerNotFoundException {
 
-    return repository
-        .findById(id)
-        .orElseThrow(
-            () ->
-                new CustomerNotFoundException("Could not find customer with the given id: " + id));
+    final boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+    if (!inTransaction) {
+      final Customer cachedCustomer = customerCache.getIfPresent(id);
+      if (cachedCustomer != null) {
+        return cachedCustomer;
+      }
+    }
+
+    final long evictionsBeforeLoad = evictions.get();
+    final Customer customer =
+        repository
+            .findWithAccountsById(id)
+            .orElseThrow(
+                () ->
+                    new CustomerNotFoundException(
+                        "Could not find customer with the given id: " + id));
+
+    if (!inTransaction) {
+      customerCache.put(id, customer);
+      // An account change committed while loading may have been read before it was made
+      if (evictions.get() != evictionsBeforeLoad) {
+        customerCache.invalidate(id);
+      }
+    }
+    return customer;
+  }
+
+  /**
+   * Finds the customers by the given ids with a single query
+   *
+   * @param ids - the customer ids
+   * @return the {@link Customer}s that exist, in no particular order
+   */
+  @Override
+  public List<Customer> getCustomersByIds(final Collection<Long> ids) {
+
+    final List<Customer> customers = new ArrayList<>(ids.size());
+    repository.findAllById(ids).forEach(customers::add);
+
+    log.debug("Found {} of {} customers", customers.size(), ids.size());
+    return customers;
+  }
+
+  /**
+   * Removes the customer from the cache, the next lookup reads it from the database
+   *
+   * @param id - the customer id
+   */
+  @Override
+  public void evictCustomer(final Long id) {
+    evictions.incrementAndGet();
+    customerCache.invalidate(id);
+
+    log.debug("Evicted customer: {} from the cache", id);
+  }
+
+  /** Removes all the customers from the cache */
+  @Override
+  public void evictAllCustomers() {
+    evictions.incrementAndGet();
+    customerCache.invalidateAll();
+
+    log.debug("Evicted all customers from the cache");
+  }
+
+  /**
+   * Evicts the customer whose accounts changed, once the change has committed. Without a
+   * surrounding transaction the customer is evicted straight away
+   *
+   * @param event - the {@link CustomerAccountsChangedEvent}
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCustomerAccountsChanged(final CustomerAccountsChangedEvent event) {
+    evictCustomer(event.getCustomerId());
   }
 }
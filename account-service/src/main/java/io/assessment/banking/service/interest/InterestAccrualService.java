@@ -0,0 +1,18 @@
+package io.assessment.banking.service.interest;
+
+import java.time.LocalDate;
+
+import io.assessment.banking.exception.interest.InterestAccrualRunNotFoundException;
+import io.assessment.banking.model.interest.entity.InterestAccrualRun;
+
+/**
+ * Abstracts the accrual of interest on the savings accounts
+ *
+ * @author Nikhil Vibhav
+ */
+public interface InterestAccrualService {
+
+  InterestAccrualRun startOrResume(final LocalDate accrualDate);
+
+  InterestAccrualRun getRun(final Long id) throws InterestAccrualRunNotFoundException;
+}
@@ -0,0 +1,406 @@
+package io.assessment.banking.service.interest.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.assessment.banking.constant.account.AccountType;
+import io.assessment.banking.constant.interest.AccrualStatus;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.exception.interest.InterestAccrualRunNotFoundException;
+import io.assessment.banking.model.account.vo.AccountBalanceVO;
+import io.assessment.banking.model.interest.entity.InterestAccrualChunk;
+import io.assessment.banking.model.interest.entity.InterestAccrualRun;
+import io.assessment.banking.model.interest.vo.InterestAccrualTotalsVO;
+import io.assessment.banking.model.transaction.entity.TransactionOutbox;
+import io.assessment.banking.repository.account.AccountRepository;
+import io.assessment.banking.repository.interest.InterestAccrualChunkRepository;
+import io.assessment.banking.repository.interest.InterestAccrualRunRepository;
+import io.assessment.banking.service.customer.CustomerService;
+import io.assessment.banking.service.interest.InterestAccrualService;
+import io.assessment.banking.service.outbox.TransactionOutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Implementation of the functionalities described in {@link InterestAccrualService} interface.
+ *
+ * <p>A run credits one day of interest, the balance times the annual rate divided by 365 rounded
+ * down to the minor unit, to every savings account with a positive balance. The accounts are split
+ * into chunks of consecutive ids that are accrued in parallel, each in one local transaction that
+ * reads the balances of the chunk, adds the interest to them with one JDBC batch, adds the CREDIT
+ * transactions to the outbox and records the chunk as done. The outbox relay posts the
+ * transactions to transaction service in batches. A failed or interrupted run is resumed by
+ * starting it again, the chunks it recorded are skipped so no account is credited twice
+ *
+ * @author Nikhil Vibhav
+ */
+@Service
+@Log4j2
+public class InterestAccrualServiceImpl implements InterestAccrualService {
+
+  private static final BigDecimal DAYS_PER_YEAR = BigDecimal.valueOf(365);
+
+  private static final int MAX_ERROR_LENGTH = 255;
+
+  private final AccountRepository accountRepository;
+  private final InterestAccrualRunRepository runRepository;
+  private final InterestAccrualChunkRepository chunkRepository;
+  private final TransactionOutboxService transactionOutboxService;
+  private final CustomerService customerService;
+  private final TransactionTemplate transactionTemplate;
+  private final Executor executor;
+  private final BigDecimal annualRate;
+  private final int chunkSize;
+  private final int parallelism;
+  private final Counter accountsCounter;
+  private final Timer chunkTimer;
+  private final AtomicReference<Long> activeRunId = new AtomicReference<>();
+  private final AtomicLong attemptAccounts = new AtomicLong();
+  private volatile long attemptStartNanos;
+  private volatile long attemptEndNanos;
+
+  @Autowired
+  public InterestAccrualServiceImpl(
+      final AccountRepository accountRepository,
+      final InterestAccrualRunRepository runRepository,
+      final InterestAccrualChunkRepository chunkRepository,
+      final TransactionOutboxService transactionOutboxService,
+      final CustomerService customerService,
+      final TransactionTemplate transactionTemplate,
+      @Qualifier("interestAccrualExecutor") final Executor executor,
+      final MeterRegistry meterRegistry,
+      @Value("${account.interest.annual-rate:0.0100}") final BigDecimal annualRate,
+      @Value("${account.interest.chunk-size:1000}") final int chunkSize,
+      @Value("${account.interest.parallelism:4}") final int parallelism) {
+    this.accountRepository = accountRepository;
+    this.runRepository = runRepository;
+    this.chunkRepository = chunkRepository;
+    this.transactionOutboxService = transactionOutboxService;
+    this.customerService = customerService;
+    this.transactionTemplate = transactionTemplate;
+    this.executor = executor;
+    this.annualRate = annualRate;
+    this.chunkSize = chunkSize;
+    this.parallelism = parallelism;
+
+    this.accountsCounter =
+        Counter.builder("interest.accrual.accounts")
+            .description("The savings accounts processed by interest accrual runs")
+            .register(meterRegistry);
+    this.chunkTimer =
+        Timer.builder("interest.accrual.chunk")
+            .description("The time taken to accrue the interest of one chunk of accounts")
+            .register(meterRegistry);
+    Gauge.builder(
+            "interest.accrual.throughput", this, InterestAccrualServiceImpl::accountsPerSecond)
+        .baseUnit("accounts/s")
+        .description("The accounts processed per second by the active or last interest accrual run")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Starts the accrual of the interest of the given day, or resumes it if it didn't complete. A
+   * day that was accrued already is not accrued again. The run continues in the background, only
+   * one run is active at a time
+   *
+   * @param accrualDate - the day to accrue the interest of
+   * @return the {@link InterestAccrualRun} of the day, or the active run if there is one
+   */
+  @Override
+  public synchronized InterestAccrualRun startOrResume(final LocalDate accrualDate) {
+    final Long runningId = activeRunId.get();
+    if (runningId != null) {
+      return runRepository
+          .findById(runningId)
+          .orElseThrow(() -> new IllegalStateException("Unable to find active run " + runningId));
+    }
+
+    final InterestAccrualRun existingRun =
+        runRepository.findByAccrualDate(accrualDate).orElse(null);
+    if (existingRun != null && existingRun.getStatus() == AccrualStatus.COMPLETED) {
+      log.info("Interest for {} was accrued by run {} already", accrualDate, existingRun.getId());
+      return existingRun;
+    }
+
+    final InterestAccrualRun run =
+        existingRun == null ? createRun(accrualDate) : resume(existingRun);
+
+    activeRunId.set(run.getId());
+    executor.execute(() -> process(run));
+    return run;
+  }
+
+  /**
+   * Gets an interest accrual run by its id
+   *
+   * @param id - the run id
+   * @return the {@link InterestAccrualRun}
+   * @throws InterestAccrualRunNotFoundException - thrown when there is no run with the given id
+   */
+  @Override
+  public InterestAccrualRun getRun(final Long id) throws InterestAccrualRunNotFoundException {
+    return runRepository
+        .findById(id)
+        .orElseThrow(
+            () ->
+                new InterestAccrualRunNotFoundException(
+                    "Unable to find interest accrual run with id: " + id));
+  }
+
+  /**
+   * Creates the run of the given day over the accounts opened so far
+   *
+   * @param accrualDate - the accrual day
+   * @return the saved {@link InterestAccrualRun}
+   */
+  private InterestAccrualRun createRun(final LocalDate accrualDate) {
+    final InterestAccrualRun run = new InterestAccrualRun();
+    run.setAccrualDate(accrualDate);
+    run.setAnnualRate(annualRate);
+    run.setChunkSize(chunkSize);
+    run.setLastAccountId(accountRepository.findMaxId().orElse(0L));
+
+    final InterestAccrualRun savedRun = runRepository.save(run);
+    log.info(
+        "Started interest accrual run {} for {} up to account {}",
+        savedRun.getId(),
+        accrualDate,
+        savedRun.getLastAccountId());
+    return savedRun;
+  }
+
+  /**
+   * Prepares an unfinished run to accrue its remaining chunks
+   *
+   * @param run - the unfinished run
+   * @return the saved {@link InterestAccrualRun}
+   */
+  private InterestAccrualRun resume(final InterestAccrualRun run) {
+    run.setStatus(AccrualStatus.RUNNING);
+    run.setLastError(null);
+    run.setDateUpdated(ZonedDateTime.now());
+
+    log.info("Resuming interest accrual run {} for {}", run.getId(), run.getAccrualDate());
+    return runRepository.save(run);
+  }
+
+  /**
+   * Accrues the chunks of the run that are not done yet on a pool of {@code parallelism} threads.
+   * A failed chunk doesn't stop the others, the run fails once they are all done and accrues the
+   * failed chunks when it is resumed. The cached customers are evicted afterwards, as the balances
+   * of their accounts changed
+   *
+   * @param run - the active run
+   */
+  private void process(final InterestAccrualRun run) {
+    attemptAccounts.set(0);
+    attemptStartNanos = System.nanoTime();
+    attemptEndNanos = 0;
+
+    try {
+      final String error = accrueRemainingChunks(run);
+      attemptEndNanos = System.nanoTime();
+      finish(run, error);
+    } catch (RuntimeException e) {
+      log.error("Unable to finish interest accrual run {}", run.getId(), e);
+    } finally {
+      if (attemptEndNanos == 0) {
+        attemptEndNanos = System.nanoTime();
+      }
+      customerService.evictAllCustomers();
+      activeRunId.set(null);
+    }
+  }
+
+  /**
+   * Accrues the chunks of the run that are not recorded yet
+   *
+   * @param run - the active run
+   * @return the first error, or null when every chunk was accrued
+   */
+  private String accrueRemainingChunks(final InterestAccrualRun run) {
+    final Set<Long> doneChunks = chunkRepository.findFromAccountIdsByRunId(run.getId());
+    final List<Callable<InterestAccrualChunk>> tasks = new ArrayList<>();
+    for (long fromId = 1; fromId <= run.getLastAccountId(); fromId += run.getChunkSize()) {
+      if (!doneChunks.contains(fromId)) {
+        final long chunkFromId = fromId;
+        final long chunkToId = Math.min(fromId + run.getChunkSize(), run.getLastAccountId() + 1);
+        tasks.add(() -> chunkTimer.recordCallable(() -> accrueChunk(run, chunkFromId, chunkToId)));
+      }
+    }
+
+    final ExecutorService pool =
+        Executors.newFixedThreadPool(
+            parallelism, new CustomizableThreadFactory("interest-accrual-"));
+    String error = null;
+    try {
+      for (final Future<InterestAccrualChunk> future : pool.invokeAll(tasks)) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          log.error("Unable to accrue a chunk of interest run {}", run.getId(), e.getCause());
+          error = error == null ? String.valueOf(e.getCause().getMessage()) : error;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      error = "Interrupted while accruing interest";
+    } finally {
+      pool.shutdownNow();
+    }
+    return error;
+  }
+
+  /**
+   * Accrues the interest of the savings accounts with an id in the given range in one local
+   * transaction
+   *
+   * @param run - the active run
+   * @param fromId - the lowest account id, inclusive
+   * @param toId - the highest account id, exclusive
+   * @return the saved {@link InterestAccrualChunk}
+   */
+  private InterestAccrualChunk accrueChunk(
+      final InterestAccrualRun run, final long fromId, final long toId) {
+    final InterestAccrualChunk savedChunk =
+        transactionTemplate.execute(
+            status -> {
+              final List<AccountBalanceVO> balances =
+                  accountRepository.findPositiveBalancesByTypeAndIdRange(
+                      AccountType.SAVINGS, fromId, toId);
+
+              final SortedMap<Long, Long> interestById = new TreeMap<>();
+              final List<TransactionOutbox> entries = new ArrayList<>();
+              long interestTotal = 0;
+              for (final AccountBalanceVO balance : balances) {
+                final long interest = dailyInterest(balance.getBalance(), run.getAnnualRate());
+                if (interest > 0) {
+                  interestById.put(balance.getId(), interest);
+                  entries.add(toInterestEntry(balance.getId(), interest));
+                  interestTotal += interest;
+                }
+              }
+
+              accountRepository.addToBalances(interestById, ZonedDateTime.now());
+              transactionOutboxService.enqueueAll(entries);
+
+              final InterestAccrualChunk chunk = new InterestAccrualChunk();
+              chunk.setRunId(run.getId());
+              chunk.setFromAccountId(fromId);
+              chunk.setAccounts(balances.size());
+              chunk.setInterest(interestTotal);
+              return chunkRepository.save(chunk);
+            });
+
+    accountsCounter.increment(savedChunk.getAccounts());
+    attemptAccounts.addAndGet(savedChunk.getAccounts());
+    return savedChunk;
+  }
+
+  /**
+   * Saves the totals of the recorded chunks and the outcome of the attempt on the run
+   *
+   * @param run - the active run
+   * @param error - the first error of the attempt, or null when every chunk was accrued
+   */
+  private void finish(final InterestAccrualRun run, final String error) {
+    final InterestAccrualTotalsVO totals = chunkRepository.sumByRunId(run.getId());
+    run.setChunksCompleted(totals.getChunks());
+    run.setAccountsProcessed(totals.getAccounts());
+    run.setInterestTotal(totals.getInterest());
+    run.setElapsedMillis(
+        run.getElapsedMillis()
+            + TimeUnit.NANOSECONDS.toMillis(attemptEndNanos - attemptStartNanos));
+    run.setDateUpdated(ZonedDateTime.now());
+
+    if (error == null) {
+      run.setStatus(AccrualStatus.COMPLETED);
+      run.setDateFinished(run.getDateUpdated());
+      log.info(
+          "Completed interest accrual run {}: {} accounts, {} interest in minor units",
+          run.getId(),
+          run.getAccountsProcessed(),
+          run.getInterestTotal());
+    } else {
+      run.setStatus(AccrualStatus.FAILED);
+      run.setLastError(
+          error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+      log.error(
+          "Interest accrual run {} failed after {} chunks, it will resume from there: {}",
+          run.getId(),
+          run.getChunksCompleted(),
+          error);
+    }
+    runRepository.save(run);
+  }
+
+  /**
+   * The accounts processed per second by the active or the last attempt of a run
+   *
+   * @return the throughput, 0 before the first run
+   */
+  private double accountsPerSecond() {
+    final long startNanos = attemptStartNanos;
+    if (startNanos == 0) {
+      return 0;
+    }
+    final long endNanos = attemptEndNanos == 0 ? System.nanoTime() : attemptEndNanos;
+    final long elapsedNanos = Math.max(endNanos - startNanos, 1);
+    return attemptAccounts.get() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+  }
+
+  /**
+   * Computes one day of interest on the balance
+   *
+   * @param balance - the balance in minor units
+   * @param annualRate - the annual interest rate, 0.01 for 1%
+   * @return the interest in minor units, rounded down
+   */
+  private static long dailyInterest(final long balance, final BigDecimal annualRate) {
+    return BigDecimal.valueOf(balance)
+        .multiply(annualRate)
+        .divide(DAYS_PER_YEAR, 0, RoundingMode.DOWN)
+        .longValueExact();
+  }
+
+  /**
+   * Creates the outbox entry of the interest credited to an account
+   *
+   * @param accountId - the account id
+   * @param interest - the interest in minor units
+   * @return the {@link TransactionOutbox} entry
+   */
+  private static TransactionOutbox toInterestEntry(final Long accountId, final long interest) {
+    final TransactionOutbox entry = new TransactionOutbox();
+    entry.setAccountId(accountId);
+    entry.setAmount(interest);
+    entry.setType(TransactionType.CREDIT);
+    return entry;
+  }
+}
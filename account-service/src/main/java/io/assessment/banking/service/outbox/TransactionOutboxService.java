@@ -0,0 +1,24 @@
+package io.assessment.banking.service.outbox;
+
+import java.util.List;
+
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.model.transaction.entity.TransactionOutbox;
+
+/**
+ * Abstracts the functionalities to be performed on the {@link TransactionOutbox} entity
+ *
+ * @author Nikhil Vibhav
+ */
+public interface TransactionOutboxService {
+
+  TransactionOutbox enqueue(final Long accountId, final long amount, final TransactionType type);
+
+  List<TransactionOutbox> enqueueAll(final List<TransactionOutbox> entries);
+
+  List<TransactionOutbox> findDue(final int limit);
+
+  void markSent(final List<TransactionOutbox> entries);
+
+  void markFailed(final List<TransactionOutbox> entries, final String error);
+}
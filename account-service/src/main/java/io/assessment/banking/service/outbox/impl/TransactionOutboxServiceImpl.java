@@ -0,0 +1,161 @@
+package io.assessment.banking.service.outbox.impl;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.assessment.banking.constant.transaction.OutboxStatus;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.model.transaction.entity.TransactionOutbox;
+import io.assessment.banking.repository.transaction.TransactionOutboxRepository;
+import io.assessment.banking.service.outbox.TransactionOutboxService;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Implementation of the functionalities described in {@link TransactionOutboxService} interface
+ *
+ * @author Nikhil Vibhav
+ */
+@Service
+@Log4j2
+public class TransactionOutboxServiceImpl implements TransactionOutboxService {
+
+  private static final int MAX_ERROR_LENGTH = 255;
+
+  private final TransactionOutboxRepository repository;
+  private final int maxAttempts;
+  private final long initialBackoffMillis;
+  private final long maxBackoffMillis;
+
+  @Autowired
+  public TransactionOutboxServiceImpl(
+      final TransactionOutboxRepository repository,
+      @Value("${transaction.outbox.max-attempts:10}") final int maxAttempts,
+      @Value("${transaction.outbox.initial-backoff-millis:1000}") final long initialBackoffMillis,
+      @Value("${transaction.outbox.max-backoff-millis:300000}") final long maxBackoffMillis) {
+    this.repository = repository;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoffMillis = initialBackoffMillis;
+    this.maxBackoffMillis = maxBackoffMillis;
+  }
+
+  /**
+   * Adds a transaction to the outbox, joining the transaction of the caller so the entry is only
+   * committed together with the balance change it records
+   *
+   * @param accountId - the account id
+   * @param amount - the amount in minor units
+   * @param type - the transaction type - CREDIT/DEBIT
+   * @return the saved {@link TransactionOutbox} entity
+   */
+  @Override
+  @Transactional
+  public TransactionOutbox enqueue(
+      final Long accountId, final long amount, final TransactionType type) {
+    final TransactionOutbox entry = new TransactionOutbox();
+    entry.setAccountId(accountId);
+    entry.setAmount(amount);
+    entry.setType(type);
+
+    log.debug("Adding transaction to the outbox: {}", entry);
+    return repository.save(entry);
+  }
+
+  /**
+   * Adds several transactions to the outbox, joining the transaction of the caller
+   *
+   * @param entries - the new outbox entries
+   * @return the saved {@link TransactionOutbox} entities, in the given order
+   */
+  @Override
+  @Transactional
+  public List<TransactionOutbox> enqueueAll(final List<TransactionOutbox> entries) {
+    final List<TransactionOutbox> savedEntries = new ArrayList<>(entries.size());
+    repository.saveAll(entries).forEach(savedEntries::add);
+
+    log.debug("Added {} transactions to the outbox", savedEntries.size());
+    return savedEntries;
+  }
+
+  /**
+   * Finds the oldest pending entries whose next delivery attempt is due
+   *
+   * @param limit - the maximum number of entries to return
+   * @return the due {@link TransactionOutbox} entities, ordered by id
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public List<TransactionOutbox> findDue(final int limit) {
+    return repository.findByStatusAndNextAttemptAtLessThanEqualOrderById(
+        OutboxStatus.PENDING, ZonedDateTime.now(), PageRequest.of(0, limit));
+  }
+
+  /**
+   * Marks the entries as delivered to transaction service
+   *
+   * @param entries - the delivered entries
+   */
+  @Override
+  @Transactional
+  public void markSent(final List<TransactionOutbox> entries) {
+    final ZonedDateTime now = ZonedDateTime.now();
+    entries.forEach(
+        entry -> {
+          entry.setStatus(OutboxStatus.SENT);
+          entry.setAttempts(entry.getAttempts() + 1);
+          entry.setDateSent(now);
+          entry.setLastError(null);
+        });
+    repository.saveAll(entries);
+  }
+
+  /**
+   * Records a failed delivery attempt of the entries. The next attempt is delayed exponentially,
+   * starting at {@code initialBackoffMillis} and capped at {@code maxBackoffMillis}. An entry that
+   * has failed {@code maxAttempts} times is marked as FAILED and is no longer retried
+   *
+   * @param entries - the entries whose delivery failed
+   * @param error - the reason of the failure
+   */
+  @Override
+  @Transactional
+  public void markFailed(final List<TransactionOutbox> entries, final String error) {
+    final ZonedDateTime now = ZonedDateTime.now();
+    final String lastError =
+        error != null && error.length() > MAX_ERROR_LENGTH
+            ? error.substring(0, MAX_ERROR_LENGTH)
+            : error;
+
+    for (final TransactionOutbox entry : entries) {
+      final int attempts = entry.getAttempts() + 1;
+      entry.setAttempts(attempts);
+      entry.setLastError(lastError);
+
+      if (attempts >= maxAttempts) {
+        entry.setStatus(OutboxStatus.FAILED);
+        log.error("Giving up on sending outbox entry: {} after {} attempts", entry.getId(), attempts);
+      } else {
+        entry.setNextAttemptAt(now.plus(backoffMillis(attempts), ChronoUnit.MILLIS));
+      }
+    }
+    repository.saveAll(entries);
+  }
+
+  /**
+   * Gets the delay before the next delivery attempt
+   *
+   * @param attempts - the number of failed attempts so far
+   * @return the delay in milliseconds
+   */
+  private long backoffMillis(final int attempts) {
+    final int doublings = Math.min(attempts - 1, 30);
+    return Math.min(initialBackoffMillis << doublings, maxBackoffMillis);
+  }
+}
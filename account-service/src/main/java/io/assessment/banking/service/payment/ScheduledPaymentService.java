@@ -0,0 +1,21 @@
+package io.assessment.banking.service.payment;
+
+import io.assessment.banking.exception.account.AccountNotFoundException;
+import io.assessment.banking.exception.payment.ScheduledPaymentNotFoundException;
+import io.assessment.banking.model.payment.entity.ScheduledPayment;
+
+/**
+ * Abstracts the scheduling and execution of future-dated and recurring payments
+ *
+ * @author Nikhil Vibhav
+ */
+public interface ScheduledPaymentService {
+
+  ScheduledPayment schedule(final ScheduledPayment payment) throws AccountNotFoundException;
+
+  ScheduledPayment cancel(final Long id) throws ScheduledPaymentNotFoundException;
+
+  ScheduledPayment getScheduledPayment(final Long id) throws ScheduledPaymentNotFoundException;
+
+  int fireDue();
+}
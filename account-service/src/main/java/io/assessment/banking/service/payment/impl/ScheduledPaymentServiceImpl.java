@@ -0,0 +1,429 @@
+package io.assessment.banking.service.payment.impl;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.assessment.banking.constant.payment.PaymentFrequency;
+import io.assessment.banking.constant.payment.ScheduledPaymentStatus;
+import io.assessment.banking.exception.account.AccountNotFoundException;
+import io.assessment.banking.exception.account.LowBalanceException;
+import io.assessment.banking.exception.payment.ScheduledPaymentNotFoundException;
+import io.assessment.banking.model.payment.entity.ScheduledPayment;
+import io.assessment.banking.model.payment.vo.ScheduledPaymentDueVO;
+import io.assessment.banking.repository.account.AccountRepository;
+import io.assessment.banking.repository.payment.ScheduledPaymentRepository;
+import io.assessment.banking.service.account.AccountService;
+import io.assessment.banking.service.outbox.TransactionOutboxService;
+import io.assessment.banking.service.payment.ScheduledPaymentService;
+import io.assessment.banking.service.payment.wheel.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Implementation of the functionalities described in {@link ScheduledPaymentService} interface.
+ *
+ * <p>The scheduled_payment table holds the durable state of the payments, a {@link TimingWheel}
+ * in memory holds the id of every active payment until its next execution time. The wheel is
+ * rebuilt from the table on startup by reading only the ids and execution times, page by page.
+ * The due payments are executed in batches, each in one local transaction that locks the rows of
+ * the batch, updates the balances, adds the transactions to the outbox and moves every payment to
+ * its next occurrence. A payment that fired is checked against its row before it is executed, so
+ * a stale or duplicate entry of the wheel never executes a payment twice
+ *
+ * @author Nikhil Vibhav
+ */
+@Service
+@Log4j2
+public class ScheduledPaymentServiceImpl implements ScheduledPaymentService {
+
+  private static final int MAX_ERROR_LENGTH = 255;
+
+  /** The order the balances of a batch are updated in, the same order transfers lock accounts in */
+  private static final Comparator<ScheduledPayment> ACCOUNT_LOCK_ORDER =
+      Comparator.comparing(ScheduledPayment::getAccountId).thenComparing(ScheduledPayment::getId);
+
+  private final ScheduledPaymentRepository repository;
+  private final AccountRepository accountRepository;
+  private final AccountService accountService;
+  private final TransactionOutboxService transactionOutboxService;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final int rebuildPageSize;
+  private final long retryDelayMillis;
+  private final Counter executedCounter;
+  private final Counter failedCounter;
+
+  /** Guarded by itself, together with {@link #overdue} */
+  private final TimingWheel<Long> wheel;
+
+  /** The ids of the payments that were due already when they were added to the wheel */
+  private final Deque<Long> overdue = new ArrayDeque<>();
+
+  @Autowired
+  public ScheduledPaymentServiceImpl(
+      final ScheduledPaymentRepository repository,
+      final AccountRepository accountRepository,
+      final AccountService accountService,
+      final TransactionOutboxService transactionOutboxService,
+      final TransactionTemplate transactionTemplate,
+      final MeterRegistry meterRegistry,
+      @Value("${payment.scheduled.tick-millis:1000}") final long tickMillis,
+      @Value("${payment.scheduled.wheel-size:512}") final int wheelSize,
+      @Value("${payment.scheduled.batch-size:200}") final int batchSize,
+      @Value("${payment.scheduled.rebuild-page-size:10000}") final int rebuildPageSize,
+      @Value("${payment.scheduled.retry-delay-millis:60000}") final long retryDelayMillis) {
+    this.repository = repository;
+    this.accountRepository = accountRepository;
+    this.accountService = accountService;
+    this.transactionOutboxService = transactionOutboxService;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+    this.rebuildPageSize = rebuildPageSize;
+    this.retryDelayMillis = retryDelayMillis;
+    this.wheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+
+    this.executedCounter =
+        Counter.builder("payment.scheduled.executed")
+            .description("The scheduled payments executed")
+            .register(meterRegistry);
+    this.failedCounter =
+        Counter.builder("payment.scheduled.failed")
+            .description("The scheduled payments that could not be executed")
+            .register(meterRegistry);
+    Gauge.builder("payment.scheduled.pending", this, ScheduledPaymentServiceImpl::pendingCount)
+        .description("The scheduled payments waiting for their next execution")
+        .register(meterRegistry);
+  }
+
+  /** Adds every active payment to the wheel, reading their execution times page by page */
+  @PostConstruct
+  public void rebuildWheel() {
+    final long startNanos = System.nanoTime();
+    long afterId = 0;
+    int count = 0;
+    List<ScheduledPaymentDueVO> page;
+    do {
+      page =
+          repository.findNextExecutions(
+              ScheduledPaymentStatus.ACTIVE, afterId, PageRequest.of(0, rebuildPageSize));
+      synchronized (wheel) {
+        for (final ScheduledPaymentDueVO due : page) {
+          addToWheel(due.getId(), toEpochMillis(due.getNextExecutionAt()));
+        }
+      }
+      if (!page.isEmpty()) {
+        afterId = page.get(page.size() - 1).getId();
+        count += page.size();
+      }
+    } while (page.size() == rebuildPageSize);
+
+    log.info(
+        "Rebuilt the scheduled payment wheel with {} payments in {} ms",
+        count,
+        (System.nanoTime() - startNanos) / 1_000_000);
+  }
+
+  /**
+   * Schedules a payment, starting at its first execution time
+   *
+   * @param payment - the payment to schedule
+   * @return the saved {@link ScheduledPayment}
+   * @throws AccountNotFoundException - thrown when the account of the payment doesn't exist
+   */
+  @Override
+  public ScheduledPayment schedule(final ScheduledPayment payment) throws AccountNotFoundException {
+    if (!accountRepository.existsById(payment.getAccountId())) {
+      throw new AccountNotFoundException(
+          "Could not find account with the given id: " + payment.getAccountId());
+    }
+
+    payment.setStatus(ScheduledPaymentStatus.ACTIVE);
+    payment.setNextExecutionAt(payment.getFirstExecutionAt());
+    final ScheduledPayment savedPayment = repository.save(payment);
+
+    log.debug("Scheduled payment: {}", savedPayment);
+    synchronized (wheel) {
+      addToWheel(savedPayment.getId(), toEpochMillis(savedPayment.getNextExecutionAt()));
+    }
+    return savedPayment;
+  }
+
+  /**
+   * Cancels a payment, it is not executed again. Its entry stays in the wheel and is dropped when
+   * it fires
+   *
+   * @param id - the payment id
+   * @return the {@link ScheduledPayment}
+   * @throws ScheduledPaymentNotFoundException - thrown when there is no payment with the given id
+   */
+  @Override
+  @Transactional
+  public ScheduledPayment cancel(final Long id) throws ScheduledPaymentNotFoundException {
+    final ScheduledPayment payment =
+        repository.findByIdInForUpdate(List.of(id)).stream()
+            .findFirst()
+            .orElseThrow(() -> notFound(id));
+
+    if (payment.getStatus() != ScheduledPaymentStatus.ACTIVE) {
+      return payment;
+    }
+    payment.setStatus(ScheduledPaymentStatus.CANCELLED);
+    payment.setDateUpdated(ZonedDateTime.now());
+    log.debug("Cancelled scheduled payment: {}", id);
+    return repository.save(payment);
+  }
+
+  /**
+   * Gets a scheduled payment by its id
+   *
+   * @param id - the payment id
+   * @return the {@link ScheduledPayment}
+   * @throws ScheduledPaymentNotFoundException - thrown when there is no payment with the given id
+   */
+  @Override
+  public ScheduledPayment getScheduledPayment(final Long id)
+      throws ScheduledPaymentNotFoundException {
+    return repository.findById(id).orElseThrow(() -> notFound(id));
+  }
+
+  /**
+   * Advances the wheel to the current time and executes the payments that fired, batch by batch.
+   * When a batch fails, its payments are executed one by one so one bad payment doesn't hold back
+   * the others, a payment that fails on its own is tried again after the retry delay
+   *
+   * @return the number of payments executed
+   */
+  @Override
+  public int fireDue() {
+    final TreeSet<Long> dueIds;
+    synchronized (wheel) {
+      dueIds = new TreeSet<>(wheel.advance(System.currentTimeMillis()));
+      dueIds.addAll(overdue);
+      overdue.clear();
+    }
+    if (dueIds.isEmpty()) {
+      return 0;
+    }
+
+    int executed = 0;
+    final List<Long> batch = new ArrayList<>(batchSize);
+    for (final Long id : dueIds) {
+      batch.add(id);
+      if (batch.size() == batchSize) {
+        executed += executeBatchOrEach(batch);
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      executed += executeBatchOrEach(batch);
+    }
+
+    log.info("Executed {} of {} scheduled payments that fell due", executed, dueIds.size());
+    return executed;
+  }
+
+  /**
+   * Executes a batch of payments in one transaction, or each payment in its own transaction when
+   * the batch fails
+   *
+   * @param ids - the payment ids, in ascending order
+   * @return the number of payments executed
+   */
+  private int executeBatchOrEach(final List<Long> ids) {
+    try {
+      return executeBatch(ids);
+    } catch (RuntimeException e) {
+      log.warn("Unable to execute a batch of {} scheduled payments, retrying each", ids.size(), e);
+    }
+
+    int executed = 0;
+    for (final Long id : ids) {
+      try {
+        executed += executeBatch(List.of(id));
+      } catch (RuntimeException e) {
+        log.error("Unable to execute scheduled payment {}, retrying later", id, e);
+        synchronized (wheel) {
+          addToWheel(id, System.currentTimeMillis() + retryDelayMillis);
+        }
+      }
+    }
+    return executed;
+  }
+
+  /**
+   * Executes the due payments among the given ones in one local transaction and adds them to the
+   * wheel at their next execution time once it commits. The balances are updated in ascending
+   * account id order, so the account rows are locked in the same order as by a transfer and the two
+   * can't deadlock
+   *
+   * @param ids - the payment ids, in ascending order
+   * @return the number of payments executed
+   */
+  private int executeBatch(final List<Long> ids) {
+    final Map<Long, Long> nextExecutions = new HashMap<>();
+    final Integer executed =
+        transactionTemplate.execute(
+            status -> {
+              final ZonedDateTime now = ZonedDateTime.now();
+              final List<ScheduledPayment> payments =
+                  new ArrayList<>(repository.findByIdInForUpdate(ids));
+              payments.sort(ACCOUNT_LOCK_ORDER);
+              int count = 0;
+              for (final ScheduledPayment payment : payments) {
+                if (payment.getStatus() != ScheduledPaymentStatus.ACTIVE) {
+                  continue;
+                }
+                if (!payment.getNextExecutionAt().isAfter(now)) {
+                  count += execute(payment, now) ? 1 : 0;
+                  payment.setDateUpdated(now);
+                }
+                if (payment.getStatus() == ScheduledPaymentStatus.ACTIVE) {
+                  nextExecutions.put(payment.getId(), toEpochMillis(payment.getNextExecutionAt()));
+                }
+              }
+              repository.saveAll(payments);
+              return count;
+            });
+
+    synchronized (wheel) {
+      nextExecutions.forEach(this::addToWheel);
+    }
+    return executed == null ? 0 : executed;
+  }
+
+  /**
+   * Executes one occurrence of a payment and moves it to the next one. A DEBIT the account can't
+   * afford skips the occurrence, or fails the payment if it runs only once. A payment whose
+   * account was deleted fails
+   *
+   * @param payment - the locked payment
+   * @param now - the execution time
+   * @return true if the balance was updated
+   */
+  private boolean execute(final ScheduledPayment payment, final ZonedDateTime now) {
+    try {
+      accountService.updateBalance(payment.getAccountId(), payment.getAmount(), payment.getType());
+      transactionOutboxService.enqueue(
+          payment.getAccountId(), payment.getAmount(), payment.getType());
+      payment.setExecutions(payment.getExecutions() + 1);
+      payment.setLastExecutedAt(now);
+      payment.setLastError(null);
+      executedCounter.increment();
+      moveToNextOccurrence(payment);
+      return true;
+    } catch (LowBalanceException e) {
+      fail(payment, e.getMessage(), payment.getFrequency() == PaymentFrequency.ONCE);
+      moveToNextOccurrence(payment);
+    } catch (AccountNotFoundException e) {
+      fail(payment, e.getMessage(), true);
+    }
+    return false;
+  }
+
+  /**
+   * Records a failed execution of a payment
+   *
+   * @param payment - the payment
+   * @param error - the reason it failed
+   * @param terminal - true if the payment is not executed again
+   */
+  private void fail(final ScheduledPayment payment, final String error, final boolean terminal) {
+    failedCounter.increment();
+    payment.setFailedExecutions(payment.getFailedExecutions() + 1);
+    payment.setLastError(
+        error != null && error.length() > MAX_ERROR_LENGTH
+            ? error.substring(0, MAX_ERROR_LENGTH)
+            : error);
+    if (terminal) {
+      payment.setStatus(ScheduledPaymentStatus.FAILED);
+    }
+    log.warn("Scheduled payment {} failed: {}", payment.getId(), error);
+  }
+
+  /**
+   * Moves an active payment to its next occurrence, counted from the first execution time so a
+   * monthly payment keeps its day of the month. The payment completes when it runs only once or
+   * the next occurrence falls after its end
+   *
+   * @param payment - the payment
+   */
+  private static void moveToNextOccurrence(final ScheduledPayment payment) {
+    if (payment.getStatus() != ScheduledPaymentStatus.ACTIVE) {
+      return;
+    }
+    payment.setOccurrences(payment.getOccurrences() + 1);
+
+    final ZonedDateTime first = payment.getFirstExecutionAt();
+    final ZonedDateTime next;
+    switch (payment.getFrequency()) {
+      case DAILY:
+        next = first.plusDays(payment.getOccurrences());
+        break;
+      case WEEKLY:
+        next = first.plusWeeks(payment.getOccurrences());
+        break;
+      case MONTHLY:
+        next = first.plusMonths(payment.getOccurrences());
+        break;
+      default:
+        next = null;
+    }
+
+    if (next == null || (payment.getEndAt() != null && next.isAfter(payment.getEndAt()))) {
+      payment.setStatus(ScheduledPaymentStatus.COMPLETED);
+    } else {
+      payment.setNextExecutionAt(next);
+    }
+  }
+
+  /**
+   * Adds a payment to the wheel, or to the overdue payments when it is due already. Callers hold
+   * the lock of the wheel
+   *
+   * @param id - the payment id
+   * @param executionMillis - the epoch millis of its next execution
+   */
+  private void addToWheel(final Long id, final long executionMillis) {
+    if (!wheel.add(id, executionMillis)) {
+      overdue.add(id);
+    }
+  }
+
+  /**
+   * The payments waiting in the wheel or overdue
+   *
+   * @return the number of pending payments
+   */
+  private double pendingCount() {
+    synchronized (wheel) {
+      return wheel.size() + overdue.size();
+    }
+  }
+
+  private static long toEpochMillis(final ZonedDateTime time) {
+    return time.toInstant().toEpochMilli();
+  }
+
+  private static ScheduledPaymentNotFoundException notFound(final Long id) {
+    return new ScheduledPaymentNotFoundException(
+        "Unable to find scheduled payment with id: " + id);
+  }
+}
@@ -0,0 +1,197 @@
+package io.assessment.banking.service.payment.wheel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel that holds items until their expiry time. Level 0 has one bucket per
+ * tick, every level above covers the whole span of the level below with each of its buckets. An
+ * item is added to the lowest level that spans its expiry time in O(1), and is moved down a level
+ * when the clock reaches its bucket, until it expires from level 0. Advancing the clock costs one
+ * step per tick plus the items that expire or move down, independent of the number of items held.
+ *
+ * <p>Items expire no earlier than their expiry time and at most one tick after it. The wheel is not
+ * thread safe, callers synchronize access to it
+ *
+ * @param <T> - the type of the items
+ * @author Nikhil Vibhav
+ */
+public class TimingWheel<T> {
+
+  private final long tickMillis;
+  private final int wheelSize;
+  private final List<Level<T>> levels = new ArrayList<>();
+  private long currentTime;
+  private int size;
+
+  /**
+   * Creates an empty timing wheel
+   *
+   * @param tickMillis - the span of a level 0 bucket in milliseconds
+   * @param wheelSize - the number of buckets of each level
+   * @param startMillis - the epoch millis to start the clock at
+   */
+  public TimingWheel(final long tickMillis, final int wheelSize, final long startMillis) {
+    if (tickMillis <= 0 || wheelSize < 2) {
+      throw new IllegalArgumentException("The tick must be positive and the wheel size at least 2");
+    }
+    this.tickMillis = tickMillis;
+    this.wheelSize = wheelSize;
+    this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+    levels.add(new Level<>(tickMillis, wheelSize));
+  }
+
+  /**
+   * Adds an item to expire at the given time
+   *
+   * @param item - the item
+   * @param expiryMillis - the epoch millis to expire the item at
+   * @return true if the item was added, false if it has expired already and was not added
+   */
+  public boolean add(final T item, final long expiryMillis) {
+    if (expiryMillis <= currentTime) {
+      return false;
+    }
+
+    // Level 0 rounds the expiry up to the next tick, so no item expires before its time
+    final long slot = ceilToTick(expiryMillis);
+    final Level<T> root = levels.get(0);
+    if (slot - currentTime <= root.interval) {
+      root.add(slot, new Entry<>(item, expiryMillis));
+      size++;
+      return true;
+    }
+
+    for (int i = 1; ; i++) {
+      if (i == levels.size()) {
+        final Level<T> top = levels.get(i - 1);
+        levels.add(new Level<>(top.interval, wheelSize));
+      }
+      final Level<T> level = levels.get(i);
+      final long levelSlot = expiryMillis - Math.floorMod(expiryMillis, level.tick);
+      final long levelTime = currentTime - Math.floorMod(currentTime, level.tick);
+      if (levelSlot - levelTime < level.interval) {
+        level.add(levelSlot, new Entry<>(item, expiryMillis));
+        size++;
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Advances the clock to the given time and removes the items that expired on the way
+   *
+   * @param nowMillis - the epoch millis to advance the clock to
+   * @return the expired items, in expiry order of their level 0 buckets
+   */
+  public List<T> advance(final long nowMillis) {
+    final List<T> expired = new ArrayList<>();
+    final long targetTime = nowMillis - Math.floorMod(nowMillis, tickMillis);
+    while (currentTime < targetTime) {
+      if (size == 0) {
+        currentTime = targetTime;
+        break;
+      }
+      currentTime += tickMillis;
+      drain(levels.get(0), expired);
+
+      // Moves the items of the higher level buckets the clock reached down to the lower levels
+      for (int i = levels.size() - 1; i > 0; i--) {
+        final Level<T> level = levels.get(i);
+        if (Math.floorMod(currentTime, level.tick) == 0) {
+          final List<Entry<T>> entries = level.remove(currentTime);
+          if (entries != null) {
+            size -= entries.size();
+            for (final Entry<T> entry : entries) {
+              if (!add(entry.item, entry.expiryMillis)) {
+                expired.add(entry.item);
+              }
+            }
+          }
+        }
+      }
+    }
+    return expired;
+  }
+
+  /**
+   * @return the number of items held by the wheel
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the epoch millis the clock is at
+   */
+  public long currentTime() {
+    return currentTime;
+  }
+
+  private void drain(final Level<T> root, final List<T> expired) {
+    final List<Entry<T>> entries = root.remove(currentTime);
+    if (entries != null) {
+      size -= entries.size();
+      entries.forEach(entry -> expired.add(entry.item));
+    }
+  }
+
+  private long ceilToTick(final long millis) {
+    final long remainder = Math.floorMod(millis, tickMillis);
+    return remainder == 0 ? millis : millis - remainder + tickMillis;
+  }
+
+  /** One level of the wheel, its buckets are allocated on their first item */
+  private static final class Level<T> {
+
+    private final long tick;
+    private final long interval;
+    private final List<Entry<T>>[] buckets;
+
+    @SuppressWarnings("unchecked")
+    private Level(final long tick, final int wheelSize) {
+      this.tick = tick;
+      this.interval = saturatedMultiply(tick, wheelSize);
+      this.buckets = new List[wheelSize];
+    }
+
+    private void add(final long slot, final Entry<T> entry) {
+      final int index = index(slot);
+      if (buckets[index] == null) {
+        buckets[index] = new ArrayList<>();
+      }
+      buckets[index].add(entry);
+    }
+
+    private List<Entry<T>> remove(final long slot) {
+      final int index = index(slot);
+      final List<Entry<T>> entries = buckets[index];
+      buckets[index] = null;
+      return entries;
+    }
+
+    private int index(final long slot) {
+      return (int) Math.floorMod(Math.floorDiv(slot, tick), (long) buckets.length);
+    }
+
+    private static long saturatedMultiply(final long tick, final int wheelSize) {
+      try {
+        return Math.multiplyExact(tick, wheelSize);
+      } catch (ArithmeticException e) {
+        return Long.MAX_VALUE;
+      }
+    }
+  }
+
+  /** An item and its expiry time */
+  private static final class Entry<T> {
+
+    private final T item;
+    private final long expiryMillis;
+
+    private Entry(final T item, final long expiryMillis) {
+      this.item = item;
+      this.expiryMillis = expiryMillis;
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package io.assessment.banking.service.reconciliation;
+
+import java.util.List;
+
+import io.assessment.banking.exception.reconciliation.ReconciliationRunNotFoundException;
+import io.assessment.banking.model.reconciliation.entity.ReconciliationMismatch;
+import io.assessment.banking.model.reconciliation.entity.ReconciliationRun;
+
+/**
+ * Abstracts the reconciliation of the account balances with the transactions in transaction
+ * service
+ *
+ * @author Nikhil Vibhav
+ */
+public interface ReconciliationService {
+
+  ReconciliationRun startOrResume();
+
+  ReconciliationRun getRun(final Long id) throws ReconciliationRunNotFoundException;
+
+  List<ReconciliationMismatch> getMismatches(
+      final Long runId, final long afterAccountId, final int limit)
+      throws ReconciliationRunNotFoundException;
+}
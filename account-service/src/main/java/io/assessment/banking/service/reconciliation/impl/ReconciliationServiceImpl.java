@@ -0,0 +1,407 @@
+package io.assessment.banking.service.reconciliation.impl;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import io.assessment.banking.constant.reconciliation.ReconciliationStatus;
+import io.assessment.banking.constant.transaction.OutboxStatus;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.exception.reconciliation.ReconciliationRunNotFoundException;
+import io.assessment.banking.exception.transaction.TransactionServiceInvalidResponseException;
+import io.assessment.banking.exception.transaction.TransactionServiceRestException;
+import io.assessment.banking.model.account.vo.AccountBalanceVO;
+import io.assessment.banking.model.reconciliation.entity.ReconciliationMismatch;
+import io.assessment.banking.model.reconciliation.entity.ReconciliationRun;
+import io.assessment.banking.model.reconciliation.vo.AccountNetVO;
+import io.assessment.banking.model.transaction.vo.AccountSummaryVO;
+import io.assessment.banking.repository.account.AccountRepository;
+import io.assessment.banking.repository.reconciliation.ReconciliationMismatchRepository;
+import io.assessment.banking.repository.reconciliation.ReconciliationRunRepository;
+import io.assessment.banking.repository.transaction.TransactionOutboxRepository;
+import io.assessment.banking.service.reconciliation.ReconciliationService;
+import io.assessment.banking.service.transaction.TransactionService;
+import io.assessment.banking.util.money.MoneyUtil;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Implementation of the functionalities described in {@link ReconciliationService} interface.
+ *
+ * <p>The balance of an account is expected to equal the net of its transactions in transaction
+ * service plus the net of its outbox entries that are still pending. The entries the relay gave up
+ * on never reach transaction service, so an account with any FAILED entry is always recorded as a
+ * mismatch, with their net kept apart from the pending one. A run checks the accounts in
+ * segments of consecutive ids. The ranges of a segment are checked in parallel on a {@link
+ * ForkJoinPool}, each range reading the balances with one query and the transaction totals with
+ * one request. After each segment the run saves the next account id as its checkpoint, a failed
+ * or interrupted run resumes from there. An outbox entry that is sent while its account is checked
+ * can make a consistent account look wrong, so a suspected mismatch is checked once more before it
+ * is recorded
+ *
+ * @author Nikhil Vibhav
+ */
+@Service
+@Log4j2
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+  /** Transaction service computes the summaries of at most this many accounts per request */
+  private static final int MAX_RANGE_SIZE = 1000;
+
+  private static final int MAX_ERROR_LENGTH = 255;
+
+  private final AccountRepository accountRepository;
+  private final TransactionOutboxRepository outboxRepository;
+  private final ReconciliationRunRepository runRepository;
+  private final ReconciliationMismatchRepository mismatchRepository;
+  private final TransactionService transactionService;
+  private final Executor executor;
+  private final int parallelism;
+  private final int rangeSize;
+  private final int checkpointRanges;
+  private final ThroughputLimiter throughputLimiter;
+  private final AtomicReference<Long> activeRunId = new AtomicReference<>();
+
+  @Autowired
+  public ReconciliationServiceImpl(
+      final AccountRepository accountRepository,
+      final TransactionOutboxRepository outboxRepository,
+      final ReconciliationRunRepository runRepository,
+      final ReconciliationMismatchRepository mismatchRepository,
+      final TransactionService transactionService,
+      @Qualifier("reconciliationExecutor") final Executor executor,
+      @Value("${account.reconciliation.parallelism:4}") final int parallelism,
+      @Value("${account.reconciliation.range-size:500}") final int rangeSize,
+      @Value("${account.reconciliation.checkpoint-ranges:16}") final int checkpointRanges,
+      @Value("${account.reconciliation.max-accounts-per-second:2000}")
+          final int maxAccountsPerSecond) {
+    this.accountRepository = accountRepository;
+    this.outboxRepository = outboxRepository;
+    this.runRepository = runRepository;
+    this.mismatchRepository = mismatchRepository;
+    this.transactionService = transactionService;
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.rangeSize = Math.min(rangeSize, MAX_RANGE_SIZE);
+    this.checkpointRanges = checkpointRanges;
+    this.throughputLimiter = new ThroughputLimiter(maxAccountsPerSecond);
+  }
+
+  /**
+   * Resumes the latest unfinished run, or starts a new run over all the accounts opened so far.
+   * The run continues in the background, only one run is active at a time
+   *
+   * @return the active {@link ReconciliationRun}
+   */
+  @Override
+  public synchronized ReconciliationRun startOrResume() {
+    final Long runningId = activeRunId.get();
+    if (runningId != null) {
+      return runRepository
+          .findById(runningId)
+          .orElseThrow(() -> new IllegalStateException("Unable to find active run " + runningId));
+    }
+
+    final ReconciliationRun run =
+        runRepository
+            .findFirstByStatusNotOrderByIdDesc(ReconciliationStatus.COMPLETED)
+            .map(this::resume)
+            .orElseGet(this::createRun);
+
+    activeRunId.set(run.getId());
+    executor.execute(() -> process(run));
+    return run;
+  }
+
+  /**
+   * Gets a reconciliation run by its id
+   *
+   * @param id - the run id
+   * @return the {@link ReconciliationRun}
+   * @throws ReconciliationRunNotFoundException - thrown when there is no run with the given id
+   */
+  @Override
+  public ReconciliationRun getRun(final Long id) throws ReconciliationRunNotFoundException {
+    return runRepository
+        .findById(id)
+        .orElseThrow(
+            () ->
+                new ReconciliationRunNotFoundException(
+                    "Unable to find reconciliation run with id: " + id));
+  }
+
+  /**
+   * Gets a page of the mismatches a run found, ordered by account id
+   *
+   * @param runId - the run id
+   * @param afterAccountId - the account id to start after, 0 for the first page
+   * @param limit - the maximum number of mismatches to return
+   * @return the {@link ReconciliationMismatch} entities
+   * @throws ReconciliationRunNotFoundException - thrown when there is no run with the given id
+   */
+  @Override
+  public List<ReconciliationMismatch> getMismatches(
+      final Long runId, final long afterAccountId, final int limit)
+      throws ReconciliationRunNotFoundException {
+    if (!runRepository.existsById(runId)) {
+      throw new ReconciliationRunNotFoundException(
+          "Unable to find reconciliation run with id: " + runId);
+    }
+    return mismatchRepository.findByRunIdAndAccountIdGreaterThanOrderByAccountId(
+        runId, afterAccountId, PageRequest.of(0, limit));
+  }
+
+  /**
+   * Prepares an unfinished run to continue from its checkpoint. The mismatches saved after the
+   * checkpoint are not counted by the run yet, so they are deleted and found again
+   *
+   * @param run - the unfinished run
+   * @return the saved {@link ReconciliationRun}
+   */
+  private ReconciliationRun resume(final ReconciliationRun run) {
+    mismatchRepository.deleteByRunIdFromAccountId(run.getId(), run.getNextAccountId());
+    run.setStatus(ReconciliationStatus.RUNNING);
+    run.setLastError(null);
+    run.setDateUpdated(ZonedDateTime.now());
+
+    log.info("Resuming reconciliation run {} from account {}", run.getId(), run.getNextAccountId());
+    return runRepository.save(run);
+  }
+
+  /**
+   * Creates a run over the accounts opened so far
+   *
+   * @return the saved {@link ReconciliationRun}
+   */
+  private ReconciliationRun createRun() {
+    final ReconciliationRun run = new ReconciliationRun();
+    run.setLastAccountId(accountRepository.findMaxId().orElse(0L));
+
+    final ReconciliationRun savedRun = runRepository.save(run);
+    log.info(
+        "Started reconciliation run {} up to account {}",
+        savedRun.getId(),
+        savedRun.getLastAccountId());
+    return savedRun;
+  }
+
+  /**
+   * Checks the remaining accounts of the run segment by segment, saving the checkpoint after each
+   * segment. A failure stops the run at the last checkpoint
+   *
+   * @param run - the active run
+   */
+  private void process(final ReconciliationRun run) {
+    final ForkJoinPool pool = new ForkJoinPool(parallelism);
+    final long segmentSize = (long) rangeSize * checkpointRanges;
+    try {
+      while (run.getNextAccountId() <= run.getLastAccountId()) {
+        final long fromId = run.getNextAccountId();
+        final long toId = Math.min(fromId + segmentSize, run.getLastAccountId() + 1);
+        final RangeResult result = pool.invoke(new ReconcileTask(run.getId(), fromId, toId));
+
+        run.setNextAccountId(toId);
+        run.setAccountsChecked(run.getAccountsChecked() + result.accounts);
+        run.setMismatchCount(run.getMismatchCount() + result.mismatches);
+        run.setDateUpdated(ZonedDateTime.now());
+        runRepository.save(run);
+      }
+
+      run.setStatus(ReconciliationStatus.COMPLETED);
+      run.setDateFinished(ZonedDateTime.now());
+      runRepository.save(run);
+      log.info(
+          "Completed reconciliation run {}: {} accounts checked, {} mismatches",
+          run.getId(),
+          run.getAccountsChecked(),
+          run.getMismatchCount());
+    } catch (RuntimeException e) {
+      log.error(
+          "Reconciliation run {} failed at account {}, it will resume from there",
+          run.getId(),
+          run.getNextAccountId(),
+          e);
+      run.setStatus(ReconciliationStatus.FAILED);
+      run.setLastError(truncate(String.valueOf(e.getMessage())));
+      run.setDateUpdated(ZonedDateTime.now());
+      runRepository.save(run);
+    } finally {
+      pool.shutdown();
+      activeRunId.set(null);
+    }
+  }
+
+  /**
+   * Checks the accounts with an id in the given range and saves the mismatches found
+   *
+   * @param runId - the run id
+   * @param fromId - the lowest account id, inclusive
+   * @param toId - the highest account id, exclusive
+   * @return the number of accounts checked and mismatches found
+   */
+  private RangeResult reconcileRange(final Long runId, final long fromId, final long toId) {
+    final List<AccountBalanceVO> balances = accountRepository.findBalancesByIdRange(fromId, toId);
+    if (balances.isEmpty()) {
+      return RangeResult.EMPTY;
+    }
+    throughputLimiter.acquire(balances.size());
+
+    final List<Long> suspects =
+        findMismatches(
+                runId,
+                balances,
+                getAccountSummaries(toAccountIds(balances)),
+                outboxRepository.sumByStatusAndAccountIdRange(
+                    OutboxStatus.PENDING, TransactionType.CREDIT, fromId, toId),
+                outboxRepository.sumByStatusAndAccountIdRange(
+                    OutboxStatus.FAILED, TransactionType.CREDIT, fromId, toId))
+            .stream()
+            .map(ReconciliationMismatch::getAccountId)
+            .collect(Collectors.toList());
+    if (suspects.isEmpty()) {
+      return new RangeResult(balances.size(), 0);
+    }
+
+    final List<ReconciliationMismatch> mismatches =
+        findMismatches(
+            runId,
+            accountRepository.findBalancesByIdIn(suspects),
+            getAccountSummaries(suspects),
+            outboxRepository.sumByStatusAndAccountIdIn(
+                OutboxStatus.PENDING, TransactionType.CREDIT, suspects),
+            outboxRepository.sumByStatusAndAccountIdIn(
+                OutboxStatus.FAILED, TransactionType.CREDIT, suspects));
+    mismatchRepository.saveAll(mismatches);
+
+    log.debug("Found {} mismatches between accounts {} and {}", mismatches.size(), fromId, toId);
+    return new RangeResult(balances.size(), mismatches.size());
+  }
+
+  /**
+   * Compares the balance of each account with the net of its transactions and pending outbox
+   * entries. An account with FAILED outbox entries doesn't match even when the amounts add up
+   *
+   * @param runId - the run id
+   * @param balances - the account balances
+   * @param summaries - the transaction summaries, by account id
+   * @param pending - the net of the pending outbox entries of the accounts that have any
+   * @param failed - the net of the FAILED outbox entries of the accounts that have any
+   * @return the {@link ReconciliationMismatch} of each account that doesn't match
+   */
+  private static List<ReconciliationMismatch> findMismatches(
+      final Long runId,
+      final List<AccountBalanceVO> balances,
+      final Map<Long, AccountSummaryVO> summaries,
+      final List<AccountNetVO> pending,
+      final List<AccountNetVO> failed) {
+    final Map<Long, Long> pendingNets = toNets(pending);
+    final Map<Long, Long> failedNets = toNets(failed);
+
+    final List<ReconciliationMismatch> mismatches = new ArrayList<>();
+    for (final AccountBalanceVO balance : balances) {
+      final AccountSummaryVO summary = summaries.get(balance.getId());
+      final long transactionNet =
+          summary == null ? 0L : MoneyUtil.toMinorUnits(summary.getBalance());
+      final long pendingNet = pendingNets.getOrDefault(balance.getId(), 0L);
+      final long difference = balance.getBalance() - transactionNet - pendingNet;
+      if (difference != 0 || failedNets.containsKey(balance.getId())) {
+        final ReconciliationMismatch mismatch = new ReconciliationMismatch();
+        mismatch.setRunId(runId);
+        mismatch.setAccountId(balance.getId());
+        mismatch.setBalance(balance.getBalance());
+        mismatch.setTransactionNet(transactionNet);
+        mismatch.setPendingNet(pendingNet);
+        mismatch.setFailedNet(failedNets.getOrDefault(balance.getId(), 0L));
+        mismatch.setDifference(difference);
+        mismatches.add(mismatch);
+      }
+    }
+    return mismatches;
+  }
+
+  private static Map<Long, Long> toNets(final List<AccountNetVO> nets) {
+    return nets.stream()
+        .collect(Collectors.toMap(AccountNetVO::getAccountId, AccountNetVO::getNet));
+  }
+
+  /**
+   * Gets the transaction summaries of the accounts from transaction service
+   *
+   * @param accountIds - the account ids
+   * @return the summaries of the accounts that have transactions, by account id
+   * @throws IllegalStateException - thrown when transaction service couldn't be reached or
+   *     returned an invalid response
+   */
+  private Map<Long, AccountSummaryVO> getAccountSummaries(final List<Long> accountIds) {
+    try {
+      return transactionService.getAccountSummaries(accountIds);
+    } catch (TransactionServiceRestException | TransactionServiceInvalidResponseException e) {
+      throw new IllegalStateException("Unable to get the account summaries", e);
+    }
+  }
+
+  private static List<Long> toAccountIds(final Collection<AccountBalanceVO> balances) {
+    return balances.stream().map(AccountBalanceVO::getId).collect(Collectors.toList());
+  }
+
+  private static String truncate(final String error) {
+    return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+  }
+
+  /** The number of accounts checked and mismatches found in a range of account ids */
+  private static final class RangeResult {
+
+    private static final RangeResult EMPTY = new RangeResult(0, 0);
+
+    private final long accounts;
+    private final long mismatches;
+
+    private RangeResult(final long accounts, final long mismatches) {
+      this.accounts = accounts;
+      this.mismatches = mismatches;
+    }
+
+    private RangeResult plus(final RangeResult other) {
+      return new RangeResult(accounts + other.accounts, mismatches + other.mismatches);
+    }
+  }
+
+  /** Splits a range of account ids in halves until each part is at most one range long */
+  private final class ReconcileTask extends RecursiveTask<RangeResult> {
+
+    private final Long runId;
+    private final long fromId;
+    private final long toId;
+
+    private ReconcileTask(final Long runId, final long fromId, final long toId) {
+      this.runId = runId;
+      this.fromId = fromId;
+      this.toId = toId;
+    }
+
+    @Override
+    protected RangeResult compute() {
+      if (toId - fromId <= rangeSize) {
+        return reconcileRange(runId, fromId, toId);
+      }
+
+      final long middleId = fromId + (toId - fromId) / 2;
+      final ReconcileTask lower = new ReconcileTask(runId, fromId, middleId);
+      lower.fork();
+      final RangeResult upper = new ReconcileTask(runId, middleId, toId).compute();
+      return lower.join().plus(upper);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package io.assessment.banking.service.reconciliation.impl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out the permits handed to concurrent callers so that on average no more than the given
+ * number of permits are handed out per second. Permits are reserved up front, a caller waits until
+ * the permits reserved before its own have been used up
+ *
+ * @author Nikhil Vibhav
+ */
+final class ThroughputLimiter {
+
+  private final long nanosPerPermit;
+  private long nextFreeNanos = System.nanoTime();
+
+  /**
+   * @param permitsPerSecond - the maximum number of permits per second, 0 or less for no limit
+   */
+  ThroughputLimiter(final int permitsPerSecond) {
+    this.nanosPerPermit = permitsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / permitsPerSecond : 0;
+  }
+
+  /**
+   * Waits until the given number of permits are available
+   *
+   * @param permits - the number of permits
+   * @throws IllegalStateException - thrown when the thread is interrupted while waiting
+   */
+  void acquire(final int permits) {
+    if (nanosPerPermit == 0) {
+      return;
+    }
+
+    final long waitNanos;
+    synchronized (this) {
+      final long now = System.nanoTime();
+      final long start = Math.max(now, nextFreeNanos);
+      nextFreeNanos = start + permits * nanosPerPermit;
+      waitNanos = start - now;
+    }
+
+    if (waitNanos > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for throughput permits", e);
+      }
+    }
+  }
+}
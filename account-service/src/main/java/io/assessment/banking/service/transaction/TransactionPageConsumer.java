@@ -0,0 +1,16 @@
+package io.assessment.banking.service.transaction;
+
+import java.util.List;
+
+import io.assessment.banking.model.transaction.vo.TransactionVO;
+
+/**
+ * Receives the transactions of an account one page at a time, while they are requested from
+ * transaction service. Returning false stops the paging, the remaining pages aren't requested
+ *
+ * @author Nikhil Vibhav
+ */
+@FunctionalInterface
+public interface TransactionPageConsumer {
+  boolean accept(final List<TransactionVO> transactions);
+}
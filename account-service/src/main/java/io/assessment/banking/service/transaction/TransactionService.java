@@ -1,9 +1,12 @@
 package io.assessment.banking.service.transaction;
 
 import java.util.List;
+import java.util.Map;
 
 import io.assessment.banking.exception.transaction.TransactionServiceInvalidResponseException;
 import io.assessment.banking.exception.transaction.TransactionServiceRestException;
+import io.assessment.banking.model.transaction.vo.AccountSummaryVO;
+import io.assessment.banking.model.transaction.vo.TransactionPageVO;
 import io.assessment.banking.model.transaction.vo.TransactionVO;
 
 /**
@@ -16,7 +19,19 @@ public interface TransactionService {
   TransactionVO saveTransaction(final TransactionVO transaction)
       throws TransactionServiceRestException, TransactionServiceInvalidResponseException;
 
-  List<TransactionVO> getAllTransactions(final Long accountId)
+  List<TransactionVO> saveTransactions(final List<TransactionVO> transactions)
+      throws TransactionServiceRestException, TransactionServiceInvalidResponseException;
+
+  long forEachTransactionsPage(final Long accountId, final TransactionPageConsumer consumer)
+      throws TransactionServiceRestException, TransactionServiceInvalidResponseException;
+
+  TransactionPageVO getTransactionsPage(final Long accountId, final String cursor)
+      throws TransactionServiceRestException, TransactionServiceInvalidResponseException;
+
+  Map<Long, List<TransactionVO>> getTransactionsByAccountIds(final List<Long> accountIds)
+      throws TransactionServiceRestException, TransactionServiceInvalidResponseException;
+
+  Map<Long, AccountSummaryVO> getAccountSummaries(final List<Long> accountIds)
       throws TransactionServiceRestException, TransactionServiceInvalidResponseException;
 
   void deleteTransaction(final Long id) throws TransactionServiceRestException;
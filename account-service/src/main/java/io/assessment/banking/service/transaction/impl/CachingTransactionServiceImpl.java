@@ -0,0 +1,348 @@
+package io.assessment.banking.service.transaction.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.assessment.banking.exception.transaction.TransactionServiceInvalidResponseException;
+import io.assessment.banking.exception.transaction.TransactionServiceRestException;
+import io.assessment.banking.model.transaction.vo.AccountSummaryVO;
+import io.assessment.banking.model.transaction.vo.TransactionPageVO;
+import io.assessment.banking.model.transaction.vo.TransactionVO;
+import io.assessment.banking.service.transaction.TransactionPageConsumer;
+import io.assessment.banking.service.transaction.TransactionService;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * {@link TransactionService} that keeps the first page of the transactions of each account, at
+ * most {@code pageSize} of them, in a bounded cache in front of {@link TransactionServiceImpl}. A
+ * cached page shorter than {@code pageSize} is the whole history of its account. The transactions
+ * saved or deleted through this service are applied to the cached pages in place, changes made to
+ * transaction-service by anyone else are picked up once the entry expires. The account of each
+ * cached transaction is indexed by the transaction id, so deleting a transaction touches only the
+ * cached page of its own account
+ *
+ * @author Nikhil Vibhav
+ */
+@Service
+@Primary
+@Log4j2
+public class CachingTransactionServiceImpl implements TransactionService {
+
+  private static final long MIN_PRUNE_THRESHOLD = 1024;
+
+  private final TransactionServiceImpl delegate;
+  private final Cache<Long, List<TransactionVO>> transactionCache;
+  private final int pageSize;
+
+  /** Incremented on every write, so a load that raced with a write isn't left cached */
+  private final AtomicLong writes = new AtomicLong();
+
+  /** The account id of each cached transaction by the transaction id */
+  private final Map<Long, Long> accountIdsByTransactionId = new ConcurrentHashMap<>();
+
+  /** The index size above which the transactions of accounts no longer cached are pruned */
+  private final AtomicLong pruneThreshold = new AtomicLong(MIN_PRUNE_THRESHOLD);
+
+  @Autowired
+  public CachingTransactionServiceImpl(
+      final TransactionServiceImpl delegate,
+      final Cache<Long, List<TransactionVO>> transactionCache,
+      @Value("${transaction.service.page-size:500}") final int pageSize) {
+    this.delegate = delegate;
+    this.transactionCache = transactionCache;
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * Saves the transaction and appends it to the cached transactions of its account
+   *
+   * @param transaction - the transaction to save
+   * @return the saved {@link TransactionVO}
+   * @throws TransactionServiceRestException - when a REST error occurs while calling the
+   *     transaction service, the cached transactions of the account are evicted as the transaction
+   *     may have been saved
+   * @throws TransactionServiceInvalidResponseException - when the transaction service returns a
+   *     blank or non-2xx response
+   */
+  @Override
+  public TransactionVO saveTransaction(final TransactionVO transaction)
+      throws TransactionServiceRestException, TransactionServiceInvalidResponseException {
+
+    final TransactionVO savedTransaction;
+    try {
+      savedTransaction = delegate.saveTransaction(transaction);
+    } catch (TransactionServiceRestException | TransactionServiceInvalidResponseException e) {
+      writes.incrementAndGet();
+      transactionCache.invalidate(transaction.getAccountId());
+      throw e;
+    }
+
+    writes.incrementAndGet();
+    append(savedTransaction.getAccountId(), List.of(savedTransaction));
+    return savedTransaction;
+  }
+
+  /**
+   * Saves the transactions and appends them to the cached transactions of their accounts
+   *
+   * @param transactions - the transactions to save
+   * @return the saved {@link TransactionVO}s, in the order of the request
+   * @throws TransactionServiceRestException - when a REST error occurs while calling the
+   *     transaction service, the cached transactions of the accounts are evicted as the
+   *     transactions may have been saved
+   * @throws TransactionServiceInvalidResponseException - when the transaction service returns a
+   *     blank or non-2xx response
+   */
+  @Override
+  public List<TransactionVO> saveTransactions(final List<TransactionVO> transactions)
+      throws TransactionServiceRestException, TransactionServiceInvalidResponseException {
+
+    final List<TransactionVO> savedTransactions;
+    try {
+      savedTransactions = delegate.saveTransactions(transactions);
+    } catch (TransactionServiceRestException | TransactionServiceInvalidResponseException e) {
+      writes.incrementAndGet();
+      transactionCache.invalidateAll(
+          transactions.stream().map(TransactionVO::getAccountId).collect(Collectors.toSet()));
+      throw e;
+    }
+
+    writes.incrementAndGet();
+    savedTransactions.stream()
+        .collect(Collectors.groupingBy(TransactionVO::getAccountId))
+        .forEach(this::append);
+    return savedTransactions;
+  }
+
+  /**
+   * Hands the transactions of the account to the consumer one page at a time. A cached page that
+   * holds the whole history of the account is handed over as the only page, otherwise the pages
+   * are requested from transaction service and aren't cached
+   *
+   * @param accountId - the accountId for which to query the transactions
+   * @param consumer - the consumer of the pages
+   * @return the number of transactions handed to the consumer
+   * @throws TransactionServiceRestException - when a REST error occurs while calling the
+   *     transaction service
+   * @throws TransactionServiceInvalidResponseException - when the transaction service returns a
+   *     blank or non-2xx response
+   */
+  @Override
+  public long forEachTransactionsPage(final Long accountId, final TransactionPageConsumer consumer)
+      throws TransactionServiceRestException, TransactionServiceInvalidResponseException {
+
+    final List<TransactionVO> cachedTransactions = transactionCache.getIfPresent(accountId);
+    if (cachedTransactions != null && cachedTransactions.size() < pageSize) {
+      consumer.accept(cachedTransactions);
+      return cachedTransactions.size();
+    }
+    return delegate.forEachTransactionsPage(accountId, consumer);
+  }
+
+  /**
+   * Gets one page of the transactions of the account, always from transaction service
+   *
+   * @param accountId - the accountId for which to query the transactions
+   * @param cursor - the cursor returned with the previous page, null for the first page
+   * @return the {@link TransactionPageVO}
+   * @throws TransactionServiceRestException - when a REST error occurs while calling the
+   *     transaction service
+   * @throws TransactionServiceInvalidResponseException - when the transaction service returns a
+   *     blank or non-2xx response
+   */
+  @Override
+  public TransactionPageVO getTransactionsPage(final Long accountId, final String cursor)
+      throws TransactionServiceRestException, TransactionServiceInvalidResponseException {
+    return delegate.getTransactionsPage(accountId, cursor);
+  }
+
+  /**
+   * Gets the first page of the transactions of all the given account ids. Only the accounts missing
+   * from the cache are requested from transaction service, with a single call
+   *
+   * @param accountIds - the accountIds for which to query the transactions
+   * @return {@link Map} of account id to the {@link List} of {@link TransactionVO} of that account,
+   *     accounts without any transactions are absent from the map
+   * @throws TransactionServiceRestException - when a REST error occurs while calling the
+   *     transaction service
+   * @throws TransactionServiceInvalidResponseException - when the transaction service returns a
+   *     blank or non-2xx response
+   */
+  @Override
+  public Map<Long, List<TransactionVO>> getTransactionsByAccountIds(final List<Long> accountIds)
+      throws TransactionServiceRestException, TransactionServiceInvalidResponseException {
+
+    final Map<Long, List<TransactionVO>> transactionsByAccountId =
+        new HashMap<>(transactionCache.getAllPresent(accountIds));
+    final List<Long> missingAccountIds =
+        accountIds.stream()
+            .filter(accountId -> !transactionsByAccountId.containsKey(accountId))
+            .distinct()
+            .collect(Collectors.toList());
+
+    if (!missingAccountIds.isEmpty()) {
+      final long writesBeforeLoad = writes.get();
+      final Map<Long, List<TransactionVO>> fetchedTransactions =
+          delegate.getTransactionsByAccountIds(missingAccountIds);
+
+      final Map<Long, List<TransactionVO>> loadedTransactions = new HashMap<>();
+      for (final Long accountId : missingAccountIds) {
+        loadedTransactions.put(
+            accountId, List.copyOf(fetchedTransactions.getOrDefault(accountId, List.of())));
+      }
+      populate(loadedTransactions, writesBeforeLoad);
+      transactionsByAccountId.putAll(loadedTransactions);
+    }
+
+    log.debug(
+        "Found the transactions of {} of {} accounts in the cache",
+        accountIds.size() - missingAccountIds.size(),
+        accountIds.size());
+
+    transactionsByAccountId.values().removeIf(List::isEmpty);
+    return transactionsByAccountId;
+  }
+
+  /**
+   * Computes the totals of the transactions of the given accounts, always in transaction service
+   * so that they can be checked against the balances
+   *
+   * @param accountIds - the accountIds for which to compute the totals
+   * @return {@link Map} of account id to the {@link AccountSummaryVO} of that account
+   * @throws TransactionServiceRestException - when a REST error occurs while calling the
+   *     transaction service
+   * @throws TransactionServiceInvalidResponseException - when the transaction service returns a
+   *     blank or non-2xx response
+   */
+  @Override
+  public Map<Long, AccountSummaryVO> getAccountSummaries(final List<Long> accountIds)
+      throws TransactionServiceRestException, TransactionServiceInvalidResponseException {
+    return delegate.getAccountSummaries(accountIds);
+  }
+
+  /**
+   * Deletes the transaction and removes it from the cached page of its account. A full page is
+   * evicted instead, as the next transaction of the account would have to move into it
+   *
+   * @param id - the given transaction id
+   * @throws TransactionServiceRestException - when a REST error occurs while calling the
+   *     transaction service, the cached transactions of its account are evicted as it may have
+   *     been deleted
+   */
+  @Override
+  public void deleteTransaction(final Long id) throws TransactionServiceRestException {
+
+    try {
+      delegate.deleteTransaction(id);
+    } catch (TransactionServiceRestException e) {
+      writes.incrementAndGet();
+      final Long accountId = accountIdsByTransactionId.remove(id);
+      if (accountId != null) {
+        transactionCache.invalidate(accountId);
+      }
+      throw e;
+    }
+
+    writes.incrementAndGet();
+    final Long accountId = accountIdsByTransactionId.remove(id);
+    if (accountId != null) {
+      transactionCache
+          .asMap()
+          .computeIfPresent(
+              accountId,
+              (key, transactions) ->
+                  transactions.size() >= pageSize
+                      ? null
+                      : transactions.stream()
+                          .filter(transaction -> !id.equals(transaction.getId()))
+                          .collect(Collectors.toUnmodifiableList()));
+    }
+  }
+
+  /**
+   * Appends the saved transactions to the cached page of the account, if it is cached, until the
+   * page is full. They are the latest transactions of the account, so the ones that don't fit
+   * belong to a later page
+   *
+   * @param accountId - the account id
+   * @param savedTransactions - the saved transactions of the account
+   */
+  private void append(final Long accountId, final List<TransactionVO> savedTransactions) {
+    transactionCache
+        .asMap()
+        .computeIfPresent(
+            accountId,
+            (id, transactions) -> {
+              if (transactions.size() >= pageSize) {
+                return transactions;
+              }
+              final List<TransactionVO> appendedTransactions =
+                  savedTransactions.subList(
+                      0, Math.min(savedTransactions.size(), pageSize - transactions.size()));
+              index(accountId, appendedTransactions);
+              final List<TransactionVO> updatedTransactions =
+                  new ArrayList<>(transactions.size() + appendedTransactions.size());
+              updatedTransactions.addAll(transactions);
+              updatedTransactions.addAll(appendedTransactions);
+              return Collections.unmodifiableList(updatedTransactions);
+            });
+    prune();
+  }
+
+  /**
+   * Indexes the account of the transactions by their ids
+   *
+   * @param accountId - the account id
+   * @param transactions - the transactions of the account
+   */
+  private void index(final Long accountId, final List<TransactionVO> transactions) {
+    for (final TransactionVO transaction : transactions) {
+      if (transaction.getId() != null) {
+        accountIdsByTransactionId.put(transaction.getId(), accountId);
+      }
+    }
+  }
+
+  /**
+   * Removes the transactions of the accounts that are no longer cached from the index, once it has
+   * doubled in size since it was last pruned
+   */
+  private void prune() {
+    if (accountIdsByTransactionId.size() > pruneThreshold.get()) {
+      accountIdsByTransactionId
+          .values()
+          .removeIf(cachedAccountId -> !transactionCache.asMap().containsKey(cachedAccountId));
+      pruneThreshold.set(Math.max(MIN_PRUNE_THRESHOLD, 2L * accountIdsByTransactionId.size()));
+    }
+  }
+
+  /**
+   * Caches the loaded transactions, unless a write happened while they were loaded as they may not
+   * include it
+   *
+   * @param loadedTransactions - the loaded transactions by account id
+   * @param writesBeforeLoad - the number of writes before the transactions were loaded
+   */
+  private void populate(
+      final Map<Long, List<TransactionVO>> loadedTransactions, final long writesBeforeLoad) {
+    loadedTransactions.forEach(this::index);
+    transactionCache.putAll(loadedTransactions);
+    prune();
+    if (writes.get() != writesBeforeLoad) {
+      transactionCache.invalidateAll(loadedTransactions.keySet());
+    }
+  }
+}
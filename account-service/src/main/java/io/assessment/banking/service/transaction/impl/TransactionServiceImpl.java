@@ -1,13 +1,14 @@
 package io.assessment.banking.service.transaction.impl;
 
 import java.net.URI;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
@@ -16,12 +17,12 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import com.google.gson.*;
-import com.google.gson.reflect.TypeToken;
-
 import io.assessment.banking.exception.transaction.TransactionServiceInvalidResponseException;
 import io.assessment.banking.exception.transaction.TransactionServiceRestException;
+import io.assessment.banking.model.transaction.vo.AccountSummaryVO;
+import io.assessment.banking.model.transaction.vo.TransactionPageVO;
 import io.assessment.banking.model.transaction.vo.TransactionVO;
+import io.assessment.banking.service.transaction.TransactionPageConsumer;
 import io.assessment.banking.service.transaction.TransactionService;
 import lombok.extern.log4j.Log4j2;
 
@@ -34,28 +35,23 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public class TransactionServiceImpl implements TransactionService {
 
+  private static final ParameterizedTypeReference<List<TransactionVO>> TRANSACTION_LIST_TYPE =
+      new ParameterizedTypeReference<List<TransactionVO>>() {};
+
+  private static final ParameterizedTypeReference<List<AccountSummaryVO>> SUMMARY_LIST_TYPE =
+      new ParameterizedTypeReference<List<AccountSummaryVO>>() {};
+
   private final RestTemplate restTemplate;
-  private final Gson gson;
 
   @Value("${transaction.service.base.resource.path:http://localhost:8081/api/bank/v1/transaction}")
   private String transactionServiceBaseUrl;
 
+  @Value("${transaction.service.page-size:500}")
+  private int pageSize;
+
   @Autowired
   public TransactionServiceImpl(final RestTemplate restTemplate) {
     this.restTemplate = restTemplate;
-
-    // Gson wasn't able to parse ZonedDateTime, so registering a custom type adapter
-    gson =
-        new GsonBuilder()
-            .registerTypeAdapter(
-                ZonedDateTime.class,
-                (JsonDeserializer<ZonedDateTime>)
-                    (json, type, jsonDeserializationContext) ->
-                        ZonedDateTime.from(
-                            ZonedDateTime.parse(json.getAsJsonPrimitive().getAsString())
-                                .toLocalDateTime()
-                                .atZone(ZoneId.systemDefault())))
-            .create();
   }
 
   /**
@@ -86,7 +82,7 @@ public class TransactionServiceImpl implements TransactionService {
 
       return responseEntity.getBody();
 
-    } catch (RestClientException | JsonParseException ex) {
+    } catch (RestClientException ex) {
       log.error(
           "Error occurred while calling {} for saving the transaction {}",
           transactionServiceBaseUrl,
@@ -96,34 +92,108 @@ public class TransactionServiceImpl implements TransactionService {
   }
 
   /**
-   * Calls Transaction service to get the transactions by accountId
+   * Calls Transaction Service's API to save several transactions with one request
+   *
+   * @param transactions - the transactions to save
+   * @return the saved {@link TransactionVO}s, in the order of the request
+   * @throws TransactionServiceRestException - when a REST error occurs while calling the
+   *     transaction service
+   * @throws TransactionServiceInvalidResponseException - when the transaction service returns a
+   *     blank or non-2xx response
+   */
+  @Override
+  public List<TransactionVO> saveTransactions(final List<TransactionVO> transactions)
+      throws TransactionServiceRestException, TransactionServiceInvalidResponseException {
+
+    final URI uri =
+        UriComponentsBuilder.fromUriString(transactionServiceBaseUrl)
+            .path("/batch")
+            .build()
+            .toUri();
+    final HttpEntity<List<TransactionVO>> request = new HttpEntity<>(transactions);
+
+    try {
+      final ResponseEntity<List<TransactionVO>> responseEntity =
+          restTemplate.exchange(uri, HttpMethod.PUT, request, TRANSACTION_LIST_TYPE);
+
+      if (!responseEntity.getStatusCode().is2xxSuccessful() || responseEntity.getBody() == null) {
+        throw new TransactionServiceInvalidResponseException(
+            "The Transaction Service's Save Transactions API returned an invalid response");
+      }
+
+      return responseEntity.getBody();
+
+    } catch (RestClientException ex) {
+      log.error(
+          "Error occurred while calling {} for saving {} transactions", uri, transactions.size());
+      throw new TransactionServiceRestException("REST call to save the transactions failed");
+    }
+  }
+
+  /**
+   * Calls Transaction service to get the transactions by accountId one page at a time. A page is
+   * requested, with the cursor returned with the previous page, only once the consumer has taken
+   * the previous page and asked for more. At most one page is held in memory, and a consumer that
+   * stops early doesn't cost the requests of the remaining pages
+   *
+   * @param accountId - the accountId for which to query the transactions
+   * @param consumer - the consumer of the pages
+   * @return the number of transactions handed to the consumer
+   * @throws TransactionServiceRestException - when a REST error occurs while calling the
+   *     transaction service
+   * @throws TransactionServiceInvalidResponseException - when the transaction service returns a
+   *     blank or non-2xx response
+   */
+  @Override
+  public long forEachTransactionsPage(final Long accountId, final TransactionPageConsumer consumer)
+      throws TransactionServiceRestException, TransactionServiceInvalidResponseException {
+
+    long count = 0;
+    String cursor = null;
+    do {
+      final TransactionPageVO page = getTransactionsPage(accountId, cursor);
+      count += page.getTransactions().size();
+      if (!consumer.accept(page.getTransactions())) {
+        break;
+      }
+      cursor = page.getNextCursor();
+    } while (cursor != null);
+
+    return count;
+  }
+
+  /**
+   * Calls Transaction service to get one page of the transactions by accountId. The response is
+   * decoded by Spring's Jackson message converter straight from the response stream
    *
    * @param accountId - the accountId for which to query the transactions
-   * @return {@link List} of {@link TransactionVO} for the account id
+   * @param cursor - the cursor returned with the previous page, null for the first page
+   * @return the {@link TransactionPageVO} containing at most {@code pageSize} transactions
    * @throws TransactionServiceRestException - when a REST error occurs while calling the
    *     transaction service
    * @throws TransactionServiceInvalidResponseException - when the transaction service returns a
    *     blank or non-2xx response
    */
   @Override
-  public List<TransactionVO> getAllTransactions(final Long accountId)
+  public TransactionPageVO getTransactionsPage(final Long accountId, final String cursor)
       throws TransactionServiceRestException, TransactionServiceInvalidResponseException {
 
-    final URI uri = createGetTransactionsUri(accountId);
+    final URI uri = createGetTransactionsUri(accountId, cursor);
 
     try {
-      final ResponseEntity<String> responseEntity = restTemplate.getForEntity(uri, String.class);
+      final ResponseEntity<TransactionPageVO> responseEntity =
+          restTemplate.exchange(uri, HttpMethod.GET, null, TransactionPageVO.class);
 
       if (!responseEntity.getStatusCode().is2xxSuccessful()
-          || StringUtils.isBlank(responseEntity.getBody())) {
+          || responseEntity.getBody() == null
+          || responseEntity.getBody().getTransactions() == null) {
         throw new TransactionServiceInvalidResponseException(
             "The Transaction Service's Get Transaction by AccountId API returned an invalid response");
       }
 
-      return gson.fromJson(
-          responseEntity.getBody(), new TypeToken<List<TransactionVO>>() {}.getType());
+      return responseEntity.getBody();
 
-    } catch (RestClientException | JsonParseException ex) {
+    } catch (RestClientException ex) {
       log.error(
           "Error occurred while calling - {} to get the transactions for accountId - {}",
           uri.toString(),
@@ -133,6 +203,92 @@ public class TransactionServiceImpl implements TransactionService {
     }
   }
 
+  /**
+   * Calls Transaction service once to get the first page of the transactions of each of the given
+   * account ids, at most {@code pageSize} transactions per account. The later transactions of an
+   * account are paged through with {@link #forEachTransactionsPage}
+   *
+   * @param accountIds - the accountIds for which to query the transactions
+   * @return {@link Map} of account id to the {@link List} of {@link TransactionVO} of that account,
+   *     accounts without any transactions are absent from the map
+   * @throws TransactionServiceRestException - when a REST error occurs while calling the
+   *     transaction service
+   * @throws TransactionServiceInvalidResponseException - when the transaction service returns a
+   *     blank or non-2xx response
+   */
+  @Override
+  public Map<Long, List<TransactionVO>> getTransactionsByAccountIds(final List<Long> accountIds)
+      throws TransactionServiceRestException, TransactionServiceInvalidResponseException {
+
+    final URI uri = createGetTransactionsByAccountIdsUri(accountIds);
+
+    try {
+      final ResponseEntity<List<TransactionVO>> responseEntity =
+          restTemplate.exchange(uri, HttpMethod.GET, null, TRANSACTION_LIST_TYPE);
+
+      if (!responseEntity.getStatusCode().is2xxSuccessful() || responseEntity.getBody() == null) {
+        throw new TransactionServiceInvalidResponseException(
+            "The Transaction Service's Get Transaction by AccountIds API returned an invalid response");
+      }
+
+      return responseEntity.getBody().stream()
+          .collect(Collectors.groupingBy(TransactionVO::getAccountId));
+
+    } catch (RestClientException ex) {
+      log.error(
+          "Error occurred while calling - {} to get the transactions for accountIds - {}",
+          uri.toString(),
+          accountIds);
+      throw new TransactionServiceRestException(
+          "REST call to get the transactions by accountIds failed");
+    }
+  }
+
+  /**
+   * Calls Transaction service once to compute the totals of the given account ids from their
+   * transactions
+   *
+   * @param accountIds - the accountIds for which to compute the totals
+   * @return {@link Map} of account id to the {@link AccountSummaryVO} of that account, accounts
+   *     without any transactions are absent from the map
+   * @throws TransactionServiceRestException - when a REST error occurs while calling the
+   *     transaction service
+   * @throws TransactionServiceInvalidResponseException - when the transaction service returns a
+   *     blank or non-2xx response
+   */
+  @Override
+  public Map<Long, AccountSummaryVO> getAccountSummaries(final List<Long> accountIds)
+      throws TransactionServiceRestException, TransactionServiceInvalidResponseException {
+
+    final URI uri =
+        UriComponentsBuilder.fromUriString(transactionServiceBaseUrl)
+            .path("/summary/computed")
+            .queryParam("accountIds", accountIds.toArray())
+            .build()
+            .toUri();
+
+    try {
+      final ResponseEntity<List<AccountSummaryVO>> responseEntity =
+          restTemplate.exchange(uri, HttpMethod.GET, null, SUMMARY_LIST_TYPE);
+
+      if (!responseEntity.getStatusCode().is2xxSuccessful() || responseEntity.getBody() == null) {
+        throw new TransactionServiceInvalidResponseException(
+            "The Transaction Service's Compute Summaries API returned an invalid response");
+      }
+
+      return responseEntity.getBody().stream()
+          .collect(Collectors.toMap(AccountSummaryVO::getAccountId, Function.identity()));
+
+    } catch (RestClientException ex) {
+      log.error(
+          "Error occurred while calling - {} to compute the summaries of {} accounts",
+          uri.toString(),
+          accountIds.size());
+      throw new TransactionServiceRestException(
+          "REST call to compute the summaries by accountIds failed");
+    }
+  }
+
   /**
    * Calls transaction service to delete the transaction by the given transaction id
    *
@@ -157,11 +313,31 @@ public class TransactionServiceImpl implements TransactionService {
    * Creates a {@link URI} for calling get transactions by account id endpoint
    *
    * @param accountId - the account id against which to find the transactions
+   * @param cursor - the cursor of the page to get, null for the first page
+   * @return the final {@link URI}
+   */
+  private URI createGetTransactionsUri(final Long accountId, final String cursor) {
+    final UriComponentsBuilder builder =
+        UriComponentsBuilder.fromUriString(transactionServiceBaseUrl)
+            .queryParam("accountId", accountId)
+            .queryParam("limit", pageSize);
+    if (cursor != null) {
+      builder.queryParam("cursor", cursor);
+    }
+    return builder.build().toUri();
+  }
+
+  /**
+   * Creates a {@link URI} for calling get transactions by account ids endpoint
+   *
+   * @param accountIds - the account ids against which to find the transactions
    * @return the final {@link URI}
    */
-  private URI createGetTransactionsUri(final Long accountId) {
+  private URI createGetTransactionsByAccountIdsUri(final List<Long> accountIds) {
     return UriComponentsBuilder.fromUriString(transactionServiceBaseUrl)
-        .queryParam("accountId", accountId)
+        .path("/batch")
+        .queryParam("accountIds", accountIds.toArray())
+        .queryParam("limit", pageSize)
         .build()
         .toUri();
   }
@@ -0,0 +1,134 @@
+package io.assessment.banking.util.time;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Allocation-light parser for ISO-8601 offset timestamps such as {@code
+ * 2021-02-09T00:38:41.441411+05:30}, as written by transaction service. The digits are read
+ * straight from the character buffer, so apart from the resulting {@link ZonedDateTime} nothing is
+ * allocated. Anything outside the {@code yyyy-MM-ddTHH:mm:ss[.fraction](Z|+HH:mm)} shape is
+ * handed over to {@link ZonedDateTime#parse(CharSequence)}
+ *
+ * @author Nikhil Vibhav
+ */
+public final class IsoZonedDateTimeParser {
+
+  private static final ZoneId SYSTEM_ZONE = ZoneId.systemDefault();
+
+  private IsoZonedDateTimeParser() {}
+
+  /**
+   * Parses the timestamp and converts it to the same instant in the system default zone
+   *
+   * @param text - the timestamp
+   * @return the parsed {@link ZonedDateTime}
+   * @throws DateTimeException - when the text is not a valid timestamp
+   */
+  public static ZonedDateTime parse(final String text) {
+    return parse(text.toCharArray(), 0, text.length(), SYSTEM_ZONE);
+  }
+
+  /**
+   * Parses the timestamp held in the given window of the buffer and converts it to the same
+   * instant in the given zone
+   *
+   * @param buffer - the buffer containing the timestamp
+   * @param offset - the index of the first character of the timestamp
+   * @param length - the length of the timestamp
+   * @param zone - the zone of the returned {@link ZonedDateTime}
+   * @return the parsed {@link ZonedDateTime}
+   * @throws DateTimeException - when the text is not a valid timestamp
+   */
+  public static ZonedDateTime parse(
+      final char[] buffer, final int offset, final int length, final ZoneId zone) {
+
+    final int end = offset + length;
+    if (length < 20
+        || buffer[offset + 4] != '-'
+        || buffer[offset + 7] != '-'
+        || buffer[offset + 10] != 'T'
+        || buffer[offset + 13] != ':'
+        || buffer[offset + 16] != ':') {
+      return fallback(buffer, offset, length, zone);
+    }
+
+    final int year = digits(buffer, offset, 4);
+    final int month = digits(buffer, offset + 5, 2);
+    final int day = digits(buffer, offset + 8, 2);
+    final int hour = digits(buffer, offset + 11, 2);
+    final int minute = digits(buffer, offset + 14, 2);
+    final int second = digits(buffer, offset + 17, 2);
+    if ((year | month | day | hour | minute | second) < 0) {
+      return fallback(buffer, offset, length, zone);
+    }
+
+    int position = offset + 19;
+    int nano = 0;
+    if (buffer[position] == '.') {
+      position++;
+      int fractionDigits = 0;
+      while (position < end && isDigit(buffer[position])) {
+        if (++fractionDigits > 9) {
+          return fallback(buffer, offset, length, zone);
+        }
+        nano = nano * 10 + (buffer[position++] - '0');
+      }
+      if (fractionDigits == 0) {
+        return fallback(buffer, offset, length, zone);
+      }
+      for (int i = fractionDigits; i < 9; i++) {
+        nano *= 10;
+      }
+    }
+
+    final ZoneOffset zoneOffset;
+    if (position == end - 1 && buffer[position] == 'Z') {
+      zoneOffset = ZoneOffset.UTC;
+    } else if (position == end - 6
+        && (buffer[position] == '+' || buffer[position] == '-')
+        && buffer[position + 3] == ':') {
+      final int offsetHours = digits(buffer, position + 1, 2);
+      final int offsetMinutes = digits(buffer, position + 4, 2);
+      if ((offsetHours | offsetMinutes) < 0) {
+        return fallback(buffer, offset, length, zone);
+      }
+      final int totalSeconds = offsetHours * 3600 + offsetMinutes * 60;
+      // ZoneOffset caches the instances of the usual quarter-hour offsets
+      zoneOffset = ZoneOffset.ofTotalSeconds(buffer[position] == '-' ? -totalSeconds : totalSeconds);
+    } else {
+      return fallback(buffer, offset, length, zone);
+    }
+
+    return ZonedDateTime.ofInstant(
+        LocalDateTime.of(year, month, day, hour, minute, second, nano), zoneOffset, zone);
+  }
+
+  /**
+   * Reads a fixed number of decimal digits
+   *
+   * @return the value of the digits, or -1 if any of the characters isn't a digit
+   */
+  private static int digits(final char[] buffer, final int from, final int count) {
+    int value = 0;
+    for (int i = from; i < from + count; i++) {
+      if (!isDigit(buffer[i])) {
+        return -1;
+      }
+      value = value * 10 + (buffer[i] - '0');
+    }
+    return value;
+  }
+
+  private static boolean isDigit(final char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static ZonedDateTime fallback(
+      final char[] buffer, final int offset, final int length, final ZoneId zone) {
+    return ZonedDateTime.parse(new String(buffer, offset, length)).withZoneSameInstant(zone);
+  }
+}
@@ -0,0 +1,43 @@
+package io.assessment.banking.util.time;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+/**
+ * Jackson deserializer that reads ISO-8601 timestamps with {@link IsoZonedDateTimeParser} directly
+ * from the parser's character buffer and returns them in the system default zone
+ *
+ * @author Nikhil Vibhav
+ */
+public class SystemZoneDateTimeDeserializer extends StdScalarDeserializer<ZonedDateTime> {
+
+  private static final ZoneId SYSTEM_ZONE = ZoneId.systemDefault();
+
+  public SystemZoneDateTimeDeserializer() {
+    super(ZonedDateTime.class);
+  }
+
+  @Override
+  public ZonedDateTime deserialize(final JsonParser parser, final DeserializationContext context)
+      throws IOException {
+
+    if (!parser.hasToken(JsonToken.VALUE_STRING)) {
+      return (ZonedDateTime) context.handleUnexpectedToken(ZonedDateTime.class, parser);
+    }
+
+    try {
+      return IsoZonedDateTimeParser.parse(
+          parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength(), SYSTEM_ZONE);
+    } catch (DateTimeException ex) {
+      return (ZonedDateTime)
+          context.handleWeirdStringValue(ZonedDateTime.class, parser.getText(), ex.getMessage());
+    }
+  }
+}
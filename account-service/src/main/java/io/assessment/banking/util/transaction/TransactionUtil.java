@@ -12,21 +12,24 @@ import io.assessment.banking.service.transaction.TransactionService;
 public final class TransactionUtil {
 
   /**
-   * Performs the DEBIT/CREDIT transaction
+   * Performs the DEBIT/CREDIT transaction. Amounts are in minor units, so the arithmetic is exact
+   * and doesn't allocate
    *
    * @param amount - the amount to credit/debit
    * @param balance - the balance in the account
    * @param type - the transaction type - CREDIT/DEBIT
+   * @return the balance after the transaction
    * @throws LowBalanceException thrown when the account doesn't have sufficient balance to perform
    *     the operation
+   * @throws ArithmeticException thrown when a CREDIT overflows the balance
    */
-  public static Double performTransaction(
-      final Double amount, final Double balance, final TransactionType type)
+  public static long performTransaction(
+      final long amount, final long balance, final TransactionType type)
       throws LowBalanceException {
 
     switch (type) {
       case CREDIT:
-        return balance + amount;
+        return Math.addExact(balance, amount);
       case DEBIT:
         if (balance < amount) {
           throw new LowBalanceException(
@@ -37,4 +40,40 @@ public final class TransactionUtil {
         throw new IllegalStateException("Unexpected value: " + type);
     }
   }
+
+  /**
+   * Gets the signed change to the balance for the DEBIT/CREDIT transaction
+   *
+   * @param amount - the amount to credit/debit in minor units
+   * @param type - the transaction type - CREDIT/DEBIT
+   * @return the amount for a CREDIT, the negated amount for a DEBIT
+   */
+  public static long toBalanceChange(final long amount, final TransactionType type) {
+    switch (type) {
+      case CREDIT:
+        return amount;
+      case DEBIT:
+        return -amount;
+      default:
+        throw new IllegalStateException("Unexpected value: " + type);
+    }
+  }
+
+  /**
+   * Gets the balance the account must at least have to perform the DEBIT/CREDIT transaction
+   *
+   * @param amount - the amount to credit/debit in minor units
+   * @param type - the transaction type - CREDIT/DEBIT
+   * @return 0 for a CREDIT, the amount for a DEBIT
+   */
+  public static long toMinimumBalance(final long amount, final TransactionType type) {
+    switch (type) {
+      case CREDIT:
+        return 0L;
+      case DEBIT:
+        return amount;
+      default:
+        throw new IllegalStateException("Unexpected value: " + type);
+    }
+  }
 }
@@ -1,5 +1,6 @@
 package io.assessment.banking;
 
+import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 
@@ -29,7 +30,7 @@ public abstract class AbstractTest {
   public TransactionVO getTransactionVO() {
     final TransactionVO transactionVO = new TransactionVO();
     transactionVO.setAccountId(1L);
-    transactionVO.setAmount(10.0);
+    transactionVO.setAmount(BigDecimal.TEN);
     transactionVO.setId(12L);
     transactionVO.setType(TransactionType.CREDIT);
     transactionVO.setDateTransacted(ZonedDateTime.now());
@@ -39,7 +40,7 @@ public abstract class AbstractTest {
   public Account getAccount(final Customer customer) {
     final Account account = new Account();
     account.setId(1L);
-    account.setBalance(0.0);
+    account.setBalance(0L);
     account.setCustomer(customer);
     account.setType(AccountType.CURRENT);
     return account;
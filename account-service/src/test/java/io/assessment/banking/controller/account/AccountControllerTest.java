@@ -1,6 +1,9 @@
 package io.assessment.banking.controller.account;
 
+import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,14 +19,23 @@ import com.google.gson.Gson;
 
 import io.assessment.banking.AbstractTest;
 import io.assessment.banking.constant.account.AccountType;
-import io.assessment.banking.exception.account.AccountCreationFailedException;
+import io.assessment.banking.constant.transaction.TransactionType;
 import io.assessment.banking.exception.account.LowBalanceException;
 import io.assessment.banking.exception.customer.CustomerNotFoundException;
 import io.assessment.banking.facade.account.AccountFacade;
+import io.assessment.banking.facade.account.BulkAccountFacade;
+import io.assessment.banking.model.account.vo.AccountTransactionVO;
 import io.assessment.banking.model.account.vo.AccountVO;
+import io.assessment.banking.model.account.vo.BulkAccountRequestVO;
+import io.assessment.banking.model.account.vo.BulkAccountResponseVO;
+import io.assessment.banking.model.account.vo.BulkAccountResultVO;
+import io.assessment.banking.model.account.vo.TransferVO;
 
 import static org.hamcrest.core.StringContains.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -45,6 +57,7 @@ public class AccountControllerTest extends AbstractTest {
   @Autowired private Gson gson;
 
   @MockBean private AccountFacade facade;
+  @MockBean private BulkAccountFacade bulkFacade;
 
   @Test
   public void givenAccountRequest_WhenCreateCurrentAccount_ThenReturn201_Success()
@@ -52,7 +65,7 @@ public class AccountControllerTest extends AbstractTest {
     // Given
     final AccountVO request = new AccountVO();
     request.setCustomerId(1L);
-    request.setInitialCredit(10.0);
+    request.setInitialCredit(BigDecimal.valueOf(10.0));
 
     given(facade.saveCurrentAccount(request.getCustomerId(), request.getInitialCredit()))
         .willAnswer(
@@ -61,7 +74,7 @@ public class AccountControllerTest extends AbstractTest {
               response.setType(AccountType.CURRENT);
               response.setDateUpdated(ZonedDateTime.now());
               response.setCustomerId(invocation.getArgument(0)); // arg 0 is customerId Long
-              response.setBalance(invocation.getArgument(1)); // arg 1 is initialCredit Double
+              response.setBalance(invocation.getArgument(1)); // arg 1 is initialCredit BigDecimal
 
               response.setId(1L);
               return response;
@@ -88,7 +101,7 @@ public class AccountControllerTest extends AbstractTest {
     // Given
     // Request
     final AccountVO request = new AccountVO();
-    request.setInitialCredit(-10.0);
+    request.setInitialCredit(BigDecimal.valueOf(-10.0));
 
     mockMvc
         .perform(
@@ -126,7 +139,7 @@ public class AccountControllerTest extends AbstractTest {
     // Given
     final AccountVO request = new AccountVO();
     request.setCustomerId(1L);
-    request.setInitialCredit(10.0);
+    request.setInitialCredit(BigDecimal.valueOf(10.0));
 
     given(facade.saveCurrentAccount(request.getCustomerId(), request.getInitialCredit()))
         .willThrow(CustomerNotFoundException.class);
@@ -150,7 +163,7 @@ public class AccountControllerTest extends AbstractTest {
     // Given
     final AccountVO request = new AccountVO();
     request.setCustomerId(1L);
-    request.setInitialCredit(10.0);
+    request.setInitialCredit(BigDecimal.valueOf(10.0));
 
     given(facade.saveCurrentAccount(request.getCustomerId(), request.getInitialCredit()))
         .willThrow(LowBalanceException.class);
@@ -170,31 +183,174 @@ public class AccountControllerTest extends AbstractTest {
   }
 
   @Test
-  public void
-      givenAccountRequest_WhenCreateCurrentAccount_ThenTransactionServiceReturns500_RollbackAndThrowAccountCreatingFailed()
-          throws Exception {
+  public void givenBulkAccountRequest_WhenCreateCurrentAccounts_ThenReturn200_PerItemResults()
+      throws Exception {
     // Given
-    final AccountVO request = new AccountVO();
-    request.setCustomerId(1L);
-    request.setInitialCredit(10.0);
+    final AccountVO valid = new AccountVO();
+    valid.setCustomerId(1L);
+    valid.setInitialCredit(BigDecimal.valueOf(10.0));
 
-    given(facade.saveCurrentAccount(request.getCustomerId(), request.getInitialCredit()))
-        .willThrow(AccountCreationFailedException.class);
+    final AccountVO invalid = new AccountVO();
+    invalid.setCustomerId(1L);
+
+    final BulkAccountRequestVO request = new BulkAccountRequestVO();
+    request.setAccounts(Arrays.asList(valid, invalid));
+
+    final AccountVO opened = new AccountVO();
+    opened.setId(1L);
+    opened.setCustomerId(1L);
+    opened.setType(AccountType.CURRENT);
+    opened.setBalance(BigDecimal.valueOf(10.0));
+
+    given(bulkFacade.saveCurrentAccounts(anyList()))
+        .willReturn(
+            new BulkAccountResponseVO(
+                1,
+                1,
+                Arrays.asList(
+                    new BulkAccountResultVO(0, opened, null),
+                    new BulkAccountResultVO(1, null, "initialCredit cannot be null"))));
 
     // Then
     mockMvc
         .perform(
-            MockMvcRequestBuilders.post(ACCOUNT_URI + "/current")
+            MockMvcRequestBuilders.post(ACCOUNT_URI + "/current/bulk")
                 .content(gson.toJson(request))
                 .contentType(MediaType.APPLICATION_JSON))
         .andDo(print())
-        .andExpect(status().is5xxServerError())
-        .andExpect(
-            status()
-                .reason(
-                    "Error occurred while trying to save the transaction entity for given accountId"));
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.succeeded").value(1))
+        .andExpect(jsonPath("$.failed").value(1))
+        .andExpect(jsonPath("$.results[0].account.id").value(1))
+        .andExpect(jsonPath("$.results[1].error").value("initialCredit cannot be null"));
 
-    verify(facade, times(1))
-        .saveCurrentAccount(request.getCustomerId(), request.getInitialCredit());
+    verify(bulkFacade, times(1)).saveCurrentAccounts(anyList());
+  }
+
+  @Test
+  public void givenEmptyBulkAccountRequest_WhenCreateCurrentAccounts_ThenReturn400_BadRequest()
+      throws Exception {
+    // Given
+    final BulkAccountRequestVO request = new BulkAccountRequestVO();
+    request.setAccounts(Collections.emptyList());
+
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post(ACCOUNT_URI + "/current/bulk")
+                .content(gson.toJson(request))
+                .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(containsString("accounts cannot be empty")));
+  }
+
+  @Test
+  public void givenTransactionRequest_WhenPostTransaction_ThenReturn200_Success()
+      throws Exception {
+    // Given
+    final AccountTransactionVO request = new AccountTransactionVO();
+    request.setType(TransactionType.CREDIT);
+    request.setAmount(BigDecimal.valueOf(10.0));
+
+    final AccountVO response = new AccountVO();
+    response.setId(1L);
+    response.setBalance(BigDecimal.valueOf(25.0));
+    given(facade.postTransaction(1L, request.getAmount(), TransactionType.CREDIT))
+        .willReturn(response);
+
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post(ACCOUNT_URI + "/1/transaction")
+                .content(gson.toJson(request))
+                .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.balance").value("25.0"));
+
+    verify(facade, times(1)).postTransaction(1L, request.getAmount(), TransactionType.CREDIT);
+  }
+
+  @Test
+  public void givenTransactionRequestWithoutType_WhenPostTransaction_ThenReturn400()
+      throws Exception {
+    // Given
+    final AccountTransactionVO request = new AccountTransactionVO();
+    request.setAmount(BigDecimal.valueOf(10.0));
+
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post(ACCOUNT_URI + "/1/transaction")
+                .content(gson.toJson(request))
+                .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(containsString("type cannot be null")));
+
+    verify(facade, never()).postTransaction(any(), any(), any());
+  }
+
+  @Test
+  public void givenTransferRequest_WhenTransfer_ThenReturn200_Success() throws Exception {
+    // Given
+    final TransferVO request = getTransferRequest(1L, 2L);
+
+    given(facade.transfer(1L, 2L, request.getAmount()))
+        .willAnswer(
+            invocation -> {
+              final AccountVO fromAccount = new AccountVO();
+              fromAccount.setId(1L);
+              fromAccount.setBalance(BigDecimal.valueOf(5.0));
+              final AccountVO toAccount = new AccountVO();
+              toAccount.setId(2L);
+              toAccount.setBalance(BigDecimal.valueOf(20.0));
+
+              final TransferVO response = getTransferRequest(1L, 2L);
+              response.setFromAccount(fromAccount);
+              response.setToAccount(toAccount);
+              return response;
+            });
+
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post(ACCOUNT_URI + "/transfer")
+                .content(gson.toJson(request))
+                .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.fromAccount.balance").value("5.0"))
+        .andExpect(jsonPath("$.toAccount.balance").value("20.0"));
+
+    verify(facade, times(1)).transfer(1L, 2L, request.getAmount());
+  }
+
+  @Test
+  public void givenTransferToSameAccount_WhenTransfer_ThenReturn400_SameAccountTransferException()
+      throws Exception {
+    // Given
+    final TransferVO request = getTransferRequest(1L, 1L);
+
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post(ACCOUNT_URI + "/transfer")
+                .content(gson.toJson(request))
+                .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0]").value("Cannot transfer money to the same account"));
+
+    verify(facade, never()).transfer(any(), any(), any());
+  }
+
+  private TransferVO getTransferRequest(final Long fromAccountId, final Long toAccountId) {
+    final TransferVO request = new TransferVO();
+    request.setFromAccountId(fromAccountId);
+    request.setToAccountId(toAccountId);
+    request.setAmount(BigDecimal.valueOf(10.0));
+    return request;
   }
 }
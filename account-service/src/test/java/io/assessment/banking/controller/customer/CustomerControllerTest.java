@@ -1,5 +1,6 @@
 package io.assessment.banking.controller.customer;
 
+import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 
@@ -49,7 +50,7 @@ public class CustomerControllerTest extends AbstractTest {
     final AccountVO savedAccount = new AccountVO();
     savedAccount.setCustomerId(customerWithAccount.getId());
     savedAccount.setType(AccountType.CURRENT);
-    savedAccount.setBalance(20.0);
+    savedAccount.setBalance(BigDecimal.valueOf(20.0));
     savedAccount.setDateUpdated(ZonedDateTime.now());
     customerWithAccount.setAccounts(Collections.singletonList(savedAccount));
 
@@ -1,32 +1,37 @@
 package io.assessment.banking.facade.account;
 
+import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import io.assessment.banking.AbstractTest;
 import io.assessment.banking.constant.transaction.TransactionType;
-import io.assessment.banking.exception.account.AccountCreationFailedException;
 import io.assessment.banking.exception.account.AccountNotFoundException;
 import io.assessment.banking.exception.account.LowBalanceException;
 import io.assessment.banking.exception.customer.CustomerNotFoundException;
-import io.assessment.banking.exception.transaction.TransactionServiceRestException;
 import io.assessment.banking.model.account.entity.Account;
 import io.assessment.banking.model.account.vo.AccountVO;
+import io.assessment.banking.model.account.vo.TransferVO;
 import io.assessment.banking.model.customer.entity.Customer;
-import io.assessment.banking.model.transaction.vo.TransactionVO;
+import io.assessment.banking.model.transaction.entity.TransactionOutbox;
 import io.assessment.banking.service.account.AccountService;
 import io.assessment.banking.service.customer.CustomerService;
-import io.assessment.banking.service.transaction.TransactionService;
+import io.assessment.banking.service.outbox.TransactionOutboxService;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
 
 /**
  * Unit tests for {@link AccountFacade}
@@ -37,7 +42,7 @@ import static org.mockito.BDDMockito.willThrow;
 public class AccountFacadeTest extends AbstractTest {
 
   @Mock private AccountService accountService;
-  @Mock private TransactionService transactionService;
+  @Mock private TransactionOutboxService transactionOutboxService;
   @Mock private CustomerService customerService;
 
   @InjectMocks private AccountFacade facade;
@@ -47,24 +52,24 @@ public class AccountFacadeTest extends AbstractTest {
     // Given
     final Customer customer = getCustomer();
     final Account updatedAccount = getAccount(customer);
-    updatedAccount.setBalance(10.0);
+    updatedAccount.setBalance(1000L);
     updatedAccount.setDateUpdated(ZonedDateTime.now());
 
     given(customerService.getCustomerById(1L)).willReturn(customer);
     given(accountService.createAccount(any(Account.class))).willReturn(getAccount(customer));
-    given(accountService.updateBalance(1L, 10.0, TransactionType.CREDIT))
+    given(accountService.updateBalance(1L, 1000L, TransactionType.CREDIT))
         .willReturn(updatedAccount);
-    given(transactionService.saveTransaction(any(TransactionVO.class)))
-        .willReturn(getTransactionVO());
 
     // When
-    final AccountVO savedAccount = assertDoesNotThrow(() -> facade.saveCurrentAccount(1L, 10.0));
+    final AccountVO savedAccount =
+        assertDoesNotThrow(() -> facade.saveCurrentAccount(1L, BigDecimal.TEN));
 
     // Then
     assertNotNull(savedAccount);
     assertEquals(updatedAccount.getId(), savedAccount.getId());
     assertEquals(updatedAccount.getType(), savedAccount.getType());
-    assertEquals(updatedAccount.getBalance(), savedAccount.getBalance());
+    assertEquals(new BigDecimal("10.00"), savedAccount.getBalance());
+    then(transactionOutboxService).should().enqueue(1L, 1000L, TransactionType.CREDIT);
   }
 
   @Test
@@ -74,7 +79,8 @@ public class AccountFacadeTest extends AbstractTest {
     given(customerService.getCustomerById(1L)).willThrow(CustomerNotFoundException.class);
 
     // When - Then
-    assertThrows(CustomerNotFoundException.class, () -> facade.saveCurrentAccount(1L, 10.0));
+    assertThrows(
+        CustomerNotFoundException.class, () -> facade.saveCurrentAccount(1L, BigDecimal.TEN));
   }
 
   @Test
@@ -84,11 +90,12 @@ public class AccountFacadeTest extends AbstractTest {
     final Customer customer = getCustomer();
     given(customerService.getCustomerById(1L)).willReturn(customer);
     given(accountService.createAccount(any(Account.class))).willReturn(getAccount(customer));
-    given(accountService.updateBalance(1L, 10.0, TransactionType.CREDIT))
+    given(accountService.updateBalance(1L, 1000L, TransactionType.CREDIT))
         .willThrow(LowBalanceException.class);
 
     // When - Then
-    assertThrows(LowBalanceException.class, () -> facade.saveCurrentAccount(1L, 10.0));
+    assertThrows(LowBalanceException.class, () -> facade.saveCurrentAccount(1L, BigDecimal.TEN));
+    then(transactionOutboxService).should(never()).enqueue(any(), anyLong(), any());
   }
 
   @Test
@@ -98,52 +105,72 @@ public class AccountFacadeTest extends AbstractTest {
     final Customer customer = getCustomer();
     given(customerService.getCustomerById(1L)).willReturn(customer);
     given(accountService.createAccount(any(Account.class))).willReturn(getAccount(customer));
-    given(accountService.updateBalance(1L, 10.0, TransactionType.CREDIT))
+    given(accountService.updateBalance(1L, 1000L, TransactionType.CREDIT))
         .willThrow(AccountNotFoundException.class);
 
     // When - Then
-    assertThrows(AccountNotFoundException.class, () -> facade.saveCurrentAccount(1L, 10.0));
+    assertThrows(
+        AccountNotFoundException.class, () -> facade.saveCurrentAccount(1L, BigDecimal.TEN));
   }
 
   @Test
-  public void givenValidParams_WhenSaveCurrentAccount_ThenThrowAccountCreationFailedException()
-      throws Exception {
+  public void givenValidParams_WhenPostTransaction_ThenPostedInMinorUnits() throws Exception {
     // Given
-    final Customer customer = getCustomer();
-    final Account updatedAccount = getAccount(customer);
-    updatedAccount.setBalance(10.0);
-    updatedAccount.setDateUpdated(ZonedDateTime.now());
+    final Account updatedAccount = getAccount(getCustomer());
+    updatedAccount.setBalance(2500L);
 
-    given(customerService.getCustomerById(1L)).willReturn(customer);
-    given(accountService.createAccount(any(Account.class))).willReturn(getAccount(customer));
-    given(accountService.updateBalance(1L, 10.0, TransactionType.CREDIT))
+    given(accountService.postTransaction(1L, 1000L, TransactionType.CREDIT))
         .willReturn(updatedAccount);
-    given(transactionService.saveTransaction(any(TransactionVO.class)))
-        .willThrow(TransactionServiceRestException.class);
 
-    // When - Then
-    assertThrows(AccountCreationFailedException.class, () -> facade.saveCurrentAccount(1L, 10.0));
+    // When
+    final AccountVO account =
+        assertDoesNotThrow(
+            () -> facade.postTransaction(1L, BigDecimal.TEN, TransactionType.CREDIT));
+
+    // Then
+    assertEquals(new BigDecimal("25.00"), account.getBalance());
+    then(transactionOutboxService).shouldHaveNoInteractions();
   }
 
   @Test
-  public void
-      givenValidParams_WhenSaveCurrentAccountFailsAndRollback_ThenThrowAccountNotFoundException()
-          throws Exception {
+  @SuppressWarnings("unchecked")
+  public void givenValidParams_WhenTransfer_ThenEnqueueBothLegsTogether() throws Exception {
     // Given
     final Customer customer = getCustomer();
-    final Account updatedAccount = getAccount(customer);
-    updatedAccount.setBalance(10.0);
-    updatedAccount.setDateUpdated(ZonedDateTime.now());
+    final Account fromAccount = getAccount(customer);
+    fromAccount.setBalance(1500L);
+    final Account toAccount = getAccount(customer);
+    toAccount.setId(2L);
+    toAccount.setBalance(1000L);
 
-    given(customerService.getCustomerById(1L)).willReturn(customer);
-    given(accountService.createAccount(any(Account.class))).willReturn(getAccount(customer));
-    given(accountService.updateBalance(1L, 10.0, TransactionType.CREDIT))
-        .willReturn(updatedAccount);
-    given(transactionService.saveTransaction(any(TransactionVO.class)))
-        .willThrow(TransactionServiceRestException.class);
-    willThrow(AccountNotFoundException.class).given(accountService).deleteAccount(1L);
+    given(accountService.transfer(1L, 2L, 1000L)).willReturn(List.of(fromAccount, toAccount));
+
+    // When
+    final TransferVO transfer = assertDoesNotThrow(() -> facade.transfer(1L, 2L, BigDecimal.TEN));
+
+    // Then
+    assertEquals(new BigDecimal("15.00"), transfer.getFromAccount().getBalance());
+    assertEquals(new BigDecimal("10.00"), transfer.getToAccount().getBalance());
+    assertEquals(new BigDecimal("10.00"), transfer.getAmount());
+
+    final ArgumentCaptor<List<TransactionOutbox>> captor = ArgumentCaptor.forClass(List.class);
+    then(transactionOutboxService).should().enqueueAll(captor.capture());
+    final List<TransactionOutbox> entries = captor.getValue();
+    assertEquals(2, entries.size());
+    assertEquals(1L, entries.get(0).getAccountId());
+    assertEquals(TransactionType.DEBIT, entries.get(0).getType());
+    assertEquals(2L, entries.get(1).getAccountId());
+    assertEquals(TransactionType.CREDIT, entries.get(1).getType());
+    assertEquals(1000L, entries.get(1).getAmount());
+  }
+
+  @Test
+  public void givenValidParams_WhenTransfer_ThenThrowLowBalanceException() throws Exception {
+    // Given
+    given(accountService.transfer(1L, 2L, 1000L)).willThrow(LowBalanceException.class);
 
     // When - Then
-    assertThrows(AccountNotFoundException.class, () -> facade.saveCurrentAccount(1L, 10.0));
+    assertThrows(LowBalanceException.class, () -> facade.transfer(1L, 2L, BigDecimal.TEN));
+    then(transactionOutboxService).should(never()).enqueueAll(anyList());
   }
 }
@@ -0,0 +1,163 @@
+package io.assessment.banking.facade.account;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.assessment.banking.AbstractTest;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.model.account.entity.Account;
+import io.assessment.banking.model.account.vo.AccountVO;
+import io.assessment.banking.model.account.vo.BulkAccountResponseVO;
+import io.assessment.banking.model.transaction.entity.TransactionOutbox;
+import io.assessment.banking.service.account.AccountService;
+import io.assessment.banking.service.customer.CustomerService;
+import io.assessment.banking.service.outbox.TransactionOutboxService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+/**
+ * Unit tests for {@link BulkAccountFacade}
+ *
+ * @author Nikhil Vibhav
+ */
+@ExtendWith(MockitoExtension.class)
+public class BulkAccountFacadeTest extends AbstractTest {
+
+  private static final int CHUNK_SIZE = 2;
+
+  @Mock private AccountService accountService;
+  @Mock private CustomerService customerService;
+  @Mock private TransactionOutboxService transactionOutboxService;
+  @Mock private PlatformTransactionManager transactionManager;
+  @Mock private EntityManager entityManager;
+
+  private BulkAccountFacade facade;
+
+  @BeforeEach
+  public void setUp() {
+    facade =
+        new BulkAccountFacade(
+            accountService,
+            customerService,
+            transactionOutboxService,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new TransactionTemplate(transactionManager),
+            entityManager,
+            CHUNK_SIZE);
+  }
+
+  @Test
+  public void givenMixedRequests_WhenSaveCurrentAccounts_ThenReportEachRequest() {
+    // Given
+    final List<AccountVO> requests =
+        Arrays.asList(
+            getAccountRequest(1L, "10.00"),
+            getAccountRequest(1L, null),
+            getAccountRequest(1L, "0"),
+            getAccountRequest(99L, "10.00"));
+
+    given(customerService.getCustomersByIds(anyCollection()))
+        .willReturn(Collections.singletonList(getCustomer()));
+    given(accountService.createAccounts(anyList()))
+        .willAnswer(invocation -> withIds(invocation.getArgument(0)));
+
+    // When
+    final BulkAccountResponseVO response = facade.saveCurrentAccounts(requests);
+
+    // Then
+    assertEquals(1, response.getSucceeded());
+    assertEquals(3, response.getFailed());
+    assertEquals(new BigDecimal("10.00"), response.getResults().get(0).getAccount().getBalance());
+    assertEquals("initialCredit cannot be null", response.getResults().get(1).getError());
+    assertEquals(
+        "Initial Credit is too low to open the account", response.getResults().get(2).getError());
+    assertEquals(
+        "Could not find customer with the given id: 99", response.getResults().get(3).getError());
+
+    final ArgumentCaptor<List<TransactionOutbox>> entries = ArgumentCaptor.forClass(List.class);
+    then(transactionOutboxService).should().enqueueAll(entries.capture());
+    assertEquals(1, entries.getValue().size());
+    assertEquals(1000L, entries.getValue().get(0).getAmount());
+    assertEquals(TransactionType.CREDIT, entries.getValue().get(0).getType());
+  }
+
+  @Test
+  public void givenMoreRequestsThanChunkSize_WhenSaveCurrentAccounts_ThenSaveInChunks() {
+    // Given
+    final List<AccountVO> requests =
+        Arrays.asList(
+            getAccountRequest(1L, "10.00"),
+            getAccountRequest(1L, "20.00"),
+            getAccountRequest(1L, "30.00"));
+
+    given(customerService.getCustomersByIds(anyCollection()))
+        .willReturn(Collections.singletonList(getCustomer()));
+    given(accountService.createAccounts(anyList()))
+        .willAnswer(invocation -> withIds(invocation.getArgument(0)));
+
+    // When
+    final BulkAccountResponseVO response = facade.saveCurrentAccounts(requests);
+
+    // Then
+    assertEquals(3, response.getSucceeded());
+    assertEquals(new BigDecimal("30.00"), response.getResults().get(2).getAccount().getBalance());
+    then(accountService).should(times(2)).createAccounts(anyList());
+    then(entityManager).should(times(2)).clear();
+  }
+
+  @Test
+  public void givenChunkFailsToSave_WhenSaveCurrentAccounts_ThenFailEveryRequestOfTheChunk() {
+    // Given
+    final List<AccountVO> requests =
+        Arrays.asList(getAccountRequest(1L, "10.00"), getAccountRequest(1L, "20.00"));
+
+    given(customerService.getCustomersByIds(anyCollection()))
+        .willReturn(Collections.singletonList(getCustomer()));
+    given(accountService.createAccounts(anyList()))
+        .willThrow(new IllegalStateException("Database unavailable"));
+
+    // When
+    final BulkAccountResponseVO response = facade.saveCurrentAccounts(requests);
+
+    // Then
+    assertEquals(0, response.getSucceeded());
+    assertEquals(2, response.getFailed());
+    response
+        .getResults()
+        .forEach(
+            result -> assertEquals("Error occurred while saving the account", result.getError()));
+  }
+
+  private AccountVO getAccountRequest(final Long customerId, final String initialCredit) {
+    final AccountVO request = new AccountVO();
+    request.setCustomerId(customerId);
+    request.setInitialCredit(initialCredit == null ? null : new BigDecimal(initialCredit));
+    return request;
+  }
+
+  private static List<Account> withIds(final List<Account> accounts) {
+    for (int i = 0; i < accounts.size(); i++) {
+      accounts.get(i).setId(i + 1L);
+    }
+    return accounts;
+  }
+}
@@ -1,23 +1,33 @@
 package io.assessment.banking.facade.customer;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import io.assessment.banking.AbstractTest;
 import io.assessment.banking.exception.customer.CustomerNotFoundException;
+import io.assessment.banking.exception.transaction.TransactionServiceRestException;
+import io.assessment.banking.model.account.entity.Account;
 import io.assessment.banking.model.customer.entity.Customer;
 import io.assessment.banking.model.customer.vo.CustomerVO;
 import io.assessment.banking.service.customer.CustomerService;
 import io.assessment.banking.service.transaction.TransactionService;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Unit tests for {@link CustomerFacade}
@@ -27,10 +37,22 @@ import static org.mockito.BDDMockito.given;
 @ExtendWith(SpringExtension.class)
 public class CustomerFacadeTest extends AbstractTest {
 
+  private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4);
+
   @Mock private CustomerService customerService;
   @Mock private TransactionService transactionService;
 
-  @InjectMocks private CustomerFacade facade;
+  private CustomerFacade facade;
+
+  @BeforeEach
+  public void setUp() {
+    facade = new CustomerFacade(customerService, transactionService, EXECUTOR, 50, 1000);
+  }
+
+  @AfterAll
+  public static void tearDown() {
+    EXECUTOR.shutdownNow();
+  }
 
   @Test
   public void givenValidCustomerId_WhenGetCustomerById_ThenSucceed() throws Exception {
@@ -40,8 +62,8 @@ public class CustomerFacadeTest extends AbstractTest {
     final long customerId = 1L;
 
     given(customerService.getCustomerById(1L)).willReturn(customer);
-    given(transactionService.getAllTransactions(anyLong()))
-        .willReturn(Collections.singletonList(getTransactionVO()));
+    given(transactionService.getTransactionsByAccountIds(Collections.singletonList(1L)))
+        .willReturn(Collections.singletonMap(1L, Collections.singletonList(getTransactionVO())));
 
     // When
     final CustomerVO customerFromDB = assertDoesNotThrow(() -> facade.getCustomerById(customerId));
@@ -51,6 +73,123 @@ public class CustomerFacadeTest extends AbstractTest {
     assertEquals(customerId, customerFromDB.getId());
     assertEquals("John Doe", customerFromDB.getFirstName() + " " + customerFromDB.getSurname());
     assertTrue(customerFromDB.getAccounts().size() > 0);
+    assertEquals(1, customerFromDB.getAccounts().get(0).getTransactions().size());
+    verify(transactionService, times(1)).getTransactionsByAccountIds(anyList());
+  }
+
+  @Test
+  public void givenCustomerWithManyAccounts_WhenGetCustomerById_ThenCallTransactionServiceOnce()
+      throws Exception {
+    // Given
+    final Customer customer = getCustomerWithAccounts(40);
+
+    given(customerService.getCustomerById(1L)).willReturn(customer);
+    given(transactionService.getTransactionsByAccountIds(anyList()))
+        .willReturn(Collections.singletonMap(1L, Collections.singletonList(getTransactionVO())));
+
+    // When
+    final CustomerVO customerFromDB = assertDoesNotThrow(() -> facade.getCustomerById(1L));
+
+    // Then
+    assertEquals(40, customerFromDB.getAccounts().size());
+    assertEquals(1, customerFromDB.getAccounts().get(0).getTransactions().size());
+    assertTrue(customerFromDB.getAccounts().get(1).getTransactions().isEmpty());
+    verify(transactionService, times(1)).getTransactionsByAccountIds(anyList());
+  }
+
+  @Test
+  public void givenCustomerWithMoreAccountsThanBatchSize_WhenGetCustomerById_ThenFetchBatches()
+      throws Exception {
+    // Given
+    final Customer customer = getCustomerWithAccounts(40);
+    facade = new CustomerFacade(customerService, transactionService, EXECUTOR, 10, 1000);
+
+    given(customerService.getCustomerById(1L)).willReturn(customer);
+    given(transactionService.getTransactionsByAccountIds(anyList()))
+        .willReturn(Collections.singletonMap(1L, Collections.singletonList(getTransactionVO())));
+    given(transactionService.getTransactionsByAccountIds(argThat(ids -> ids.contains(11L))))
+        .willThrow(TransactionServiceRestException.class);
+
+    // When
+    final CustomerVO customerFromDB = assertDoesNotThrow(() -> facade.getCustomerById(1L));
+
+    // Then
+    assertEquals(30, customerFromDB.getAccounts().size());
+    assertTrue(
+        customerFromDB.getAccounts().stream()
+            .noneMatch(account -> account.getId() > 10 && account.getId() <= 20));
+    assertEquals(1, customerFromDB.getAccounts().get(0).getTransactions().size());
+    verify(transactionService, times(4)).getTransactionsByAccountIds(anyList());
+  }
+
+  @Test
+  public void givenSlowBatch_WhenGetCustomerById_ThenSkipAccountsAfterDeadline() throws Exception {
+    // Given
+    final Customer customer = getCustomerWithAccounts(20);
+    facade = new CustomerFacade(customerService, transactionService, EXECUTOR, 10, 200);
+
+    given(customerService.getCustomerById(1L)).willReturn(customer);
+    given(transactionService.getTransactionsByAccountIds(anyList()))
+        .willReturn(Collections.emptyMap());
+    given(transactionService.getTransactionsByAccountIds(argThat(ids -> ids.contains(11L))))
+        .willAnswer(
+            invocation -> {
+              Thread.sleep(5000);
+              return Collections.emptyMap();
+            });
+
+    // When
+    final long start = System.currentTimeMillis();
+    final CustomerVO customerFromDB = assertDoesNotThrow(() -> facade.getCustomerById(1L));
+
+    // Then
+    assertTrue(System.currentTimeMillis() - start < 5000);
+    assertEquals(10, customerFromDB.getAccounts().size());
+    assertTrue(customerFromDB.getAccounts().stream().allMatch(account -> account.getId() <= 10));
+  }
+
+  @Test
+  public void givenSlowSingleBatch_WhenGetCustomerById_ThenSkipAccountsAfterDeadline()
+      throws Exception {
+    // Given
+    final Customer customer = getCustomerWithAccounts(5);
+    facade = new CustomerFacade(customerService, transactionService, EXECUTOR, 10, 200);
+
+    given(customerService.getCustomerById(1L)).willReturn(customer);
+    given(transactionService.getTransactionsByAccountIds(anyList()))
+        .willAnswer(
+            invocation -> {
+              Thread.sleep(5000);
+              return Collections.emptyMap();
+            });
+
+    // When
+    final long start = System.currentTimeMillis();
+    final CustomerVO customerFromDB = assertDoesNotThrow(() -> facade.getCustomerById(1L));
+
+    // Then
+    assertTrue(System.currentTimeMillis() - start < 5000);
+    assertTrue(customerFromDB.getAccounts().isEmpty());
+    verify(transactionService, times(1)).getTransactionsByAccountIds(anyList());
+  }
+
+  @Test
+  public void givenTransactionServiceFails_WhenGetCustomerById_ThenSkipAccounts()
+      throws Exception {
+    // Given
+    final Customer customer = getCustomer();
+    customer.setAccounts(Collections.singletonList(getAccount(customer)));
+
+    given(customerService.getCustomerById(1L)).willReturn(customer);
+    given(transactionService.getTransactionsByAccountIds(anyList()))
+        .willThrow(TransactionServiceRestException.class);
+
+    // When
+    final CustomerVO customerFromDB = assertDoesNotThrow(() -> facade.getCustomerById(1L));
+
+    // Then
+    assertEquals(1L, customerFromDB.getId());
+    assertTrue(customerFromDB.getAccounts().isEmpty());
   }
 
   @Test
@@ -62,4 +201,16 @@ public class CustomerFacadeTest extends AbstractTest {
     // When - Then
     assertThrows(CustomerNotFoundException.class, () -> customerService.getCustomerById(1L));
   }
+
+  private Customer getCustomerWithAccounts(final int numberOfAccounts) {
+    final Customer customer = getCustomer();
+    final List<Account> accounts = new ArrayList<>();
+    for (long accountId = 1; accountId <= numberOfAccounts; accountId++) {
+      final Account account = getAccount(customer);
+      account.setId(accountId);
+      accounts.add(account);
+    }
+    customer.setAccounts(accounts);
+    return customer;
+  }
 }
@@ -0,0 +1,170 @@
+package io.assessment.banking.job.outbox;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.assessment.banking.AbstractTest;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.exception.transaction.TransactionServiceRestException;
+import io.assessment.banking.model.transaction.entity.TransactionOutbox;
+import io.assessment.banking.service.outbox.TransactionOutboxService;
+import io.assessment.banking.service.transaction.TransactionService;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+/**
+ * Unit tests for {@link TransactionOutboxRelay}
+ *
+ * @author Nikhil Vibhav
+ */
+@ExtendWith(MockitoExtension.class)
+public class TransactionOutboxRelayTest extends AbstractTest {
+
+  private static final int BATCH_SIZE = 2;
+
+  @Mock private TransactionOutboxService outboxService;
+  @Mock private TransactionService transactionService;
+
+  private TransactionOutboxRelay relay;
+
+  @BeforeEach
+  public void setUp() {
+    relay = new TransactionOutboxRelay(outboxService, transactionService, BATCH_SIZE);
+  }
+
+  @Test
+  public void givenNoDueEntries_WhenRelay_ThenNothingIsSent() throws Exception {
+    // Given
+    given(outboxService.findDue(BATCH_SIZE)).willReturn(Collections.emptyList());
+
+    // When
+    relay.relay();
+
+    // Then
+    then(transactionService).should(never()).saveTransactions(anyList());
+  }
+
+  @Test
+  public void givenDueEntries_WhenRelay_ThenSendAllBatchesAndMarkSent() throws Exception {
+    // Given
+    final List<TransactionOutbox> firstBatch = Arrays.asList(getEntry(1L), getEntry(2L));
+    final List<TransactionOutbox> secondBatch = Collections.singletonList(getEntry(3L));
+    given(outboxService.findDue(BATCH_SIZE)).willReturn(firstBatch, secondBatch);
+    given(transactionService.saveTransactions(anyList()))
+        .willReturn(Collections.singletonList(getTransactionVO()));
+
+    // When
+    relay.relay();
+
+    // Then
+    then(transactionService).should(times(2)).saveTransactions(anyList());
+    then(outboxService).should().markSent(firstBatch);
+    then(outboxService).should().markSent(secondBatch);
+    then(outboxService).should(never()).markFailed(anyList(), anyString());
+  }
+
+  @Test
+  public void givenTransactionServiceFails_WhenRelay_ThenRescheduleEachEntryAndStop()
+      throws Exception {
+    // Given
+    final TransactionOutbox first = getEntry(1L);
+    final TransactionOutbox second = getEntry(2L);
+    given(outboxService.findDue(BATCH_SIZE)).willReturn(Arrays.asList(first, second));
+    given(transactionService.saveTransactions(anyList()))
+        .willThrow(
+            new TransactionServiceRestException("REST call to save the transactions failed"));
+
+    // When
+    relay.relay();
+
+    // Then
+    then(transactionService).should(times(3)).saveTransactions(anyList());
+    then(outboxService)
+        .should()
+        .markFailed(List.of(first), "REST call to save the transactions failed");
+    then(outboxService)
+        .should()
+        .markFailed(List.of(second), "REST call to save the transactions failed");
+    then(outboxService).should(never()).markSent(anyList());
+    then(outboxService).should(times(1)).findDue(BATCH_SIZE);
+  }
+
+  @Test
+  public void givenOneRejectedEntry_WhenRelay_ThenOnlyThatEntryIsRescheduled() throws Exception {
+    // Given
+    final TransactionOutbox rejected = getEntry(1L);
+    final TransactionOutbox accepted = getEntry(2L);
+    given(outboxService.findDue(BATCH_SIZE)).willReturn(Arrays.asList(rejected, accepted));
+    given(
+            transactionService.saveTransactions(
+                argThat(
+                    transactions ->
+                        transactions.stream()
+                            .anyMatch(
+                                transaction ->
+                                    "account-outbox-1".equals(transaction.getIdempotencyKey())))))
+        .willThrow(
+            new TransactionServiceRestException("REST call to save the transactions failed"));
+    given(
+            transactionService.saveTransactions(
+                argThat(
+                    transactions ->
+                        transactions.size() == 1
+                            && "account-outbox-2".equals(transactions.get(0).getIdempotencyKey()))))
+        .willReturn(Collections.singletonList(getTransactionVO()));
+
+    // When
+    relay.relay();
+
+    // Then
+    then(outboxService)
+        .should()
+        .markFailed(List.of(rejected), "REST call to save the transactions failed");
+    then(outboxService).should().markSent(List.of(accepted));
+    then(outboxService).should(times(1)).findDue(BATCH_SIZE);
+  }
+
+  @Test
+  public void givenDueEntries_WhenRelay_ThenEachIsSentWithTheIdempotencyKeyOfItsId()
+      throws Exception {
+    // Given
+    given(outboxService.findDue(BATCH_SIZE))
+        .willReturn(Arrays.asList(getEntry(7L), getEntry(8L)), Collections.emptyList());
+    given(transactionService.saveTransactions(anyList()))
+        .willReturn(Arrays.asList(getTransactionVO(), getTransactionVO()));
+
+    // When
+    relay.relay();
+
+    // Then
+    then(transactionService)
+        .should()
+        .saveTransactions(
+            argThat(
+                transactions ->
+                    "account-outbox-7".equals(transactions.get(0).getIdempotencyKey())
+                        && "account-outbox-8".equals(transactions.get(1).getIdempotencyKey())));
+  }
+
+  private TransactionOutbox getEntry(final Long id) {
+    final TransactionOutbox entry = new TransactionOutbox();
+    entry.setId(id);
+    entry.setAccountId(1L);
+    entry.setAmount(1000L);
+    entry.setType(TransactionType.CREDIT);
+    return entry;
+  }
+}
@@ -0,0 +1,182 @@
+package io.assessment.banking.service.account;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.assessment.banking.constant.account.AccountType;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.exception.account.LowBalanceException;
+import io.assessment.banking.model.account.entity.Account;
+import io.assessment.banking.model.customer.entity.Customer;
+import io.assessment.banking.repository.account.AccountRepository;
+import io.assessment.banking.repository.customer.CustomerRepository;
+import io.assessment.banking.service.account.impl.AccountServiceImpl;
+import io.assessment.banking.service.outbox.impl.TransactionOutboxServiceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Multi-threaded stress tests for {@link AccountService#updateBalance} and {@link
+ * AccountService#transfer} against an H2 database, each balance update runs in its own transaction
+ *
+ * @author Nikhil Vibhav
+ */
+@DataJpaTest
+@Import({AccountServiceImpl.class, TransactionOutboxServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AccountServiceConcurrencyTest {
+
+  private static final int THREADS = 8;
+  private static final int OPERATIONS_PER_THREAD = 50;
+
+  @Autowired private AccountService accountService;
+  @Autowired private AccountRepository accountRepository;
+  @Autowired private CustomerRepository customerRepository;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(THREADS);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void givenConcurrentCreditsAndDebits_WhenUpdateBalance_ThenNoUpdateIsLost()
+      throws Exception {
+    // Given
+    final Long accountId = createAccount(100_000L);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Future<?>> futures = new ArrayList<>();
+
+    // When - half of the threads credit 2.00 and the other half debit 1.00 at a time
+    for (int thread = 0; thread < THREADS; thread++) {
+      final TransactionType type = thread % 2 == 0 ? TransactionType.CREDIT : TransactionType.DEBIT;
+      final long amount = type == TransactionType.CREDIT ? 200L : 100L;
+      futures.add(
+          executor.submit(
+              () -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                  accountService.updateBalance(accountId, amount, type);
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (final Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+
+    // Then
+    final long expectedBalance =
+        100_000L
+            + (THREADS / 2) * OPERATIONS_PER_THREAD * 200L
+            - (THREADS / 2) * OPERATIONS_PER_THREAD * 100L;
+    assertEquals(expectedBalance, accountRepository.findById(accountId).orElseThrow().getBalance());
+  }
+
+  @Test
+  public void givenConcurrentDebitsAboveBalance_WhenUpdateBalance_ThenNeverOverdraw()
+      throws Exception {
+    // Given
+    final Long accountId = createAccount(10_000L);
+    final CountDownLatch start = new CountDownLatch(1);
+    final AtomicInteger succeeded = new AtomicInteger();
+    final AtomicInteger rejected = new AtomicInteger();
+    final List<Future<?>> futures = new ArrayList<>();
+
+    // When
+    for (int thread = 0; thread < THREADS; thread++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                  try {
+                    accountService.updateBalance(accountId, 1000L, TransactionType.DEBIT);
+                    succeeded.incrementAndGet();
+                  } catch (LowBalanceException e) {
+                    rejected.incrementAndGet();
+                  }
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (final Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+
+    // Then
+    assertEquals(10, succeeded.get());
+    assertEquals(THREADS * OPERATIONS_PER_THREAD - 10, rejected.get());
+    assertEquals(0L, accountRepository.findById(accountId).orElseThrow().getBalance());
+  }
+
+  @Test
+  public void givenTransfersInOppositeDirections_WhenTransfer_ThenNoDeadlockAndNoMoneyIsLost()
+      throws Exception {
+    // Given
+    final Long firstAccountId = createAccount(100_000L);
+    final Long secondAccountId = createAccount(100_000L);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Future<?>> futures = new ArrayList<>();
+
+    // When - half of the threads transfer 3.00 one way and the other half 1.00 the other way
+    for (int thread = 0; thread < THREADS; thread++) {
+      final boolean forward = thread % 2 == 0;
+      final Long fromAccountId = forward ? firstAccountId : secondAccountId;
+      final Long toAccountId = forward ? secondAccountId : firstAccountId;
+      final long amount = forward ? 300L : 100L;
+      futures.add(
+          executor.submit(
+              () -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                  accountService.transfer(fromAccountId, toAccountId, amount);
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (final Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+
+    // Then
+    final long netTransfer = (THREADS / 2) * OPERATIONS_PER_THREAD * (300L - 100L);
+    assertEquals(
+        100_000L - netTransfer,
+        accountRepository.findById(firstAccountId).orElseThrow().getBalance());
+    assertEquals(
+        100_000L + netTransfer,
+        accountRepository.findById(secondAccountId).orElseThrow().getBalance());
+  }
+
+  private Long createAccount(final long balance) {
+    // Customer 1 is loaded by data.sql
+    final Customer customer = customerRepository.findById(1L).orElseThrow();
+
+    final Account account = new Account();
+    account.setCustomer(customer);
+    account.setType(AccountType.CURRENT);
+    account.setBalance(balance);
+    return accountRepository.save(account).getId();
+  }
+}
@@ -1,27 +1,40 @@
 package io.assessment.banking.service.account;
 
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import io.assessment.banking.AbstractTest;
 import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.exception.account.AccountNotFoundException;
 import io.assessment.banking.exception.account.LowBalanceException;
+import io.assessment.banking.exception.account.SameAccountTransferException;
 import io.assessment.banking.model.account.entity.Account;
+import io.assessment.banking.model.account.event.CustomerAccountsChangedEvent;
 import io.assessment.banking.model.customer.entity.Customer;
 import io.assessment.banking.repository.account.AccountRepository;
 import io.assessment.banking.service.account.impl.AccountServiceImpl;
+import io.assessment.banking.service.outbox.TransactionOutboxService;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * Junit tests for {@link AccountService}
@@ -32,6 +45,8 @@ import static org.mockito.BDDMockito.willDoNothing;
 public class AccountServiceTest extends AbstractTest {
 
   @Mock private AccountRepository repository;
+  @Mock private TransactionOutboxService transactionOutboxService;
+  @Mock private ApplicationEventPublisher eventPublisher;
   @InjectMocks private AccountServiceImpl accountService;
 
   @Test
@@ -44,34 +59,75 @@ public class AccountServiceTest extends AbstractTest {
     final Account savedAccount = accountService.createAccount(account);
 
     assertEquals(1L, savedAccount.getId());
+    verify(eventPublisher).publishEvent(new CustomerAccountsChangedEvent(1L));
   }
 
   @Test
   public void givenValidAccount_WhenUpdateBalance_ThenSucceed() {
+    final Account account = getAccount(getCustomer());
+    account.setBalance(1000L);
 
-    given(repository.findById(1L)).willReturn(Optional.of(getAccount(getCustomer())));
-    given(repository.save(any(Account.class)))
-        .willAnswer(
-            invocation -> {
-              Account account = invocation.getArgument(0);
-              account.setBalance(10.0);
-              return account;
-            });
+    given(repository.addToBalance(eq(1L), eq(1000L), eq(0L), any(ZonedDateTime.class)))
+        .willReturn(1);
+    given(repository.findById(1L)).willReturn(Optional.of(account));
 
     final Account updatedAccount =
-        assertDoesNotThrow(() -> accountService.updateBalance(1L, 10.0, TransactionType.CREDIT));
+        assertDoesNotThrow(() -> accountService.updateBalance(1L, 1000L, TransactionType.CREDIT));
 
-    assertEquals(10.0, updatedAccount.getBalance());
+    assertEquals(1000L, updatedAccount.getBalance());
+    verify(eventPublisher).publishEvent(new CustomerAccountsChangedEvent(1L));
   }
 
   @Test
   public void givenValidAccount_WhenUpdateBalance_ThenFail() {
-    given(repository.findById(1L)).willReturn(Optional.of(getAccount(getCustomer())));
+    given(repository.addToBalance(eq(1L), eq(-1000L), eq(1000L), any(ZonedDateTime.class)))
+        .willReturn(0);
+    given(repository.existsById(1L)).willReturn(true);
 
     assertThrows(
         LowBalanceException.class,
-        () -> accountService.updateBalance(1L, 10.0, TransactionType.DEBIT),
+        () -> accountService.updateBalance(1L, 1000L, TransactionType.DEBIT),
         "Expected updateBalance() to throw LowBalanceException, but it didn't");
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  public void givenUnknownAccount_WhenUpdateBalance_ThenThrowAccountNotFoundException() {
+    given(repository.addToBalance(eq(1L), eq(1000L), eq(0L), any(ZonedDateTime.class)))
+        .willReturn(0);
+    given(repository.existsById(1L)).willReturn(false);
+
+    assertThrows(
+        AccountNotFoundException.class,
+        () -> accountService.updateBalance(1L, 1000L, TransactionType.CREDIT));
+  }
+
+  @Test
+  public void givenValidAccount_WhenPostTransaction_ThenBalanceAndOutboxEntryAreWritten() {
+    final Account account = getAccount(getCustomer());
+    account.setBalance(1000L);
+
+    given(repository.addToBalance(eq(1L), eq(1000L), eq(0L), any(ZonedDateTime.class)))
+        .willReturn(1);
+    given(repository.findById(1L)).willReturn(Optional.of(account));
+
+    final Account updatedAccount =
+        assertDoesNotThrow(() -> accountService.postTransaction(1L, 1000L, TransactionType.CREDIT));
+
+    assertEquals(1000L, updatedAccount.getBalance());
+    verify(transactionOutboxService).enqueue(1L, 1000L, TransactionType.CREDIT);
+  }
+
+  @Test
+  public void givenLowBalance_WhenPostTransaction_ThenNoOutboxEntryIsWritten() {
+    given(repository.addToBalance(eq(1L), eq(-1000L), eq(1000L), any(ZonedDateTime.class)))
+        .willReturn(0);
+    given(repository.existsById(1L)).willReturn(true);
+
+    assertThrows(
+        LowBalanceException.class,
+        () -> accountService.postTransaction(1L, 1000L, TransactionType.DEBIT));
+    verify(transactionOutboxService, never()).enqueue(any(), anyLong(), any());
   }
 
   @Test
@@ -80,5 +136,60 @@ public class AccountServiceTest extends AbstractTest {
     willDoNothing().given(repository).delete(any(Account.class));
 
     assertDoesNotThrow(() -> accountService.deleteAccount(1L));
+    verify(eventPublisher).publishEvent(new CustomerAccountsChangedEvent(1L));
+  }
+
+  @Test
+  public void givenTwoAccounts_WhenTransferToLowerId_ThenLockInIdOrderAndMoveBalance() {
+    final Account lowerAccount = getAccount(getCustomer());
+    lowerAccount.setBalance(500L);
+    final Account higherAccount = getAccount(getCustomer());
+    higherAccount.setId(2L);
+    higherAccount.setBalance(3000L);
+
+    given(repository.findByIdForUpdate(1L)).willReturn(Optional.of(lowerAccount));
+    given(repository.findByIdForUpdate(2L)).willReturn(Optional.of(higherAccount));
+
+    final List<Account> accounts = assertDoesNotThrow(() -> accountService.transfer(2L, 1L, 1000L));
+
+    final InOrder lockOrder = inOrder(repository);
+    lockOrder.verify(repository).findByIdForUpdate(1L);
+    lockOrder.verify(repository).findByIdForUpdate(2L);
+    assertEquals(List.of(higherAccount, lowerAccount), accounts);
+    assertEquals(2000L, higherAccount.getBalance());
+    assertEquals(1500L, lowerAccount.getBalance());
+    verify(eventPublisher).publishEvent(new CustomerAccountsChangedEvent(1L));
+  }
+
+  @Test
+  public void givenLowBalance_WhenTransfer_ThenThrowLowBalanceException() {
+    final Account fromAccount = getAccount(getCustomer());
+    fromAccount.setBalance(500L);
+    final Account toAccount = getAccount(getCustomer());
+    toAccount.setId(2L);
+    toAccount.setBalance(0L);
+
+    given(repository.findByIdForUpdate(1L)).willReturn(Optional.of(fromAccount));
+    given(repository.findByIdForUpdate(2L)).willReturn(Optional.of(toAccount));
+
+    assertThrows(LowBalanceException.class, () -> accountService.transfer(1L, 2L, 1000L));
+    assertEquals(500L, fromAccount.getBalance());
+    assertEquals(0L, toAccount.getBalance());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  public void givenUnknownAccount_WhenTransfer_ThenThrowAccountNotFoundException() {
+    given(repository.findByIdForUpdate(1L)).willReturn(Optional.of(getAccount(getCustomer())));
+    given(repository.findByIdForUpdate(2L)).willReturn(Optional.empty());
+
+    assertThrows(AccountNotFoundException.class, () -> accountService.transfer(1L, 2L, 1000L));
+  }
+
+  @Test
+  public void givenSameAccount_WhenTransfer_ThenThrowSameAccountTransferException() {
+    assertThrows(SameAccountTransferException.class, () -> accountService.transfer(1L, 1L, 1000L));
+    verify(repository, never()).findByIdForUpdate(anyLong());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
   }
 }
@@ -0,0 +1,181 @@
+package io.assessment.banking.service.account.sequencer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.assessment.banking.constant.account.AccountType;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.exception.account.AccountNotFoundException;
+import io.assessment.banking.exception.account.LowBalanceException;
+import io.assessment.banking.model.account.entity.Account;
+import io.assessment.banking.model.customer.entity.Customer;
+import io.assessment.banking.model.transaction.entity.TransactionOutbox;
+import io.assessment.banking.repository.account.AccountRepository;
+import io.assessment.banking.repository.customer.CustomerRepository;
+import io.assessment.banking.repository.transaction.TransactionOutboxRepository;
+import io.assessment.banking.service.account.AccountService;
+import io.assessment.banking.service.account.impl.AccountServiceImpl;
+import io.assessment.banking.service.account.impl.SequencedAccountServiceImpl;
+import io.assessment.banking.service.outbox.impl.TransactionOutboxServiceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Multi-threaded stress tests for {@link AccountService#postTransaction} routed through the {@link
+ * BalanceUpdateSequencer} against an H2 database
+ *
+ * @author Nikhil Vibhav
+ */
+@DataJpaTest
+@Import({
+  AccountServiceImpl.class,
+  SequencedAccountServiceImpl.class,
+  BalanceUpdateSequencer.class,
+  TransactionOutboxServiceImpl.class
+})
+@TestPropertySource(properties = "account.balance.update.mode=SEQUENCED")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BalanceUpdateSequencerTest {
+
+  private static final int THREADS = 8;
+  private static final int OPERATIONS_PER_THREAD = 50;
+
+  @Autowired private AccountService accountService;
+  @Autowired private AccountRepository accountRepository;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private TransactionOutboxRepository transactionOutboxRepository;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(THREADS);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void givenSequencedMode_WhenGetAccountService_ThenSequencedServiceIsUsed() {
+    assertTrue(accountService instanceof SequencedAccountServiceImpl);
+  }
+
+  @Test
+  public void givenConcurrentCreditsAndDebits_WhenPostTransaction_ThenNoUpdateIsLost()
+      throws Exception {
+    // Given
+    final Long accountId = createAccount(100_000L);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Future<?>> futures = new ArrayList<>();
+
+    // When - half of the threads credit 2.00 and the other half debit 1.00 at a time
+    for (int thread = 0; thread < THREADS; thread++) {
+      final TransactionType type = thread % 2 == 0 ? TransactionType.CREDIT : TransactionType.DEBIT;
+      final long amount = type == TransactionType.CREDIT ? 200L : 100L;
+      futures.add(
+          executor.submit(
+              () -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                  accountService.postTransaction(accountId, amount, type);
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (final Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+
+    // Then
+    final long expectedBalance = 100_000L + (THREADS / 2) * OPERATIONS_PER_THREAD * (200L - 100L);
+    assertEquals(expectedBalance, accountRepository.findById(accountId).orElseThrow().getBalance());
+    assertEquals(THREADS * OPERATIONS_PER_THREAD, outboxEntries(accountId).size());
+  }
+
+  @Test
+  public void givenConcurrentDebitsAboveBalance_WhenPostTransaction_ThenNeverOverdraw()
+      throws Exception {
+    // Given
+    final Long accountId = createAccount(10_000L);
+    final CountDownLatch start = new CountDownLatch(1);
+    final AtomicInteger succeeded = new AtomicInteger();
+    final AtomicInteger rejected = new AtomicInteger();
+    final List<Future<?>> futures = new ArrayList<>();
+
+    // When
+    for (int thread = 0; thread < THREADS; thread++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                  try {
+                    accountService.postTransaction(accountId, 1000L, TransactionType.DEBIT);
+                    succeeded.incrementAndGet();
+                  } catch (LowBalanceException e) {
+                    rejected.incrementAndGet();
+                  }
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (final Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+
+    // Then - only the accepted debits are in the outbox
+    assertEquals(10, succeeded.get());
+    assertEquals(THREADS * OPERATIONS_PER_THREAD - 10, rejected.get());
+    assertEquals(0L, accountRepository.findById(accountId).orElseThrow().getBalance());
+    assertEquals(10, outboxEntries(accountId).size());
+  }
+
+  @Test
+  public void givenUnknownAccount_WhenPostTransaction_ThenThrowAccountNotFoundException() {
+    assertThrows(
+        AccountNotFoundException.class,
+        () -> accountService.postTransaction(Long.MAX_VALUE, 1000L, TransactionType.CREDIT));
+    assertTrue(outboxEntries(Long.MAX_VALUE).isEmpty());
+  }
+
+  private Long createAccount(final long balance) {
+    // Customer 1 is loaded by data.sql
+    final Customer customer = customerRepository.findById(1L).orElseThrow();
+
+    final Account account = new Account();
+    account.setCustomer(customer);
+    account.setType(AccountType.CURRENT);
+    account.setBalance(balance);
+    return accountRepository.save(account).getId();
+  }
+
+  private List<TransactionOutbox> outboxEntries(final Long accountId) {
+    return StreamSupport.stream(transactionOutboxRepository.findAll().spliterator(), false)
+        .filter(entry -> entry.getAccountId().equals(accountId))
+        .collect(Collectors.toList());
+  }
+}
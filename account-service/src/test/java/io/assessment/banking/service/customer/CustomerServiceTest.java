@@ -2,20 +2,30 @@ package io.assessment.banking.service.customer;
 
 import java.util.Optional;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import io.assessment.banking.AbstractTest;
+import io.assessment.banking.exception.customer.CustomerNotFoundException;
+import io.assessment.banking.model.account.event.CustomerAccountsChangedEvent;
 import io.assessment.banking.model.customer.entity.Customer;
 import io.assessment.banking.repository.customer.CustomerRepository;
 import io.assessment.banking.service.customer.impl.CustomerServiceImpl;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * JUnit tests for {@link CustomerServiceTest}
@@ -26,14 +36,91 @@ import static org.mockito.BDDMockito.given;
 public class CustomerServiceTest extends AbstractTest {
 
   @Mock private CustomerRepository repository;
-  @InjectMocks private CustomerServiceImpl customerService;
+  private CustomerServiceImpl customerService;
+
+  @BeforeEach
+  public void setUp() {
+    customerService =
+        new CustomerServiceImpl(repository, Caffeine.newBuilder().maximumSize(10).build());
+  }
 
   @Test
   public void givenCustomerId_WhenGetCustomerById_ThenSucceed() {
-    given(repository.findById(1L)).willReturn(Optional.of(getCustomer()));
+    given(repository.findWithAccountsById(1L)).willReturn(Optional.of(getCustomer()));
 
     final Customer customer = assertDoesNotThrow(() -> customerService.getCustomerById(1L));
     assertEquals(1L, customer.getId());
     assertEquals("johndoe@example.com", customer.getEmail());
   }
+
+  @Test
+  public void givenCachedCustomer_WhenGetCustomerById_ThenDatabaseIsNotQueried() {
+    // Given
+    given(repository.findWithAccountsById(1L)).willReturn(Optional.of(getCustomer()));
+    final Customer loadedCustomer = assertDoesNotThrow(() -> customerService.getCustomerById(1L));
+
+    // When
+    final Customer cachedCustomer = assertDoesNotThrow(() -> customerService.getCustomerById(1L));
+
+    // Then
+    assertSame(loadedCustomer, cachedCustomer);
+    verify(repository, times(1)).findWithAccountsById(1L);
+  }
+
+  @Test
+  public void givenCachedCustomer_WhenGetCustomerByIdInTransaction_ThenDatabaseIsQueried() {
+    // Given
+    given(repository.findWithAccountsById(1L))
+        .willReturn(Optional.of(getCustomer()), Optional.of(getCustomer()));
+    final Customer cachedCustomer = assertDoesNotThrow(() -> customerService.getCustomerById(1L));
+
+    // When
+    final Customer transactionalCustomer;
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    try {
+      transactionalCustomer = assertDoesNotThrow(() -> customerService.getCustomerById(1L));
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    // Then
+    assertNotSame(cachedCustomer, transactionalCustomer);
+    verify(repository, times(2)).findWithAccountsById(1L);
+    assertSame(cachedCustomer, assertDoesNotThrow(() -> customerService.getCustomerById(1L)));
+  }
+
+  @Test
+  public void givenAccountsChanged_WhenGetCustomerById_ThenCustomerIsReloaded() {
+    // Given
+    given(repository.findWithAccountsById(1L)).willReturn(Optional.of(getCustomer()));
+    assertDoesNotThrow(() -> customerService.getCustomerById(1L));
+
+    // When
+    customerService.onCustomerAccountsChanged(new CustomerAccountsChangedEvent(1L));
+    assertDoesNotThrow(() -> customerService.getCustomerById(1L));
+
+    // Then
+    verify(repository, times(2)).findWithAccountsById(1L);
+  }
+
+  @Test
+  public void givenAllCustomersEvicted_WhenGetCustomerById_ThenCustomerIsReloaded() {
+    // Given
+    given(repository.findWithAccountsById(1L)).willReturn(Optional.of(getCustomer()));
+    assertDoesNotThrow(() -> customerService.getCustomerById(1L));
+
+    // When
+    customerService.evictAllCustomers();
+    assertDoesNotThrow(() -> customerService.getCustomerById(1L));
+
+    // Then
+    verify(repository, times(2)).findWithAccountsById(1L);
+  }
+
+  @Test
+  public void givenUnknownCustomerId_WhenGetCustomerById_ThenThrowCustomerNotFoundException() {
+    given(repository.findWithAccountsById(2L)).willReturn(Optional.empty());
+
+    assertThrows(CustomerNotFoundException.class, () -> customerService.getCustomerById(2L));
+  }
 }
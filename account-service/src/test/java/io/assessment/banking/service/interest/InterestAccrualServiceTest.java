@@ -0,0 +1,188 @@
+package io.assessment.banking.service.interest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.assessment.banking.AbstractTest;
+import io.assessment.banking.constant.account.AccountType;
+import io.assessment.banking.constant.interest.AccrualStatus;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.model.account.vo.AccountBalanceVO;
+import io.assessment.banking.model.interest.entity.InterestAccrualChunk;
+import io.assessment.banking.model.interest.entity.InterestAccrualRun;
+import io.assessment.banking.model.interest.vo.InterestAccrualTotalsVO;
+import io.assessment.banking.model.transaction.entity.TransactionOutbox;
+import io.assessment.banking.repository.account.AccountRepository;
+import io.assessment.banking.repository.interest.InterestAccrualChunkRepository;
+import io.assessment.banking.repository.interest.InterestAccrualRunRepository;
+import io.assessment.banking.service.customer.CustomerService;
+import io.assessment.banking.service.interest.impl.InterestAccrualServiceImpl;
+import io.assessment.banking.service.outbox.TransactionOutboxService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Junit tests for {@link InterestAccrualService}
+ *
+ * @author Nikhil Vibhav
+ */
+@ExtendWith(MockitoExtension.class)
+public class InterestAccrualServiceTest extends AbstractTest {
+
+  private static final LocalDate ACCRUAL_DATE = LocalDate.of(2021, 2, 9);
+
+  /** A rate of 3.65% a year accrues 0.01% of the balance a day */
+  private static final BigDecimal ANNUAL_RATE = new BigDecimal("0.0365");
+
+  @Mock private AccountRepository accountRepository;
+  @Mock private InterestAccrualRunRepository runRepository;
+  @Mock private InterestAccrualChunkRepository chunkRepository;
+  @Mock private TransactionOutboxService transactionOutboxService;
+  @Mock private CustomerService customerService;
+  @Mock private PlatformTransactionManager transactionManager;
+  private MeterRegistry meterRegistry;
+  private InterestAccrualServiceImpl interestAccrualService;
+
+  @BeforeEach
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    interestAccrualService =
+        new InterestAccrualServiceImpl(
+            accountRepository,
+            runRepository,
+            chunkRepository,
+            transactionOutboxService,
+            customerService,
+            new TransactionTemplate(transactionManager),
+            Runnable::run,
+            meterRegistry,
+            ANNUAL_RATE,
+            2,
+            2);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void givenSavingsAccounts_WhenStartOrResume_ThenCreditDailyInterest() {
+    // Given
+    given(runRepository.findByAccrualDate(ACCRUAL_DATE)).willReturn(Optional.empty());
+    given(accountRepository.findMaxId()).willReturn(Optional.of(3L));
+    givenSavedEntities();
+    given(accountRepository.findPositiveBalancesByTypeAndIdRange(AccountType.SAVINGS, 1L, 3L))
+        .willReturn(
+            List.of(new AccountBalanceVO(1L, 1_000_000L), new AccountBalanceVO(2L, 5_000L)));
+    given(accountRepository.findPositiveBalancesByTypeAndIdRange(AccountType.SAVINGS, 3L, 4L))
+        .willReturn(Collections.emptyList());
+    given(chunkRepository.sumByRunId(1L)).willReturn(new InterestAccrualTotalsVO(2, 2, 100));
+
+    // When
+    final InterestAccrualRun run = interestAccrualService.startOrResume(ACCRUAL_DATE);
+
+    // Then
+    assertEquals(AccrualStatus.COMPLETED, run.getStatus());
+    assertEquals(2L, run.getAccountsProcessed());
+    assertEquals(100L, run.getInterestTotal());
+    verify(accountRepository)
+        .addToBalances(eq(new TreeMap<>(Map.of(1L, 100L))), any(ZonedDateTime.class));
+
+    final ArgumentCaptor<List<TransactionOutbox>> captor = ArgumentCaptor.forClass(List.class);
+    verify(transactionOutboxService, times(2)).enqueueAll(captor.capture());
+    final List<TransactionOutbox> entries =
+        captor.getAllValues().stream().filter(list -> !list.isEmpty()).findFirst().orElseThrow();
+    assertEquals(1, entries.size());
+    assertEquals(1L, entries.get(0).getAccountId());
+    assertEquals(100L, entries.get(0).getAmount());
+    assertEquals(TransactionType.CREDIT, entries.get(0).getType());
+
+    assertEquals(2.0, meterRegistry.get("interest.accrual.accounts").counter().count());
+    verify(customerService).evictAllCustomers();
+  }
+
+  @Test
+  public void givenDayAccruedAlready_WhenStartOrResume_ThenNothingIsCredited() {
+    // Given
+    final InterestAccrualRun completedRun = new InterestAccrualRun();
+    completedRun.setId(3L);
+    completedRun.setStatus(AccrualStatus.COMPLETED);
+    given(runRepository.findByAccrualDate(ACCRUAL_DATE)).willReturn(Optional.of(completedRun));
+
+    // When
+    final InterestAccrualRun run = interestAccrualService.startOrResume(ACCRUAL_DATE);
+
+    // Then
+    assertSame(completedRun, run);
+    verify(accountRepository, never())
+        .findPositiveBalancesByTypeAndIdRange(any(AccountType.class), anyLong(), anyLong());
+    verify(transactionOutboxService, never()).enqueueAll(any());
+  }
+
+  @Test
+  public void givenFailedRun_WhenStartOrResume_ThenSkipCreditedChunks() {
+    // Given
+    final InterestAccrualRun failedRun = new InterestAccrualRun();
+    failedRun.setId(5L);
+    failedRun.setAccrualDate(ACCRUAL_DATE);
+    failedRun.setAnnualRate(ANNUAL_RATE);
+    failedRun.setChunkSize(2);
+    failedRun.setLastAccountId(4L);
+    failedRun.setStatus(AccrualStatus.FAILED);
+    given(runRepository.findByAccrualDate(ACCRUAL_DATE)).willReturn(Optional.of(failedRun));
+    givenSavedEntities();
+    given(chunkRepository.findFromAccountIdsByRunId(5L)).willReturn(Set.of(1L));
+    given(accountRepository.findPositiveBalancesByTypeAndIdRange(AccountType.SAVINGS, 3L, 5L))
+        .willReturn(List.of(new AccountBalanceVO(3L, 2_000_000L)));
+    given(chunkRepository.sumByRunId(5L)).willReturn(new InterestAccrualTotalsVO(2, 3, 300));
+
+    // When
+    final InterestAccrualRun run = interestAccrualService.startOrResume(ACCRUAL_DATE);
+
+    // Then
+    assertEquals(AccrualStatus.COMPLETED, run.getStatus());
+    assertEquals(300L, run.getInterestTotal());
+    verify(accountRepository, never())
+        .findPositiveBalancesByTypeAndIdRange(AccountType.SAVINGS, 1L, 3L);
+    verify(accountRepository)
+        .addToBalances(eq(new TreeMap<>(Map.of(3L, 200L))), any(ZonedDateTime.class));
+    verify(accountRepository, never()).findMaxId();
+  }
+
+  private void givenSavedEntities() {
+    given(runRepository.save(any(InterestAccrualRun.class)))
+        .willAnswer(
+            invocation -> {
+              final InterestAccrualRun run = invocation.getArgument(0);
+              if (run.getId() == null) {
+                run.setId(1L);
+              }
+              return run;
+            });
+    given(chunkRepository.save(any(InterestAccrualChunk.class)))
+        .willAnswer(invocation -> invocation.getArgument(0));
+  }
+}
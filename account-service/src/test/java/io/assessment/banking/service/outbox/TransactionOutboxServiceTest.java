@@ -0,0 +1,90 @@
+package io.assessment.banking.service.outbox;
+
+import java.time.ZonedDateTime;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.assessment.banking.constant.transaction.OutboxStatus;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.model.transaction.entity.TransactionOutbox;
+import io.assessment.banking.repository.transaction.TransactionOutboxRepository;
+import io.assessment.banking.service.outbox.impl.TransactionOutboxServiceImpl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Junit tests for {@link TransactionOutboxService}
+ *
+ * @author Nikhil Vibhav
+ */
+@ExtendWith(MockitoExtension.class)
+public class TransactionOutboxServiceTest {
+
+  @Mock private TransactionOutboxRepository repository;
+
+  private TransactionOutboxService outboxService;
+
+  @BeforeEach
+  public void setUp() {
+    outboxService = new TransactionOutboxServiceImpl(repository, 3, 1000L, 1500L);
+  }
+
+  @Test
+  public void givenTransaction_WhenEnqueue_ThenSavePendingEntry() {
+    // Given
+    given(repository.save(any(TransactionOutbox.class)))
+        .willAnswer(invocation -> invocation.getArgument(0));
+
+    // When
+    final TransactionOutbox entry = outboxService.enqueue(1L, 1000L, TransactionType.CREDIT);
+
+    // Then
+    assertEquals(1L, entry.getAccountId());
+    assertEquals(1000L, entry.getAmount());
+    assertEquals(OutboxStatus.PENDING, entry.getStatus());
+    assertEquals(0, entry.getAttempts());
+  }
+
+  @Test
+  public void givenPendingEntry_WhenMarkSent_ThenStatusIsSent() {
+    // Given
+    final TransactionOutbox entry = new TransactionOutbox();
+
+    // When
+    outboxService.markSent(Collections.singletonList(entry));
+
+    // Then
+    assertEquals(OutboxStatus.SENT, entry.getStatus());
+    assertEquals(1, entry.getAttempts());
+    assertNotNull(entry.getDateSent());
+  }
+
+  @Test
+  public void givenPendingEntry_WhenMarkFailed_ThenBackOffUntilMaxAttempts() {
+    // Given
+    final TransactionOutbox entry = new TransactionOutbox();
+    final ZonedDateTime before = ZonedDateTime.now();
+
+    // When - Then - the first retry waits 1000ms, the second is capped at 1500ms
+    outboxService.markFailed(Collections.singletonList(entry), "error");
+    assertEquals(OutboxStatus.PENDING, entry.getStatus());
+    assertFalse(entry.getNextAttemptAt().isBefore(before.plusNanos(1_000_000_000L)));
+
+    outboxService.markFailed(Collections.singletonList(entry), "error");
+    assertEquals(OutboxStatus.PENDING, entry.getStatus());
+    assertFalse(entry.getNextAttemptAt().isBefore(before.plusNanos(1_500_000_000L)));
+    assertTrue(entry.getNextAttemptAt().isBefore(before.plusSeconds(2)));
+
+    outboxService.markFailed(Collections.singletonList(entry), "error");
+    assertEquals(OutboxStatus.FAILED, entry.getStatus());
+    assertEquals(3, entry.getAttempts());
+    assertEquals("error", entry.getLastError());
+  }
+}
@@ -0,0 +1,216 @@
+package io.assessment.banking.service.payment;
+
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.assessment.banking.AbstractTest;
+import io.assessment.banking.constant.payment.PaymentFrequency;
+import io.assessment.banking.constant.payment.ScheduledPaymentStatus;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.exception.account.AccountNotFoundException;
+import io.assessment.banking.exception.account.LowBalanceException;
+import io.assessment.banking.model.payment.entity.ScheduledPayment;
+import io.assessment.banking.model.payment.vo.ScheduledPaymentDueVO;
+import io.assessment.banking.repository.account.AccountRepository;
+import io.assessment.banking.repository.payment.ScheduledPaymentRepository;
+import io.assessment.banking.service.account.AccountService;
+import io.assessment.banking.service.outbox.TransactionOutboxService;
+import io.assessment.banking.service.payment.impl.ScheduledPaymentServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Junit tests for {@link ScheduledPaymentService}
+ *
+ * @author Nikhil Vibhav
+ */
+@ExtendWith(MockitoExtension.class)
+public class ScheduledPaymentServiceTest extends AbstractTest {
+
+  @Mock private ScheduledPaymentRepository repository;
+  @Mock private AccountRepository accountRepository;
+  @Mock private AccountService accountService;
+  @Mock private TransactionOutboxService transactionOutboxService;
+  @Mock private PlatformTransactionManager transactionManager;
+  private MeterRegistry meterRegistry;
+  private ScheduledPaymentServiceImpl scheduledPaymentService;
+
+  @BeforeEach
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    scheduledPaymentService =
+        new ScheduledPaymentServiceImpl(
+            repository,
+            accountRepository,
+            accountService,
+            transactionOutboxService,
+            new TransactionTemplate(transactionManager),
+            meterRegistry,
+            1000,
+            512,
+            2,
+            2,
+            60_000);
+  }
+
+  @Test
+  public void givenOverdueMonthlyPayment_WhenFireDue_ThenExecuteAndMoveToNextMonth()
+      throws Exception {
+    // Given
+    final ScheduledPayment payment =
+        getPayment(1L, PaymentFrequency.MONTHLY, ZonedDateTime.now().minusDays(1));
+    givenActivePayments(payment);
+
+    // When
+    final int executed = scheduledPaymentService.fireDue();
+
+    // Then
+    assertEquals(1, executed);
+    verify(accountService).updateBalance(1L, 2500L, TransactionType.DEBIT);
+    verify(transactionOutboxService).enqueue(1L, 2500L, TransactionType.DEBIT);
+    assertEquals(ScheduledPaymentStatus.ACTIVE, payment.getStatus());
+    assertEquals(1, payment.getExecutions());
+    assertEquals(payment.getFirstExecutionAt().plusMonths(1), payment.getNextExecutionAt());
+    assertEquals(1.0, meterRegistry.get("payment.scheduled.executed").counter().count());
+    assertEquals(2.0, meterRegistry.get("payment.scheduled.pending").gauge().value());
+  }
+
+  @Test
+  public void givenBatchOfPayments_WhenFireDue_ThenUpdateBalancesInAccountIdOrder()
+      throws Exception {
+    // Given
+    final ScheduledPayment payment =
+        getPayment(1L, PaymentFrequency.DAILY, ZonedDateTime.now().minusMinutes(1));
+    payment.setAccountId(2L);
+    final ScheduledPayment otherPayment =
+        getPayment(3L, PaymentFrequency.DAILY, ZonedDateTime.now().minusMinutes(1));
+    given(
+            repository.findNextExecutions(
+                eq(ScheduledPaymentStatus.ACTIVE), eq(0L), any(Pageable.class)))
+        .willReturn(
+            List.of(
+                new ScheduledPaymentDueVO(1L, payment.getNextExecutionAt()),
+                new ScheduledPaymentDueVO(3L, otherPayment.getNextExecutionAt())));
+    given(
+            repository.findNextExecutions(
+                eq(ScheduledPaymentStatus.ACTIVE), eq(3L), any(Pageable.class)))
+        .willReturn(Collections.emptyList());
+    given(repository.findByIdInForUpdate(List.of(1L, 3L)))
+        .willReturn(List.of(payment, otherPayment));
+    scheduledPaymentService.rebuildWheel();
+
+    // When
+    final int executed = scheduledPaymentService.fireDue();
+
+    // Then
+    assertEquals(2, executed);
+    final InOrder inOrder = inOrder(accountService);
+    inOrder.verify(accountService).updateBalance(1L, 2500L, TransactionType.DEBIT);
+    inOrder.verify(accountService).updateBalance(2L, 2500L, TransactionType.DEBIT);
+  }
+
+  @Test
+  public void givenLowBalance_WhenFireDue_ThenFailOneOffPayment() throws Exception {
+    // Given
+    final ScheduledPayment payment =
+        getPayment(1L, PaymentFrequency.ONCE, ZonedDateTime.now().minusMinutes(1));
+    givenActivePayments(payment);
+    given(accountService.updateBalance(1L, 2500L, TransactionType.DEBIT))
+        .willThrow(new LowBalanceException("The account has low balance"));
+
+    // When
+    final int executed = scheduledPaymentService.fireDue();
+
+    // Then
+    assertEquals(0, executed);
+    assertEquals(ScheduledPaymentStatus.FAILED, payment.getStatus());
+    assertEquals(1, payment.getFailedExecutions());
+    assertEquals("The account has low balance", payment.getLastError());
+    verify(transactionOutboxService, never())
+        .enqueue(anyLong(), anyLong(), any(TransactionType.class));
+  }
+
+  @Test
+  public void givenCancelledPayment_WhenFireDue_ThenNotExecuted() throws Exception {
+    // Given
+    final ScheduledPayment payment =
+        getPayment(1L, PaymentFrequency.DAILY, ZonedDateTime.now().minusMinutes(1));
+    givenActivePayments(payment);
+    payment.setStatus(ScheduledPaymentStatus.CANCELLED);
+
+    // When
+    final int executed = scheduledPaymentService.fireDue();
+
+    // Then
+    assertEquals(0, executed);
+    verify(accountService, never()).updateBalance(anyLong(), anyLong(), any(TransactionType.class));
+  }
+
+  @Test
+  public void givenUnknownAccount_WhenSchedule_ThenThrowAccountNotFoundException() {
+    // Given
+    final ScheduledPayment payment =
+        getPayment(null, PaymentFrequency.WEEKLY, ZonedDateTime.now().plusDays(1));
+    given(accountRepository.existsById(1L)).willReturn(false);
+
+    // When / Then
+    assertThrows(AccountNotFoundException.class, () -> scheduledPaymentService.schedule(payment));
+    verify(repository, never()).save(any(ScheduledPayment.class));
+  }
+
+  /**
+   * Rebuilds the wheel from the given payments, read over more than one page
+   *
+   * @param payment - the payment returned when the wheel locks the due payments
+   */
+  private void givenActivePayments(final ScheduledPayment payment) {
+    final ScheduledPaymentDueVO due =
+        new ScheduledPaymentDueVO(payment.getId(), payment.getNextExecutionAt());
+    final ScheduledPaymentDueVO future =
+        new ScheduledPaymentDueVO(2L, ZonedDateTime.now().plusDays(1));
+    given(
+            repository.findNextExecutions(
+                eq(ScheduledPaymentStatus.ACTIVE), eq(0L), any(Pageable.class)))
+        .willReturn(List.of(due, future));
+    given(
+            repository.findNextExecutions(
+                eq(ScheduledPaymentStatus.ACTIVE), eq(2L), any(Pageable.class)))
+        .willReturn(Collections.emptyList());
+    given(repository.findByIdInForUpdate(List.of(payment.getId()))).willReturn(List.of(payment));
+    scheduledPaymentService.rebuildWheel();
+  }
+
+  private ScheduledPayment getPayment(
+      final Long id, final PaymentFrequency frequency, final ZonedDateTime firstExecutionAt) {
+    final ScheduledPayment payment = new ScheduledPayment();
+    payment.setId(id);
+    payment.setAccountId(1L);
+    payment.setAmount(2500L);
+    payment.setType(TransactionType.DEBIT);
+    payment.setFrequency(frequency);
+    payment.setFirstExecutionAt(firstExecutionAt);
+    payment.setNextExecutionAt(firstExecutionAt);
+    return payment;
+  }
+}
@@ -0,0 +1,95 @@
+package io.assessment.banking.service.payment.wheel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.assessment.banking.AbstractTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Junit tests for {@link TimingWheel}
+ *
+ * @author Nikhil Vibhav
+ */
+public class TimingWheelTest extends AbstractTest {
+
+  private static final long START = 1_000_000L;
+
+  @Test
+  public void givenItemWithinFirstLevel_WhenAdvance_ThenExpireNotBeforeItsTime() {
+    // Given
+    final TimingWheel<String> wheel = new TimingWheel<>(10, 8, START);
+    assertTrue(wheel.add("a", START + 25));
+
+    // When
+    final List<String> early = wheel.advance(START + 29);
+    final List<String> due = wheel.advance(START + 30);
+
+    // Then
+    assertTrue(early.isEmpty());
+    assertEquals(List.of("a"), due);
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  public void givenItemsBeyondFirstLevel_WhenAdvance_ThenCascadeAndExpireInOrder() {
+    // Given
+    final TimingWheel<Long> wheel = new TimingWheel<>(10, 4, START);
+    final long[] expiries = {START + 45, START + 170, START + 700, START + 2_605, START + 15};
+    for (int i = 0; i < expiries.length; i++) {
+      assertTrue(wheel.add((long) i, expiries[i]));
+    }
+    assertEquals(5, wheel.size());
+
+    // When
+    final List<Long> expired = new ArrayList<>();
+    final List<Long> expiredAt = new ArrayList<>();
+    for (long now = START; now <= START + 3_000; now += 5) {
+      for (final Long item : wheel.advance(now)) {
+        expired.add(item);
+        expiredAt.add(now);
+      }
+    }
+
+    // Then
+    assertEquals(List.of(4L, 0L, 1L, 2L, 3L), expired);
+    for (int i = 0; i < expired.size(); i++) {
+      final long expiry = expiries[expired.get(i).intValue()];
+      assertTrue(expiredAt.get(i) >= expiry);
+      assertTrue(expiredAt.get(i) < expiry + 10);
+    }
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  public void givenExpiredItem_WhenAdd_ThenNotAdded() {
+    // Given
+    final TimingWheel<String> wheel = new TimingWheel<>(10, 8, START);
+
+    // When
+    final boolean added = wheel.add("a", START - 1);
+
+    // Then
+    assertFalse(added);
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  public void givenEmptyWheel_WhenAdvanceFarAhead_ThenClockJumps() {
+    // Given
+    final TimingWheel<String> wheel = new TimingWheel<>(10, 8, START);
+
+    // When
+    wheel.advance(START + 1_000_000_005L);
+
+    // Then
+    assertEquals(START + 1_000_000_000L, wheel.currentTime());
+    assertTrue(wheel.add("a", START + 1_000_000_001L));
+    assertEquals(List.of("a"), wheel.advance(START + 1_000_000_010L));
+  }
+}
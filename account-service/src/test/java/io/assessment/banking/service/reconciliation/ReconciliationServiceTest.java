@@ -0,0 +1,267 @@
+package io.assessment.banking.service.reconciliation;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.assessment.banking.AbstractTest;
+import io.assessment.banking.constant.reconciliation.ReconciliationStatus;
+import io.assessment.banking.constant.transaction.OutboxStatus;
+import io.assessment.banking.constant.transaction.TransactionType;
+import io.assessment.banking.model.account.vo.AccountBalanceVO;
+import io.assessment.banking.model.reconciliation.entity.ReconciliationMismatch;
+import io.assessment.banking.model.reconciliation.entity.ReconciliationRun;
+import io.assessment.banking.model.reconciliation.vo.AccountNetVO;
+import io.assessment.banking.model.transaction.vo.AccountSummaryVO;
+import io.assessment.banking.repository.account.AccountRepository;
+import io.assessment.banking.repository.reconciliation.ReconciliationMismatchRepository;
+import io.assessment.banking.repository.reconciliation.ReconciliationRunRepository;
+import io.assessment.banking.repository.transaction.TransactionOutboxRepository;
+import io.assessment.banking.service.reconciliation.impl.ReconciliationServiceImpl;
+import io.assessment.banking.service.transaction.TransactionService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Junit tests for {@link ReconciliationService}
+ *
+ * @author Nikhil Vibhav
+ */
+@ExtendWith(MockitoExtension.class)
+public class ReconciliationServiceTest extends AbstractTest {
+
+  @Mock private AccountRepository accountRepository;
+  @Mock private TransactionOutboxRepository outboxRepository;
+  @Mock private ReconciliationRunRepository runRepository;
+  @Mock private ReconciliationMismatchRepository mismatchRepository;
+  @Mock private TransactionService transactionService;
+  private ReconciliationServiceImpl reconciliationService;
+
+  private final TreeMap<Long, Long> balances = new TreeMap<>();
+  private final Map<Long, BigDecimal> transactionNets = new HashMap<>();
+  private final Map<OutboxStatus, Map<Long, Long>> outboxNets = new HashMap<>();
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    reconciliationService =
+        new ReconciliationServiceImpl(
+            accountRepository,
+            outboxRepository,
+            runRepository,
+            mismatchRepository,
+            transactionService,
+            Runnable::run,
+            2,
+            2,
+            2,
+            0);
+
+    given(runRepository.save(any(ReconciliationRun.class)))
+        .willAnswer(
+            invocation -> {
+              final ReconciliationRun run = invocation.getArgument(0);
+              if (run.getId() == null) {
+                run.setId(1L);
+              }
+              return run;
+            });
+    given(accountRepository.findBalancesByIdRange(anyLong(), anyLong()))
+        .willAnswer(
+            invocation ->
+                toBalances(
+                    balances
+                        .subMap(invocation.<Long>getArgument(0), invocation.<Long>getArgument(1))
+                        .keySet()));
+    given(
+            outboxRepository.sumByStatusAndAccountIdRange(
+                any(OutboxStatus.class), eq(TransactionType.CREDIT), anyLong(), anyLong()))
+        .willAnswer(
+            invocation ->
+                toOutboxNets(
+                    invocation.getArgument(0),
+                    balances
+                        .subMap(invocation.<Long>getArgument(2), invocation.<Long>getArgument(3))
+                        .keySet()));
+    given(transactionService.getAccountSummaries(anyList()))
+        .willAnswer(invocation -> toSummaries(invocation.getArgument(0)));
+  }
+
+  @Test
+  public void givenConsistentAccounts_WhenStartOrResume_ThenCompleteWithoutMismatches() {
+    // Given
+    givenAccount(1L, 1000L, "10.00", 0L);
+    givenAccount(2L, 500L, "5.00", 0L);
+    givenAccount(3L, 0L, null, 0L);
+    given(runRepository.findFirstByStatusNotOrderByIdDesc(ReconciliationStatus.COMPLETED))
+        .willReturn(Optional.empty());
+    given(accountRepository.findMaxId()).willReturn(Optional.of(3L));
+
+    // When
+    final ReconciliationRun run = reconciliationService.startOrResume();
+
+    // Then
+    assertEquals(ReconciliationStatus.COMPLETED, run.getStatus());
+    assertEquals(3L, run.getAccountsChecked());
+    assertEquals(0L, run.getMismatchCount());
+    assertEquals(4L, run.getNextAccountId());
+    verify(mismatchRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void givenPendingOutboxEntry_WhenStartOrResume_ThenOnlyWrongBalanceIsAMismatch() {
+    // Given
+    givenAccount(1L, 1500L, "10.00", 500L);
+    givenAccount(2L, 700L, "5.00", 0L);
+    given(runRepository.findFirstByStatusNotOrderByIdDesc(ReconciliationStatus.COMPLETED))
+        .willReturn(Optional.empty());
+    given(accountRepository.findMaxId()).willReturn(Optional.of(2L));
+    given(accountRepository.findBalancesByIdIn(anyCollection()))
+        .willAnswer(invocation -> toBalances(invocation.getArgument(0)));
+    givenOutboxNetsOfSuspects();
+
+    // When
+    final ReconciliationRun run = reconciliationService.startOrResume();
+
+    // Then
+    final ArgumentCaptor<List<ReconciliationMismatch>> captor = ArgumentCaptor.forClass(List.class);
+    verify(mismatchRepository).saveAll(captor.capture());
+    final ReconciliationMismatch mismatch = captor.getValue().get(0);
+    assertEquals(1, captor.getValue().size());
+    assertEquals(2L, mismatch.getAccountId());
+    assertEquals(200L, mismatch.getDifference());
+    assertEquals(1L, run.getMismatchCount());
+    assertEquals(ReconciliationStatus.COMPLETED, run.getStatus());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void givenFailedOutboxEntry_WhenStartOrResume_ThenAccountIsAMismatch() {
+    // Given
+    givenAccount(1L, 1500L, "10.00", 0L);
+    givenFailedOutboxEntry(1L, 500L);
+    givenAccount(2L, 700L, "7.00", 0L);
+    given(runRepository.findFirstByStatusNotOrderByIdDesc(ReconciliationStatus.COMPLETED))
+        .willReturn(Optional.empty());
+    given(accountRepository.findMaxId()).willReturn(Optional.of(2L));
+    given(accountRepository.findBalancesByIdIn(anyCollection()))
+        .willAnswer(invocation -> toBalances(invocation.getArgument(0)));
+    givenOutboxNetsOfSuspects();
+
+    // When
+    final ReconciliationRun run = reconciliationService.startOrResume();
+
+    // Then
+    final ArgumentCaptor<List<ReconciliationMismatch>> captor = ArgumentCaptor.forClass(List.class);
+    verify(mismatchRepository).saveAll(captor.capture());
+    final ReconciliationMismatch mismatch = captor.getValue().get(0);
+    assertEquals(1, captor.getValue().size());
+    assertEquals(1L, mismatch.getAccountId());
+    assertEquals(0L, mismatch.getPendingNet());
+    assertEquals(500L, mismatch.getFailedNet());
+    assertEquals(500L, mismatch.getDifference());
+    assertEquals(1L, run.getMismatchCount());
+  }
+
+  @Test
+  public void givenFailedRun_WhenStartOrResume_ThenContinueFromCheckpoint() {
+    // Given
+    final ReconciliationRun failedRun = new ReconciliationRun();
+    failedRun.setId(7L);
+    failedRun.setStatus(ReconciliationStatus.FAILED);
+    failedRun.setNextAccountId(3L);
+    failedRun.setLastAccountId(4L);
+    failedRun.setAccountsChecked(2L);
+    givenAccount(3L, 100L, "1.00", 0L);
+    givenAccount(4L, 200L, "2.00", 0L);
+    given(runRepository.findFirstByStatusNotOrderByIdDesc(ReconciliationStatus.COMPLETED))
+        .willReturn(Optional.of(failedRun));
+
+    // When
+    final ReconciliationRun run = reconciliationService.startOrResume();
+
+    // Then
+    assertEquals(7L, run.getId());
+    assertEquals(ReconciliationStatus.COMPLETED, run.getStatus());
+    assertEquals(4L, run.getAccountsChecked());
+    verify(mismatchRepository).deleteByRunIdFromAccountId(7L, 3L);
+    verify(accountRepository).findBalancesByIdRange(3L, 5L);
+    verify(accountRepository, never()).findMaxId();
+  }
+
+  private void givenAccount(
+      final Long id, final long balance, final String transactionNet, final long pendingNet) {
+    balances.put(id, balance);
+    if (transactionNet != null) {
+      transactionNets.put(id, new BigDecimal(transactionNet));
+    }
+    if (pendingNet != 0) {
+      outboxNets
+          .computeIfAbsent(OutboxStatus.PENDING, status -> new HashMap<>())
+          .put(id, pendingNet);
+    }
+  }
+
+  private void givenFailedOutboxEntry(final Long id, final long failedNet) {
+    outboxNets.computeIfAbsent(OutboxStatus.FAILED, status -> new HashMap<>()).put(id, failedNet);
+  }
+
+  private void givenOutboxNetsOfSuspects() {
+    given(
+            outboxRepository.sumByStatusAndAccountIdIn(
+                any(OutboxStatus.class), eq(TransactionType.CREDIT), anyCollection()))
+        .willAnswer(
+            invocation -> toOutboxNets(invocation.getArgument(0), invocation.getArgument(2)));
+  }
+
+  private List<AccountBalanceVO> toBalances(final Iterable<Long> ids) {
+    final TreeMap<Long, AccountBalanceVO> result = new TreeMap<>();
+    ids.forEach(id -> result.put(id, new AccountBalanceVO(id, balances.get(id))));
+    return List.copyOf(result.values());
+  }
+
+  private List<AccountNetVO> toOutboxNets(final OutboxStatus status, final Iterable<Long> ids) {
+    final Map<Long, Long> nets = outboxNets.getOrDefault(status, Map.of());
+    final TreeMap<Long, AccountNetVO> result = new TreeMap<>();
+    ids.forEach(
+        id -> {
+          if (nets.containsKey(id)) {
+            result.put(id, new AccountNetVO(id, nets.get(id)));
+          }
+        });
+    return List.copyOf(result.values());
+  }
+
+  private Map<Long, AccountSummaryVO> toSummaries(final List<Long> ids) {
+    return ids.stream()
+        .filter(transactionNets::containsKey)
+        .collect(
+            Collectors.toMap(
+                id -> id,
+                id -> {
+                  final AccountSummaryVO summary = new AccountSummaryVO();
+                  summary.setAccountId(id);
+                  summary.setBalance(transactionNets.get(id));
+                  return summary;
+                }));
+  }
+}
@@ -0,0 +1,264 @@
+package io.assessment.banking.service.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.assessment.banking.AbstractTest;
+import io.assessment.banking.exception.transaction.TransactionServiceRestException;
+import io.assessment.banking.model.transaction.vo.TransactionVO;
+import io.assessment.banking.service.transaction.impl.CachingTransactionServiceImpl;
+import io.assessment.banking.service.transaction.impl.TransactionServiceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Junit tests for {@link CachingTransactionServiceImpl}
+ *
+ * @author Nikhil Vibhav
+ */
+@ExtendWith(MockitoExtension.class)
+public class CachingTransactionServiceTest extends AbstractTest {
+
+  private static final int PAGE_SIZE = 2;
+
+  @Mock private TransactionServiceImpl delegate;
+  private CachingTransactionServiceImpl transactionService;
+
+  @BeforeEach
+  public void setUp() {
+    transactionService =
+        new CachingTransactionServiceImpl(
+            delegate, Caffeine.newBuilder().maximumSize(10).build(), PAGE_SIZE);
+  }
+
+  @Test
+  public void givenCachedAccounts_WhenGetTransactionsByAccountIds_ThenNoRemoteCall()
+      throws Exception {
+    // Given
+    final TransactionVO transaction = getTransactionVO();
+    given(delegate.getTransactionsByAccountIds(List.of(1L, 2L)))
+        .willReturn(Map.of(1L, List.of(transaction)));
+    transactionService.getTransactionsByAccountIds(List.of(1L, 2L));
+
+    // When
+    final Map<Long, List<TransactionVO>> transactions =
+        transactionService.getTransactionsByAccountIds(List.of(1L, 2L));
+
+    // Then
+    assertEquals(Map.of(1L, List.of(transaction)), transactions);
+    verify(delegate, times(1)).getTransactionsByAccountIds(List.of(1L, 2L));
+  }
+
+  @Test
+  public void givenPartiallyCachedAccounts_WhenGetTransactionsByAccountIds_ThenFetchMissing()
+      throws Exception {
+    // Given
+    givenCachedAccount(getTransactionVO());
+    given(delegate.getTransactionsByAccountIds(List.of(2L))).willReturn(Map.of());
+
+    // When
+    final Map<Long, List<TransactionVO>> transactions =
+        transactionService.getTransactionsByAccountIds(List.of(1L, 2L));
+
+    // Then
+    assertEquals(1, transactions.size());
+    assertEquals(1, transactions.get(1L).size());
+    verify(delegate).getTransactionsByAccountIds(List.of(2L));
+  }
+
+  @Test
+  public void givenWholeHistoryCached_WhenForEachTransactionsPage_ThenNoRemoteCall()
+      throws Exception {
+    // Given
+    final TransactionVO transaction = getTransactionVO();
+    givenCachedAccount(transaction);
+    final List<List<TransactionVO>> pages = new ArrayList<>();
+
+    // When
+    final long count = transactionService.forEachTransactionsPage(1L, pages::add);
+
+    // Then
+    assertEquals(1, count);
+    assertEquals(List.of(List.of(transaction)), pages);
+    verify(delegate, times(0)).forEachTransactionsPage(any(), any());
+  }
+
+  @Test
+  public void givenFullPageCached_WhenForEachTransactionsPage_ThenPagesAreRequested()
+      throws Exception {
+    // Given
+    final TransactionVO otherTransaction = getTransactionVO();
+    otherTransaction.setId(13L);
+    givenCachedAccount(getTransactionVO(), otherTransaction);
+    final TransactionPageConsumer consumer = transactions -> true;
+    given(delegate.forEachTransactionsPage(1L, consumer)).willReturn(3L);
+
+    // When
+    final long count = transactionService.forEachTransactionsPage(1L, consumer);
+
+    // Then
+    assertEquals(3, count);
+    verify(delegate).forEachTransactionsPage(1L, consumer);
+  }
+
+  @Test
+  public void givenCachedAccount_WhenSaveTransaction_ThenCacheIsUpdatedInPlace() throws Exception {
+    // Given
+    final TransactionVO transaction = getTransactionVO();
+    givenCachedAccount(transaction);
+
+    final TransactionVO savedTransaction = getTransactionVO();
+    savedTransaction.setId(13L);
+    given(delegate.saveTransaction(savedTransaction)).willReturn(savedTransaction);
+
+    // When
+    transactionService.saveTransaction(savedTransaction);
+
+    // Then
+    assertEquals(
+        Map.of(1L, List.of(transaction, savedTransaction)),
+        transactionService.getTransactionsByAccountIds(List.of(1L)));
+    verify(delegate, times(1)).getTransactionsByAccountIds(List.of(1L));
+  }
+
+  @Test
+  public void givenFullPageCached_WhenSaveTransaction_ThenCachedPageIsUnchanged()
+      throws Exception {
+    // Given
+    final TransactionVO transaction = getTransactionVO();
+    final TransactionVO otherTransaction = getTransactionVO();
+    otherTransaction.setId(13L);
+    givenCachedAccount(transaction, otherTransaction);
+
+    final TransactionVO savedTransaction = getTransactionVO();
+    savedTransaction.setId(14L);
+    given(delegate.saveTransaction(savedTransaction)).willReturn(savedTransaction);
+
+    // When
+    transactionService.saveTransaction(savedTransaction);
+
+    // Then
+    assertEquals(
+        Map.of(1L, List.of(transaction, otherTransaction)),
+        transactionService.getTransactionsByAccountIds(List.of(1L)));
+    verify(delegate, times(1)).getTransactionsByAccountIds(List.of(1L));
+  }
+
+  @Test
+  public void givenCachedAccount_WhenSaveTransactionsFails_ThenCacheIsEvicted() throws Exception {
+    // Given
+    final TransactionVO transaction = getTransactionVO();
+    givenCachedAccount(transaction);
+    willThrow(new TransactionServiceRestException("REST call to save the transactions failed"))
+        .given(delegate)
+        .saveTransactions(List.of(transaction));
+
+    // When
+    assertThrows(
+        TransactionServiceRestException.class,
+        () -> transactionService.saveTransactions(List.of(transaction)));
+    transactionService.getTransactionsByAccountIds(List.of(1L));
+
+    // Then
+    verify(delegate, times(2)).getTransactionsByAccountIds(List.of(1L));
+  }
+
+  @Test
+  public void givenCachedAccount_WhenDeleteTransaction_ThenCacheIsUpdatedInPlace()
+      throws Exception {
+    // Given
+    givenCachedAccount(getTransactionVO());
+
+    // When
+    transactionService.deleteTransaction(12L);
+
+    // Then
+    assertTrue(transactionService.getTransactionsByAccountIds(List.of(1L)).isEmpty());
+    verify(delegate).deleteTransaction(12L);
+    verify(delegate, times(1)).getTransactionsByAccountIds(List.of(1L));
+  }
+
+  @Test
+  public void givenFullPageCached_WhenDeleteTransaction_ThenCacheIsEvicted() throws Exception {
+    // Given
+    final TransactionVO otherTransaction = getTransactionVO();
+    otherTransaction.setId(13L);
+    givenCachedAccount(getTransactionVO(), otherTransaction);
+
+    // When
+    transactionService.deleteTransaction(12L);
+    transactionService.getTransactionsByAccountIds(List.of(1L));
+
+    // Then
+    verify(delegate).deleteTransaction(12L);
+    verify(delegate, times(2)).getTransactionsByAccountIds(List.of(1L));
+  }
+
+  @Test
+  public void givenTwoCachedAccounts_WhenDeleteTransaction_ThenOnlyItsAccountIsUpdated()
+      throws Exception {
+    // Given
+    final TransactionVO otherTransaction = getTransactionVO();
+    otherTransaction.setId(13L);
+    otherTransaction.setAccountId(2L);
+    given(delegate.getTransactionsByAccountIds(List.of(1L, 2L)))
+        .willReturn(Map.of(1L, List.of(getTransactionVO()), 2L, List.of(otherTransaction)));
+    transactionService.getTransactionsByAccountIds(List.of(1L, 2L));
+
+    // When
+    transactionService.deleteTransaction(12L);
+
+    // Then
+    assertEquals(
+        Map.of(2L, List.of(otherTransaction)),
+        transactionService.getTransactionsByAccountIds(List.of(1L, 2L)));
+    verify(delegate, times(1)).getTransactionsByAccountIds(List.of(1L, 2L));
+  }
+
+  @Test
+  public void givenTwoCachedAccounts_WhenDeleteTransactionFails_ThenOnlyItsAccountIsEvicted()
+      throws Exception {
+    // Given
+    final TransactionVO otherTransaction = getTransactionVO();
+    otherTransaction.setId(13L);
+    otherTransaction.setAccountId(2L);
+    given(delegate.getTransactionsByAccountIds(List.of(1L, 2L)))
+        .willReturn(Map.of(1L, List.of(getTransactionVO()), 2L, List.of(otherTransaction)));
+    transactionService.getTransactionsByAccountIds(List.of(1L, 2L));
+    willThrow(new TransactionServiceRestException("REST call to delete the transaction failed"))
+        .given(delegate)
+        .deleteTransaction(12L);
+    given(delegate.getTransactionsByAccountIds(List.of(1L))).willReturn(Map.of());
+
+    // When
+    assertThrows(
+        TransactionServiceRestException.class, () -> transactionService.deleteTransaction(12L));
+    transactionService.getTransactionsByAccountIds(List.of(1L, 2L));
+
+    // Then
+    verify(delegate).getTransactionsByAccountIds(List.of(1L));
+    verify(delegate, times(1)).getTransactionsByAccountIds(List.of(1L, 2L));
+  }
+
+  private void givenCachedAccount(final TransactionVO... transactions) throws Exception {
+    given(delegate.getTransactionsByAccountIds(List.of(1L)))
+        .willReturn(Map.of(1L, List.of(transactions)));
+    transactionService.getTransactionsByAccountIds(List.of(1L));
+  }
+}
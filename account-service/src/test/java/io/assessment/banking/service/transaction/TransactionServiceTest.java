@@ -1,6 +1,10 @@
 package io.assessment.banking.service.transaction;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,12 +17,14 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.client.MockRestServiceServer;
 
 import io.assessment.banking.AbstractTest;
+import io.assessment.banking.model.transaction.vo.AccountSummaryVO;
+import io.assessment.banking.model.transaction.vo.TransactionPageVO;
 import io.assessment.banking.model.transaction.vo.TransactionVO;
 import io.assessment.banking.service.transaction.impl.TransactionServiceImpl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
@@ -58,16 +64,93 @@ public class TransactionServiceTest extends AbstractTest {
   }
 
   @Test
-  public void givenValidAccountId_WhenGetAllTransactionByAccountId_ThenSucceed() throws Exception {
+  public void givenValidAccountId_WhenForEachTransactionsPage_ThenFollowCursorsPageByPage()
+      throws Exception {
+    final String firstPage =
+        "{\"transactions\":[{\"accountId\":1,\"amount\":10,\"dateTransacted\":\"2021-02-09T00:38:41.441411+05:30\",\"type\":\"CREDIT\"},{\"accountId\":1,\"amount\":20,\"dateTransacted\":\"2021-02-09T00:38:54.269594+05:30\",\"type\":\"DEBIT\"}],\"nextCursor\":\"abc\"}";
+    final String lastPage =
+        "{\"transactions\":[{\"accountId\":1,\"amount\":4000,\"dateTransacted\":\"2021-02-09T00:39:09.097132+05:30\",\"type\":\"CREDIT\"}]}";
+
+    server
+        .expect(requestTo(TRANSACTION_SERVICE_URI + "?accountId=1&limit=500"))
+        .andRespond(withSuccess(firstPage, MediaType.APPLICATION_JSON));
+    server
+        .expect(requestTo(TRANSACTION_SERVICE_URI + "?accountId=1&limit=500&cursor=abc"))
+        .andRespond(withSuccess(lastPage, MediaType.APPLICATION_JSON));
+
+    final List<Integer> pageSizes = new ArrayList<>();
+    final long count =
+        transactionService.forEachTransactionsPage(
+            1L, transactions -> pageSizes.add(transactions.size()));
+    assertEquals(3, count);
+    assertEquals(List.of(2, 1), pageSizes);
+    server.verify();
+  }
+
+  @Test
+  public void givenConsumerStops_WhenForEachTransactionsPage_ThenNextPageIsNotRequested()
+      throws Exception {
+    final String firstPage =
+        "{\"transactions\":[{\"accountId\":1,\"amount\":10,\"dateTransacted\":\"2021-02-09T00:38:41.441411+05:30\",\"type\":\"CREDIT\"}],\"nextCursor\":\"abc\"}";
+
+    server
+        .expect(requestTo(TRANSACTION_SERVICE_URI + "?accountId=1&limit=500"))
+        .andRespond(withSuccess(firstPage, MediaType.APPLICATION_JSON));
+
+    final long count = transactionService.forEachTransactionsPage(1L, transactions -> false);
+    assertEquals(1, count);
+    server.verify();
+  }
+
+  @Test
+  public void givenValidAccountId_WhenGetTransactionsPage_ThenReturnOnePage() throws Exception {
+    final String page =
+        "{\"transactions\":[{\"accountId\":1,\"amount\":10,\"dateTransacted\":\"2021-02-09T00:38:41.441411+05:30\",\"type\":\"CREDIT\"}],\"nextCursor\":\"abc\"}";
+
+    server
+        .expect(requestTo(TRANSACTION_SERVICE_URI + "?accountId=1&limit=500"))
+        .andRespond(withSuccess(page, MediaType.APPLICATION_JSON));
+
+    final TransactionPageVO transactions = transactionService.getTransactionsPage(1L, null);
+    assertEquals(1, transactions.getTransactions().size());
+    assertEquals("abc", transactions.getNextCursor());
+  }
+
+  @Test
+  public void givenValidAccountIds_WhenGetTransactionsByAccountIds_ThenFirstPageOfEach()
+      throws Exception {
+    final String json =
+        "[{\"accountId\":1,\"amount\":10,\"dateTransacted\":\"2021-02-09T00:38:41.441411+05:30\",\"type\":\"CREDIT\"},{\"accountId\":2,\"amount\":20,\"dateTransacted\":\"2021-02-09T00:38:54.269594+05:30\",\"type\":\"DEBIT\"},{\"accountId\":2,\"amount\":40,\"dateTransacted\":\"2021-02-09T00:39:00.700492+05:30\",\"type\":\"CREDIT\"}]";
+
+    server
+        .expect(
+            requestTo(
+                TRANSACTION_SERVICE_URI
+                    + "/batch?accountIds=1&accountIds=2&accountIds=3&limit=500"))
+        .andRespond(withSuccess(json, MediaType.APPLICATION_JSON));
+
+    final Map<Long, List<TransactionVO>> transactions =
+        transactionService.getTransactionsByAccountIds(Arrays.asList(1L, 2L, 3L));
+    assertEquals(1, transactions.get(1L).size());
+    assertEquals(2, transactions.get(2L).size());
+    assertFalse(transactions.containsKey(3L));
+  }
+
+  @Test
+  public void givenValidAccountIds_WhenGetAccountSummaries_ThenSucceed() throws Exception {
     final String json =
-        "[{\"accountId\":1,\"amount\":10,\"dateTransacted\":\"2021-02-09T00:38:41.441411+05:30\",\"type\":\"CREDIT\"},{\"accountId\":1,\"amount\":20,\"dateTransacted\":\"2021-02-09T00:38:54.269594+05:30\",\"type\":\"DEBIT\"},{\"accountId\":1,\"amount\":40,\"dateTransacted\":\"2021-02-09T00:39:00.700492+05:30\",\"type\":\"DEBIT\"},{\"accountId\":1,\"amount\":4000,\"dateTransacted\":\"2021-02-09T00:39:09.097132+05:30\",\"type\":\"CREDIT\"}]";
+        "[{\"accountId\":1,\"creditTotal\":30.00,\"debitTotal\":10.00,\"balance\":20.00,"
+            + "\"transactionCount\":3}]";
 
     server
-        .expect(requestTo(TRANSACTION_SERVICE_URI + "?accountId=1"))
+        .expect(requestTo(TRANSACTION_SERVICE_URI + "/summary/computed?accountIds=1&accountIds=2"))
         .andRespond(withSuccess(json, MediaType.APPLICATION_JSON));
 
-    final List<TransactionVO> transactions = transactionService.getAllTransactions(1L);
-    assertTrue(transactions.size() > 0);
+    final Map<Long, AccountSummaryVO> summaries =
+        transactionService.getAccountSummaries(Arrays.asList(1L, 2L));
+    assertEquals(new BigDecimal("20.00"), summaries.get(1L).getBalance());
+    assertEquals(3L, summaries.get(1L).getTransactionCount());
+    assertFalse(summaries.containsKey(2L));
   }
 
   @Test
@@ -0,0 +1,34 @@
+package io.assessment.banking.util.money;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link MoneyUtil}
+ *
+ * @author Nikhil Vibhav
+ */
+public class MoneyUtilTest {
+
+  @Test
+  public void givenDecimalAmount_WhenToMinorUnits_ThenReturnCents() {
+    assertEquals(1000L, MoneyUtil.toMinorUnits(BigDecimal.TEN));
+    assertEquals(1234L, MoneyUtil.toMinorUnits(new BigDecimal("12.34")));
+    assertEquals(10L, MoneyUtil.toMinorUnits(new BigDecimal("0.1")));
+  }
+
+  @Test
+  public void givenSubCentAmount_WhenToMinorUnits_ThenThrowArithmeticException() {
+    assertThrows(ArithmeticException.class, () -> MoneyUtil.toMinorUnits(new BigDecimal("0.001")));
+  }
+
+  @Test
+  public void givenMinorUnits_WhenToMajorUnits_ThenReturnDecimalWithTwoPlaces() {
+    assertEquals(new BigDecimal("12.34"), MoneyUtil.toMajorUnits(1234L));
+    assertEquals(new BigDecimal("0.05"), MoneyUtil.toMajorUnits(5L));
+  }
+}
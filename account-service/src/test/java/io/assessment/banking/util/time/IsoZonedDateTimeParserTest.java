@@ -0,0 +1,62 @@
+package io.assessment.banking.util.time;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link IsoZonedDateTimeParser}
+ *
+ * @author Nikhil Vibhav
+ */
+public class IsoZonedDateTimeParserTest {
+
+  private static final ZoneId UTC = ZoneOffset.UTC;
+
+  @Test
+  public void givenTimestampWithOffset_WhenParse_ThenReturnSameInstant() {
+    final String timestamp = "2021-02-09T00:38:41.441411+05:30";
+
+    final ZonedDateTime parsed = parse(timestamp);
+
+    assertEquals(ZonedDateTime.parse(timestamp).toInstant(), parsed.toInstant());
+    assertEquals(UTC, parsed.getZone());
+  }
+
+  @Test
+  public void givenUtcTimestampWithoutFraction_WhenParse_ThenSucceed() {
+    final ZonedDateTime parsed = parse("2021-02-10T06:52:53Z");
+
+    assertEquals(ZonedDateTime.of(2021, 2, 10, 6, 52, 53, 0, UTC), parsed);
+  }
+
+  @Test
+  public void givenNegativeOffsetWithNanos_WhenParse_ThenSucceed() {
+    final String timestamp = "2021-02-09T23:59:59.123456789-03:00";
+
+    assertEquals(ZonedDateTime.parse(timestamp).toInstant(), parse(timestamp).toInstant());
+  }
+
+  @Test
+  public void givenTimestampWithRegion_WhenParse_ThenFallBackToZonedDateTimeParse() {
+    final String timestamp = "2021-02-09T10:15:30+01:00[Europe/Paris]";
+
+    assertEquals(ZonedDateTime.parse(timestamp).toInstant(), parse(timestamp).toInstant());
+  }
+
+  @Test
+  public void givenInvalidTimestamp_WhenParse_ThenThrowDateTimeException() {
+    assertThrows(DateTimeException.class, () -> parse("2021-02-30T00:00:00Z"));
+    assertThrows(DateTimeException.class, () -> parse("not-a-timestamp"));
+  }
+
+  private static ZonedDateTime parse(final String timestamp) {
+    return IsoZonedDateTimeParser.parse(timestamp.toCharArray(), 0, timestamp.length(), UTC);
+  }
+}
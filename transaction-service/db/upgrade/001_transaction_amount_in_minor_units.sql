@@ -0,0 +1,8 @@
+/**
+ * Migrates transaction.amount from a DOUBLE of the currency unit to a BIGINT of minor units (cents).
+ * Run once against an existing MySQL database before starting the new version of transaction-service.
+ */
+
+UPDATE transaction SET amount = ROUND(amount * 100);
+
+ALTER TABLE transaction MODIFY COLUMN amount BIGINT NOT NULL;
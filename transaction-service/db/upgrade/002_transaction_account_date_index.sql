@@ -0,0 +1,6 @@
+/**
+ * Adds the index backing the keyset pagination of the transactions of an account.
+ * Run once against an existing MySQL database before starting the new version of transaction-service.
+ */
+
+CREATE INDEX idx_transaction_account_date_id ON transaction (account_id, date_transacted, id);
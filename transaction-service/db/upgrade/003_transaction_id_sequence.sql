@@ -0,0 +1,9 @@
+/**
+ * Transaction ids are allocated from a pooled sequence (allocationSize 50), so a group of inserts
+ * doesn't need a round trip per id. MySQL has no sequences, so Hibernate keeps it in a single-row
+ * table. The pooled optimizer hands out the 50 ids below the stored value, hence the + 51. Run once
+ * against an existing MySQL database before starting the new version of transaction-service.
+ */
+
+CREATE TABLE transaction_seq (next_val BIGINT);
+INSERT INTO transaction_seq SELECT COALESCE(MAX(id), 0) + 51 FROM transaction;
@@ -0,0 +1,16 @@
+/**
+ * Adds the running totals of the transactions of each account. Run once against an existing MySQL
+ * database before starting the new version of transaction-service, then fill the table with
+ * POST /api/bank/v1/transaction/summary/rebuild before transactions are written again.
+ */
+
+CREATE TABLE account_summary (
+    account_id        BIGINT      NOT NULL,
+    credit_total      BIGINT      NOT NULL,
+    debit_total       BIGINT      NOT NULL,
+    transaction_count BIGINT      NOT NULL,
+    first_transacted  DATETIME(6),
+    last_transacted   DATETIME(6),
+    version           BIGINT,
+    PRIMARY KEY (account_id)
+);
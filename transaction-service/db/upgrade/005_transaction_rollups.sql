@@ -0,0 +1,27 @@
+/**
+ * Adds the daily and monthly rollups of the transactions, the watermark of the rollup pipeline and
+ * the (date_transacted, id) index the pipeline reads new transactions with. Run once against an
+ * existing MySQL database before starting the new version of transaction-service, then fill the
+ * rollups with POST /api/bank/v1/transaction/rollup/backfill.
+ */
+
+CREATE INDEX idx_transaction_date_id ON transaction (date_transacted, id);
+
+CREATE TABLE transaction_rollup (
+    account_id   BIGINT  NOT NULL,
+    bucket       DATE    NOT NULL,
+    granularity  INTEGER NOT NULL,
+    credit_total BIGINT  NOT NULL,
+    debit_total  BIGINT  NOT NULL,
+    credit_count BIGINT  NOT NULL,
+    debit_count  BIGINT  NOT NULL,
+    version      BIGINT,
+    PRIMARY KEY (account_id, granularity, bucket)
+);
+
+CREATE TABLE rollup_watermark (
+    id                   BIGINT      NOT NULL,
+    last_date_transacted DATETIME(6) NOT NULL,
+    last_id              BIGINT      NOT NULL,
+    PRIMARY KEY (id)
+);
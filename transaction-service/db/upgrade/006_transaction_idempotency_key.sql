@@ -0,0 +1,8 @@
+/**
+ * Adds the optional idempotency key of a transaction, unique among the transactions that have one.
+ * Run once against an existing MySQL database before starting the new version of
+ * transaction-service.
+ */
+
+ALTER TABLE transaction ADD COLUMN idempotency_key VARCHAR(64);
+CREATE UNIQUE INDEX uk_transaction_idempotency_key ON transaction (idempotency_key);
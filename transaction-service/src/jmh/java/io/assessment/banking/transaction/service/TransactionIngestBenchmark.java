@@ -0,0 +1,82 @@
+package io.assessment.banking.transaction.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.assessment.banking.transaction.TransactionServiceApp;
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.model.entity.Transaction;
+
+/**
+ * Measures the sustained inserts per second of the single transaction path, where every
+ * transaction is saved and committed on its own, against saving groups of transactions with one
+ * commit and batched inserts per group. A group size of 1 takes the single transaction path. The
+ * application is started without the web layer on the embedded H2 database
+ *
+ * @author Nikhil Vibhav
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionIngestBenchmark {
+
+  private static final int TRANSACTIONS_PER_INVOCATION = 1000;
+
+  @Param({"1", "50", "1000"})
+  private int groupSize;
+
+  private ConfigurableApplicationContext context;
+  private TransactionService transactionService;
+
+  @Setup
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(TransactionServiceApp.class)
+            .web(WebApplicationType.NONE)
+            .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+            .run();
+    transactionService = context.getBean(TransactionService.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TRANSACTIONS_PER_INVOCATION)
+  public void ingest() {
+    if (groupSize == 1) {
+      for (int i = 0; i < TRANSACTIONS_PER_INVOCATION; i++) {
+        transactionService.saveTransaction(newTransaction(i));
+      }
+      return;
+    }
+
+    for (int from = 0; from < TRANSACTIONS_PER_INVOCATION; from += groupSize) {
+      final int to = Math.min(from + groupSize, TRANSACTIONS_PER_INVOCATION);
+      final List<Transaction> group = new ArrayList<>(to - from);
+      for (int i = from; i < to; i++) {
+        group.add(newTransaction(i));
+      }
+      transactionService.saveTransactions(group);
+    }
+  }
+
+  private static Transaction newTransaction(final int i) {
+    final Transaction transaction = new Transaction();
+    transaction.setAccountId(1L + i % 100);
+    transaction.setAmount(100L + i);
+    transaction.setType(TransactionType.CREDIT);
+    return transaction;
+  }
+}
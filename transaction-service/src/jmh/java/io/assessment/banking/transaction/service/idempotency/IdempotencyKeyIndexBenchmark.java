@@ -0,0 +1,45 @@
+package io.assessment.banking.transaction.service.idempotency;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the latency the idempotency check adds to saving a transaction: looking up a new key,
+ * which the Bloom filters answer, and looking up a key that was saved before, in an index holding
+ * {@code keys} keys
+ *
+ * @author Nikhil Vibhav
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdempotencyKeyIndexBenchmark {
+
+  @Param({"1000", "400000"})
+  private int keys;
+
+  private IdempotencyKeyIndex index;
+  private long next;
+
+  @Setup
+  public void setUp() {
+    index = new IdempotencyKeyIndex(86400, 1_000_000);
+    for (long id = 0; id < keys; id++) {
+      index.put("account-outbox-" + id, id);
+    }
+  }
+
+  @Benchmark
+  public Long findNewKey() {
+    return index.find("client-" + next++);
+  }
+
+  @Benchmark
+  public Long findSavedKey() {
+    return index.find("account-outbox-" + (next++ % keys));
+  }
+}
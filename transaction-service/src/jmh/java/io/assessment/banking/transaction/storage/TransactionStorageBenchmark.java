@@ -0,0 +1,101 @@
+package io.assessment.banking.transaction.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.assessment.banking.transaction.TransactionServiceApp;
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.service.TransactionService;
+
+/**
+ * Compares the storage engines behind {@link TransactionService}: the JPA engine on the embedded
+ * H2 database against the memory-mapped {@link TransactionLog}. {@code append} saves one
+ * transaction at a time, {@code readAccount} reads the first page of one account. Each of
+ * the {@code ACCOUNTS} accounts holds {@code TRANSACTIONS_PER_ACCOUNT} transactions when the trial
+ * starts. The application is started without the web layer
+ *
+ * @author Nikhil Vibhav
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionStorageBenchmark {
+
+  private static final int ACCOUNTS = 100;
+  private static final int TRANSACTIONS_PER_ACCOUNT = 100;
+
+  @Param({"JPA", "LOG"})
+  private String engine;
+
+  private Path logDirectory;
+  private ConfigurableApplicationContext context;
+  private TransactionService transactionService;
+  private long sequence;
+
+  @Setup
+  public void setUp() throws IOException {
+    logDirectory = Files.createTempDirectory("transaction-log-");
+    context =
+        new SpringApplicationBuilder(TransactionServiceApp.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "transaction.storage.engine=" + engine,
+                "transaction.storage.log.directory=" + logDirectory)
+            .run();
+    transactionService = context.getBean(TransactionService.class);
+
+    final List<Transaction> transactions = new ArrayList<>(ACCOUNTS);
+    for (int i = 0; i < TRANSACTIONS_PER_ACCOUNT; i++) {
+      transactions.clear();
+      for (int account = 0; account < ACCOUNTS; account++) {
+        transactions.add(newTransaction(sequence++));
+      }
+      transactionService.saveTransactions(transactions);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    context.close();
+    try (final Stream<Path> paths = Files.walk(logDirectory)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Benchmark
+  public Transaction append() {
+    return transactionService.saveTransaction(newTransaction(sequence++));
+  }
+
+  @Benchmark
+  public List<Transaction> readAccount() {
+    return transactionService.findTransactionsByAccountIds(
+        List.of(1L + sequence++ % ACCOUNTS), TRANSACTIONS_PER_ACCOUNT);
+  }
+
+  private static Transaction newTransaction(final long i) {
+    final Transaction transaction = new Transaction();
+    transaction.setAccountId(1L + i % ACCOUNTS);
+    transaction.setAmount(100L + i);
+    transaction.setType(TransactionType.CREDIT);
+    return transaction;
+  }
+}
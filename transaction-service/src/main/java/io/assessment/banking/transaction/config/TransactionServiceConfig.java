@@ -0,0 +1,13 @@
+package io.assessment.banking.transaction.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class for Transaction Service application
+ *
+ * @author Nikhil Vibhav
+ */
+@Configuration
+@EnableScheduling
+public class TransactionServiceConfig {}
@@ -0,0 +1,29 @@
+package io.assessment.banking.transaction.constant;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Enum to denote the format of a transaction export, eg. NDJSON/CSV
+ *
+ * @author Nikhil Vibhav
+ */
+public enum ExportFormat {
+  NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+  CSV(new MediaType("text", "csv"), "csv");
+
+  private final MediaType mediaType;
+  private final String fileExtension;
+
+  ExportFormat(final MediaType mediaType, final String fileExtension) {
+    this.mediaType = mediaType;
+    this.fileExtension = fileExtension;
+  }
+
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+
+  public String getFileExtension() {
+    return fileExtension;
+  }
+}
@@ -0,0 +1,27 @@
+package io.assessment.banking.transaction.constant;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Enum to denote the size of the time buckets of the transaction rollups, eg. DAY/MONTH. Buckets
+ * are calendar days and months in UTC
+ *
+ * @author Nikhil Vibhav
+ */
+public enum RollupGranularity {
+  DAY,
+  MONTH;
+
+  /**
+   * Gets the bucket a transaction falls into
+   *
+   * @param dateTransacted - the transaction time
+   * @return the first day of the bucket
+   */
+  public LocalDate bucketOf(final ZonedDateTime dateTransacted) {
+    final LocalDate date = dateTransacted.withZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+    return this == DAY ? date : date.withDayOfMonth(1);
+  }
+}
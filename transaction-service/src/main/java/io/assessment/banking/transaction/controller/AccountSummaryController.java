@@ -0,0 +1,103 @@
+package io.assessment.banking.transaction.controller;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.assessment.banking.transaction.controller.mapper.AccountSummaryMapper;
+import io.assessment.banking.transaction.model.vo.AccountSummaryVO;
+import io.assessment.banking.transaction.service.AccountSummaryService;
+import io.assessment.banking.transaction.service.TransactionService;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * REST controller to read the totals of the transactions of a bank account
+ *
+ * @author Nikhil Vibhav
+ */
+@RestController
+@RequestMapping(
+    path = "/api/bank/v1/transaction/summary",
+    produces = MediaType.APPLICATION_JSON_VALUE)
+@Validated
+@Log4j2
+public class AccountSummaryController {
+
+  /** The maximum number of accounts whose summaries are computed in one request */
+  public static final int MAX_COMPUTED_ACCOUNTS = 1000;
+
+  private final AccountSummaryService accountSummaryService;
+  private final TransactionService transactionService;
+
+  @Autowired
+  public AccountSummaryController(
+      final AccountSummaryService accountSummaryService,
+      final TransactionService transactionService) {
+    this.accountSummaryService = accountSummaryService;
+    this.transactionService = transactionService;
+  }
+
+  /**
+   * Gets the credit and debit totals, the number and the time range of the transactions of the
+   * given account id. The totals are kept up to date as transactions are saved and deleted, so
+   * the cost of the request doesn't depend on the length of the history
+   *
+   * @param accountId - the account id for which to get the summary
+   * @return the {@link AccountSummaryVO} of the account
+   */
+  @GetMapping
+  public ResponseEntity<AccountSummaryVO> getByAccountId(
+      @RequestParam @Min(1) final Long accountId) {
+
+    log.info("Received request to get the summary of accountId - {}", accountId);
+    return ResponseEntity.ok(
+        AccountSummaryMapper.toAccountSummaryVO(
+            accountSummaryService.getAccountSummary(accountId)));
+  }
+
+  /**
+   * Computes the credit and debit totals and the number of transactions of several accounts from
+   * their transactions in one request, e.g. to check the balances kept by account-service. The
+   * transactions are read from the active storage engine
+   *
+   * @param accountIds - the account ids, at most {@link #MAX_COMPUTED_ACCOUNTS}
+   * @return the {@link AccountSummaryVO} of every given account with transactions, ordered by
+   *     account id
+   */
+  @GetMapping(path = "/computed")
+  public ResponseEntity<List<AccountSummaryVO>> computeByAccountIds(
+      @RequestParam @NotEmpty @Size(max = MAX_COMPUTED_ACCOUNTS)
+          final List<@Min(1) Long> accountIds) {
+
+    log.info("Received request to compute the summaries of {} accounts", accountIds.size());
+    return ResponseEntity.ok(
+        transactionService.computeAccountSummaries(accountIds).stream()
+            .map(AccountSummaryMapper::toAccountSummaryVO)
+            .collect(Collectors.toList()));
+  }
+
+  /**
+   * Recomputes the summaries of all accounts from their transactions
+   *
+   * @return the number of rebuilt summaries
+   */
+  @PostMapping(path = "/rebuild")
+  public ResponseEntity<Long> rebuild() {
+
+    log.info("Received request to rebuild the account summaries");
+    return ResponseEntity.ok(accountSummaryService.rebuildAccountSummaries());
+  }
+}
@@ -16,6 +16,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import io.assessment.banking.transaction.exception.TransactionIngestionException;
+
 import lombok.extern.log4j.Log4j2;
 
 /**
@@ -58,6 +60,28 @@ public class ControllerAdvice extends ResponseEntityExceptionHandler {
     return new ResponseEntity<>(body, new HttpHeaders(), HttpStatus.BAD_REQUEST.value());
   }
 
+  /**
+   * Handles the {@link TransactionIngestionException}
+   *
+   * @param ex - instance of {@link TransactionIngestionException}
+   * @return the {@link ResponseEntity} containing the error response and the number of
+   *     transactions ingested before the failure
+   */
+  @ExceptionHandler(TransactionIngestionException.class)
+  public ResponseEntity<Object> handleTransactionIngestion(final TransactionIngestionException ex) {
+
+    log.info("Handling TransactionIngestionException - {}", ex.getMessage());
+
+    final Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", new Date());
+    body.put("status", HttpStatus.BAD_REQUEST.value());
+    body.put("message", ex.getMessage());
+    body.put("errors", ex.getErrors());
+    body.put("ingested", ex.getIngested());
+
+    return new ResponseEntity<>(body, new HttpHeaders(), HttpStatus.BAD_REQUEST);
+  }
+
   /**
    * Handles the {@link MethodArgumentNotValidException}
    *
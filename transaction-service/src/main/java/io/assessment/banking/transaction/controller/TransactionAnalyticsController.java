@@ -0,0 +1,121 @@
+package io.assessment.banking.transaction.controller;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.exception.InvalidAnalyticsRangeException;
+import io.assessment.banking.transaction.model.vo.TransactionVolumeVO;
+import io.assessment.banking.transaction.service.TransactionAnalyticsService;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * REST controller to run the analytics queries over all transactions, served from the in-memory
+ * column store
+ *
+ * @author Nikhil Vibhav
+ */
+@RestController
+@RequestMapping(
+    path = "/api/bank/v1/transaction/analytics",
+    produces = MediaType.APPLICATION_JSON_VALUE)
+@ConditionalOnProperty(name = "transaction.analytics.enabled", havingValue = "true")
+@Validated
+@Log4j2
+public class TransactionAnalyticsController {
+
+  /** The maximum number of accounts of a top accounts query */
+  public static final int MAX_TOP_ACCOUNTS = 1000;
+
+  /** The longest time range of an hourly histogram */
+  public static final Duration MAX_HISTOGRAM_RANGE = Duration.ofDays(366);
+
+  private final TransactionAnalyticsService analyticsService;
+
+  @Autowired
+  public TransactionAnalyticsController(final TransactionAnalyticsService analyticsService) {
+    this.analyticsService = analyticsService;
+  }
+
+  /**
+   * Gets the number and the total amount of the credits and of the debits
+   *
+   * @param from - the earliest transaction time, inclusive
+   * @param to - the latest transaction time, exclusive
+   * @return the {@link TransactionVolumeVO} of each type
+   */
+  @GetMapping(path = "/totals")
+  public ResponseEntity<List<TransactionVolumeVO>> getTotalsByType(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final ZonedDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final ZonedDateTime to) {
+
+    log.info("Received request to get the totals by type from {} to {}", from, to);
+    return ResponseEntity.ok(analyticsService.getTotalsByType(from, to));
+  }
+
+  /**
+   * Gets the accounts with the highest total amount of a transaction type, e.g. the highest debit
+   * volume
+   *
+   * @param type - the transaction type, DEBIT by default
+   * @param from - the earliest transaction time, inclusive
+   * @param to - the latest transaction time, exclusive
+   * @param limit - the number of accounts, at most {@link #MAX_TOP_ACCOUNTS}
+   * @return the {@link TransactionVolumeVO} of each account, the highest total first
+   */
+  @GetMapping(path = "/top-accounts")
+  public ResponseEntity<List<TransactionVolumeVO>> getTopAccounts(
+      @RequestParam(defaultValue = "DEBIT") final TransactionType type,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final ZonedDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final ZonedDateTime to,
+      @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_TOP_ACCOUNTS) final int limit) {
+
+    log.info("Received request to get the top {} accounts by {} volume", limit, type);
+    return ResponseEntity.ok(analyticsService.getTopAccounts(type, from, to, limit));
+  }
+
+  /**
+   * Gets the number and the total amount of the transactions of each hour of a time range
+   *
+   * @param type - the transaction type, absent for both types
+   * @param from - the earliest transaction time, inclusive
+   * @param to - the latest transaction time, exclusive
+   * @return the {@link TransactionVolumeVO} of each hour with transactions, in order
+   * @throws InvalidAnalyticsRangeException - thrown when {@code to} isn't after {@code from}, or
+   *     the range is longer than {@link #MAX_HISTOGRAM_RANGE}
+   */
+  @GetMapping(path = "/histogram")
+  public ResponseEntity<List<TransactionVolumeVO>> getHourlyVolumes(
+      @RequestParam(required = false) final TransactionType type,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final ZonedDateTime from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final ZonedDateTime to)
+      throws InvalidAnalyticsRangeException {
+
+    log.info("Received request to get the hourly volumes from {} to {}", from, to);
+    if (!to.isAfter(from) || Duration.between(from, to).compareTo(MAX_HISTOGRAM_RANGE) > 0) {
+      throw new InvalidAnalyticsRangeException(
+          "The histogram range from " + from + " to " + to + " is invalid");
+    }
+
+    return ResponseEntity.ok(analyticsService.getHourlyVolumes(type, from, to));
+  }
+}
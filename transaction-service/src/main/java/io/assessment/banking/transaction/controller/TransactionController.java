@@ -1,22 +1,62 @@
 package io.assessment.banking.transaction.controller;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Digits;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.assessment.banking.transaction.constant.ExportFormat;
+import io.assessment.banking.transaction.constant.TransactionType;
 import io.assessment.banking.transaction.controller.mapper.TransactionMapper;
+import io.assessment.banking.transaction.exception.InvalidCursorException;
+import io.assessment.banking.transaction.exception.InvalidSearchException;
+import io.assessment.banking.transaction.exception.TransactionIngestionException;
 import io.assessment.banking.transaction.exception.TransactionNotFoundException;
 import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.vo.TransactionPageVO;
+import io.assessment.banking.transaction.model.vo.TransactionSearchCriteria;
 import io.assessment.banking.transaction.model.vo.TransactionVO;
 import io.assessment.banking.transaction.service.TransactionService;
+import io.assessment.banking.transaction.util.CursorUtil;
+import io.assessment.banking.transaction.util.MoneyUtil;
 import lombok.extern.log4j.Log4j2;
 
 /**
@@ -30,24 +70,48 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public class TransactionController {
 
+  /** The maximum number of transactions returned in one page */
+  public static final int MAX_PAGE_SIZE = 1000;
+
+  /** The header carrying the key under which a transaction is saved only once */
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
   private final TransactionService transactionService;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final int ingestGroupSize;
 
   @Autowired
-  public TransactionController(final TransactionService transactionService) {
+  public TransactionController(
+      final TransactionService transactionService,
+      final ObjectMapper objectMapper,
+      final Validator validator,
+      @Value("${transaction.ingest.group-size:1000}") final int ingestGroupSize) {
     this.transactionService = transactionService;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.ingestGroupSize = ingestGroupSize;
   }
 
   /**
-   * Saves a transaction to the database
+   * Saves a transaction to the database. A request retried with the same idempotency key returns
+   * the transaction saved by the first request instead of saving it again
    *
    * @param request - the transaction request
+   * @param idempotencyKey - the optional idempotency key, takes precedence over the one in the body
    * @return the saved {@link TransactionVO} object
    */
   @PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<TransactionVO> saveTransaction(
-      @RequestBody @Valid final TransactionVO request) {
+      @RequestBody @Valid final TransactionVO request,
+      @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false)
+          @Size(max = Transaction.IDEMPOTENCY_KEY_MAX_LENGTH)
+          final String idempotencyKey) {
 
     log.info("Received request to save transaction: {}", request);
+    if (idempotencyKey != null) {
+      request.setIdempotencyKey(idempotencyKey);
+    }
 
     final Transaction savedTransaction =
         transactionService.saveTransaction(TransactionMapper.toTransaction(request));
@@ -57,22 +121,319 @@ public class TransactionController {
   }
 
   /**
-   * Gets the list of all transactions by the given account id
+   * Saves several transactions to the database with one request
    *
-   * @param accountId - the account id for which to fetch the list of all transactions
-   * @return a {@link List} of the transactions
+   * @param requests - the transaction requests
+   * @return the saved {@link TransactionVO} objects, in the order of the request
+   */
+  @PutMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<List<TransactionVO>> saveTransactions(
+      @RequestBody @NotEmpty final List<@Valid TransactionVO> requests) {
+
+    log.info("Received request to save {} transactions", requests.size());
+
+    final List<Transaction> savedTransactions =
+        transactionService.saveTransactions(
+            requests.stream().map(TransactionMapper::toTransaction).collect(Collectors.toList()));
+
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(TransactionMapper.transactionVOs(savedTransactions));
+  }
+
+  /**
+   * Ingests a JSON array of transactions of any length. The array is read from the request one
+   * transaction at a time and the transactions are committed in groups of {@code ingestGroupSize},
+   * so neither the request nor the database transaction has to hold all of them. When a
+   * transaction can't be read or fails validation the ingestion stops, the groups before it stay
+   * committed and the error response tells how many transactions were ingested
+   *
+   * @param requestBody - the JSON array of transaction requests
+   * @return the ids assigned to the transactions, in the order of the request
+   * @throws IOException - when reading the request fails
+   * @throws TransactionIngestionException - when a transaction is malformed or invalid, or the
+   *     request contains no transactions
+   */
+  @PostMapping(path = "/ingest", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<List<Long>> ingestTransactions(final InputStream requestBody)
+      throws IOException, TransactionIngestionException {
+
+    final List<Long> ids = new ArrayList<>();
+    final List<Transaction> group = new ArrayList<>(ingestGroupSize);
+    long index = 0;
+
+    try (final MappingIterator<TransactionVO> requests =
+        objectMapper.readerFor(TransactionVO.class).readValues(requestBody)) {
+      while (requests.hasNextValue()) {
+        final TransactionVO request = requests.nextValue();
+        validate(request, index, ids.size());
+        group.add(TransactionMapper.toTransaction(request));
+        index++;
+
+        if (group.size() == ingestGroupSize) {
+          saveGroup(group, ids);
+        }
+      }
+    } catch (JsonProcessingException e) {
+      throw new TransactionIngestionException(
+          "The transaction at index " + index + " is malformed",
+          ids.size(),
+          List.of(e.getOriginalMessage()));
+    }
+
+    if (!group.isEmpty()) {
+      saveGroup(group, ids);
+    }
+    if (ids.isEmpty()) {
+      throw new TransactionIngestionException(
+          "The request contains no transactions", 0, List.of("transactions cannot be empty"));
+    }
+
+    log.info("Ingested {} transactions", ids.size());
+    return ResponseEntity.status(HttpStatus.CREATED).body(ids);
+  }
+
+  /**
+   * Validates a transaction request of a batch ingestion
+   *
+   * @param request - the transaction request
+   * @param index - the index of the transaction in the request
+   * @param ingested - the number of transactions committed so far
+   * @throws TransactionIngestionException - when the transaction fails validation
+   */
+  private void validate(final TransactionVO request, final long index, final long ingested)
+      throws TransactionIngestionException {
+    final Set<ConstraintViolation<TransactionVO>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      throw new TransactionIngestionException(
+          "The transaction at index " + index + " failed validation checks",
+          ingested,
+          violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.toList()));
+    }
+  }
+
+  /**
+   * Saves and commits a group of transactions with batched inserts, then adds their ids to the
+   * list and clears the group
+   *
+   * @param group - the group of transactions to save
+   * @param ids - the ids of the transactions saved so far
+   */
+  private void saveGroup(final List<Transaction> group, final List<Long> ids) {
+    transactionService.saveTransactions(group).forEach(transaction -> ids.add(transaction.getId()));
+    group.clear();
+  }
+
+  /**
+   * Gets a page of the transactions by the given account id, ordered by the transaction time and
+   * id. The next page is requested with the {@code nextCursor} of the previous page
+   *
+   * @param accountId - the account id for which to fetch the transactions
+   * @param from - the earliest transaction time, inclusive
+   * @param to - the latest transaction time, exclusive
+   * @param cursor - the {@code nextCursor} of the previous page, absent for the first page
+   * @param limit - the maximum number of transactions in the page, at most {@link #MAX_PAGE_SIZE}
+   * @return a {@link TransactionPageVO} containing the transactions and the cursor of the next
+   *     page, if any
+   * @throws InvalidCursorException - thrown when the cursor cannot be decoded
    */
   @GetMapping
-  public ResponseEntity<List<TransactionVO>> getByAccountId(
-      @RequestParam @Min(1) final Long accountId) {
+  public ResponseEntity<TransactionPageVO> getByAccountId(
+      @RequestParam @Min(1) final Long accountId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final ZonedDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final ZonedDateTime to,
+      @RequestParam(required = false) final String cursor,
+      @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) final int limit)
+      throws InvalidCursorException {
 
     log.info("Received request to get transactions by accountId - {}", accountId);
+    final Slice<Transaction> transactions =
+        transactionService.findTransactionsByAccountId(
+            accountId, from, to, cursor != null ? CursorUtil.decode(cursor) : null, limit);
+
+    return ResponseEntity.ok(toPage(transactions));
+  }
+
+  /**
+   * Searches the transactions by type, time range and amount range, of one account or of all
+   * accounts, one page at a time ordered by the transaction time and id. The search must be
+   * bounded by the account id or the earliest transaction time, so that it reads a range of an
+   * index rather than the whole table
+   *
+   * @param accountId - the account id, absent to search all accounts
+   * @param type - the transaction type, absent for both types
+   * @param from - the earliest transaction time, inclusive
+   * @param to - the latest transaction time, exclusive
+   * @param minAmount - the lowest amount, inclusive
+   * @param maxAmount - the highest amount, inclusive
+   * @param cursor - the {@code nextCursor} of the previous page, absent for the first page
+   * @param limit - the maximum number of transactions in the page, at most {@link #MAX_PAGE_SIZE}
+   * @return a {@link TransactionPageVO} containing the transactions and the cursor of the next
+   *     page, if any
+   * @throws InvalidCursorException - thrown when the cursor cannot be decoded
+   * @throws InvalidSearchException - thrown when neither the account id nor the earliest
+   *     transaction time is given
+   */
+  @GetMapping(path = "/search")
+  public ResponseEntity<TransactionPageVO> search(
+      @RequestParam(required = false) @Min(1) final Long accountId,
+      @RequestParam(required = false) final TransactionType type,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final ZonedDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final ZonedDateTime to,
+      @RequestParam(required = false) @DecimalMin("0") @Digits(integer = 16, fraction = 2)
+          final BigDecimal minAmount,
+      @RequestParam(required = false) @DecimalMin("0") @Digits(integer = 16, fraction = 2)
+          final BigDecimal maxAmount,
+      @RequestParam(required = false) final String cursor,
+      @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) final int limit)
+      throws InvalidCursorException, InvalidSearchException {
+
+    log.info("Received request to search transactions of accountId - {}", accountId);
+    if (accountId == null && from == null) {
+      throw new InvalidSearchException("The search needs an accountId or a from time");
+    }
+
+    final TransactionSearchCriteria criteria =
+        new TransactionSearchCriteria(
+            accountId,
+            type,
+            from,
+            to,
+            minAmount != null ? MoneyUtil.toMinorUnits(minAmount) : null,
+            maxAmount != null ? MoneyUtil.toMinorUnits(maxAmount) : null);
+    final Slice<Transaction> transactions =
+        transactionService.searchTransactions(
+            criteria, cursor != null ? CursorUtil.decode(cursor) : null, limit);
+
+    return ResponseEntity.ok(toPage(transactions));
+  }
+
+  /**
+   * Maps a page of transactions to the response, with the cursor of the next page if there is one
+   *
+   * @param transactions - the page of transactions
+   * @return the {@link TransactionPageVO}
+   */
+  private static TransactionPageVO toPage(final Slice<Transaction> transactions) {
+    final List<Transaction> page = transactions.getContent();
+    final String nextCursor =
+        transactions.hasNext() ? CursorUtil.encode(page.get(page.size() - 1)) : null;
+
+    return new TransactionPageVO(TransactionMapper.transactionVOs(page), nextCursor);
+  }
+
+  /**
+   * Gets the first transactions of each of the given account ids in one request, ordered by the
+   * transaction time and id. The later transactions of an account that has {@code limit} of them
+   * are paged through with {@link #getByAccountId}
+   *
+   * @param accountIds - the account ids for which to fetch the transactions
+   * @param limit - the maximum number of transactions per account, at most {@link #MAX_PAGE_SIZE}
+   * @return a {@link List} of the transactions of all the given accounts
+   */
+  @GetMapping(path = "/batch")
+  public ResponseEntity<List<TransactionVO>> getByAccountIds(
+      @RequestParam @NotEmpty final List<@Min(1) Long> accountIds,
+      @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) final int limit) {
+
+    log.info("Received request to get transactions by accountIds - {}", accountIds);
     final List<Transaction> transactions =
-        transactionService.findAllTransactionsByAccountId(accountId);
+        transactionService.findTransactionsByAccountIds(accountIds, limit);
 
     return ResponseEntity.ok(TransactionMapper.transactionVOs(transactions));
   }
 
+  /**
+   * Exports all the transactions of the given account id, ordered by the transaction time and id.
+   * The transactions are written to the response while they are read from the database, one
+   * transaction per line
+   *
+   * @param accountId - the account id for which to export the transactions
+   * @param format - the format of the export, NDJSON or CSV
+   * @return the {@link StreamingResponseBody} writing the export
+   */
+  @GetMapping(path = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+  public ResponseEntity<StreamingResponseBody> exportByAccountId(
+      @RequestParam @Min(1) final Long accountId,
+      @RequestParam(defaultValue = "NDJSON") final ExportFormat format) {
+
+    log.info("Received request to export transactions by accountId - {} as {}", accountId, format);
+
+    final StreamingResponseBody body =
+        outputStream -> {
+          final long count =
+              format == ExportFormat.CSV
+                  ? writeCsv(accountId, outputStream)
+                  : writeNdjson(accountId, outputStream);
+          log.info("Exported {} transactions of accountId - {}", count, accountId);
+        };
+
+    return ResponseEntity.ok()
+        .contentType(format.getMediaType())
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"transactions-"
+                + accountId
+                + "."
+                + format.getFileExtension()
+                + "\"")
+        .body(body);
+  }
+
+  /**
+   * Writes the transactions of the account as newline delimited JSON. The JSON generator buffers
+   * the output, so the response isn't flushed after every transaction
+   *
+   * @param accountId - the account id
+   * @param outputStream - the response stream
+   * @return the number of written transactions
+   * @throws IOException - when writing to the response fails
+   */
+  private long writeNdjson(final Long accountId, final OutputStream outputStream)
+      throws IOException {
+    final ObjectWriter writer =
+        objectMapper
+            .writerFor(TransactionVO.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    final JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+    generator.setRootValueSeparator(null);
+
+    final long count =
+        transactionService.exportTransactionsByAccountId(
+            accountId,
+            transaction -> {
+              writer.writeValue(generator, TransactionMapper.toTransactionVO(transaction));
+              generator.writeRaw('\n');
+            });
+
+    generator.flush();
+    return count;
+  }
+
+  /**
+   * Writes the transactions of the account as CSV, preceded by a header line
+   *
+   * @param accountId - the account id
+   * @param outputStream - the response stream
+   * @return the number of written transactions
+   * @throws IOException - when writing to the response fails
+   */
+  private long writeCsv(final Long accountId, final OutputStream outputStream) throws IOException {
+    final Writer writer =
+        new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    writer.write(TransactionMapper.CSV_HEADER);
+
+    final long count =
+        transactionService.exportTransactionsByAccountId(
+            accountId, transaction -> writer.write(TransactionMapper.toCsvRow(transaction)));
+
+    writer.flush();
+    return count;
+  }
+
   /**
    * Deletes a transaction by the given id
    *
@@ -86,4 +447,18 @@ public class TransactionController {
     log.info("Deleting a transaction with the id: {}", id);
     transactionService.deleteTransaction(id);
   }
+
+  /**
+   * Deletes all the transactions of the given account id, e.g. when the account is closed. The
+   * transactions are deleted in chunks, each committed on its own
+   *
+   * @param accountId - the account id for which to delete the transactions
+   * @return the number of deleted transactions
+   */
+  @DeleteMapping
+  public ResponseEntity<Long> deleteByAccountId(@RequestParam @Min(1) final Long accountId) {
+
+    log.info("Deleting the transactions of accountId - {}", accountId);
+    return ResponseEntity.ok(transactionService.deleteTransactionsByAccountId(accountId));
+  }
 }
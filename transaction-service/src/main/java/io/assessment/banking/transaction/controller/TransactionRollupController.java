@@ -0,0 +1,84 @@
+package io.assessment.banking.transaction.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.assessment.banking.transaction.constant.RollupGranularity;
+import io.assessment.banking.transaction.controller.mapper.TransactionRollupMapper;
+import io.assessment.banking.transaction.model.vo.TransactionRollupVO;
+import io.assessment.banking.transaction.service.TransactionRollupService;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * REST controller to read the daily and monthly volumes of the transactions
+ *
+ * @author Nikhil Vibhav
+ */
+@RestController
+@RequestMapping(
+    path = "/api/bank/v1/transaction/rollup",
+    produces = MediaType.APPLICATION_JSON_VALUE)
+@Validated
+@Log4j2
+public class TransactionRollupController {
+
+  private final TransactionRollupService rollupService;
+
+  @Autowired
+  public TransactionRollupController(final TransactionRollupService rollupService) {
+    this.rollupService = rollupService;
+  }
+
+  /**
+   * Gets the credit and debit volumes per day or per month of an account, or of all accounts. The
+   * volumes are read from the rollup tables, which trail the transactions by the rollup lag
+   *
+   * @param granularity - DAY or MONTH
+   * @param from - the first day, inclusive
+   * @param to - the last day, inclusive
+   * @param accountId - the account id, absent for the volumes of all accounts
+   * @return the {@link TransactionRollupVO} of every day or month with transactions, in order
+   */
+  @GetMapping
+  public ResponseEntity<List<TransactionRollupVO>> getRollups(
+      @RequestParam final RollupGranularity granularity,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate to,
+      @RequestParam(required = false) @Min(1) final Long accountId) {
+
+    log.info(
+        "Received request to get the {} rollups from {} to {} of accountId - {}",
+        granularity,
+        from,
+        to,
+        accountId);
+    return ResponseEntity.ok(
+        TransactionRollupMapper.transactionRollupVOs(
+            rollupService.getRollups(granularity, accountId, from, to)));
+  }
+
+  /**
+   * Recomputes the rollups of all transactions made until the rollup lag ago
+   *
+   * @return the number of rolled up transactions
+   */
+  @PostMapping(path = "/backfill")
+  public ResponseEntity<Long> backfill() {
+
+    log.info("Received request to backfill the rollups");
+    return ResponseEntity.ok(rollupService.backfill());
+  }
+}
@@ -0,0 +1,27 @@
+package io.assessment.banking.transaction.controller.mapper;
+
+import io.assessment.banking.transaction.model.entity.AccountSummary;
+import io.assessment.banking.transaction.model.vo.AccountSummaryVO;
+import io.assessment.banking.transaction.util.MoneyUtil;
+
+/**
+ * Maps object of {@link AccountSummary} to {@link AccountSummaryVO}
+ *
+ * @author Nikhil Vibhav
+ */
+public class AccountSummaryMapper {
+
+  public static AccountSummaryVO toAccountSummaryVO(final AccountSummary accountSummary) {
+    final AccountSummaryVO accountSummaryVO = new AccountSummaryVO();
+    accountSummaryVO.setAccountId(accountSummary.getAccountId());
+    accountSummaryVO.setCreditTotal(MoneyUtil.toMajorUnits(accountSummary.getCreditTotal()));
+    accountSummaryVO.setDebitTotal(MoneyUtil.toMajorUnits(accountSummary.getDebitTotal()));
+    accountSummaryVO.setBalance(
+        MoneyUtil.toMajorUnits(accountSummary.getCreditTotal() - accountSummary.getDebitTotal()));
+    accountSummaryVO.setTransactionCount(accountSummary.getTransactionCount());
+    accountSummaryVO.setFirstTransacted(accountSummary.getFirstTransacted());
+    accountSummaryVO.setLastTransacted(accountSummary.getLastTransacted());
+
+    return accountSummaryVO;
+  }
+}
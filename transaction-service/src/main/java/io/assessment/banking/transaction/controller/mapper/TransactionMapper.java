@@ -1,10 +1,12 @@
 package io.assessment.banking.transaction.controller.mapper;
 
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import io.assessment.banking.transaction.model.vo.TransactionVO;
 import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.util.MoneyUtil;
 
 /**
  * Maps object of {@link TransactionVO} to {@link Transaction} and vice-versa
@@ -13,11 +15,15 @@ import io.assessment.banking.transaction.model.entity.Transaction;
  */
 public class TransactionMapper {
 
+  /** The header line of a CSV export, naming the columns written by {@link #toCsvRow} */
+  public static final String CSV_HEADER = "id,accountId,amount,type,dateTransacted\n";
+
   public static Transaction toTransaction(final TransactionVO transactionVO) {
     final Transaction transaction = new Transaction();
     transaction.setAccountId(transactionVO.getAccountId());
-    transaction.setAmount(transactionVO.getAmount());
+    transaction.setAmount(MoneyUtil.toMinorUnits(transactionVO.getAmount()));
     transaction.setType(transactionVO.getType());
+    transaction.setIdempotencyKey(transactionVO.getIdempotencyKey());
 
     return transaction;
   }
@@ -26,13 +32,26 @@ public class TransactionMapper {
     final TransactionVO transactionVO = new TransactionVO();
     transactionVO.setId(transaction.getId());
     transactionVO.setAccountId(transaction.getAccountId());
-    transactionVO.setAmount(transaction.getAmount());
+    transactionVO.setAmount(MoneyUtil.toMajorUnits(transaction.getAmount()));
     transactionVO.setType(transaction.getType());
     transactionVO.setDateTransacted(transaction.getDateTransacted());
 
     return transactionVO;
   }
 
+  public static String toCsvRow(final Transaction transaction) {
+    return transaction.getId()
+        + ","
+        + transaction.getAccountId()
+        + ","
+        + MoneyUtil.toMajorUnits(transaction.getAmount()).toPlainString()
+        + ","
+        + transaction.getType()
+        + ","
+        + DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(transaction.getDateTransacted())
+        + "\n";
+  }
+
   public static List<TransactionVO> transactionVOs(final List<Transaction> transactions) {
     return transactions.stream()
         .map(TransactionMapper::toTransactionVO)
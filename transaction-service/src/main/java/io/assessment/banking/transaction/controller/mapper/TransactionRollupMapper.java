@@ -0,0 +1,39 @@
+package io.assessment.banking.transaction.controller.mapper;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.assessment.banking.transaction.model.entity.TransactionRollup;
+import io.assessment.banking.transaction.model.entity.TransactionRollupId;
+import io.assessment.banking.transaction.model.vo.TransactionRollupVO;
+import io.assessment.banking.transaction.util.MoneyUtil;
+
+/**
+ * Maps object of {@link TransactionRollup} to {@link TransactionRollupVO}
+ *
+ * @author Nikhil Vibhav
+ */
+public class TransactionRollupMapper {
+
+  public static TransactionRollupVO toTransactionRollupVO(final TransactionRollup rollup) {
+    final TransactionRollupVO rollupVO = new TransactionRollupVO();
+    rollupVO.setGranularity(rollup.getId().getGranularity());
+    rollupVO.setBucket(rollup.getId().getBucket());
+    if (!TransactionRollupId.ALL_ACCOUNTS.equals(rollup.getId().getAccountId())) {
+      rollupVO.setAccountId(rollup.getId().getAccountId());
+    }
+    rollupVO.setCreditTotal(MoneyUtil.toMajorUnits(rollup.getCreditTotal()));
+    rollupVO.setDebitTotal(MoneyUtil.toMajorUnits(rollup.getDebitTotal()));
+    rollupVO.setCreditCount(rollup.getCreditCount());
+    rollupVO.setDebitCount(rollup.getDebitCount());
+
+    return rollupVO;
+  }
+
+  public static List<TransactionRollupVO> transactionRollupVOs(
+      final List<TransactionRollup> rollups) {
+    return rollups.stream()
+        .map(TransactionRollupMapper::toTransactionRollupVO)
+        .collect(Collectors.toList());
+  }
+}
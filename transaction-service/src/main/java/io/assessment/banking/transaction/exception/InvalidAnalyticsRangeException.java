@@ -0,0 +1,18 @@
+package io.assessment.banking.transaction.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when the time range of an hourly histogram is empty or too long
+ *
+ * @author Nikhil Vibhav
+ */
+@ResponseStatus(
+    code = HttpStatus.BAD_REQUEST,
+    reason = "The histogram needs a from time before the to time, at most 366 days apart")
+public class InvalidAnalyticsRangeException extends Exception {
+  public InvalidAnalyticsRangeException(final String message) {
+    super(message);
+  }
+}
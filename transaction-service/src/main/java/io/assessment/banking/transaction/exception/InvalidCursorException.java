@@ -0,0 +1,16 @@
+package io.assessment.banking.transaction.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when the cursor of a paginated request cannot be decoded
+ *
+ * @author Nikhil Vibhav
+ */
+@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "The given cursor is invalid")
+public class InvalidCursorException extends Exception {
+  public InvalidCursorException(final String message) {
+    super(message);
+  }
+}
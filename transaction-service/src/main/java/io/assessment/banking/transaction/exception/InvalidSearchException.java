@@ -0,0 +1,19 @@
+package io.assessment.banking.transaction.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a transaction search has neither an account id nor a lower time bound,
+ * and would have to read the whole table
+ *
+ * @author Nikhil Vibhav
+ */
+@ResponseStatus(
+    code = HttpStatus.BAD_REQUEST,
+    reason = "A search needs an accountId or a from time")
+public class InvalidSearchException extends Exception {
+  public InvalidSearchException(final String message) {
+    super(message);
+  }
+}
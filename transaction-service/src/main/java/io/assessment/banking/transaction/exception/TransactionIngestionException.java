@@ -0,0 +1,32 @@
+package io.assessment.banking.transaction.exception;
+
+import java.util.List;
+
+/**
+ * Exception thrown when a transaction of a batch ingestion cannot be read or fails validation. The
+ * groups of transactions before it have already been committed
+ *
+ * @author Nikhil Vibhav
+ */
+public class TransactionIngestionException extends Exception {
+
+  private final long ingested;
+  private final List<String> errors;
+
+  public TransactionIngestionException(
+      final String message, final long ingested, final List<String> errors) {
+    super(message);
+    this.ingested = ingested;
+    this.errors = errors;
+  }
+
+  /** @return the number of transactions committed before the failure */
+  public long getIngested() {
+    return ingested;
+  }
+
+  /** @return the reasons the transaction was rejected */
+  public List<String> getErrors() {
+    return errors;
+  }
+}
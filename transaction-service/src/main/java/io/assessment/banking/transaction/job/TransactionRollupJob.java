@@ -0,0 +1,44 @@
+package io.assessment.banking.transaction.job;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.assessment.banking.transaction.service.TransactionRollupService;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Background job that adds the new transactions to the daily and monthly rollups. It runs on the
+ * single scheduler thread, so runs never overlap, and instances of the service running it at the
+ * same time take turns on the lock of the watermark
+ *
+ * @author Nikhil Vibhav
+ */
+@Component
+@Log4j2
+public class TransactionRollupJob {
+
+  private final TransactionRollupService rollupService;
+
+  @Autowired
+  public TransactionRollupJob(final TransactionRollupService rollupService) {
+    this.rollupService = rollupService;
+  }
+
+  /** Rolls up the new transactions chunk by chunk until there are none left */
+  @Scheduled(
+      initialDelayString = "${transaction.rollup.interval-millis:10000}",
+      fixedDelayString = "${transaction.rollup.interval-millis:10000}")
+  public void rollUp() {
+    long rolledUp = 0;
+    int chunk;
+    do {
+      chunk = rollupService.rollUpNewTransactions();
+      rolledUp += chunk;
+    } while (chunk > 0);
+
+    if (rolledUp > 0) {
+      log.debug("Rolled up {} new transactions", rolledUp);
+    }
+  }
+}
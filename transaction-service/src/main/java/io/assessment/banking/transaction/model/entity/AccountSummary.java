@@ -0,0 +1,63 @@
+package io.assessment.banking.transaction.model.entity;
+
+import java.time.ZonedDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Version;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Models the running totals of the transactions of an account, kept up to date as transactions are
+ * saved and deleted
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+@Entity(name = "account_summary")
+public class AccountSummary {
+
+  @Id private Long accountId;
+
+  /** The sum of the credited amounts in minor units */
+  @Column(nullable = false)
+  private long creditTotal;
+
+  /** The sum of the debited amounts in minor units */
+  @Column(nullable = false)
+  private long debitTotal;
+
+  @Column(nullable = false)
+  private long transactionCount;
+
+  private ZonedDateTime firstTransacted;
+
+  private ZonedDateTime lastTransacted;
+
+  /** Null until the summary is first saved, which marks a new summary for Spring Data */
+  @Version private Long version;
+
+  public AccountSummary(final Long accountId) {
+    this.accountId = accountId;
+  }
+
+  /** Used by the aggregate query that rebuilds the summaries from the transactions */
+  public AccountSummary(
+      final Long accountId,
+      final Long creditTotal,
+      final Long debitTotal,
+      final Long transactionCount,
+      final ZonedDateTime firstTransacted,
+      final ZonedDateTime lastTransacted) {
+    this.accountId = accountId;
+    this.creditTotal = creditTotal;
+    this.debitTotal = debitTotal;
+    this.transactionCount = transactionCount;
+    this.firstTransacted = firstTransacted;
+    this.lastTransacted = lastTransacted;
+  }
+}
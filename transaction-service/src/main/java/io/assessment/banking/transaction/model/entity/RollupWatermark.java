@@ -0,0 +1,32 @@
+package io.assessment.banking.transaction.model.entity;
+
+import java.time.ZonedDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Models the position, in the order of {@code dateTransacted, id}, of the last transaction added to
+ * the rollups. There is a single watermark row
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "rollup_watermark")
+public class RollupWatermark {
+
+  @Id private Long id;
+
+  @Column(nullable = false)
+  private ZonedDateTime lastDateTransacted;
+
+  @Column(nullable = false)
+  private Long lastId;
+}
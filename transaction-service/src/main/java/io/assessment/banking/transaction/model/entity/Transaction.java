@@ -16,14 +16,32 @@ import lombok.Data;
  */
 @Data
 @Entity(name = "transaction")
+@Table(
+    indexes = {
+      @Index(
+          name = "idx_transaction_account_date_id",
+          columnList = "accountId, dateTransacted, id"),
+      @Index(name = "idx_transaction_date_id", columnList = "dateTransacted, id"),
+      @Index(
+          name = "uk_transaction_idempotency_key",
+          columnList = "idempotencyKey",
+          unique = true)
+    })
 public class Transaction {
 
+  public static final int IDEMPOTENCY_KEY_MAX_LENGTH = 64;
+
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+  @SequenceGenerator(
+      name = "transaction_seq",
+      sequenceName = "transaction_seq",
+      allocationSize = 50)
   private Long id;
 
+  /** The amount in minor units */
   @Column(nullable = false)
-  private Double amount;
+  private long amount;
 
   @Enumerated
   @Column(nullable = false)
@@ -34,5 +52,9 @@ public class Transaction {
 
   @Column(nullable = false)
   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
-  private final ZonedDateTime dateTransacted = ZonedDateTime.now();
+  private ZonedDateTime dateTransacted = ZonedDateTime.now();
+
+  /** The key given by the client to save the transaction only once, if any */
+  @Column(length = IDEMPOTENCY_KEY_MAX_LENGTH)
+  private String idempotencyKey;
 }
@@ -0,0 +1,43 @@
+package io.assessment.banking.transaction.model.entity;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Version;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Models the credit and debit volumes of an account, or of all accounts, in a day or a month
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+@Entity(name = "transaction_rollup")
+public class TransactionRollup {
+
+  @EmbeddedId private TransactionRollupId id;
+
+  /** The sum of the credited amounts in minor units */
+  @Column(nullable = false)
+  private long creditTotal;
+
+  /** The sum of the debited amounts in minor units */
+  @Column(nullable = false)
+  private long debitTotal;
+
+  @Column(nullable = false)
+  private long creditCount;
+
+  @Column(nullable = false)
+  private long debitCount;
+
+  /** Null until the rollup is first saved, which marks a new rollup for Spring Data */
+  @Version private Long version;
+
+  public TransactionRollup(final TransactionRollupId id) {
+    this.id = id;
+  }
+}
@@ -0,0 +1,41 @@
+package io.assessment.banking.transaction.model.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.Enumerated;
+
+import io.assessment.banking.transaction.constant.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Models the key of a {@link TransactionRollup}: the granularity, the first day of the bucket and
+ * the account
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class TransactionRollupId implements Serializable {
+
+  /** The account id of the rollups that add up the transactions of all accounts */
+  public static final Long ALL_ACCOUNTS = 0L;
+
+  private static final long serialVersionUID = 1L;
+
+  @Enumerated
+  @Column(nullable = false)
+  private RollupGranularity granularity;
+
+  @Column(nullable = false)
+  private LocalDate bucket;
+
+  @Column(nullable = false)
+  private Long accountId;
+}
@@ -0,0 +1,19 @@
+package io.assessment.banking.transaction.model.event;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published when transactions are deleted, so anything mirroring the transactions can remove
+ * them once the delete commits
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@AllArgsConstructor
+public class TransactionsDeletedEvent {
+
+  private final List<Long> ids;
+}
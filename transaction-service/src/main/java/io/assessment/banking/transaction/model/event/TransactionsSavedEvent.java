@@ -0,0 +1,20 @@
+package io.assessment.banking.transaction.model.event;
+
+import java.util.List;
+
+import io.assessment.banking.transaction.model.entity.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published when transactions are saved, so anything mirroring the transactions can add them
+ * once the save commits
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@AllArgsConstructor
+public class TransactionsSavedEvent {
+
+  private final List<Transaction> transactions;
+}
@@ -0,0 +1,37 @@
+package io.assessment.banking.transaction.model.vo;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Models the totals of the transactions of an account
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AccountSummaryVO {
+
+  private Long accountId;
+
+  private BigDecimal creditTotal;
+
+  private BigDecimal debitTotal;
+
+  /** The credit total minus the debit total */
+  private BigDecimal balance;
+
+  private long transactionCount;
+
+  /** The time of the first transaction, absent if the account has no transactions */
+  private ZonedDateTime firstTransacted;
+
+  /** The time of the last transaction, absent if the account has no transactions */
+  private ZonedDateTime lastTransacted;
+}
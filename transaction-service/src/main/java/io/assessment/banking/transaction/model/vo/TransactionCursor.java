@@ -0,0 +1,20 @@
+package io.assessment.banking.transaction.model.vo;
+
+import java.time.ZonedDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Models the position of the last transaction of a page, the next page starts after it in the
+ * order of {@code dateTransacted, id}
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@AllArgsConstructor
+public class TransactionCursor {
+
+  private final ZonedDateTime dateTransacted;
+  private final Long id;
+}
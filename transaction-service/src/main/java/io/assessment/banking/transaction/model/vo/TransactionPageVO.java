@@ -0,0 +1,26 @@
+package io.assessment.banking.transaction.model.vo;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Models a page of the transactions of an account
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionPageVO {
+
+  private List<TransactionVO> transactions;
+
+  /** The cursor to request the next page with, absent on the last page */
+  private String nextCursor;
+}
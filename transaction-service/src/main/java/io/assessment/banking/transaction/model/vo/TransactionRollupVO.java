@@ -0,0 +1,37 @@
+package io.assessment.banking.transaction.model.vo;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.assessment.banking.transaction.constant.RollupGranularity;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Models the credit and debit volumes of a day or a month
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionRollupVO {
+
+  private RollupGranularity granularity;
+
+  /** The first day of the day or month, in UTC */
+  private LocalDate bucket;
+
+  /** The account id, absent for the volumes of all accounts */
+  private Long accountId;
+
+  private BigDecimal creditTotal;
+
+  private BigDecimal debitTotal;
+
+  private long creditCount;
+
+  private long debitCount;
+}
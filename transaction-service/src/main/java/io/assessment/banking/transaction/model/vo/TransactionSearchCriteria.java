@@ -0,0 +1,32 @@
+package io.assessment.banking.transaction.model.vo;
+
+import java.time.ZonedDateTime;
+
+import io.assessment.banking.transaction.constant.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Models the predicates of a transaction search, a null predicate matches every transaction
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@AllArgsConstructor
+public class TransactionSearchCriteria {
+
+  private final Long accountId;
+  private final TransactionType type;
+
+  /** The earliest transaction time, inclusive */
+  private final ZonedDateTime from;
+
+  /** The latest transaction time, exclusive */
+  private final ZonedDateTime to;
+
+  /** The lowest amount in minor units, inclusive */
+  private final Long minAmount;
+
+  /** The highest amount in minor units, inclusive */
+  private final Long maxAmount;
+}
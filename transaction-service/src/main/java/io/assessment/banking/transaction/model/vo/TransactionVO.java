@@ -1,13 +1,18 @@
 package io.assessment.banking.transaction.model.vo;
 
+import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 
 import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Digits;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.model.entity.Transaction;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -27,7 +32,8 @@ public class TransactionVO {
 
   @NotNull(message = "amount cannot be null")
   @DecimalMin(value = "0", message = "amount cannot be negative")
-  private Double amount;
+  @Digits(integer = 16, fraction = 2, message = "amount can have at most 2 decimal places")
+  private BigDecimal amount;
 
   @NotNull(message = "type cannot be null - it should either be CREDIT or DEBIT")
   private TransactionType type;
@@ -37,4 +43,12 @@ public class TransactionVO {
 
   @Schema(accessMode = Schema.AccessMode.READ_ONLY)
   private ZonedDateTime dateTransacted;
+
+  /** Saving a transaction again with the same key returns the transaction saved the first time */
+  @Size(
+      max = Transaction.IDEMPOTENCY_KEY_MAX_LENGTH,
+      message = "idempotencyKey can have at most 64 characters")
+  @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+  @Schema(accessMode = Schema.AccessMode.WRITE_ONLY)
+  private String idempotencyKey;
 }
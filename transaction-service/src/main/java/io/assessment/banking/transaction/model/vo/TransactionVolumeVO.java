@@ -0,0 +1,34 @@
+package io.assessment.banking.transaction.model.vo;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.assessment.banking.transaction.constant.TransactionType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Models the number and the total amount of a group of transactions
+ *
+ * @author Nikhil Vibhav
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionVolumeVO {
+
+  /** The transaction type, absent when the group holds both types */
+  private TransactionType type;
+
+  /** The account id, absent when the group isn't an account */
+  private Long accountId;
+
+  /** The start of the hour, in UTC, absent when the group isn't an hour */
+  private ZonedDateTime hour;
+
+  private long count;
+
+  private BigDecimal total;
+}
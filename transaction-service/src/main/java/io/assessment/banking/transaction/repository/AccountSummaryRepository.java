@@ -0,0 +1,80 @@
+package io.assessment.banking.transaction.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.model.entity.AccountSummary;
+
+/**
+ * JPA Repository for interacting with {@link AccountSummary} table in the db
+ *
+ * @author Nikhil Vibhav
+ */
+public interface AccountSummaryRepository extends CrudRepository<AccountSummary, Long> {
+
+  /**
+   * Finds the summary of the account and locks its row until the end of the transaction, so that
+   * concurrent transactions of the account update it one after the other
+   *
+   * @param accountId - the account id
+   * @return the locked {@link AccountSummary}, if it exists
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT s FROM account_summary s WHERE s.accountId = :accountId")
+  Optional<AccountSummary> findByIdForUpdate(@Param("accountId") final Long accountId);
+
+  /**
+   * Computes the summaries of the accounts of one partition from their transactions. An account
+   * belongs to partition {@code accountId % partitions}
+   *
+   * @param credit - the {@link TransactionType#CREDIT} type
+   * @param partitions - the number of partitions
+   * @param partition - the partition to compute
+   * @return the unsaved {@link AccountSummary} of every account of the partition with transactions
+   */
+  @Query(
+      "SELECT new io.assessment.banking.transaction.model.entity.AccountSummary(t.accountId,"
+          + " SUM(CASE WHEN t.type = :credit THEN t.amount ELSE 0L END),"
+          + " SUM(CASE WHEN t.type = :credit THEN 0L ELSE t.amount END),"
+          + " COUNT(t), MIN(t.dateTransacted), MAX(t.dateTransacted))"
+          + " FROM transaction t WHERE MOD(t.accountId, :partitions) = :partition"
+          + " GROUP BY t.accountId")
+  List<AccountSummary> aggregatePartition(
+      @Param("credit") final TransactionType credit,
+      @Param("partitions") final long partitions,
+      @Param("partition") final long partition);
+
+  /**
+   * Computes the summaries of the given accounts from their transactions, reading the {@code
+   * (accountId, dateTransacted, id)} index range of each account
+   *
+   * @param credit - the {@link TransactionType#CREDIT} type
+   * @param accountIds - the account ids
+   * @return the unsaved {@link AccountSummary} of every given account with transactions
+   */
+  @Query(
+      "SELECT new io.assessment.banking.transaction.model.entity.AccountSummary(t.accountId,"
+          + " SUM(CASE WHEN t.type = :credit THEN t.amount ELSE 0L END),"
+          + " SUM(CASE WHEN t.type = :credit THEN 0L ELSE t.amount END),"
+          + " COUNT(t), MIN(t.dateTransacted), MAX(t.dateTransacted))"
+          + " FROM transaction t WHERE t.accountId IN :accountIds"
+          + " GROUP BY t.accountId")
+  List<AccountSummary> aggregateAccounts(
+      @Param("credit") final TransactionType credit,
+      @Param("accountIds") final Collection<Long> accountIds);
+
+  @Modifying
+  @Query("DELETE FROM account_summary s WHERE MOD(s.accountId, :partitions) = :partition")
+  int deletePartition(
+      @Param("partitions") final long partitions, @Param("partition") final long partition);
+}
@@ -0,0 +1,31 @@
+package io.assessment.banking.transaction.repository;
+
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import io.assessment.banking.transaction.model.entity.RollupWatermark;
+
+/**
+ * JPA Repository for interacting with {@link RollupWatermark} table in the db
+ *
+ * @author Nikhil Vibhav
+ */
+public interface RollupWatermarkRepository extends CrudRepository<RollupWatermark, Long> {
+
+  /**
+   * Finds the watermark and locks its row until the end of the transaction, so that the rollups
+   * are updated by one transaction at a time
+   *
+   * @param id - the watermark id
+   * @return the locked {@link RollupWatermark}, if it exists
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT w FROM rollup_watermark w WHERE w.id = :id")
+  Optional<RollupWatermark> findByIdForUpdate(@Param("id") final Long id);
+}
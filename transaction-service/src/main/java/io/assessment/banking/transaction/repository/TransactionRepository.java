@@ -1,17 +1,214 @@
 package io.assessment.banking.transaction.repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import io.assessment.banking.transaction.model.entity.Transaction;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 /**
- * JPA Repository for interacting with {@link Transaction} table in the db
+ * JPA Repository for interacting with {@link Transaction} table in the db. The fetch size hints of
+ * the streaming queries need {@code useCursorFetch=true} on MySQL, which the connection pool passes
+ * to the driver, as Connector/J otherwise reads the whole result set into memory. H2 ignores it
  *
  * @author Nikhil Vibhav
  */
-public interface TransactionRepository extends CrudRepository<Transaction, Long> {
+public interface TransactionRepository
+    extends CrudRepository<Transaction, Long>, TransactionSearchRepository {
+
+  /**
+   * Streams all the transactions of the account ordered by {@code dateTransacted, id}. The rows are
+   * fetched from the database {@code 500} at a time and the entities are loaded read-only. The
+   * stream must be consumed and closed within a transaction
+   *
+   * @param accountId - the account id
+   * @return a {@link Stream} of the transactions
+   */
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HINT_READONLY, value = "true")
+  })
+  @Query(
+      "SELECT t FROM transaction t WHERE t.accountId = :accountId"
+          + " ORDER BY t.dateTransacted, t.id")
+  Stream<Transaction> streamAllByAccountId(@Param("accountId") final Long accountId);
+
+  /**
+   * Finds the transaction by id as a read-only entity, which Hibernate neither snapshots nor
+   * checks for changes
+   *
+   * @param id - the transaction id
+   * @return the {@link Transaction}, if it exists
+   */
+  @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+  @Query("SELECT t FROM transaction t WHERE t.id = :id")
+  Optional<Transaction> findReadOnlyById(@Param("id") final Long id);
+
+  /**
+   * Finds the first transactions of the account in the order of {@code dateTransacted, id}, with a
+   * range scan of the {@code (accountId, dateTransacted, id)} index, and locks their rows until
+   * the end of the transaction
+   *
+   * @param accountId - the account id
+   * @param pageable - the maximum number of transactions, the page number must be 0
+   * @return the locked transactions ordered by {@code dateTransacted, id}
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+      "SELECT t FROM transaction t WHERE t.accountId = :accountId"
+          + " ORDER BY t.dateTransacted, t.id")
+  List<Transaction> findFirstByAccountIdForUpdate(
+      @Param("accountId") final Long accountId, final Pageable pageable);
+
+  /**
+   * Deletes the transaction with one statement, without loading it into the persistence context
+   *
+   * @param id - the transaction id
+   * @return the number of deleted rows, 0 when the transaction doesn't exist
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("DELETE FROM transaction t WHERE t.id = :id")
+  int deleteDirectlyById(@Param("id") final Long id);
+
+  /**
+   * Deletes the transactions with one statement, without loading them into the persistence
+   * context
+   *
+   * @param ids - the transaction ids
+   * @return the number of deleted rows
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("DELETE FROM transaction t WHERE t.id IN :ids")
+  int deleteDirectlyByIdIn(@Param("ids") final Collection<Long> ids);
+
+  Optional<Transaction> findByIdempotencyKey(final String idempotencyKey);
+
+  List<Transaction> findAllByIdempotencyKeyIn(final Collection<String> idempotencyKeys);
+
+  /**
+   * Finds the transactions made before {@code before} that come after the given position in the
+   * order of {@code dateTransacted, id}, with a range scan of the {@code (dateTransacted, id)}
+   * index
+   *
+   * @param afterDate - the transaction time of the last transaction already read
+   * @param afterId - the id of the last transaction already read
+   * @param before - the latest transaction time, exclusive
+   * @param pageable - the maximum number of transactions, the page number must be 0
+   * @return the transactions ordered by {@code dateTransacted, id}
+   */
+  @Query(
+      "SELECT t FROM transaction t WHERE t.dateTransacted < :before"
+          + " AND (t.dateTransacted > :afterDate"
+          + " OR (t.dateTransacted = :afterDate AND t.id > :afterId))"
+          + " ORDER BY t.dateTransacted, t.id")
+  List<Transaction> findAllAfter(
+      @Param("afterDate") final ZonedDateTime afterDate,
+      @Param("afterId") final Long afterId,
+      @Param("before") final ZonedDateTime before,
+      final Pageable pageable);
+
+  /**
+   * Streams the transactions with an id in {@code [fromId, toId)} made before {@code before}. The
+   * rows are fetched from the database {@code 500} at a time and the entities are loaded
+   * read-only. The stream must be consumed and closed within a transaction
+   *
+   * @param fromId - the lowest id, inclusive
+   * @param toId - the highest id, exclusive
+   * @param before - the latest transaction time, exclusive
+   * @return a {@link Stream} of the transactions
+   */
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HINT_READONLY, value = "true")
+  })
+  @Query(
+      "SELECT t FROM transaction t WHERE t.id >= :fromId AND t.id < :toId"
+          + " AND t.dateTransacted < :before")
+  Stream<Transaction> streamAllByIdRange(
+      @Param("fromId") final Long fromId,
+      @Param("toId") final Long toId,
+      @Param("before") final ZonedDateTime before);
+
+  @Query("SELECT MIN(t.id) FROM transaction t")
+  Optional<Long> findMinId();
+
+  @Query("SELECT MAX(t.id) FROM transaction t")
+  Optional<Long> findMaxId();
+
+  /**
+   * Streams the id, account id, amount, type and transaction time of all the transactions ordered
+   * by id, without loading them as entities. The rows are fetched from the database {@code 1000}
+   * at a time. The stream must be consumed and closed within a transaction
+   *
+   * @return a {@link Stream} of {@code Object[]} rows
+   */
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  @Query(
+      "SELECT t.id, t.accountId, t.amount, t.type, t.dateTransacted FROM transaction t"
+          + " ORDER BY t.id")
+  Stream<Object[]> streamAllColumns();
+
+  /**
+   * Finds the transactions of the account made in {@code [from, to)} that come after the given
+   * position in the order of {@code dateTransacted, id}. The query is a range scan of the {@code
+   * (accountId, dateTransacted, id)} index, however deep the page is
+   *
+   * @param accountId - the account id
+   * @param from - the earliest transaction time, inclusive
+   * @param to - the latest transaction time, exclusive
+   * @param afterDate - the transaction time of the last transaction of the previous page
+   * @param afterId - the id of the last transaction of the previous page
+   * @param pageable - the page size, the page number must be 0
+   * @return a {@link Slice} of the transactions, which knows whether there are more
+   */
+  @Query(
+      "SELECT t FROM transaction t WHERE t.accountId = :accountId"
+          + " AND t.dateTransacted >= :from AND t.dateTransacted < :to"
+          + " AND (t.dateTransacted > :afterDate"
+          + " OR (t.dateTransacted = :afterDate AND t.id > :afterId))"
+          + " ORDER BY t.dateTransacted, t.id")
+  Slice<Transaction> findPageByAccountId(
+      @Param("accountId") final Long accountId,
+      @Param("from") final ZonedDateTime from,
+      @Param("to") final ZonedDateTime to,
+      @Param("afterDate") final ZonedDateTime afterDate,
+      @Param("afterId") final Long afterId,
+      final Pageable pageable);
+
+  /**
+   * Finds the time of the first transaction of the account, read from the {@code (accountId,
+   * dateTransacted, id)} index
+   *
+   * @param accountId - the account id
+   * @return the earliest transaction time, empty if the account has no transactions
+   */
+  @Query("SELECT MIN(t.dateTransacted) FROM transaction t WHERE t.accountId = :accountId")
+  Optional<ZonedDateTime> findFirstDateTransacted(@Param("accountId") final Long accountId);
 
-  List<Transaction> findAllByAccountId(final Long accountId);
+  /**
+   * Finds the time of the last transaction of the account, read from the {@code (accountId,
+   * dateTransacted, id)} index
+   *
+   * @param accountId - the account id
+   * @return the latest transaction time, empty if the account has no transactions
+   */
+  @Query("SELECT MAX(t.dateTransacted) FROM transaction t WHERE t.accountId = :accountId")
+  Optional<ZonedDateTime> findLastDateTransacted(@Param("accountId") final Long accountId);
 }
@@ -0,0 +1,64 @@
+package io.assessment.banking.transaction.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import io.assessment.banking.transaction.constant.RollupGranularity;
+import io.assessment.banking.transaction.model.entity.TransactionRollup;
+import io.assessment.banking.transaction.model.entity.TransactionRollupId;
+
+/**
+ * JPA Repository for interacting with {@link TransactionRollup} table in the db
+ *
+ * @author Nikhil Vibhav
+ */
+public interface TransactionRollupRepository
+    extends CrudRepository<TransactionRollup, TransactionRollupId> {
+
+  /**
+   * Finds the rollups of the account with the given granularity whose bucket starts in {@code
+   * [from, to]}
+   *
+   * @param granularity - the granularity of the rollups
+   * @param accountId - the account id, or {@link TransactionRollupId#ALL_ACCOUNTS}
+   * @param from - the first bucket, inclusive
+   * @param to - the last bucket, inclusive
+   * @return the rollups ordered by bucket, buckets without transactions are absent
+   */
+  @Query(
+      "SELECT r FROM transaction_rollup r WHERE r.id.granularity = :granularity"
+          + " AND r.id.accountId = :accountId AND r.id.bucket BETWEEN :from AND :to"
+          + " ORDER BY r.id.bucket")
+  List<TransactionRollup> findRange(
+      @Param("granularity") final RollupGranularity granularity,
+      @Param("accountId") final Long accountId,
+      @Param("from") final LocalDate from,
+      @Param("to") final LocalDate to);
+
+  /**
+   * Finds the rollups with the given granularity of any of the buckets and any of the accounts, so
+   * that the rollups touched by a set of transactions are loaded with one query per granularity
+   *
+   * @param granularity - the granularity of the rollups
+   * @param buckets - the buckets
+   * @param accountIds - the account ids
+   * @return the existing rollups among the combinations of buckets and accounts
+   */
+  @Query(
+      "SELECT r FROM transaction_rollup r WHERE r.id.granularity = :granularity"
+          + " AND r.id.bucket IN :buckets AND r.id.accountId IN :accountIds")
+  List<TransactionRollup> findAllByKeys(
+      @Param("granularity") final RollupGranularity granularity,
+      @Param("buckets") final Collection<LocalDate> buckets,
+      @Param("accountIds") final Collection<Long> accountIds);
+
+  @Modifying
+  @Query("DELETE FROM transaction_rollup r")
+  int deleteAllRollups();
+}
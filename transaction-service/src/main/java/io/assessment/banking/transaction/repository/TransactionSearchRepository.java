@@ -0,0 +1,19 @@
+package io.assessment.banking.transaction.repository;
+
+import org.springframework.data.domain.Slice;
+
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.vo.TransactionCursor;
+import io.assessment.banking.transaction.model.vo.TransactionSearchCriteria;
+
+/**
+ * Repository fragment for searching the {@link Transaction} table with any combination of
+ * predicates
+ *
+ * @author Nikhil Vibhav
+ */
+public interface TransactionSearchRepository {
+
+  Slice<Transaction> search(
+      final TransactionSearchCriteria criteria, final TransactionCursor after, final int limit);
+}
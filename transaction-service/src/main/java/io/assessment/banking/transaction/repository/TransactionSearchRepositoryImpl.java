@@ -0,0 +1,99 @@
+package io.assessment.banking.transaction.repository;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.vo.TransactionCursor;
+import io.assessment.banking.transaction.model.vo.TransactionSearchCriteria;
+
+/**
+ * Implementation of the {@link TransactionSearchRepository} fragment with the Criteria API. Only
+ * the given predicates are added to the query, so that the database sees the account and time
+ * bounds as plain index range conditions. A search by account is a range scan of the {@code
+ * (accountId, dateTransacted, id)} index and a search of all accounts in a time range is a range
+ * scan of the {@code (dateTransacted, id)} index, the type and amount predicates are checked on
+ * the rows of the range
+ *
+ * @author Nikhil Vibhav
+ */
+public class TransactionSearchRepositoryImpl implements TransactionSearchRepository {
+
+  private final EntityManager entityManager;
+
+  public TransactionSearchRepositoryImpl(final EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  /**
+   * Finds the transactions matching the criteria that come after the given position in the order
+   * of {@code dateTransacted, id}
+   *
+   * @param criteria - the predicates of the search
+   * @param after - the position of the last transaction of the previous page, or null for the
+   *     first page
+   * @param limit - the maximum number of transactions
+   * @return a {@link Slice} of the transactions, which knows whether there are more
+   */
+  @Override
+  public Slice<Transaction> search(
+      final TransactionSearchCriteria criteria, final TransactionCursor after, final int limit) {
+    final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+    final CriteriaQuery<Transaction> query = builder.createQuery(Transaction.class);
+    final Root<Transaction> transaction = query.from(Transaction.class);
+    final Path<ZonedDateTime> dateTransacted = transaction.get("dateTransacted");
+    final Path<Long> id = transaction.get("id");
+    final Path<Long> amount = transaction.get("amount");
+
+    final List<Predicate> predicates = new ArrayList<>();
+    if (criteria.getAccountId() != null) {
+      predicates.add(builder.equal(transaction.get("accountId"), criteria.getAccountId()));
+    }
+    if (criteria.getFrom() != null) {
+      predicates.add(builder.greaterThanOrEqualTo(dateTransacted, criteria.getFrom()));
+    }
+    if (criteria.getTo() != null) {
+      predicates.add(builder.lessThan(dateTransacted, criteria.getTo()));
+    }
+    if (after != null) {
+      predicates.add(
+          builder.or(
+              builder.greaterThan(dateTransacted, after.getDateTransacted()),
+              builder.and(
+                  builder.equal(dateTransacted, after.getDateTransacted()),
+                  builder.greaterThan(id, after.getId()))));
+    }
+    if (criteria.getType() != null) {
+      predicates.add(builder.equal(transaction.get("type"), criteria.getType()));
+    }
+    if (criteria.getMinAmount() != null) {
+      predicates.add(builder.greaterThanOrEqualTo(amount, criteria.getMinAmount()));
+    }
+    if (criteria.getMaxAmount() != null) {
+      predicates.add(builder.lessThanOrEqualTo(amount, criteria.getMaxAmount()));
+    }
+
+    query
+        .select(transaction)
+        .where(predicates.toArray(new Predicate[0]))
+        .orderBy(builder.asc(dateTransacted), builder.asc(id));
+
+    final List<Transaction> transactions =
+        entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+    final boolean hasNext = transactions.size() > limit;
+    return new SliceImpl<>(
+        hasNext ? transactions.subList(0, limit) : transactions, PageRequest.of(0, limit), hasNext);
+  }
+}
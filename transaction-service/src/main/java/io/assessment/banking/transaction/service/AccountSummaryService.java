@@ -0,0 +1,27 @@
+package io.assessment.banking.transaction.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import io.assessment.banking.transaction.model.entity.AccountSummary;
+import io.assessment.banking.transaction.model.entity.Transaction;
+
+/**
+ * Interface to define abstract functionalities on the AccountSummary entity
+ *
+ * @author Nikhil Vibhav
+ */
+public interface AccountSummaryService {
+
+  AccountSummary getAccountSummary(final Long accountId);
+
+  List<AccountSummary> computeAccountSummaries(final List<Long> accountIds);
+
+  void createSummaries(final Collection<Long> accountIds);
+
+  void addTransactions(final List<Transaction> savedTransactions);
+
+  void removeTransactions(final List<Transaction> deletedTransactions);
+
+  long rebuildAccountSummaries();
+}
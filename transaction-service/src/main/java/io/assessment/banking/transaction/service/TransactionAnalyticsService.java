@@ -0,0 +1,26 @@
+package io.assessment.banking.transaction.service;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.model.vo.TransactionVolumeVO;
+
+/**
+ * Interface to define abstract functionalities of the analytics queries over all transactions
+ *
+ * @author Nikhil Vibhav
+ */
+public interface TransactionAnalyticsService {
+
+  List<TransactionVolumeVO> getTotalsByType(final ZonedDateTime from, final ZonedDateTime to);
+
+  List<TransactionVolumeVO> getTopAccounts(
+      final TransactionType type,
+      final ZonedDateTime from,
+      final ZonedDateTime to,
+      final int limit);
+
+  List<TransactionVolumeVO> getHourlyVolumes(
+      final TransactionType type, final ZonedDateTime from, final ZonedDateTime to);
+}
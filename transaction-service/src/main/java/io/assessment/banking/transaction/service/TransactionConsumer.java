@@ -0,0 +1,15 @@
+package io.assessment.banking.transaction.service;
+
+import java.io.IOException;
+
+import io.assessment.banking.transaction.model.entity.Transaction;
+
+/**
+ * Receives the transactions of an export one at a time, while they are read from the database
+ *
+ * @author Nikhil Vibhav
+ */
+@FunctionalInterface
+public interface TransactionConsumer {
+  void accept(final Transaction transaction) throws IOException;
+}
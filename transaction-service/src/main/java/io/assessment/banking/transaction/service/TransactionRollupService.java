@@ -0,0 +1,30 @@
+package io.assessment.banking.transaction.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import io.assessment.banking.transaction.constant.RollupGranularity;
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.entity.TransactionRollup;
+
+/**
+ * Interface to define abstract functionalities on the TransactionRollup entity
+ *
+ * @author Nikhil Vibhav
+ */
+public interface TransactionRollupService {
+
+  List<TransactionRollup> getRollups(
+      final RollupGranularity granularity,
+      final Long accountId,
+      final LocalDate from,
+      final LocalDate to);
+
+  int rollUpNewTransactions();
+
+  void addTransactions(final List<Transaction> savedTransactions);
+
+  void removeTransactions(final List<Transaction> deletedTransactions);
+
+  long backfill();
+}
@@ -1,9 +1,16 @@
 package io.assessment.banking.transaction.service;
 
+import java.io.IOException;
+import java.time.ZonedDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Slice;
+
 import io.assessment.banking.transaction.exception.TransactionNotFoundException;
+import io.assessment.banking.transaction.model.entity.AccountSummary;
 import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.vo.TransactionCursor;
+import io.assessment.banking.transaction.model.vo.TransactionSearchCriteria;
 
 /**
  * Interface to define abstract functionalities on the Transaction entity
@@ -14,7 +21,26 @@ public interface TransactionService {
 
   Transaction saveTransaction(final Transaction transactionToSave);
 
-  List<Transaction> findAllTransactionsByAccountId(final Long accountId);
+  List<Transaction> saveTransactions(final List<Transaction> transactionsToSave);
+
+  Slice<Transaction> findTransactionsByAccountId(
+      final Long accountId,
+      final ZonedDateTime from,
+      final ZonedDateTime to,
+      final TransactionCursor after,
+      final int limit);
+
+  Slice<Transaction> searchTransactions(
+      final TransactionSearchCriteria criteria, final TransactionCursor after, final int limit);
+
+  List<Transaction> findTransactionsByAccountIds(final List<Long> accountIds, final int limit);
+
+  List<AccountSummary> computeAccountSummaries(final List<Long> accountIds);
+
+  long exportTransactionsByAccountId(final Long accountId, final TransactionConsumer consumer)
+      throws IOException;
 
   void deleteTransaction(final Long id) throws TransactionNotFoundException;
+
+  long deleteTransactionsByAccountId(final Long accountId);
 }
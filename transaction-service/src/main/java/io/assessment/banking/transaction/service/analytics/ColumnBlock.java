@@ -0,0 +1,82 @@
+package io.assessment.banking.transaction.service.analytics;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+import lombok.Getter;
+
+/**
+ * A block of rows of the {@link TransactionColumnStore} copied to arrays on the heap, along with
+ * the selection vector of the rows that match the filters of the scan. The selected rows are
+ * {@code selection[0]} to {@code selection[selected - 1]}, in ascending order
+ *
+ * @author Nikhil Vibhav
+ */
+@Getter
+public final class ColumnBlock {
+
+  private final long[] accountIds;
+  private final long[] amounts;
+  private final long[] epochMillis;
+  private final byte[] types;
+  private final int[] selection;
+
+  /** The number of rows in the block */
+  private int length;
+
+  /** The number of selected rows */
+  private int selected;
+
+  ColumnBlock(final int capacity) {
+    this.accountIds = new long[capacity];
+    this.amounts = new long[capacity];
+    this.epochMillis = new long[capacity];
+    this.types = new byte[capacity];
+    this.selection = new int[capacity];
+  }
+
+  /**
+   * Copies the next rows of the columns with bulk reads, which advance the columns past them
+   *
+   * @param accountIdRows - the account id column
+   * @param amountRows - the amount column
+   * @param epochMilliRows - the transaction time column
+   * @param typeRows - the type column
+   * @param length - the number of rows to copy
+   */
+  void load(
+      final LongBuffer accountIdRows,
+      final LongBuffer amountRows,
+      final LongBuffer epochMilliRows,
+      final ByteBuffer typeRows,
+      final int length) {
+    accountIdRows.get(accountIds, 0, length);
+    amountRows.get(amounts, 0, length);
+    epochMilliRows.get(epochMillis, 0, length);
+    typeRows.get(types, 0, length);
+    this.length = length;
+  }
+
+  /**
+   * Selects the rows made in {@code [fromMillis, toMillis)} with a type in {@code [lowestType,
+   * highestType]}. Every row is written to the selection vector and the count only moves past it
+   * when it matches, so the loop has no branch to mispredict
+   *
+   * @param fromMillis - the earliest transaction time in epoch milliseconds, inclusive
+   * @param toMillis - the latest transaction time in epoch milliseconds, exclusive
+   * @param lowestType - the lowest type ordinal, inclusive
+   * @param highestType - the highest type ordinal, inclusive
+   */
+  void select(
+      final long fromMillis, final long toMillis, final byte lowestType, final byte highestType) {
+    int count = 0;
+    for (int row = 0; row < length; row++) {
+      final long time = epochMillis[row];
+      final byte type = types[row];
+      selection[count] = row;
+      count +=
+          (time >= fromMillis & time < toMillis & type >= lowestType & type <= highestType) ? 1 : 0;
+    }
+    this.selected = count;
+  }
+}
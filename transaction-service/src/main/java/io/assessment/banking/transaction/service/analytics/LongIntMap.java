@@ -0,0 +1,97 @@
+package io.assessment.banking.transaction.service.analytics;
+
+/**
+ * Open-addressing hash map from a long key to an int value, kept in primitive arrays so that
+ * indexing millions of rows doesn't box a key and a value per row. The table is doubled when it
+ * is half full
+ *
+ * @author Nikhil Vibhav
+ */
+final class LongIntMap {
+
+  private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+  private long[] keys;
+  private int[] values;
+  private boolean[] used;
+  private int size;
+
+  LongIntMap(final int expectedKeys) {
+    int capacity = 16;
+    while (capacity < 2L * expectedKeys) {
+      capacity <<= 1;
+    }
+    allocate(capacity);
+  }
+
+  /**
+   * Maps the key to the value, replacing the value it was mapped to
+   *
+   * @param key - the key
+   * @param value - the value
+   */
+  void put(final long key, final int value) {
+    final int slot = slotOf(key);
+    if (!used[slot]) {
+      used[slot] = true;
+      keys[slot] = key;
+      if (++size * 2 > keys.length) {
+        rehash();
+        put(key, value);
+        return;
+      }
+    }
+    values[slot] = value;
+  }
+
+  /**
+   * Gets the value the key is mapped to
+   *
+   * @param key - the key
+   * @param missingValue - the value returned when the key isn't mapped
+   * @return the value of the key, or {@code missingValue}
+   */
+  int get(final long key, final int missingValue) {
+    final int slot = slotOf(key);
+    return used[slot] ? values[slot] : missingValue;
+  }
+
+  /**
+   * Finds the slot of the key, or the free slot where it belongs, probing linearly from its hash
+   *
+   * @param key - the key
+   * @return the slot
+   */
+  private int slotOf(final long key) {
+    final int mask = keys.length - 1;
+    int slot = (int) ((key * GOLDEN_RATIO) >>> 32) & mask;
+    while (used[slot] && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void rehash() {
+    final long[] oldKeys = keys;
+    final int[] oldValues = values;
+    final boolean[] oldUsed = used;
+
+    allocate(oldKeys.length * 2);
+    for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+      if (oldUsed[oldSlot]) {
+        final int slot = slotOf(oldKeys[oldSlot]);
+        used[slot] = true;
+        keys[slot] = oldKeys[oldSlot];
+        values[slot] = oldValues[oldSlot];
+        size++;
+      }
+    }
+  }
+
+  private void allocate(final int capacity) {
+    keys = new long[capacity];
+    values = new int[capacity];
+    used = new boolean[capacity];
+    size = 0;
+  }
+}
@@ -0,0 +1,114 @@
+package io.assessment.banking.transaction.service.analytics;
+
+/**
+ * Open-addressing hash map from a long key to a count and a sum, kept in primitive arrays so that
+ * aggregating millions of rows doesn't box a value per row. The table is doubled when it is half
+ * full
+ *
+ * @author Nikhil Vibhav
+ */
+public final class LongSumMap {
+
+  private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+  private long[] keys;
+  private long[] counts;
+  private long[] sums;
+  private boolean[] used;
+  private int size;
+
+  public LongSumMap(final int expectedKeys) {
+    int capacity = 16;
+    while (capacity < 2L * expectedKeys) {
+      capacity <<= 1;
+    }
+    allocate(capacity);
+  }
+
+  /**
+   * Adds one to the count of the key and the value to its sum
+   *
+   * @param key - the key
+   * @param value - the value to add to the sum
+   */
+  public void add(final long key, final long value) {
+    final int slot = slotOf(key);
+    if (!used[slot]) {
+      used[slot] = true;
+      keys[slot] = key;
+      if (++size * 2 > keys.length) {
+        rehash();
+        add(key, value);
+        return;
+      }
+    }
+    counts[slot]++;
+    sums[slot] += value;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Hands every key with its count and sum to the consumer, in no particular order
+   *
+   * @param consumer - the consumer of the entries
+   */
+  public void forEach(final EntryConsumer consumer) {
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (used[slot]) {
+        consumer.accept(keys[slot], counts[slot], sums[slot]);
+      }
+    }
+  }
+
+  /**
+   * Finds the slot of the key, or the free slot where it belongs, probing linearly from its hash
+   *
+   * @param key - the key
+   * @return the slot
+   */
+  private int slotOf(final long key) {
+    final int mask = keys.length - 1;
+    int slot = (int) ((key * GOLDEN_RATIO) >>> 32) & mask;
+    while (used[slot] && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void rehash() {
+    final long[] oldKeys = keys;
+    final long[] oldCounts = counts;
+    final long[] oldSums = sums;
+    final boolean[] oldUsed = used;
+
+    allocate(oldKeys.length * 2);
+    for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+      if (oldUsed[oldSlot]) {
+        final int slot = slotOf(oldKeys[oldSlot]);
+        used[slot] = true;
+        keys[slot] = oldKeys[oldSlot];
+        counts[slot] = oldCounts[oldSlot];
+        sums[slot] = oldSums[oldSlot];
+        size++;
+      }
+    }
+  }
+
+  private void allocate(final int capacity) {
+    keys = new long[capacity];
+    counts = new long[capacity];
+    sums = new long[capacity];
+    used = new boolean[capacity];
+    size = 0;
+  }
+
+  /** Consumes the entries of a {@link LongSumMap} */
+  @FunctionalInterface
+  public interface EntryConsumer {
+
+    void accept(final long key, final long count, final long sum);
+  }
+}
@@ -0,0 +1,337 @@
+package io.assessment.banking.transaction.service.analytics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.event.TransactionsDeletedEvent;
+import io.assessment.banking.transaction.model.event.TransactionsSavedEvent;
+import io.assessment.banking.transaction.repository.TransactionRepository;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Read-side copy of the {@code transaction} table held off the heap, in one direct buffer per
+ * column: the ids, account ids, amounts and transaction times as longs and the types as bytes. A
+ * row takes 33 bytes, against the 100+ bytes of a {@link Transaction} entity, and the garbage
+ * collector never scans the columns.
+ *
+ * <p>The columns are loaded from the database on startup and kept up to date with the {@link
+ * TransactionsSavedEvent} and {@link TransactionsDeletedEvent} of the JPA storage engine, once the
+ * change has committed. A deleted row is only marked as such in the type column and skipped by
+ * the scans, its space is reclaimed on the next startup. The rows are found by id with a binary
+ * search as long as they were appended in the order of their ids, the rows appended after the
+ * first one out of order are indexed by id in a {@link LongIntMap}.
+ *
+ * <p>The columns are scanned {@link #BLOCK_SIZE} rows at a time. A block is copied to arrays on
+ * the heap with bulk reads, the rows matching the filters are selected without branching and the
+ * selection is handed to a {@link BlockVisitor}. The loops over the arrays are simple enough for
+ * the JIT to unroll and vectorize
+ *
+ * @author Nikhil Vibhav
+ */
+@Component
+@ConditionalOnProperty(name = "transaction.analytics.enabled", havingValue = "true")
+@Log4j2
+public class TransactionColumnStore {
+
+  /** The number of rows copied to the heap and filtered at a time */
+  public static final int BLOCK_SIZE = 4096;
+
+  /** The largest number of rows, a long column has to fit in one direct buffer */
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE / Long.BYTES;
+
+  /** The type of a deleted row, outside of the range of the {@link TransactionType} ordinals */
+  private static final byte DELETED = -1;
+
+  private final TransactionRepository repository;
+  private final TransactionTemplate transactionTemplate;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private LongBuffer ids;
+  private LongBuffer accountIds;
+  private LongBuffer amounts;
+  private LongBuffer epochMillis;
+  private ByteBuffer types;
+
+  /** The number of rows, including the deleted ones, guarded by the write lock */
+  private int size;
+
+  private int deleted;
+
+  /** The number of leading rows appended in the order of their ids, which are binary-searched */
+  private int sortedRows;
+
+  /** The rows from {@code sortedRows} on by id, null while all the rows are in order */
+  private LongIntMap rowsById;
+
+  @Autowired
+  public TransactionColumnStore(
+      final TransactionRepository repository,
+      final PlatformTransactionManager transactionManager,
+      @Value("${transaction.analytics.initial-capacity:1048576}") final int initialCapacity) {
+    this.repository = repository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+
+    final int capacity = Math.max(1, Math.min(initialCapacity, MAX_CAPACITY));
+    this.ids = allocateLongs(capacity);
+    this.accountIds = allocateLongs(capacity);
+    this.amounts = allocateLongs(capacity);
+    this.epochMillis = allocateLongs(capacity);
+    this.types = ByteBuffer.allocateDirect(capacity);
+  }
+
+  /**
+   * Loads the columns from the {@code transaction} table, reading the rows in the order of their
+   * ids without loading them as entities. Saves and deletes committed in the meantime wait for the
+   * load to finish
+   */
+  @PostConstruct
+  public void load() {
+    final long start = System.nanoTime();
+
+    lock.writeLock().lock();
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            try (final Stream<Object[]> rows = repository.streamAllColumns()) {
+              rows.forEach(
+                  row ->
+                      append(
+                          (Long) row[0],
+                          (Long) row[1],
+                          (Long) row[2],
+                          (TransactionType) row[3],
+                          (ZonedDateTime) row[4]));
+            }
+          });
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    log.info(
+        "Loaded {} transactions into the column store in {} ms",
+        size,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+
+  /**
+   * Appends the saved transactions, once the save has committed
+   *
+   * @param event - the {@link TransactionsSavedEvent}
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTransactionsSaved(final TransactionsSavedEvent event) {
+    lock.writeLock().lock();
+    try {
+      for (final Transaction transaction : event.getTransactions()) {
+        append(
+            transaction.getId(),
+            transaction.getAccountId(),
+            transaction.getAmount(),
+            transaction.getType(),
+            transaction.getDateTransacted());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Marks the rows of the deleted transactions as deleted, once the delete has committed
+   *
+   * @param event - the {@link TransactionsDeletedEvent}
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTransactionsDeleted(final TransactionsDeletedEvent event) {
+    lock.writeLock().lock();
+    try {
+      for (final Long id : event.getIds()) {
+        final int row = findRow(id);
+        if (row >= 0 && types.get(row) != DELETED) {
+          types.put(row, DELETED);
+          deleted++;
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Scans the rows made in {@code [fromMillis, toMillis)} of the given type, one block at a time.
+   * Saves and deletes wait for the scan to finish
+   *
+   * @param fromMillis - the earliest transaction time in epoch milliseconds, inclusive
+   * @param toMillis - the latest transaction time in epoch milliseconds, exclusive
+   * @param type - the transaction type, or null for both types
+   * @param visitor - the visitor of the blocks with at least one selected row
+   */
+  public void scan(
+      final long fromMillis,
+      final long toMillis,
+      final TransactionType type,
+      final BlockVisitor visitor) {
+    final byte lowestType = type != null ? (byte) type.ordinal() : 0;
+    final byte highestType =
+        type != null ? (byte) type.ordinal() : (byte) (TransactionType.values().length - 1);
+    final ColumnBlock block = new ColumnBlock(BLOCK_SIZE);
+
+    lock.readLock().lock();
+    try {
+      final LongBuffer accountIdRows = accountIds.duplicate();
+      final LongBuffer amountRows = amounts.duplicate();
+      final LongBuffer epochMilliRows = epochMillis.duplicate();
+      final ByteBuffer typeRows = types.duplicate();
+
+      for (int from = 0; from < size; from += BLOCK_SIZE) {
+        block.load(
+            accountIdRows, amountRows, epochMilliRows, typeRows, Math.min(BLOCK_SIZE, size - from));
+        block.select(fromMillis, toMillis, lowestType, highestType);
+        if (block.getSelected() > 0) {
+          visitor.visit(block);
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Gets the number of transactions in the store, without the deleted ones
+   *
+   * @return the number of transactions
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return size - deleted;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Appends a row, doubling the capacity of the columns when they are full. Must be called with
+   * the write lock held
+   *
+   * @param id - the transaction id
+   * @param accountId - the account id
+   * @param amount - the amount in minor units
+   * @param type - the transaction type
+   * @param dateTransacted - the transaction time
+   */
+  private void append(
+      final long id,
+      final long accountId,
+      final long amount,
+      final TransactionType type,
+      final ZonedDateTime dateTransacted) {
+    if (size == ids.capacity()) {
+      grow();
+    }
+    if (rowsById == null && size > 0 && id < ids.get(size - 1)) {
+      rowsById = new LongIntMap(BLOCK_SIZE);
+      log.debug("Indexing the rows by id from row {}, as id {} is out of order", size, id);
+    }
+    if (rowsById != null) {
+      rowsById.put(id, size);
+    } else {
+      sortedRows = size + 1;
+    }
+
+    ids.put(size, id);
+    accountIds.put(size, accountId);
+    amounts.put(size, amount);
+    epochMillis.put(size, dateTransacted.toInstant().toEpochMilli());
+    types.put(size, (byte) type.ordinal());
+    size++;
+  }
+
+  /** Copies the columns to buffers of twice the capacity */
+  private void grow() {
+    if (size == MAX_CAPACITY) {
+      throw new IllegalStateException("The column store is full at " + size + " transactions");
+    }
+    final int capacity = (int) Math.min(2L * size, MAX_CAPACITY);
+
+    ids = copyOf(ids, capacity);
+    accountIds = copyOf(accountIds, capacity);
+    amounts = copyOf(amounts, capacity);
+    epochMillis = copyOf(epochMillis, capacity);
+
+    final ByteBuffer rows = types.duplicate();
+    rows.limit(size);
+    types = ByteBuffer.allocateDirect(capacity).put(rows);
+    types.clear();
+
+    log.debug("Grew the column store to {} transactions", capacity);
+  }
+
+  private LongBuffer copyOf(final LongBuffer column, final int capacity) {
+    final LongBuffer rows = column.duplicate();
+    rows.limit(size);
+    final LongBuffer copy = allocateLongs(capacity).put(rows);
+    copy.clear();
+    return copy;
+  }
+
+  /**
+   * Finds the row of a transaction id, with a binary search of the rows in the order of their ids
+   * and a lookup of the index of the rows after them
+   *
+   * @param id - the transaction id
+   * @return the row, or -1 if the id isn't in the store
+   */
+  private int findRow(final long id) {
+    int low = 0;
+    int high = sortedRows - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final long middleId = ids.get(middle);
+      if (middleId < id) {
+        low = middle + 1;
+      } else if (middleId > id) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return rowsById != null ? rowsById.get(id, -1) : -1;
+  }
+
+  private static LongBuffer allocateLongs(final int capacity) {
+    return ByteBuffer.allocateDirect(capacity * Long.BYTES)
+        .order(ByteOrder.nativeOrder())
+        .asLongBuffer();
+  }
+
+  /** Visits the blocks of a scan */
+  @FunctionalInterface
+  public interface BlockVisitor {
+
+    /**
+     * Visits a block, which is reused for the next one once this method returns
+     *
+     * @param block - the block, with the rows matching the filters of the scan selected
+     */
+    void visit(final ColumnBlock block);
+  }
+}
@@ -0,0 +1,88 @@
+package io.assessment.banking.transaction.service.idempotency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread safe Bloom filter of strings. {@link #mightContain} never returns false for a string that
+ * was put, and returns true for a string that wasn't with about the false positive probability it
+ * was sized for, as long as it holds at most the expected number of strings
+ *
+ * @author Nikhil Vibhav
+ */
+public class BloomFilter {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final AtomicLongArray words;
+  private final int bitCount;
+  private final int hashCount;
+
+  /**
+   * Creates a Bloom filter with the optimal number of bits and hash functions
+   *
+   * @param expectedInsertions - the number of strings the filter is sized for
+   * @param falsePositiveProbability - the false positive probability at the expected size
+   */
+  public BloomFilter(final int expectedInsertions, final double falsePositiveProbability) {
+    final double bits =
+        -expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+    this.bitCount = (int) Math.max(Long.SIZE, Math.min(Integer.MAX_VALUE - Long.SIZE, bits));
+    this.hashCount =
+        (int) Math.max(1, Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    this.words = new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE);
+  }
+
+  public void put(final String value) {
+    final long hash = hash(value);
+    for (int i = 1; i <= hashCount; i++) {
+      final int bit = bitIndex(hash, i);
+      final long mask = 1L << bit;
+      words.accumulateAndGet(bit >>> 6, mask, (word, bitMask) -> word | bitMask);
+    }
+  }
+
+  public boolean mightContain(final String value) {
+    final long hash = hash(value);
+    for (int i = 1; i <= hashCount; i++) {
+      final int bit = bitIndex(hash, i);
+      if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Derives the i-th bit of the value from the two halves of its 64-bit hash (Kirsch-Mitzenmacher)
+   *
+   * @param hash - the 64-bit hash of the value
+   * @param i - the index of the hash function, from 1
+   * @return the index of the bit
+   */
+  private int bitIndex(final long hash, final int i) {
+    final int combined = (int) hash + i * (int) (hash >>> 32);
+    return (combined & Integer.MAX_VALUE) % bitCount;
+  }
+
+  /**
+   * Hashes the chars of the value with FNV-1a, without copying them, followed by the finalizer of
+   * MurmurHash3 to spread the bits over both halves
+   *
+   * @param value - the value to hash
+   * @return the 64-bit hash
+   */
+  private static long hash(final String value) {
+    long hash = FNV_OFFSET_BASIS;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= FNV_PRIME;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,107 @@
+package io.assessment.banking.transaction.service.idempotency;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of the idempotency keys of recently saved transactions, from key to transaction
+ * id. The keys are kept in two generations, each a hash map behind a Bloom filter, so looking up a
+ * key that isn't in the index, which is the case of almost every request, usually costs a hash of
+ * the key and a few bit tests. The current generation becomes the previous one, and the previous
+ * one is dropped, once it is {@code retentionSeconds} old or holds half of {@code maxKeys}. A key
+ * is therefore remembered for between one and two retention periods, unless the index fills up
+ * first. The index is an optimisation only, keys it doesn't know are caught by the unique index of
+ * the database
+ *
+ * @author Nikhil Vibhav
+ */
+@Component
+public class IdempotencyKeyIndex {
+
+  private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+  private final long retentionNanos;
+  private final int generationCapacity;
+
+  private volatile Generation current;
+  private volatile Generation previous;
+
+  @Autowired
+  public IdempotencyKeyIndex(
+      @Value("${transaction.idempotency.retention-seconds:86400}") final long retentionSeconds,
+      @Value("${transaction.idempotency.max-keys:1000000}") final int maxKeys) {
+    this.retentionNanos = TimeUnit.SECONDS.toNanos(retentionSeconds);
+    this.generationCapacity = Math.max(1, maxKeys / 2);
+    this.current = new Generation(generationCapacity);
+    this.previous = new Generation(generationCapacity);
+  }
+
+  /**
+   * Finds the id of the transaction saved with the idempotency key
+   *
+   * @param idempotencyKey - the idempotency key
+   * @return the transaction id, or null if the key isn't in the index
+   */
+  public Long find(final String idempotencyKey) {
+    rotateIfDue();
+    final Long id = current.find(idempotencyKey);
+    return id != null ? id : previous.find(idempotencyKey);
+  }
+
+  /**
+   * Adds the idempotency key of a saved transaction to the index
+   *
+   * @param idempotencyKey - the idempotency key
+   * @param id - the id of the transaction
+   */
+  public void put(final String idempotencyKey, final Long id) {
+    rotateIfDue();
+    current.put(idempotencyKey, id);
+  }
+
+  /**
+   * Starts a new generation when the current one has expired or is full. The check is lock free,
+   * only the thread that rotates takes the lock
+   */
+  private void rotateIfDue() {
+    if (!current.isDue()) {
+      return;
+    }
+    synchronized (this) {
+      if (current.isDue()) {
+        previous = current;
+        current = new Generation(generationCapacity);
+      }
+    }
+  }
+
+  /** A generation of keys, the hash map holds the ids and the Bloom filter answers most misses */
+  private class Generation {
+
+    private final long createdAt = System.nanoTime();
+    private final BloomFilter filter;
+    private final ConcurrentHashMap<String, Long> ids;
+
+    Generation(final int capacity) {
+      this.filter = new BloomFilter(capacity, FALSE_POSITIVE_PROBABILITY);
+      this.ids = new ConcurrentHashMap<>();
+    }
+
+    Long find(final String idempotencyKey) {
+      return filter.mightContain(idempotencyKey) ? ids.get(idempotencyKey) : null;
+    }
+
+    void put(final String idempotencyKey, final Long id) {
+      ids.put(idempotencyKey, id);
+      filter.put(idempotencyKey);
+    }
+
+    boolean isDue() {
+      return System.nanoTime() - createdAt >= retentionNanos || ids.size() >= generationCapacity;
+    }
+  }
+}
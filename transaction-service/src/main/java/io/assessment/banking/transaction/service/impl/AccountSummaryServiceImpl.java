@@ -0,0 +1,316 @@
+package io.assessment.banking.transaction.service.impl;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.model.entity.AccountSummary;
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.repository.AccountSummaryRepository;
+import io.assessment.banking.transaction.repository.TransactionRepository;
+import io.assessment.banking.transaction.service.AccountSummaryService;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Implementation of the {@link AccountSummaryService} interface. The summary of an account is
+ * updated in the database transaction that saves or deletes its transactions, under a row lock of
+ * the summary, so reading it never has to go through the transaction history
+ *
+ * @author Nikhil Vibhav
+ */
+@Service
+@Log4j2
+public class AccountSummaryServiceImpl implements AccountSummaryService {
+
+  private final AccountSummaryRepository repository;
+  private final TransactionRepository transactionRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int rebuildParallelism;
+
+  @Autowired
+  public AccountSummaryServiceImpl(
+      final AccountSummaryRepository repository,
+      final TransactionRepository transactionRepository,
+      final PlatformTransactionManager transactionManager,
+      @Value("${transaction.summary.rebuild.parallelism:4}") final int rebuildParallelism) {
+    this.repository = repository;
+    this.transactionRepository = transactionRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.rebuildParallelism = rebuildParallelism;
+  }
+
+  /**
+   * Gets the summary of the given account id with a primary key lookup
+   *
+   * @param accountId - the account id in the request
+   * @return the {@link AccountSummary}, with zero totals if the account has no transactions
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public AccountSummary getAccountSummary(final Long accountId) {
+    return repository.findById(accountId).orElseGet(() -> new AccountSummary(accountId));
+  }
+
+  /**
+   * Computes the summaries of the given account ids from their transactions with one aggregate
+   * query, rather than reading the maintained summaries, so they can be used to check the balances
+   * kept elsewhere against the transactions themselves
+   *
+   * @param accountIds - the account ids in the request
+   * @return the {@link AccountSummary} of every given account with transactions, ordered by
+   *     account id
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public List<AccountSummary> computeAccountSummaries(final List<Long> accountIds) {
+    final List<AccountSummary> summaries =
+        repository.aggregateAccounts(TransactionType.CREDIT, accountIds).stream()
+            .sorted(Comparator.comparing(AccountSummary::getAccountId))
+            .collect(Collectors.toList());
+
+    log.debug("Computed the summaries of {} of {} accounts", summaries.size(), accountIds.size());
+    return summaries;
+  }
+
+  /**
+   * Inserts an empty summary for each of the given accounts that has none, each in its own database
+   * transaction. A summary inserted concurrently by another save of the same account is left as it
+   * is, so that the summary of every account exists, and can be locked, before its transactions
+   * are added. Must be called outside of a database transaction
+   *
+   * @param accountIds - the account ids
+   */
+  @Override
+  public void createSummaries(final Collection<Long> accountIds) {
+    final Set<Long> existingAccountIds = new HashSet<>();
+    repository
+        .findAllById(accountIds)
+        .forEach(summary -> existingAccountIds.add(summary.getAccountId()));
+
+    for (final Long accountId : new TreeSet<>(accountIds)) {
+      if (existingAccountIds.contains(accountId)) {
+        continue;
+      }
+      try {
+        transactionTemplate.executeWithoutResult(
+            status -> repository.save(new AccountSummary(accountId)));
+      } catch (DataIntegrityViolationException e) {
+        log.debug("The summary of accountId {} was created concurrently", accountId);
+      }
+    }
+  }
+
+  /**
+   * Adds the saved transactions to the summaries of their accounts. Each summary is locked and
+   * written once, however many of the transactions belong to its account, and the summaries are
+   * locked in the order of the account ids so that concurrent batches can't deadlock. Must be
+   * called in the database transaction that saves the transactions, after {@link
+   * #createSummaries(Collection)} was called for their accounts
+   *
+   * @param savedTransactions - the saved transactions
+   */
+  @Override
+  @Transactional
+  public void addTransactions(final List<Transaction> savedTransactions) {
+    final Map<Long, List<Transaction>> transactionsByAccount =
+        savedTransactions.stream()
+            .collect(
+                Collectors.groupingBy(
+                    Transaction::getAccountId, TreeMap::new, Collectors.toList()));
+
+    transactionsByAccount.forEach(
+        (accountId, transactions) -> {
+          final AccountSummary summary = lockSummary(accountId);
+          transactions.forEach(transaction -> add(summary, transaction));
+          repository.save(summary);
+        });
+  }
+
+  /**
+   * Removes the deleted transactions from the summaries of their accounts, locking each summary
+   * once in the order of the account ids. When a deleted transaction was the first or the last one
+   * of its account, the new bound is read from the {@code (accountId, dateTransacted, id)} index.
+   * Must be called in the database transaction that deletes the transactions, after the delete
+   *
+   * @param deletedTransactions - the deleted transactions
+   */
+  @Override
+  @Transactional
+  public void removeTransactions(final List<Transaction> deletedTransactions) {
+    final Map<Long, List<Transaction>> transactionsByAccount =
+        deletedTransactions.stream()
+            .collect(
+                Collectors.groupingBy(
+                    Transaction::getAccountId, TreeMap::new, Collectors.toList()));
+
+    transactionsByAccount.forEach(this::remove);
+  }
+
+  /**
+   * Recomputes the summaries of all accounts from the transactions. The accounts are split into
+   * {@code rebuildParallelism} partitions by account id, each partition is aggregated with one
+   * query and replaced in its own database transaction, and the partitions are rebuilt in
+   * parallel. Transactions saved or deleted while a partition is rebuilt may be missed, so the
+   * rebuild is meant to be run while the service isn't writing, e.g. after a migration
+   *
+   * @return the number of rebuilt summaries
+   */
+  @Override
+  public long rebuildAccountSummaries() {
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            rebuildParallelism, new CustomizableThreadFactory("summary-rebuild-"));
+    try {
+      final List<Future<Integer>> partitions = new ArrayList<>(rebuildParallelism);
+      for (int partition = 0; partition < rebuildParallelism; partition++) {
+        final long current = partition;
+        partitions.add(
+            executor.submit(() -> transactionTemplate.execute(status -> rebuild(current))));
+      }
+
+      long rebuilt = 0;
+      for (final Future<Integer> partition : partitions) {
+        rebuilt += partition.get();
+      }
+      log.info("Rebuilt the summaries of {} accounts", rebuilt);
+      return rebuilt;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while rebuilding the account summaries", e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException("Unable to rebuild the account summaries", cause);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Locks the summary of the account until the end of the database transaction
+   *
+   * @param accountId - the account id
+   * @return the locked {@link AccountSummary}
+   */
+  private AccountSummary lockSummary(final Long accountId) {
+    return repository
+        .findByIdForUpdate(accountId)
+        .orElseThrow(
+            () -> new IllegalStateException("No summary of accountId " + accountId + " to lock"));
+  }
+
+  /**
+   * Replaces the summaries of one partition with the ones computed from the transactions
+   *
+   * @param partition - the partition to rebuild
+   * @return the number of rebuilt summaries
+   */
+  private int rebuild(final long partition) {
+    repository.deletePartition(rebuildParallelism, partition);
+    final List<AccountSummary> summaries =
+        repository.aggregatePartition(TransactionType.CREDIT, rebuildParallelism, partition);
+    repository.saveAll(summaries);
+
+    log.debug("Rebuilt {} summaries of partition {}", summaries.size(), partition);
+    return summaries.size();
+  }
+
+  /**
+   * Removes the deleted transactions of one account from its summary. A summary without any
+   * transactions left is kept empty rather than deleted, as a concurrent save of the account may
+   * have just created it or found it and is about to lock it
+   *
+   * @param accountId - the account id
+   * @param deletedTransactions - the deleted transactions of the account
+   */
+  private void remove(final Long accountId, final List<Transaction> deletedTransactions) {
+    final Optional<AccountSummary> lockedSummary = repository.findByIdForUpdate(accountId);
+    if (lockedSummary.isEmpty()) {
+      log.warn("No summary of accountId {} to remove the transactions from", accountId);
+      return;
+    }
+
+    final AccountSummary summary = lockedSummary.get();
+    boolean firstRemoved = false;
+    boolean lastRemoved = false;
+    for (final Transaction transaction : deletedTransactions) {
+      if (transaction.getType() == TransactionType.CREDIT) {
+        summary.setCreditTotal(summary.getCreditTotal() - transaction.getAmount());
+      } else {
+        summary.setDebitTotal(summary.getDebitTotal() - transaction.getAmount());
+      }
+      summary.setTransactionCount(summary.getTransactionCount() - 1);
+      firstRemoved |= transaction.getDateTransacted().isEqual(summary.getFirstTransacted());
+      lastRemoved |= transaction.getDateTransacted().isEqual(summary.getLastTransacted());
+    }
+
+    if (summary.getTransactionCount() <= 0) {
+      summary.setCreditTotal(0L);
+      summary.setDebitTotal(0L);
+      summary.setTransactionCount(0L);
+      summary.setFirstTransacted(null);
+      summary.setLastTransacted(null);
+      repository.save(summary);
+      return;
+    }
+    if (firstRemoved) {
+      summary.setFirstTransacted(
+          transactionRepository.findFirstDateTransacted(accountId).orElse(null));
+    }
+    if (lastRemoved) {
+      summary.setLastTransacted(
+          transactionRepository.findLastDateTransacted(accountId).orElse(null));
+    }
+    repository.save(summary);
+  }
+
+  /**
+   * Adds a transaction to the totals and the time bounds of the summary
+   *
+   * @param summary - the summary of the account of the transaction
+   * @param transaction - the transaction to add
+   */
+  private static void add(final AccountSummary summary, final Transaction transaction) {
+    if (transaction.getType() == TransactionType.CREDIT) {
+      summary.setCreditTotal(summary.getCreditTotal() + transaction.getAmount());
+    } else {
+      summary.setDebitTotal(summary.getDebitTotal() + transaction.getAmount());
+    }
+    summary.setTransactionCount(summary.getTransactionCount() + 1);
+
+    final ZonedDateTime dateTransacted = transaction.getDateTransacted();
+    if (summary.getFirstTransacted() == null
+        || dateTransacted.isBefore(summary.getFirstTransacted())) {
+      summary.setFirstTransacted(dateTransacted);
+    }
+    if (summary.getLastTransacted() == null
+        || dateTransacted.isAfter(summary.getLastTransacted())) {
+      summary.setLastTransacted(dateTransacted);
+    }
+  }
+}
@@ -0,0 +1,252 @@
+package io.assessment.banking.transaction.service.impl;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import io.assessment.banking.transaction.exception.TransactionNotFoundException;
+import io.assessment.banking.transaction.model.entity.AccountSummary;
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.vo.TransactionCursor;
+import io.assessment.banking.transaction.model.vo.TransactionSearchCriteria;
+import io.assessment.banking.transaction.repository.TransactionRepository;
+import io.assessment.banking.transaction.service.TransactionConsumer;
+import io.assessment.banking.transaction.service.TransactionService;
+import io.assessment.banking.transaction.service.idempotency.IdempotencyKeyIndex;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * {@link TransactionService} that saves a transaction with an idempotency key only once, in front
+ * of {@link TransactionServiceImpl}. Saving a transaction with a key that was used before returns
+ * the transaction saved the first time. Recently used keys are looked up in the {@link
+ * IdempotencyKeyIndex}, the unique index of the database catches the keys the index doesn't know.
+ * Used with the JPA storage engine, the default
+ *
+ * @author Nikhil Vibhav
+ */
+@Service
+@Primary
+@ConditionalOnProperty(
+    name = "transaction.storage.engine",
+    havingValue = "JPA",
+    matchIfMissing = true)
+@Log4j2
+public class IdempotentTransactionServiceImpl implements TransactionService {
+
+  private final TransactionServiceImpl delegate;
+  private final TransactionRepository repository;
+  private final IdempotencyKeyIndex idempotencyKeyIndex;
+
+  @Autowired
+  public IdempotentTransactionServiceImpl(
+      final TransactionServiceImpl delegate,
+      final TransactionRepository repository,
+      final IdempotencyKeyIndex idempotencyKeyIndex) {
+    this.delegate = delegate;
+    this.repository = repository;
+    this.idempotencyKeyIndex = idempotencyKeyIndex;
+  }
+
+  /**
+   * Saves a transaction, unless a transaction was saved with its idempotency key before. A new key
+   * costs a lookup in the in-memory index only, a key saved concurrently or before the index
+   * remembers is detected by the unique index when the transaction is inserted
+   *
+   * @param transactionToSave - transaction received in the request
+   * @return the saved {@link Transaction} entity, or the one saved with the same key before
+   */
+  @Override
+  public Transaction saveTransaction(final Transaction transactionToSave) {
+    final String idempotencyKey = transactionToSave.getIdempotencyKey();
+    if (idempotencyKey == null) {
+      return delegate.saveTransaction(transactionToSave);
+    }
+
+    final Long originalId = idempotencyKeyIndex.find(idempotencyKey);
+    if (originalId != null) {
+      final Optional<Transaction> original = repository.findById(originalId);
+      if (original.isPresent()) {
+        log.debug("Replaying the transaction with the idempotency key {}", idempotencyKey);
+        return original.get();
+      }
+    }
+
+    try {
+      final Transaction savedTransaction = delegate.saveTransaction(transactionToSave);
+      idempotencyKeyIndex.put(idempotencyKey, savedTransaction.getId());
+      return savedTransaction;
+    } catch (DataIntegrityViolationException e) {
+      final Transaction original =
+          repository.findByIdempotencyKey(idempotencyKey).orElseThrow(() -> e);
+      log.debug("Replaying the transaction with the idempotency key {}", idempotencyKey);
+      idempotencyKeyIndex.put(idempotencyKey, original.getId());
+      return original;
+    }
+  }
+
+  /**
+   * Saves the transactions whose idempotency key wasn't used before in one database transaction.
+   * As the whole batch would fail on the unique index, the keys the in-memory index doesn't know
+   * are looked up in the database first. A transaction whose key was used before, or is used by an
+   * earlier transaction of the batch, is replaced by the transaction saved with that key
+   *
+   * @param transactionsToSave - transactions received in the request
+   * @return the saved {@link Transaction} entities, in the order of the request
+   */
+  @Override
+  public List<Transaction> saveTransactions(final List<Transaction> transactionsToSave) {
+    try {
+      return saveNewTransactions(transactionsToSave);
+    } catch (DataIntegrityViolationException e) {
+      log.debug("A concurrent request saved some of the idempotency keys, trying again...");
+      return saveNewTransactions(transactionsToSave);
+    }
+  }
+
+  /**
+   * Saves the transactions whose idempotency key isn't in the database yet
+   *
+   * @param transactionsToSave - transactions received in the request
+   * @return the saved or the original {@link Transaction} entities, in the order of the request
+   */
+  private List<Transaction> saveNewTransactions(final List<Transaction> transactionsToSave) {
+    final Map<String, Transaction> originals =
+        findOriginals(
+            transactionsToSave.stream()
+                .map(Transaction::getIdempotencyKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+    final Transaction[] results = new Transaction[transactionsToSave.size()];
+    final List<Transaction> newTransactions = new ArrayList<>(transactionsToSave.size());
+    final List<Integer> newPositions = new ArrayList<>(transactionsToSave.size());
+    final Map<String, Integer> firstPositions = new HashMap<>();
+    for (int position = 0; position < transactionsToSave.size(); position++) {
+      final Transaction transaction = transactionsToSave.get(position);
+      final String idempotencyKey = transaction.getIdempotencyKey();
+      if (idempotencyKey == null
+          || (!originals.containsKey(idempotencyKey)
+              && firstPositions.putIfAbsent(idempotencyKey, position) == null)) {
+        newTransactions.add(transaction);
+        newPositions.add(position);
+      }
+    }
+
+    if (!newTransactions.isEmpty()) {
+      final List<Transaction> savedTransactions = delegate.saveTransactions(newTransactions);
+      for (int i = 0; i < savedTransactions.size(); i++) {
+        final Transaction savedTransaction = savedTransactions.get(i);
+        results[newPositions.get(i)] = savedTransaction;
+        if (savedTransaction.getIdempotencyKey() != null) {
+          originals.put(savedTransaction.getIdempotencyKey(), savedTransaction);
+          idempotencyKeyIndex.put(savedTransaction.getIdempotencyKey(), savedTransaction.getId());
+        }
+      }
+    }
+
+    for (int position = 0; position < results.length; position++) {
+      if (results[position] == null) {
+        results[position] = originals.get(transactionsToSave.get(position).getIdempotencyKey());
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  /**
+   * Finds the transactions saved with any of the idempotency keys, the ids of the keys in the
+   * in-memory index are loaded by id and the other keys are looked up with one query
+   *
+   * @param idempotencyKeys - the idempotency keys
+   * @return the saved transactions by idempotency key
+   */
+  private Map<String, Transaction> findOriginals(final Set<String> idempotencyKeys) {
+    final Map<String, Transaction> originals = new HashMap<>();
+    if (idempotencyKeys.isEmpty()) {
+      return originals;
+    }
+
+    final List<Long> indexedIds =
+        idempotencyKeys.stream()
+            .map(idempotencyKeyIndex::find)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    if (!indexedIds.isEmpty()) {
+      repository
+          .findAllById(indexedIds)
+          .forEach(original -> originals.put(original.getIdempotencyKey(), original));
+    }
+
+    final List<String> unknownKeys =
+        idempotencyKeys.stream()
+            .filter(key -> !originals.containsKey(key))
+            .collect(Collectors.toList());
+    if (!unknownKeys.isEmpty()) {
+      repository
+          .findAllByIdempotencyKeyIn(unknownKeys)
+          .forEach(
+              original -> {
+                originals.put(original.getIdempotencyKey(), original);
+                idempotencyKeyIndex.put(original.getIdempotencyKey(), original.getId());
+              });
+    }
+    return originals;
+  }
+
+  @Override
+  public Slice<Transaction> findTransactionsByAccountId(
+      final Long accountId,
+      final ZonedDateTime from,
+      final ZonedDateTime to,
+      final TransactionCursor after,
+      final int limit) {
+    return delegate.findTransactionsByAccountId(accountId, from, to, after, limit);
+  }
+
+  @Override
+  public Slice<Transaction> searchTransactions(
+      final TransactionSearchCriteria criteria, final TransactionCursor after, final int limit) {
+    return delegate.searchTransactions(criteria, after, limit);
+  }
+
+  @Override
+  public List<Transaction> findTransactionsByAccountIds(
+      final List<Long> accountIds, final int limit) {
+    return delegate.findTransactionsByAccountIds(accountIds, limit);
+  }
+
+  @Override
+  public List<AccountSummary> computeAccountSummaries(final List<Long> accountIds) {
+    return delegate.computeAccountSummaries(accountIds);
+  }
+
+  @Override
+  public long exportTransactionsByAccountId(
+      final Long accountId, final TransactionConsumer consumer) throws IOException {
+    return delegate.exportTransactionsByAccountId(accountId, consumer);
+  }
+
+  @Override
+  public void deleteTransaction(final Long id) throws TransactionNotFoundException {
+    delegate.deleteTransaction(id);
+  }
+
+  @Override
+  public long deleteTransactionsByAccountId(final Long accountId) {
+    return delegate.deleteTransactionsByAccountId(accountId);
+  }
+}
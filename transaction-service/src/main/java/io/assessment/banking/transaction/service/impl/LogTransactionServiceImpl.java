@@ -0,0 +1,175 @@
+package io.assessment.banking.transaction.service.impl;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import io.assessment.banking.transaction.exception.TransactionNotFoundException;
+import io.assessment.banking.transaction.model.entity.AccountSummary;
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.vo.TransactionCursor;
+import io.assessment.banking.transaction.model.vo.TransactionSearchCriteria;
+import io.assessment.banking.transaction.service.TransactionConsumer;
+import io.assessment.banking.transaction.service.TransactionService;
+import io.assessment.banking.transaction.storage.TransactionLog;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * {@link TransactionService} used when {@code transaction.storage.engine=LOG}. The transactions
+ * are appended to the memory-mapped {@link TransactionLog} instead of the database, which also
+ * appends a transaction with an idempotency key only once. The account summaries and the rollups
+ * are maintained by the JPA storage engine only, the summaries used to reconcile the balances are
+ * computed from the log
+ *
+ * @author Nikhil Vibhav
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "transaction.storage.engine", havingValue = "LOG")
+@Log4j2
+public class LogTransactionServiceImpl implements TransactionService {
+
+  private final TransactionLog transactionLog;
+
+  @Autowired
+  public LogTransactionServiceImpl(final TransactionLog transactionLog) {
+    this.transactionLog = transactionLog;
+  }
+
+  @Override
+  public Transaction saveTransaction(final Transaction transactionToSave) {
+    final Transaction savedTransaction = transactionLog.append(transactionToSave);
+
+    log.debug("Appended to the transaction log: {}", savedTransaction);
+    return savedTransaction;
+  }
+
+  @Override
+  public List<Transaction> saveTransactions(final List<Transaction> transactionsToSave) {
+    final List<Transaction> savedTransactions = transactionLog.appendAll(transactionsToSave);
+
+    log.debug("Appended {} transactions to the transaction log", savedTransactions.size());
+    return savedTransactions;
+  }
+
+  @Override
+  public Slice<Transaction> findTransactionsByAccountId(
+      final Long accountId,
+      final ZonedDateTime from,
+      final ZonedDateTime to,
+      final TransactionCursor after,
+      final int limit) {
+    return toSlice(
+        transactionLog.find(
+            accountId, from, to, after != null ? after.getId() : 0L, null, limit + 1),
+        limit);
+  }
+
+  /**
+   * Searches the transactions matching the criteria. The account id, the time range and the cursor
+   * narrow down the records read from the log, the type and amount range are checked on each of
+   * them
+   *
+   * @param criteria - the predicates of the search
+   * @param after - the position of the last transaction of the previous page, or null for the
+   *     first page
+   * @param limit - the maximum number of transactions in the page
+   * @return a {@link Slice} of the transactions, which knows whether there is a next page
+   */
+  @Override
+  public Slice<Transaction> searchTransactions(
+      final TransactionSearchCriteria criteria, final TransactionCursor after, final int limit) {
+    Predicate<Transaction> filter = transaction -> true;
+    if (criteria.getType() != null) {
+      filter = filter.and(transaction -> transaction.getType() == criteria.getType());
+    }
+    if (criteria.getMinAmount() != null) {
+      filter = filter.and(transaction -> transaction.getAmount() >= criteria.getMinAmount());
+    }
+    if (criteria.getMaxAmount() != null) {
+      filter = filter.and(transaction -> transaction.getAmount() <= criteria.getMaxAmount());
+    }
+
+    return toSlice(
+        transactionLog.find(
+            criteria.getAccountId(),
+            criteria.getFrom(),
+            criteria.getTo(),
+            after != null ? after.getId() : 0L,
+            filter,
+            limit + 1),
+        limit);
+  }
+
+  @Override
+  public List<Transaction> findTransactionsByAccountIds(
+      final List<Long> accountIds, final int limit) {
+    final List<Transaction> transactions = new ArrayList<>();
+    for (final Long accountId : new LinkedHashSet<>(accountIds)) {
+      transactions.addAll(transactionLog.find(accountId, null, null, 0L, null, limit));
+    }
+    return transactions;
+  }
+
+  /**
+   * Computes the summaries of the given account ids from their records in the log, as the summary
+   * table isn't maintained by this storage engine
+   *
+   * @param accountIds - the account ids in the request
+   * @return the {@link AccountSummary} of every given account with transactions, ordered by
+   *     account id
+   */
+  @Override
+  public List<AccountSummary> computeAccountSummaries(final List<Long> accountIds) {
+    final List<AccountSummary> summaries = new ArrayList<>();
+    for (final Long accountId : new TreeSet<>(accountIds)) {
+      transactionLog.summarize(accountId).ifPresent(summaries::add);
+    }
+
+    log.debug("Computed the summaries of {} of {} accounts", summaries.size(), accountIds.size());
+    return summaries;
+  }
+
+  @Override
+  public long exportTransactionsByAccountId(
+      final Long accountId, final TransactionConsumer consumer) throws IOException {
+    return transactionLog.forEachByAccountId(accountId, consumer);
+  }
+
+  @Override
+  public void deleteTransaction(final Long id) throws TransactionNotFoundException {
+    if (!transactionLog.delete(id)) {
+      throw new TransactionNotFoundException("Unable to find any transactions with id: " + id);
+    }
+  }
+
+  @Override
+  public long deleteTransactionsByAccountId(final Long accountId) {
+    return transactionLog.deleteAllByAccountId(accountId);
+  }
+
+  /**
+   * Cuts the transactions read with a limit one above the page size to the page
+   *
+   * @param transactions - the transactions, at most {@code limit + 1}
+   * @param limit - the page size
+   * @return a {@link Slice} of the transactions, which knows whether there is a next page
+   */
+  private static Slice<Transaction> toSlice(final List<Transaction> transactions, final int limit) {
+    final boolean hasNext = transactions.size() > limit;
+    return new SliceImpl<>(
+        hasNext ? transactions.subList(0, limit) : transactions, PageRequest.of(0, limit), hasNext);
+  }
+}
@@ -0,0 +1,217 @@
+package io.assessment.banking.transaction.service.impl;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.model.vo.TransactionVolumeVO;
+import io.assessment.banking.transaction.service.TransactionAnalyticsService;
+import io.assessment.banking.transaction.service.analytics.LongSumMap;
+import io.assessment.banking.transaction.service.analytics.TransactionColumnStore;
+import io.assessment.banking.transaction.util.MoneyUtil;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Implementation of the {@link TransactionAnalyticsService} interface, which aggregates the
+ * selected rows of each block of a {@link TransactionColumnStore} scan into primitive arrays
+ *
+ * @author Nikhil Vibhav
+ */
+@Service
+@ConditionalOnProperty(name = "transaction.analytics.enabled", havingValue = "true")
+@Log4j2
+public class TransactionAnalyticsServiceImpl implements TransactionAnalyticsService {
+
+  private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+  /** The number of accounts a top accounts query expects to aggregate */
+  private static final int EXPECTED_ACCOUNTS = 1 << 16;
+
+  private final TransactionColumnStore columnStore;
+
+  @Autowired
+  public TransactionAnalyticsServiceImpl(final TransactionColumnStore columnStore) {
+    this.columnStore = columnStore;
+  }
+
+  /**
+   * Gets the number and the total amount of the credits and of the debits made in a time range
+   *
+   * @param from - the earliest transaction time, inclusive, or null for no lower bound
+   * @param to - the latest transaction time, exclusive, or null for no upper bound
+   * @return the {@link TransactionVolumeVO} of each type, in the order of the types
+   */
+  @Override
+  public List<TransactionVolumeVO> getTotalsByType(
+      final ZonedDateTime from, final ZonedDateTime to) {
+    final TransactionType[] types = TransactionType.values();
+    final long[] counts = new long[types.length];
+    final long[] totals = new long[types.length];
+
+    columnStore.scan(
+        toEpochMillis(from, Long.MIN_VALUE),
+        toEpochMillis(to, Long.MAX_VALUE),
+        null,
+        block -> {
+          final int[] selection = block.getSelection();
+          final byte[] blockTypes = block.getTypes();
+          final long[] amounts = block.getAmounts();
+          for (int i = 0; i < block.getSelected(); i++) {
+            final int row = selection[i];
+            counts[blockTypes[row]]++;
+            totals[blockTypes[row]] += amounts[row];
+          }
+        });
+
+    final List<TransactionVolumeVO> volumes = new ArrayList<>(types.length);
+    for (final TransactionType type : types) {
+      volumes.add(volume(type, null, null, counts[type.ordinal()], totals[type.ordinal()]));
+    }
+
+    log.debug("Totals by type from {} to {}: {}", from, to, volumes);
+    return volumes;
+  }
+
+  /**
+   * Gets the accounts with the highest total amount of the given type in a time range. The totals
+   * of all accounts are aggregated, then the top ones are kept in a min-heap of {@code limit}
+   * entries
+   *
+   * @param type - the transaction type
+   * @param from - the earliest transaction time, inclusive, or null for no lower bound
+   * @param to - the latest transaction time, exclusive, or null for no upper bound
+   * @param limit - the number of accounts
+   * @return the {@link TransactionVolumeVO} of each account, the highest total first
+   */
+  @Override
+  public List<TransactionVolumeVO> getTopAccounts(
+      final TransactionType type,
+      final ZonedDateTime from,
+      final ZonedDateTime to,
+      final int limit) {
+    final LongSumMap totalsByAccount = new LongSumMap(EXPECTED_ACCOUNTS);
+
+    columnStore.scan(
+        toEpochMillis(from, Long.MIN_VALUE),
+        toEpochMillis(to, Long.MAX_VALUE),
+        type,
+        block -> {
+          final int[] selection = block.getSelection();
+          final long[] accountIds = block.getAccountIds();
+          final long[] amounts = block.getAmounts();
+          for (int i = 0; i < block.getSelected(); i++) {
+            final int row = selection[i];
+            totalsByAccount.add(accountIds[row], amounts[row]);
+          }
+        });
+
+    // Each entry is {accountId, count, total}, the lowest total on top
+    final Comparator<long[]> byTotal =
+        Comparator.<long[]>comparingLong(entry -> entry[2])
+            .thenComparing(Comparator.<long[]>comparingLong(entry -> entry[0]).reversed());
+    final PriorityQueue<long[]> top = new PriorityQueue<>(limit + 1, byTotal);
+    totalsByAccount.forEach(
+        (accountId, count, total) -> {
+          final long[] entry = {accountId, count, total};
+          if (top.size() < limit || byTotal.compare(entry, top.peek()) > 0) {
+            top.offer(entry);
+            if (top.size() > limit) {
+              top.poll();
+            }
+          }
+        });
+
+    final List<TransactionVolumeVO> volumes = new ArrayList<>(top.size());
+    while (!top.isEmpty()) {
+      final long[] entry = top.poll();
+      volumes.add(0, volume(type, entry[0], null, entry[1], entry[2]));
+    }
+
+    log.debug(
+        "Top {} of {} accounts by {} from {} to {}",
+        volumes.size(),
+        totalsByAccount.size(),
+        type,
+        from,
+        to);
+    return volumes;
+  }
+
+  /**
+   * Gets the number and the total amount of the transactions of each hour of a time range. The
+   * hours start at the hour of {@code from} in UTC, hours without transactions are left out
+   *
+   * @param type - the transaction type, or null for both types
+   * @param from - the earliest transaction time, inclusive
+   * @param to - the latest transaction time, exclusive
+   * @return the {@link TransactionVolumeVO} of each hour with transactions, in order
+   */
+  @Override
+  public List<TransactionVolumeVO> getHourlyVolumes(
+      final TransactionType type, final ZonedDateTime from, final ZonedDateTime to) {
+    final long fromMillis = from.toInstant().toEpochMilli();
+    final long toMillis = to.toInstant().toEpochMilli();
+    final long firstHourMillis = from.toInstant().truncatedTo(ChronoUnit.HOURS).toEpochMilli();
+    final int hours = (int) ((toMillis - 1 - firstHourMillis) / HOUR_MILLIS) + 1;
+    final long[] counts = new long[hours];
+    final long[] totals = new long[hours];
+
+    columnStore.scan(
+        fromMillis,
+        toMillis,
+        type,
+        block -> {
+          final int[] selection = block.getSelection();
+          final long[] epochMillis = block.getEpochMillis();
+          final long[] amounts = block.getAmounts();
+          for (int i = 0; i < block.getSelected(); i++) {
+            final int row = selection[i];
+            final int hour = (int) ((epochMillis[row] - firstHourMillis) / HOUR_MILLIS);
+            counts[hour]++;
+            totals[hour] += amounts[row];
+          }
+        });
+
+    final List<TransactionVolumeVO> volumes = new ArrayList<>();
+    for (int hour = 0; hour < hours; hour++) {
+      if (counts[hour] > 0) {
+        final ZonedDateTime start =
+            Instant.ofEpochMilli(firstHourMillis + hour * HOUR_MILLIS).atZone(ZoneOffset.UTC);
+        volumes.add(volume(type, null, start, counts[hour], totals[hour]));
+      }
+    }
+
+    log.debug("{} hours with {} transactions from {} to {}", volumes.size(), type, from, to);
+    return volumes;
+  }
+
+  private static long toEpochMillis(final ZonedDateTime dateTime, final long absent) {
+    return dateTime != null ? dateTime.toInstant().toEpochMilli() : absent;
+  }
+
+  private static TransactionVolumeVO volume(
+      final TransactionType type,
+      final Long accountId,
+      final ZonedDateTime hour,
+      final long count,
+      final long total) {
+    final TransactionVolumeVO volume = new TransactionVolumeVO();
+    volume.setType(type);
+    volume.setAccountId(accountId);
+    volume.setHour(hour);
+    volume.setCount(count);
+    volume.setTotal(MoneyUtil.toMajorUnits(total));
+    return volume;
+  }
+}
@@ -0,0 +1,443 @@
+package io.assessment.banking.transaction.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.assessment.banking.transaction.constant.RollupGranularity;
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.model.entity.RollupWatermark;
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.entity.TransactionRollup;
+import io.assessment.banking.transaction.model.entity.TransactionRollupId;
+import io.assessment.banking.transaction.repository.RollupWatermarkRepository;
+import io.assessment.banking.transaction.repository.TransactionRepository;
+import io.assessment.banking.transaction.repository.TransactionRollupRepository;
+import io.assessment.banking.transaction.service.TransactionRollupService;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Implementation of the {@link TransactionRollupService} interface. New transactions are added to
+ * the rollups in the order of {@code dateTransacted, id} behind a watermark. Only transactions
+ * older than {@code lagMillis} are rolled up, which leaves the transactions that are still being
+ * committed the time to become visible. A transaction gets its time when it is built, so one that
+ * is saved more than {@code lagMillis} later may be behind the watermark already, such
+ * transactions are added by the save itself. Every change of the rollups holds the row lock of the
+ * watermark, so the pipeline, the saves, the deletes and the backfill never interleave
+ *
+ * @author Nikhil Vibhav
+ */
+@Service
+@Log4j2
+public class TransactionRollupServiceImpl implements TransactionRollupService {
+
+  private static final Long WATERMARK_ID = 1L;
+
+  private final TransactionRollupRepository repository;
+  private final RollupWatermarkRepository watermarkRepository;
+  private final TransactionRepository transactionRepository;
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate readOnlyTransactionTemplate;
+  private final int chunkSize;
+  private final Duration lag;
+  private final int backfillParallelism;
+
+  @Autowired
+  public TransactionRollupServiceImpl(
+      final TransactionRollupRepository repository,
+      final RollupWatermarkRepository watermarkRepository,
+      final TransactionRepository transactionRepository,
+      final EntityManager entityManager,
+      final PlatformTransactionManager transactionManager,
+      @Value("${transaction.rollup.chunk-size:1000}") final int chunkSize,
+      @Value("${transaction.rollup.lag-millis:60000}") final long lagMillis,
+      @Value("${transaction.rollup.backfill.parallelism:4}") final int backfillParallelism) {
+    this.repository = repository;
+    this.watermarkRepository = watermarkRepository;
+    this.transactionRepository = transactionRepository;
+    this.entityManager = entityManager;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransactionTemplate.setReadOnly(true);
+    this.chunkSize = chunkSize;
+    this.lag = Duration.ofMillis(lagMillis);
+    this.backfillParallelism = backfillParallelism;
+  }
+
+  /**
+   * Gets the rollups of an account, or of all accounts, in a range of buckets
+   *
+   * @param granularity - the granularity of the rollups
+   * @param accountId - the account id, or null for the rollups of all accounts
+   * @param from - the first bucket, inclusive
+   * @param to - the last bucket, inclusive
+   * @return the rollups ordered by bucket, buckets without transactions are absent
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public List<TransactionRollup> getRollups(
+      final RollupGranularity granularity,
+      final Long accountId,
+      final LocalDate from,
+      final LocalDate to) {
+    return repository.findRange(
+        granularity,
+        accountId != null ? accountId : TransactionRollupId.ALL_ACCOUNTS,
+        granularity.bucketOf(from.atStartOfDay(ZoneOffset.UTC)),
+        to);
+  }
+
+  /**
+   * Adds the next chunk of transactions after the watermark to the rollups and moves the
+   * watermark past them
+   *
+   * @return the number of transactions added, 0 when the rollups are up to date
+   */
+  @Override
+  @Transactional
+  public int rollUpNewTransactions() {
+    final RollupWatermark watermark = lockWatermark();
+    final List<Transaction> transactions =
+        transactionRepository.findAllAfter(
+            watermark.getLastDateTransacted(),
+            watermark.getLastId(),
+            ZonedDateTime.now().minus(lag),
+            PageRequest.of(0, chunkSize));
+    if (transactions.isEmpty()) {
+      return 0;
+    }
+
+    final Map<TransactionRollupId, TransactionRollup> deltas = new HashMap<>();
+    transactions.forEach(transaction -> accumulate(deltas, transaction, 1));
+    apply(deltas.values());
+
+    final Transaction last = transactions.get(transactions.size() - 1);
+    watermark.setLastDateTransacted(last.getDateTransacted());
+    watermark.setLastId(last.getId());
+
+    log.debug("Rolled up {} transactions up to {}", transactions.size(), watermark);
+    return transactions.size();
+  }
+
+  /**
+   * Adds the saved transactions that the watermark has passed already to the rollups, the pipeline
+   * picks the others up. Only transactions built more than {@code lagMillis} ago lock the
+   * watermark, newer ones are always ahead of it. Must be called in the database transaction that
+   * saves the transactions, so the watermark can't pass them before they are committed
+   *
+   * @param savedTransactions - the saved transactions
+   */
+  @Override
+  @Transactional
+  public void addTransactions(final List<Transaction> savedTransactions) {
+    final ZonedDateTime lagging = ZonedDateTime.now().minus(lag);
+    final List<Transaction> backdatedTransactions =
+        savedTransactions.stream()
+            .filter(transaction -> transaction.getDateTransacted().isBefore(lagging))
+            .collect(Collectors.toList());
+    if (backdatedTransactions.isEmpty()) {
+      return;
+    }
+
+    final Optional<RollupWatermark> watermark = watermarkRepository.findByIdForUpdate(WATERMARK_ID);
+    if (watermark.isEmpty()) {
+      return;
+    }
+
+    final Map<TransactionRollupId, TransactionRollup> deltas = new HashMap<>();
+    backdatedTransactions.stream()
+        .filter(transaction -> isRolledUp(transaction, watermark.get()))
+        .forEach(transaction -> accumulate(deltas, transaction, 1));
+    if (!deltas.isEmpty()) {
+      apply(deltas.values());
+      log.debug("Rolled up {} backdated transactions directly", backdatedTransactions.size());
+    }
+  }
+
+  /**
+   * Subtracts the deleted transactions that were already added to the rollups from them, with one
+   * update of each affected rollup. Must be called in the database transaction that deletes the
+   * transactions
+   *
+   * @param deletedTransactions - the deleted transactions
+   */
+  @Override
+  @Transactional
+  public void removeTransactions(final List<Transaction> deletedTransactions) {
+    final Optional<RollupWatermark> watermark = watermarkRepository.findByIdForUpdate(WATERMARK_ID);
+    if (watermark.isEmpty()) {
+      return;
+    }
+
+    final Map<TransactionRollupId, TransactionRollup> deltas = new HashMap<>();
+    deletedTransactions.stream()
+        .filter(transaction -> isRolledUp(transaction, watermark.get()))
+        .forEach(transaction -> accumulate(deltas, transaction, -1));
+    if (!deltas.isEmpty()) {
+      apply(deltas.values());
+    }
+  }
+
+  /**
+   * Recomputes all the rollups from the transactions made until {@code lagMillis} ago. The id range
+   * of the transactions is split into {@code backfillParallelism} partitions that are read and
+   * aggregated in memory in parallel, then the rollups are replaced and the watermark is moved to
+   * the cutoff in one database transaction
+   *
+   * @return the number of rolled up transactions
+   */
+  @Override
+  public long backfill() {
+    final Long rolledUp =
+        transactionTemplate.execute(
+            status -> {
+              final RollupWatermark watermark = lockWatermark();
+              final ZonedDateTime cutoff = ZonedDateTime.now().minus(lag);
+              final AtomicLong count = new AtomicLong();
+              final Map<TransactionRollupId, TransactionRollup> rollups =
+                  aggregateInParallel(cutoff, count);
+
+              watermark.setLastDateTransacted(cutoff);
+              watermark.setLastId(0L);
+              repository.deleteAllRollups();
+              entityManager.flush();
+
+              int pending = 0;
+              for (final TransactionRollup rollup : rollups.values()) {
+                entityManager.persist(rollup);
+                if (++pending % chunkSize == 0) {
+                  entityManager.flush();
+                  entityManager.clear();
+                }
+              }
+              return count.get();
+            });
+
+    log.info("Backfilled the rollups with {} transactions", rolledUp);
+    return rolledUp;
+  }
+
+  /**
+   * Reads and aggregates the transactions made before the cutoff, one id range per thread, and
+   * merges the partial rollups of the ranges
+   *
+   * @param cutoff - the latest transaction time, exclusive
+   * @param count - counts the aggregated transactions
+   * @return the rollups of all the transactions
+   */
+  private Map<TransactionRollupId, TransactionRollup> aggregateInParallel(
+      final ZonedDateTime cutoff, final AtomicLong count) {
+    final Optional<Long> minId = transactionRepository.findMinId();
+    if (minId.isEmpty()) {
+      return Map.of();
+    }
+    final long maxId = transactionRepository.findMaxId().orElseThrow();
+    final long rangeSize = (maxId - minId.get()) / backfillParallelism + 1;
+
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            backfillParallelism, new CustomizableThreadFactory("rollup-backfill-"));
+    try {
+      final List<Future<Map<TransactionRollupId, TransactionRollup>>> partitions =
+          new ArrayList<>(backfillParallelism);
+      for (long fromId = minId.get(); fromId <= maxId; fromId += rangeSize) {
+        final long rangeStart = fromId;
+        partitions.add(
+            executor.submit(
+                () ->
+                    readOnlyTransactionTemplate.execute(
+                        status -> aggregate(rangeStart, rangeStart + rangeSize, cutoff, count))));
+      }
+
+      final Map<TransactionRollupId, TransactionRollup> rollups = new HashMap<>();
+      for (final Future<Map<TransactionRollupId, TransactionRollup>> partition : partitions) {
+        for (final TransactionRollup rollup : partition.get().values()) {
+          rollups.merge(rollup.getId(), rollup, TransactionRollupServiceImpl::add);
+        }
+      }
+      return rollups;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while backfilling the rollups", e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException("Unable to backfill the rollups", cause);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Aggregates the transactions of an id range made before the cutoff. Each transaction is
+   * detached once aggregated, so the memory used depends on the number of rollups only
+   *
+   * @param fromId - the lowest id, inclusive
+   * @param toId - the highest id, exclusive
+   * @param cutoff - the latest transaction time, exclusive
+   * @param count - counts the aggregated transactions
+   * @return the rollups of the transactions of the range
+   */
+  private Map<TransactionRollupId, TransactionRollup> aggregate(
+      final long fromId, final long toId, final ZonedDateTime cutoff, final AtomicLong count) {
+    final Map<TransactionRollupId, TransactionRollup> rollups = new HashMap<>();
+    try (final Stream<Transaction> transactions =
+        transactionRepository.streamAllByIdRange(fromId, toId, cutoff)) {
+      final Iterator<Transaction> iterator = transactions.iterator();
+      while (iterator.hasNext()) {
+        final Transaction transaction = iterator.next();
+        accumulate(rollups, transaction, 1);
+        entityManager.detach(transaction);
+        count.incrementAndGet();
+      }
+    }
+
+    log.debug("Aggregated the transactions with ids in [{}, {})", fromId, toId);
+    return rollups;
+  }
+
+  /**
+   * Adds the deltas to the stored rollups. The stored rollups are loaded with one query per
+   * granularity, rollups that don't exist yet are created and rollups left without transactions
+   * are deleted
+   *
+   * @param deltas - the changes of the rollups
+   */
+  private void apply(final Collection<TransactionRollup> deltas) {
+    for (final RollupGranularity granularity : RollupGranularity.values()) {
+      final Set<LocalDate> buckets = new HashSet<>();
+      final Set<Long> accountIds = new HashSet<>();
+      deltas.stream()
+          .map(TransactionRollup::getId)
+          .filter(id -> id.getGranularity() == granularity)
+          .forEach(
+              id -> {
+                buckets.add(id.getBucket());
+                accountIds.add(id.getAccountId());
+              });
+
+      final Map<TransactionRollupId, TransactionRollup> stored =
+          repository.findAllByKeys(granularity, buckets, accountIds).stream()
+              .collect(Collectors.toMap(TransactionRollup::getId, Function.identity()));
+
+      for (final TransactionRollup delta : deltas) {
+        if (delta.getId().getGranularity() != granularity) {
+          continue;
+        }
+        final TransactionRollup rollup = stored.get(delta.getId());
+        if (rollup == null) {
+          repository.save(delta);
+        } else if (add(rollup, delta).getCreditCount() + rollup.getDebitCount() == 0) {
+          repository.delete(rollup);
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds a transaction to the day and month rollups of its account and of all accounts
+   *
+   * @param rollups - the rollups to add to, by key
+   * @param transaction - the transaction
+   * @param sign - 1 to add the transaction, -1 to subtract it
+   */
+  private static void accumulate(
+      final Map<TransactionRollupId, TransactionRollup> rollups,
+      final Transaction transaction,
+      final int sign) {
+    for (final RollupGranularity granularity : RollupGranularity.values()) {
+      final LocalDate bucket = granularity.bucketOf(transaction.getDateTransacted());
+      for (final Long accountId :
+          List.of(transaction.getAccountId(), TransactionRollupId.ALL_ACCOUNTS)) {
+        final TransactionRollup rollup =
+            rollups.computeIfAbsent(
+                new TransactionRollupId(granularity, bucket, accountId), TransactionRollup::new);
+        if (transaction.getType() == TransactionType.CREDIT) {
+          rollup.setCreditTotal(rollup.getCreditTotal() + sign * transaction.getAmount());
+          rollup.setCreditCount(rollup.getCreditCount() + sign);
+        } else {
+          rollup.setDebitTotal(rollup.getDebitTotal() + sign * transaction.getAmount());
+          rollup.setDebitCount(rollup.getDebitCount() + sign);
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the volumes of the delta to the rollup
+   *
+   * @param rollup - the rollup to add to
+   * @param delta - the volumes to add
+   * @return the rollup
+   */
+  private static TransactionRollup add(
+      final TransactionRollup rollup, final TransactionRollup delta) {
+    rollup.setCreditTotal(rollup.getCreditTotal() + delta.getCreditTotal());
+    rollup.setDebitTotal(rollup.getDebitTotal() + delta.getDebitTotal());
+    rollup.setCreditCount(rollup.getCreditCount() + delta.getCreditCount());
+    rollup.setDebitCount(rollup.getDebitCount() + delta.getDebitCount());
+    return rollup;
+  }
+
+  /**
+   * Checks whether the transaction is at or before the watermark, i.e. was added to the rollups
+   *
+   * @param transaction - the transaction
+   * @param watermark - the watermark
+   * @return true if the transaction is part of the rollups
+   */
+  private static boolean isRolledUp(
+      final Transaction transaction, final RollupWatermark watermark) {
+    final ZonedDateTime dateTransacted = transaction.getDateTransacted();
+    return dateTransacted.isBefore(watermark.getLastDateTransacted())
+        || (dateTransacted.isEqual(watermark.getLastDateTransacted())
+            && transaction.getId() <= watermark.getLastId());
+  }
+
+  /**
+   * Locks the watermark, creating it at the epoch if the rollups were never computed
+   *
+   * @return the locked {@link RollupWatermark}
+   */
+  private RollupWatermark lockWatermark() {
+    return watermarkRepository
+        .findByIdForUpdate(WATERMARK_ID)
+        .orElseGet(
+            () ->
+                watermarkRepository.save(
+                    new RollupWatermark(WATERMARK_ID, Instant.EPOCH.atZone(ZoneOffset.UTC), 0L)));
+  }
+}
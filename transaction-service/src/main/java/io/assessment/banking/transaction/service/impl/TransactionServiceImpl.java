@@ -1,13 +1,39 @@
 package io.assessment.banking.transaction.service.impl;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import io.assessment.banking.transaction.exception.TransactionNotFoundException;
+import io.assessment.banking.transaction.model.entity.AccountSummary;
+import io.assessment.banking.transaction.model.event.TransactionsDeletedEvent;
+import io.assessment.banking.transaction.model.event.TransactionsSavedEvent;
+import io.assessment.banking.transaction.model.vo.TransactionCursor;
+import io.assessment.banking.transaction.model.vo.TransactionSearchCriteria;
 import io.assessment.banking.transaction.repository.TransactionRepository;
+import io.assessment.banking.transaction.service.AccountSummaryService;
+import io.assessment.banking.transaction.service.TransactionConsumer;
+import io.assessment.banking.transaction.service.TransactionRollupService;
 import io.assessment.banking.transaction.service.TransactionService;
 import io.assessment.banking.transaction.model.entity.Transaction;
 import lombok.extern.log4j.Log4j2;
@@ -21,15 +47,43 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public class TransactionServiceImpl implements TransactionService {
 
+  /** The bounds used when the request doesn't limit the transaction time */
+  private static final ZonedDateTime EARLIEST = Instant.EPOCH.atZone(ZoneOffset.UTC);
+
+  private static final ZonedDateTime LATEST =
+      ZonedDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC);
+
   private final TransactionRepository repository;
+  private final EntityManager entityManager;
+  private final AccountSummaryService accountSummaryService;
+  private final TransactionRollupService rollupService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int deleteChunkSize;
 
   @Autowired
-  public TransactionServiceImpl(final TransactionRepository repository) {
+  public TransactionServiceImpl(
+      final TransactionRepository repository,
+      final EntityManager entityManager,
+      final AccountSummaryService accountSummaryService,
+      final TransactionRollupService rollupService,
+      final ApplicationEventPublisher eventPublisher,
+      final PlatformTransactionManager transactionManager,
+      @Value("${transaction.delete.chunk-size:1000}") final int deleteChunkSize) {
     this.repository = repository;
+    this.entityManager = entityManager;
+    this.accountSummaryService = accountSummaryService;
+    this.rollupService = rollupService;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.deleteChunkSize = deleteChunkSize;
   }
 
   /**
-   * Saves a transaction to the database
+   * Saves a transaction to the database and adds it to the summary of its account, and to the
+   * rollups if they have passed its time already. The summary is created beforehand if the account
+   * has none, in its own database transaction. A {@link TransactionsSavedEvent} is published for
+   * the saved transaction
    *
    * @param transactionToSave - transaction received in the request
    * @return the saved {@link Transaction} entity
@@ -37,29 +91,178 @@ public class TransactionServiceImpl implements TransactionService {
   @Override
   public Transaction saveTransaction(final Transaction transactionToSave) {
 
-    final Transaction savedTransaction = repository.save(transactionToSave);
+    accountSummaryService.createSummaries(List.of(transactionToSave.getAccountId()));
+    final Transaction savedTransaction =
+        transactionTemplate.execute(
+            status -> {
+              final Transaction transaction = repository.save(transactionToSave);
+              accountSummaryService.addTransactions(List.of(transaction));
+              rollupService.addTransactions(List.of(transaction));
+              eventPublisher.publishEvent(new TransactionsSavedEvent(List.of(transaction)));
+              return transaction;
+            });
 
     log.debug("Saved to database: {}", savedTransaction);
     return savedTransaction;
   }
 
   /**
-   * Gets all the transactions filtered by the given account id
+   * Saves several transactions to the database in one database transaction, along with the
+   * summaries of their accounts and the rollups the transactions are behind of. The missing
+   * summaries are created beforehand, each in its own database transaction
+   *
+   * @param transactionsToSave - transactions received in the request
+   * @return the saved {@link Transaction} entities, in the order of the request
+   */
+  @Override
+  public List<Transaction> saveTransactions(final List<Transaction> transactionsToSave) {
+
+    accountSummaryService.createSummaries(
+        transactionsToSave.stream().map(Transaction::getAccountId).collect(Collectors.toSet()));
+    final List<Transaction> savedTransactions = new ArrayList<>(transactionsToSave.size());
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          repository.saveAll(transactionsToSave).forEach(savedTransactions::add);
+          accountSummaryService.addTransactions(savedTransactions);
+          rollupService.addTransactions(savedTransactions);
+          eventPublisher.publishEvent(new TransactionsSavedEvent(savedTransactions));
+        });
+
+    log.debug("Saved {} transactions to database", savedTransactions.size());
+    return savedTransactions;
+  }
+
+  /**
+   * Gets a page of the transactions of the given account id, ordered by {@code dateTransacted, id}
    *
    * @param accountId - the account id in the request
-   * @return List of all the transactions that meet the given criteria
+   * @param from - the earliest transaction time, inclusive, or null for no lower bound
+   * @param to - the latest transaction time, exclusive, or null for no upper bound
+   * @param after - the position of the last transaction of the previous page, or null for the
+   *     first page
+   * @param limit - the maximum number of transactions in the page
+   * @return a {@link Slice} of the transactions, which knows whether there is a next page
+   */
+  @Override
+  public Slice<Transaction> findTransactionsByAccountId(
+      final Long accountId,
+      final ZonedDateTime from,
+      final ZonedDateTime to,
+      final TransactionCursor after,
+      final int limit) {
+
+    final ZonedDateTime lowerBound = from != null ? from : EARLIEST;
+    final Slice<Transaction> transactions =
+        repository.findPageByAccountId(
+            accountId,
+            lowerBound,
+            to != null ? to : LATEST,
+            after != null ? after.getDateTransacted() : lowerBound,
+            after != null ? after.getId() : 0L,
+            PageRequest.of(0, limit));
+
+    log.debug(
+        "Found {} transactions by accountId {} after {}",
+        transactions.getNumberOfElements(),
+        accountId,
+        after);
+    return transactions;
+  }
+
+  /**
+   * Searches the transactions matching the criteria, ordered by {@code dateTransacted, id}
+   *
+   * @param criteria - the predicates of the search
+   * @param after - the position of the last transaction of the previous page, or null for the
+   *     first page
+   * @param limit - the maximum number of transactions in the page
+   * @return a {@link Slice} of the transactions, which knows whether there is a next page
    */
   @Override
-  public List<Transaction> findAllTransactionsByAccountId(final Long accountId) {
+  @Transactional(readOnly = true)
+  public Slice<Transaction> searchTransactions(
+      final TransactionSearchCriteria criteria, final TransactionCursor after, final int limit) {
 
-    final List<Transaction> transactions = repository.findAllByAccountId(accountId);
+    final Slice<Transaction> transactions = repository.search(criteria, after, limit);
 
-    log.debug("Transactions by accountId {}: {}", accountId, transactions);
+    log.debug(
+        "Found {} transactions by {} after {}",
+        transactions.getNumberOfElements(),
+        criteria,
+        after);
     return transactions;
   }
 
   /**
-   * Deletes a transaction by the given id
+   * Gets the first transactions of each of the given account ids, ordered by {@code
+   * dateTransacted, id}. Each account is read with the keyset query of its first page, so the
+   * number of rows read is bounded by the limit however long the history of the accounts is
+   *
+   * @param accountIds - the account ids in the request
+   * @param limit - the maximum number of transactions per account
+   * @return the transactions of the accounts, grouped by account in the order of the request
+   */
+  @Override
+  public List<Transaction> findTransactionsByAccountIds(
+      final List<Long> accountIds, final int limit) {
+
+    final List<Transaction> transactions = new ArrayList<>();
+    for (final Long accountId : new LinkedHashSet<>(accountIds)) {
+      transactions.addAll(
+          findTransactionsByAccountId(accountId, null, null, null, limit).getContent());
+    }
+
+    log.debug("Found {} transactions by accountIds {}", transactions.size(), accountIds);
+    return transactions;
+  }
+
+  /**
+   * Computes the summaries of the given account ids from their transactions in the database
+   *
+   * @param accountIds - the account ids in the request
+   * @return the {@link AccountSummary} of every given account with transactions, ordered by
+   *     account id
+   */
+  @Override
+  public List<AccountSummary> computeAccountSummaries(final List<Long> accountIds) {
+    return accountSummaryService.computeAccountSummaries(accountIds);
+  }
+
+  /**
+   * Reads all the transactions of the given account id with a database cursor and hands them to the
+   * consumer one at a time, ordered by {@code dateTransacted, id}. Each transaction is detached
+   * once consumed, so the memory used doesn't grow with the number of transactions
+   *
+   * @param accountId - the account id in the request
+   * @param consumer - the consumer of the transactions
+   * @return the number of exported transactions
+   * @throws IOException - when the consumer fails to write a transaction
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public long exportTransactionsByAccountId(
+      final Long accountId, final TransactionConsumer consumer) throws IOException {
+
+    long count = 0;
+    try (final Stream<Transaction> transactions = repository.streamAllByAccountId(accountId)) {
+      final Iterator<Transaction> iterator = transactions.iterator();
+      while (iterator.hasNext()) {
+        final Transaction transaction = iterator.next();
+        consumer.accept(transaction);
+        entityManager.detach(transaction);
+        count++;
+      }
+    }
+
+    log.debug("Exported {} transactions of accountId {}", count, accountId);
+    return count;
+  }
+
+  /**
+   * Deletes a transaction by the given id with a single DELETE statement and removes it from the
+   * summary of its account and from the rollups. The transaction is read as a read-only entity
+   * beforehand, as its amount is needed to update them. When a concurrent request deletes the
+   * transaction first, the DELETE finds no row and the summary is left alone
    *
    * @param id - the given id
    * @throws TransactionNotFoundException - when the application cannot find the transaction in the
@@ -68,15 +271,58 @@ public class TransactionServiceImpl implements TransactionService {
   @Override
   @Transactional
   public void deleteTransaction(final Long id) throws TransactionNotFoundException {
-    final Transaction transactionToDelete =
-        repository
-            .findById(id)
-            .orElseThrow(
-                () ->
-                    new TransactionNotFoundException(
-                        "Unable to find any transactions with id: " + id));
-
-    log.debug("Deleting the transaction {}", transactionToDelete);
-    repository.delete(transactionToDelete);
+    final Optional<Transaction> transactionToDelete = repository.findReadOnlyById(id);
+    if (transactionToDelete.isEmpty() || repository.deleteDirectlyById(id) == 0) {
+      throw new TransactionNotFoundException("Unable to find any transactions with id: " + id);
+    }
+
+    log.debug("Deleted the transaction {}", transactionToDelete.get());
+    accountSummaryService.removeTransactions(List.of(transactionToDelete.get()));
+    rollupService.removeTransactions(List.of(transactionToDelete.get()));
+    eventPublisher.publishEvent(new TransactionsDeletedEvent(List.of(id)));
+  }
+
+  /**
+   * Deletes all the transactions of the given account id, {@code deleteChunkSize} at a time. Each
+   * chunk is locked, deleted with one statement and removed from the summary and the rollups in
+   * its own database transaction, so the row locks are only held for the duration of one chunk
+   * however long the history is
+   *
+   * @param accountId - the account id in the request
+   * @return the number of deleted transactions
+   */
+  @Override
+  public long deleteTransactionsByAccountId(final Long accountId) {
+    long deleted = 0;
+    int chunk;
+    do {
+      chunk = transactionTemplate.execute(status -> deleteChunk(accountId));
+      deleted += chunk;
+    } while (chunk == deleteChunkSize);
+
+    log.debug("Deleted {} transactions of accountId {}", deleted, accountId);
+    return deleted;
+  }
+
+  /**
+   * Deletes the first {@code deleteChunkSize} transactions of the account
+   *
+   * @param accountId - the account id
+   * @return the number of deleted transactions
+   */
+  private int deleteChunk(final Long accountId) {
+    final List<Transaction> transactions =
+        repository.findFirstByAccountIdForUpdate(accountId, PageRequest.of(0, deleteChunkSize));
+    if (transactions.isEmpty()) {
+      return 0;
+    }
+
+    final List<Long> ids =
+        transactions.stream().map(Transaction::getId).collect(Collectors.toList());
+    repository.deleteDirectlyByIdIn(ids);
+    accountSummaryService.removeTransactions(transactions);
+    rollupService.removeTransactions(transactions);
+    eventPublisher.publishEvent(new TransactionsDeletedEvent(ids));
+    return transactions.size();
   }
 }
@@ -0,0 +1,256 @@
+package io.assessment.banking.transaction.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * A segment file of the {@link TransactionLog}, memory-mapped as a whole. The segment holds a fixed
+ * number of fixed-width records and is zero-filled beyond the last written one:
+ *
+ * <pre>
+ *  0 id             long
+ *  8 accountId      long
+ * 16 amount         long, in minor units
+ * 24 epochNanos     long, the transaction time
+ * 32 type           byte, the ordinal of the TransactionType
+ * 33 state          byte, 0 unwritten, 1 live, 2 deleted
+ * 34 reserved       2 bytes
+ * 36 checksum       int, the CRC32 of bytes 0 to 35
+ * </pre>
+ *
+ * The absolute reads of the buffer don't move its position, so any number of threads can read
+ * while one thread writes records the readers don't know of yet
+ *
+ * @author Nikhil Vibhav
+ */
+final class LogSegment implements AutoCloseable {
+
+  static final int RECORD_SIZE = 40;
+
+  static final byte UNWRITTEN = 0;
+  static final byte LIVE = 1;
+  static final byte DELETED = 2;
+
+  private static final int ID = 0;
+  private static final int ACCOUNT_ID = 8;
+  private static final int AMOUNT = 16;
+  private static final int EPOCH_NANOS = 24;
+  private static final int TYPE = 32;
+  private static final int STATE = 33;
+  private static final int CHECKSUM = 36;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+
+  private LogSegment(final FileChannel channel, final MappedByteBuffer buffer, final int capacity) {
+    this.channel = channel;
+    this.buffer = buffer;
+    this.capacity = capacity;
+  }
+
+  /**
+   * Opens the segment file, creating it if it doesn't exist, and maps it into memory. A new file
+   * is extended to its full size, which leaves it sparse on most file systems
+   *
+   * @param path - the segment file
+   * @param capacity - the number of records of the segment
+   * @return the mapped {@link LogSegment}
+   * @throws IOException - when the file can't be opened or mapped
+   */
+  static LogSegment open(final Path path, final int capacity) throws IOException {
+    final FileChannel channel =
+        FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      final MappedByteBuffer buffer =
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+      return new LogSegment(channel, buffer, capacity);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Writes a live record to the slot. The checksum is computed on a copy of the record, which is
+   * then copied to the mapping in one go
+   *
+   * @param slot - the slot of the record
+   * @param record - a buffer of {@link #RECORD_SIZE} bytes used to assemble the record
+   * @param id - the transaction id
+   * @param accountId - the account id
+   * @param amount - the amount in minor units
+   * @param epochNanos - the transaction time
+   * @param type - the ordinal of the transaction type
+   */
+  void write(
+      final int slot,
+      final ByteBuffer record,
+      final long id,
+      final long accountId,
+      final long amount,
+      final long epochNanos,
+      final byte type) {
+    record.clear();
+    record
+        .putLong(ID, id)
+        .putLong(ACCOUNT_ID, accountId)
+        .putLong(AMOUNT, amount)
+        .putLong(EPOCH_NANOS, epochNanos)
+        .put(TYPE, type)
+        .put(STATE, LIVE)
+        .putShort(STATE + 1, (short) 0);
+    record.putInt(CHECKSUM, checksum(record));
+
+    final ByteBuffer target = buffer.duplicate();
+    target.position(offset(slot));
+    target.put(record);
+  }
+
+  /**
+   * Marks the record of the slot as deleted and updates its checksum. The state and the checksum
+   * both lie in the last 8 bytes of the record, which are aligned and written with a single long,
+   * so they can't reach the storage device one without the other
+   *
+   * @param slot - the slot of a live record
+   */
+  void markDeleted(final int slot) {
+    final int offset = offset(slot);
+    final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    record.put(slice(offset)).put(STATE, DELETED).clear();
+    record.putInt(CHECKSUM, checksum(record));
+    buffer.putLong(offset + TYPE, record.getLong(TYPE));
+  }
+
+  /**
+   * Checks whether the slot holds a complete record, i.e. a live or deleted record whose checksum
+   * matches
+   *
+   * @param slot - the slot
+   * @return true if the record was completely written
+   */
+  boolean isValid(final int slot) {
+    final int offset = offset(slot);
+    final byte state = buffer.get(offset + STATE);
+    return (state == LIVE || state == DELETED)
+        && buffer.getInt(offset + CHECKSUM) == checksum(slice(offset));
+  }
+
+  /**
+   * Checks whether the slot was never written to, i.e. all of its bytes are zero
+   *
+   * @param slot - the slot
+   * @return true if the slot is unwritten
+   */
+  boolean isUnwritten(final int slot) {
+    final int offset = offset(slot);
+    for (int i = 0; i < RECORD_SIZE; i += Long.BYTES) {
+      if (buffer.getLong(offset + i) != 0L) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Finds the first slot from the given one on that isn't unwritten
+   *
+   * @param fromSlot - the first slot to check
+   * @return the slot, or the capacity of the segment if all the slots are unwritten
+   */
+  int findWritten(final int fromSlot) {
+    int slot = fromSlot;
+    while (slot < capacity && isUnwritten(slot)) {
+      slot++;
+    }
+    return slot;
+  }
+
+  /**
+   * Zero-fills the slot, unless it is unwritten already so that the untouched pages of a sparse
+   * file stay unallocated
+   *
+   * @param slot - the slot to clear
+   * @return true if the slot wasn't zero
+   */
+  boolean clear(final int slot) {
+    if (isUnwritten(slot)) {
+      return false;
+    }
+    final ByteBuffer target = buffer.duplicate();
+    target.position(offset(slot));
+    target.put(new byte[RECORD_SIZE]);
+    return true;
+  }
+
+  long getId(final int slot) {
+    return buffer.getLong(offset(slot) + ID);
+  }
+
+  long getAccountId(final int slot) {
+    return buffer.getLong(offset(slot) + ACCOUNT_ID);
+  }
+
+  long getAmount(final int slot) {
+    return buffer.getLong(offset(slot) + AMOUNT);
+  }
+
+  long getEpochNanos(final int slot) {
+    return buffer.getLong(offset(slot) + EPOCH_NANOS);
+  }
+
+  byte getType(final int slot) {
+    return buffer.get(offset(slot) + TYPE);
+  }
+
+  byte getState(final int slot) {
+    return buffer.get(offset(slot) + STATE);
+  }
+
+  /** Writes the modified pages of the segment to the storage device */
+  void force() {
+    buffer.force();
+  }
+
+  @Override
+  public void close() throws IOException {
+    buffer.force();
+    channel.close();
+  }
+
+  private static int offset(final int slot) {
+    return slot * RECORD_SIZE;
+  }
+
+  /**
+   * Gets a view of the checksummed bytes of the record at the offset
+   *
+   * @param offset - the offset of the record
+   * @return the view, positioned at its first byte
+   */
+  private ByteBuffer slice(final int offset) {
+    final ByteBuffer record = buffer.duplicate();
+    record.position(offset).limit(offset + CHECKSUM);
+    return record;
+  }
+
+  /**
+   * Computes the checksum of the first {@code CHECKSUM} bytes of the record
+   *
+   * @param record - the record, positioned at its first byte
+   * @return the CRC32 of the record
+   */
+  private static int checksum(final ByteBuffer record) {
+    final ByteBuffer bytes = record.duplicate();
+    bytes.limit(bytes.position() + CHECKSUM);
+    final CRC32 crc = new CRC32();
+    crc.update(bytes);
+    return (int) crc.getValue();
+  }
+}
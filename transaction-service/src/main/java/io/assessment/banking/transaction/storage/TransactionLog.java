@@ -0,0 +1,756 @@
+package io.assessment.banking.transaction.storage;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.model.entity.AccountSummary;
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.service.TransactionConsumer;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Append-only transaction log made of memory-mapped {@link LogSegment} files of fixed-width
+ * records. Records are appended to the last segment, a new segment is started when it is full.
+ * Ids and transaction times are assigned on append and never decrease, so the records are ordered
+ * by {@code dateTransacted, id} in the log, and a deleted transaction is only marked as such in
+ * its record.
+ *
+ * <p>The positions of the live records of each account are kept in memory. On startup the
+ * segments are scanned to rebuild them, the scan stops at the first record that is unwritten or
+ * whose checksum doesn't match. When every slot after that record is unwritten, it is the record
+ * that was being appended when the process stopped and it is zero-filled. Otherwise a record in
+ * the middle of the log is corrupt, and the log refuses to open rather than drop the records
+ * after it.
+ *
+ * <p>A transaction with an idempotency key is appended only once. The keys are appended to a side
+ * file, each with the id of its record and a checksum, before the records themselves, and all of
+ * them are kept in memory. On startup the file is read up to the first incomplete entry or the
+ * first entry of a record the segments don't have, and it is cut off there. Appending a
+ * transaction with a key whose record is still live returns that record instead
+ *
+ * @author Nikhil Vibhav
+ */
+@Component
+@ConditionalOnProperty(name = "transaction.storage.engine", havingValue = "LOG")
+@Log4j2
+public class TransactionLog {
+
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String KEY_FILE = "idempotency-keys.idx";
+  private static final int KEY_HEADER_SIZE = Long.BYTES + Short.BYTES;
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private final Path directory;
+  private final int segmentCapacity;
+  private final boolean forceWrites;
+  private final List<LogSegment> segments = new CopyOnWriteArrayList<>();
+  private final Map<Long, Positions> positionsByAccount = new HashMap<>();
+  private final Map<String, Long> idsByKey = new HashMap<>();
+  private final FileChannel keyChannel;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final ByteBuffer record = ByteBuffer.allocate(LogSegment.RECORD_SIZE);
+
+  /** The number of records in the log, guarded by the write lock */
+  private long size;
+
+  private long lastId;
+  private long lastEpochNanos;
+
+  @Autowired
+  public TransactionLog(
+      @Value("${transaction.storage.log.directory:transaction-log}") final String directory,
+      @Value("${transaction.storage.log.segment-records:1048576}") final int segmentCapacity,
+      @Value("${transaction.storage.log.force-writes:false}") final boolean forceWrites) {
+    this.directory = Paths.get(directory);
+    this.segmentCapacity = segmentCapacity;
+    this.forceWrites = forceWrites;
+    recover();
+    this.keyChannel = recoverKeys();
+  }
+
+  /**
+   * Appends the transaction to the log, assigning its id and transaction time
+   *
+   * @param transaction - the transaction to append
+   * @return the transaction, with its id and transaction time
+   */
+  public Transaction append(final Transaction transaction) {
+    return appendAll(List.of(transaction)).get(0);
+  }
+
+  /**
+   * Appends the transactions to the log in the given order, assigning their ids and transaction
+   * times. A transaction whose idempotency key was appended before, or is used by an earlier
+   * transaction of the list, is replaced by the transaction appended with that key. The segments
+   * needed are started before anything is written, so that no key is written without its record.
+   * With {@code forceWrites} the keys and the segments are written to the storage device once for
+   * all of them
+   *
+   * @param transactions - the transactions to append
+   * @return the appended or the original transactions, with their ids and transaction times
+   */
+  public List<Transaction> appendAll(final List<Transaction> transactions) {
+    lock.writeLock().lock();
+    try {
+      final Transaction[] results = new Transaction[transactions.size()];
+      final List<Transaction> newTransactions = new ArrayList<>(transactions.size());
+      final Map<String, Transaction> newKeys = new HashMap<>();
+      for (int i = 0; i < transactions.size(); i++) {
+        final Transaction transaction = transactions.get(i);
+        final String idempotencyKey = transaction.getIdempotencyKey();
+        results[i] = idempotencyKey != null ? findByKey(idempotencyKey, newKeys) : null;
+        if (results[i] == null) {
+          results[i] = transaction;
+          newTransactions.add(transaction);
+          if (idempotencyKey != null) {
+            newKeys.put(idempotencyKey, transaction);
+          }
+        }
+      }
+
+      final int firstSegment = (int) (size / segmentCapacity);
+      while (size + newTransactions.size() > (long) segments.size() * segmentCapacity) {
+        roll();
+      }
+      writeKeys(newTransactions);
+
+      for (final Transaction transaction : newTransactions) {
+        final long epochNanos = Math.max(toEpochNanos(ZonedDateTime.now()), lastEpochNanos);
+        segment(size)
+            .write(
+                slot(size),
+                record,
+                lastId + 1,
+                transaction.getAccountId(),
+                transaction.getAmount(),
+                epochNanos,
+                (byte) transaction.getType().ordinal());
+
+        lastId++;
+        lastEpochNanos = epochNanos;
+        positionsByAccount
+            .computeIfAbsent(transaction.getAccountId(), accountId -> new Positions())
+            .add(size);
+        size++;
+
+        transaction.setId(lastId);
+        transaction.setDateTransacted(toDateTime(epochNanos));
+        if (transaction.getIdempotencyKey() != null) {
+          idsByKey.put(transaction.getIdempotencyKey(), lastId);
+        }
+      }
+
+      if (forceWrites) {
+        for (int i = firstSegment; i < segments.size(); i++) {
+          segments.get(i).force();
+        }
+      }
+      return Arrays.asList(results);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the live transactions of an account, or of all accounts, that come after the given id
+   * and were made in the given time range, ordered by {@code dateTransacted, id}. As both never
+   * decrease along the log, the first match is found with a binary search
+   *
+   * @param accountId - the account id, or null for all accounts
+   * @param from - the earliest transaction time, inclusive, or null for no lower bound
+   * @param to - the latest transaction time, exclusive, or null for no upper bound
+   * @param afterId - the id of the last transaction already read, 0 to start at the beginning
+   * @param filter - the further predicate the transactions must match
+   * @param limit - the maximum number of transactions
+   * @return the matching transactions
+   */
+  public List<Transaction> find(
+      final Long accountId,
+      final ZonedDateTime from,
+      final ZonedDateTime to,
+      final long afterId,
+      final Predicate<Transaction> filter,
+      final int limit) {
+    final long fromNanos = from != null ? toEpochNanos(from) : Long.MIN_VALUE;
+    final long toNanos = to != null ? toEpochNanos(to) : Long.MAX_VALUE;
+    final List<Transaction> transactions = new ArrayList<>(Math.min(limit, 1024));
+
+    lock.readLock().lock();
+    try {
+      final Positions positions = accountId != null ? positionsByAccount.get(accountId) : null;
+      if (accountId != null && positions == null) {
+        return transactions;
+      }
+      final long count = positions != null ? positions.size() : size;
+
+      long low = 0;
+      long high = count;
+      while (low < high) {
+        final long middle = (low + high) >>> 1;
+        final long position = positions != null ? positions.get((int) middle) : middle;
+        final LogSegment segment = segment(position);
+        final int slot = slot(position);
+        if (segment.getId(slot) <= afterId || segment.getEpochNanos(slot) < fromNanos) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+
+      for (long i = low; i < count && transactions.size() < limit; i++) {
+        final long position = positions != null ? positions.get((int) i) : i;
+        final LogSegment segment = segment(position);
+        final int slot = slot(position);
+        if (segment.getEpochNanos(slot) >= toNanos) {
+          break;
+        }
+        if (segment.getState(slot) == LogSegment.LIVE) {
+          final Transaction transaction = read(segment, slot);
+          if (filter == null || filter.test(transaction)) {
+            transactions.add(transaction);
+          }
+        }
+      }
+      return transactions;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Finds all the live transactions of the account, ordered by {@code dateTransacted, id}
+   *
+   * @param accountId - the account id
+   * @return the transactions of the account
+   */
+  public List<Transaction> findAllByAccountId(final Long accountId) {
+    final List<Transaction> transactions = new ArrayList<>();
+    for (final long position : snapshotPositions(accountId)) {
+      final Transaction transaction = readLive(position);
+      if (transaction != null) {
+        transactions.add(transaction);
+      }
+    }
+    return transactions;
+  }
+
+  /**
+   * Computes the totals, the number and the time range of the live transactions of the account
+   * from its records, without decoding them into {@link Transaction}s
+   *
+   * @param accountId - the account id
+   * @return the unsaved {@link AccountSummary}, empty if the account has no live transactions
+   */
+  public Optional<AccountSummary> summarize(final Long accountId) {
+    long creditTotal = 0;
+    long debitTotal = 0;
+    long count = 0;
+    long firstEpochNanos = 0;
+    long lastEpochNanos = 0;
+    for (final long position : snapshotPositions(accountId)) {
+      final LogSegment segment = segment(position);
+      final int slot = slot(position);
+      if (segment.getState(slot) != LogSegment.LIVE) {
+        continue;
+      }
+      if (segment.getType(slot) == TransactionType.CREDIT.ordinal()) {
+        creditTotal += segment.getAmount(slot);
+      } else {
+        debitTotal += segment.getAmount(slot);
+      }
+      if (count++ == 0) {
+        firstEpochNanos = segment.getEpochNanos(slot);
+      }
+      lastEpochNanos = segment.getEpochNanos(slot);
+    }
+
+    if (count == 0) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new AccountSummary(
+            accountId,
+            creditTotal,
+            debitTotal,
+            count,
+            toDateTime(firstEpochNanos),
+            toDateTime(lastEpochNanos)));
+  }
+
+  /**
+   * Hands the live transactions of the account to the consumer one at a time, ordered by {@code
+   * dateTransacted, id}. Only the positions of the account are copied under the lock, so a slow
+   * consumer doesn't hold up the appends
+   *
+   * @param accountId - the account id
+   * @param consumer - the consumer of the transactions
+   * @return the number of consumed transactions
+   * @throws IOException - when the consumer fails
+   */
+  public long forEachByAccountId(final Long accountId, final TransactionConsumer consumer)
+      throws IOException {
+    long count = 0;
+    for (final long position : snapshotPositions(accountId)) {
+      final Transaction transaction = readLive(position);
+      if (transaction != null) {
+        consumer.accept(transaction);
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Marks the transaction with the given id as deleted. The record is found with a binary search
+   * of the ids, which increase along the log
+   *
+   * @param id - the transaction id
+   * @return true if a live transaction was deleted
+   */
+  public boolean delete(final Long id) {
+    lock.writeLock().lock();
+    try {
+      final long position = findLivePosition(id);
+      if (position < 0) {
+        return false;
+      }
+
+      final LogSegment segment = segment(position);
+      segment.markDeleted(slot(position));
+      positionsByAccount.get(segment.getAccountId(slot(position))).remove(position);
+      if (forceWrites) {
+        segment.force();
+      }
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Marks all the live transactions of the account as deleted
+   *
+   * @param accountId - the account id
+   * @return the number of deleted transactions
+   */
+  public long deleteAllByAccountId(final Long accountId) {
+    lock.writeLock().lock();
+    try {
+      final Positions positions = positionsByAccount.remove(accountId);
+      if (positions == null) {
+        return 0;
+      }
+      for (int i = 0; i < positions.size(); i++) {
+        segment(positions.get(i)).markDeleted(slot(positions.get(i)));
+      }
+      if (forceWrites) {
+        segments.forEach(LogSegment::force);
+      }
+      return positions.size();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Gets the number of records in the log, live or deleted
+   *
+   * @return the number of records
+   */
+  public long size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    lock.writeLock().lock();
+    try {
+      for (final LogSegment segment : segments) {
+        segment.close();
+      }
+      segments.clear();
+      keyChannel.close();
+      log.info("Closed the transaction log in {}", directory);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to close the transaction log in " + directory, e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Opens the segments of the directory and rebuilds the positions of the accounts by scanning
+   * them. The scan stops at the first incomplete record, which must be the last written slot of the
+   * last segment. The segments must have been written with the current {@code segmentCapacity}
+   */
+  private void recover() {
+    try {
+      Files.createDirectories(directory);
+      final List<Path> paths;
+      try (final Stream<Path> files = Files.list(directory)) {
+        paths =
+            files
+                .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted()
+                .collect(Collectors.toList());
+      }
+
+      for (int i = 0; i < paths.size(); i++) {
+        if (Files.size(paths.get(i)) != (long) segmentCapacity * LogSegment.RECORD_SIZE) {
+          throw new IllegalStateException(
+              "The transaction log segment "
+                  + paths.get(i)
+                  + " wasn't written with "
+                  + segmentCapacity
+                  + " records per segment");
+        }
+        final LogSegment segment = LogSegment.open(paths.get(i), segmentCapacity);
+        segments.add(segment);
+
+        int slot = 0;
+        while (slot < segmentCapacity && segment.isValid(slot)) {
+          recoverRecord(segment, slot);
+          slot++;
+        }
+        if (slot < segmentCapacity) {
+          final int written = segment.findWritten(slot + 1);
+          if (i < paths.size() - 1 || written < segmentCapacity) {
+            throw new IllegalStateException(
+                "The transaction log segment "
+                    + paths.get(i)
+                    + " is corrupt at record "
+                    + slot
+                    + ", which is followed by written records");
+          }
+          if (segment.clear(slot)) {
+            log.warn("Discarded the incomplete record {} of {}", slot, paths.get(i));
+          }
+        }
+      }
+      log.info("Recovered {} records from the transaction log in {}", size, directory);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to open the transaction log in " + directory, e);
+    }
+  }
+
+  /**
+   * Adds a complete record found by the recovery to the log state
+   *
+   * @param segment - the segment of the record
+   * @param slot - the slot of the record
+   */
+  private void recoverRecord(final LogSegment segment, final int slot) {
+    if (segment.getState(slot) == LogSegment.LIVE) {
+      positionsByAccount
+          .computeIfAbsent(segment.getAccountId(slot), accountId -> new Positions())
+          .add(size);
+    }
+    lastId = segment.getId(slot);
+    lastEpochNanos = segment.getEpochNanos(slot);
+    size++;
+  }
+
+  /**
+   * Opens the idempotency key file and rebuilds the keys of the records in memory. The file is read
+   * up to the first incomplete entry or the first entry of a record the segments don't have, i.e.
+   * the keys being written when the process stopped, and it is cut off there
+   *
+   * @return the channel the keys of the new records are appended to
+   */
+  private FileChannel recoverKeys() {
+    final Path path = directory.resolve(KEY_FILE);
+    try {
+      final FileChannel channel =
+          FileChannel.open(
+              path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+      long validLength = 0;
+      try (final DataInputStream input =
+          new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+        while (true) {
+          final long id = input.readLong();
+          final byte[] key = new byte[input.readUnsignedShort()];
+          input.readFully(key);
+          if (input.readInt() != keyChecksum(id, key) || id > lastId) {
+            break;
+          }
+          idsByKey.put(new String(key, StandardCharsets.UTF_8), id);
+          validLength += KEY_HEADER_SIZE + key.length + Integer.BYTES;
+        }
+      } catch (EOFException e) {
+        // the last entry is incomplete or the file ends with a complete entry
+      }
+
+      if (channel.size() > validLength) {
+        log.warn("Discarded {} bytes at the end of {}", channel.size() - validLength, path);
+        channel.truncate(validLength);
+      }
+      channel.position(validLength);
+      log.info("Recovered {} idempotency keys from {}", idsByKey.size(), path);
+      return channel;
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to open the idempotency keys in " + path, e);
+    }
+  }
+
+  /**
+   * Finds the transaction appended with the idempotency key, among the new transactions of the
+   * current append first and then in the log
+   *
+   * @param idempotencyKey - the idempotency key
+   * @param newKeys - the new transactions of the current append, by idempotency key
+   * @return the transaction, or null if the key is new or its record was deleted
+   */
+  private Transaction findByKey(
+      final String idempotencyKey, final Map<String, Transaction> newKeys) {
+    final Transaction newTransaction = newKeys.get(idempotencyKey);
+    if (newTransaction != null) {
+      return newTransaction;
+    }
+
+    final Long id = idsByKey.get(idempotencyKey);
+    final long position = id != null ? findLivePosition(id) : -1;
+    if (position < 0) {
+      return null;
+    }
+    final Transaction original = read(segment(position), slot(position));
+    original.setIdempotencyKey(idempotencyKey);
+    log.debug("Replaying the transaction with the idempotency key {}", idempotencyKey);
+    return original;
+  }
+
+  /**
+   * Appends the idempotency keys of the new transactions to the key file, with the ids their
+   * records are about to get, in one write
+   *
+   * @param newTransactions - the transactions about to be appended, in order
+   */
+  private void writeKeys(final List<Transaction> newTransactions) {
+    final ByteArrayOutputStream entries = new ByteArrayOutputStream();
+    long id = lastId;
+    for (final Transaction transaction : newTransactions) {
+      id++;
+      if (transaction.getIdempotencyKey() != null) {
+        final byte[] key = transaction.getIdempotencyKey().getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer entry = ByteBuffer.allocate(KEY_HEADER_SIZE + key.length + Integer.BYTES);
+        entry.putLong(id).putShort((short) key.length).put(key).putInt(keyChecksum(id, key));
+        entries.write(entry.array(), 0, entry.capacity());
+      }
+    }
+    if (entries.size() == 0) {
+      return;
+    }
+
+    try {
+      final ByteBuffer buffer = ByteBuffer.wrap(entries.toByteArray());
+      while (buffer.hasRemaining()) {
+        keyChannel.write(buffer);
+      }
+      if (forceWrites) {
+        keyChannel.force(false);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to write the idempotency keys in " + directory, e);
+    }
+  }
+
+  /**
+   * Finds the position of the live record with the given id with a binary search of the ids, which
+   * increase along the log
+   *
+   * @param id - the transaction id
+   * @return the position, or -1 if there is no live record with that id
+   */
+  private long findLivePosition(final long id) {
+    long low = 0;
+    long high = size;
+    while (low < high) {
+      final long middle = (low + high) >>> 1;
+      if (segment(middle).getId(slot(middle)) < id) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    if (low == size
+        || segment(low).getId(slot(low)) != id
+        || segment(low).getState(slot(low)) != LogSegment.LIVE) {
+      return -1;
+    }
+    return low;
+  }
+
+  /** Starts a new segment, named after its sequence number so that the names sort in log order */
+  private void roll() {
+    final Path path = directory.resolve(String.format("%010d%s", segments.size(), SEGMENT_SUFFIX));
+    try {
+      segments.add(LogSegment.open(path, segmentCapacity));
+      log.debug("Started the transaction log segment {}", path);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to create the transaction log segment " + path, e);
+    }
+  }
+
+  /**
+   * Copies the positions of the live records of the account
+   *
+   * @param accountId - the account id
+   * @return the positions, in log order
+   */
+  private long[] snapshotPositions(final Long accountId) {
+    lock.readLock().lock();
+    try {
+      final Positions positions = positionsByAccount.get(accountId);
+      return positions != null ? positions.toArray() : new long[0];
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Reads the record at the position if it is still live. Records below the size of the log are
+   * never rewritten, only marked as deleted, so no lock is needed
+   *
+   * @param position - the position of the record
+   * @return the transaction, or null if it was deleted
+   */
+  private Transaction readLive(final long position) {
+    final LogSegment segment = segment(position);
+    final int slot = slot(position);
+    return segment.getState(slot) == LogSegment.LIVE ? read(segment, slot) : null;
+  }
+
+  private LogSegment segment(final long position) {
+    return segments.get((int) (position / segmentCapacity));
+  }
+
+  private int slot(final long position) {
+    return (int) (position % segmentCapacity);
+  }
+
+  /**
+   * Decodes the record of the slot into a detached {@link Transaction}, with its time in UTC
+   *
+   * @param segment - the segment of the record
+   * @param slot - the slot of the record
+   * @return the transaction
+   */
+  private static Transaction read(final LogSegment segment, final int slot) {
+    final Transaction transaction = new Transaction();
+    transaction.setId(segment.getId(slot));
+    transaction.setAccountId(segment.getAccountId(slot));
+    transaction.setAmount(segment.getAmount(slot));
+    transaction.setType(TransactionType.values()[segment.getType(slot)]);
+    transaction.setDateTransacted(toDateTime(segment.getEpochNanos(slot)));
+    return transaction;
+  }
+
+  /**
+   * Converts the time to nanoseconds since the epoch, saturating outside of the years 1677 to 2262
+   *
+   * @param dateTime - the time
+   * @return the nanoseconds since the epoch
+   */
+  private static long toEpochNanos(final ZonedDateTime dateTime) {
+    final Instant instant = dateTime.toInstant();
+    if (instant.getEpochSecond() >= Long.MAX_VALUE / NANOS_PER_SECOND) {
+      return Long.MAX_VALUE;
+    }
+    if (instant.getEpochSecond() <= Long.MIN_VALUE / NANOS_PER_SECOND) {
+      return Long.MIN_VALUE;
+    }
+    return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+  }
+
+  /**
+   * Computes the checksum of an entry of the idempotency key file
+   *
+   * @param id - the transaction id
+   * @param key - the UTF-8 bytes of the idempotency key
+   * @return the CRC32 of the id, the key length and the key
+   */
+  private static int keyChecksum(final long id, final byte[] key) {
+    final CRC32 crc = new CRC32();
+    crc.update(
+        ByteBuffer.allocate(KEY_HEADER_SIZE).putLong(id).putShort((short) key.length).flip());
+    crc.update(key);
+    return (int) crc.getValue();
+  }
+
+  private static ZonedDateTime toDateTime(final long epochNanos) {
+    return Instant.ofEpochSecond(0, epochNanos).atZone(ZoneOffset.UTC);
+  }
+
+  /** The growable, sorted positions of the live records of one account */
+  private static final class Positions {
+
+    private long[] values = new long[4];
+    private int size;
+
+    void add(final long position) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = position;
+    }
+
+    void remove(final long position) {
+      final int index = Arrays.binarySearch(values, 0, size, position);
+      if (index >= 0) {
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+      }
+    }
+
+    long get(final int index) {
+      return values[index];
+    }
+
+    int size() {
+      return size;
+    }
+
+    long[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
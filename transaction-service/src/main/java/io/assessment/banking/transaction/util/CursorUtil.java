@@ -0,0 +1,63 @@
+package io.assessment.banking.transaction.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+
+import io.assessment.banking.transaction.exception.InvalidCursorException;
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.vo.TransactionCursor;
+
+/**
+ * Encodes the position of a transaction into an opaque, URL safe cursor and back
+ *
+ * @author Nikhil Vibhav
+ */
+public final class CursorUtil {
+
+  private static final String SEPARATOR = "|";
+
+  private CursorUtil() {}
+
+  /**
+   * Encodes the position of the given transaction
+   *
+   * @param transaction - the last transaction of a page
+   * @return the cursor to request the next page with
+   */
+  public static String encode(final Transaction transaction) {
+    final String position =
+        transaction.getDateTransacted().toInstant() + SEPARATOR + transaction.getId();
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes the cursor into the position of a transaction
+   *
+   * @param cursor - the cursor received in the request
+   * @return the {@link TransactionCursor}
+   * @throws InvalidCursorException - when the cursor wasn't created by {@link #encode(Transaction)}
+   */
+  public static TransactionCursor decode(final String cursor) throws InvalidCursorException {
+    try {
+      final String position =
+          new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      final int separatorIndex = position.indexOf(SEPARATOR);
+      if (separatorIndex < 0) {
+        throw new InvalidCursorException("Invalid cursor: " + cursor);
+      }
+
+      return new TransactionCursor(
+          ZonedDateTime.ofInstant(
+              Instant.parse(position.substring(0, separatorIndex)), ZoneId.systemDefault()),
+          Long.valueOf(position.substring(separatorIndex + 1)));
+    } catch (IllegalArgumentException | DateTimeException e) {
+      throw new InvalidCursorException("Invalid cursor: " + cursor);
+    }
+  }
+}
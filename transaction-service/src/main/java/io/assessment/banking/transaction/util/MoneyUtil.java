@@ -0,0 +1,40 @@
+package io.assessment.banking.transaction.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Util methods to convert amounts of money between the decimal representation used in the API and
+ * the minor units (cents) stored in a {@code long} by the entities
+ *
+ * @author Nikhil Vibhav
+ */
+public final class MoneyUtil {
+
+  /** The number of decimal places of the minor unit */
+  public static final int SCALE = 2;
+
+  private MoneyUtil() {}
+
+  /**
+   * Converts the decimal amount to minor units
+   *
+   * @param amount - the decimal amount, with at most {@link #SCALE} decimal places
+   * @return the amount in minor units
+   * @throws ArithmeticException - thrown when the amount has more decimal places than {@link
+   *     #SCALE} or doesn't fit in a {@code long}
+   */
+  public static long toMinorUnits(final BigDecimal amount) {
+    return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+  }
+
+  /**
+   * Converts the amount in minor units to its decimal representation
+   *
+   * @param minorUnits - the amount in minor units
+   * @return the decimal amount with {@link #SCALE} decimal places
+   */
+  public static BigDecimal toMajorUnits(final long minorUnits) {
+    return BigDecimal.valueOf(minorUnits, SCALE);
+  }
+}
@@ -12,7 +12,7 @@ public abstract class AbstractTest {
 
   public Transaction getTransaction() {
     final Transaction transaction = new Transaction();
-    transaction.setAmount(10.0);
+    transaction.setAmount(1000L);
     transaction.setAccountId(1L);
     transaction.setType(TransactionType.CREDIT);
     return transaction;
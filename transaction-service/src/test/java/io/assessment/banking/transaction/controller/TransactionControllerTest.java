@@ -1,39 +1,61 @@
 package io.assessment.banking.transaction.controller;
 
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.assessment.banking.transaction.AbstractTest;
 import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.controller.mapper.TransactionMapper;
 import io.assessment.banking.transaction.exception.TransactionNotFoundException;
 import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.vo.TransactionSearchCriteria;
 import io.assessment.banking.transaction.model.vo.TransactionVO;
+import io.assessment.banking.transaction.service.TransactionConsumer;
 import io.assessment.banking.transaction.service.TransactionService;
+import io.assessment.banking.transaction.util.CursorUtil;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.StringContains.containsString;
+import static org.hamcrest.core.StringStartsWith.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -42,7 +64,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @author Nikhil Vibhav
  */
 @ExtendWith(SpringExtension.class)
-@WebMvcTest(TransactionController.class)
+@WebMvcTest(
+    controllers = TransactionController.class,
+    properties = "transaction.ingest.group-size=2")
 public class TransactionControllerTest extends AbstractTest {
 
   private static final String TRANSACTION_URI = "/api/bank/v1/transaction";
@@ -55,7 +79,7 @@ public class TransactionControllerTest extends AbstractTest {
   public void givenValidTransaction_WhenSaveTransaction_ThenReturn201_Created() throws Exception {
     // Given
     final TransactionVO request = new TransactionVO();
-    request.setAmount(10.0);
+    request.setAmount(BigDecimal.valueOf(10.0));
     request.setAccountId(1L);
     request.setType(TransactionType.CREDIT);
 
@@ -81,6 +105,38 @@ public class TransactionControllerTest extends AbstractTest {
     verify(transactionService, times(1)).saveTransaction(any(Transaction.class));
   }
 
+  @Test
+  public void givenIdempotencyKeyHeader_WhenSaveTransaction_ThenKeyIsPassedOnButNotReturned()
+      throws Exception {
+    // Given
+    final TransactionVO request = new TransactionVO();
+    request.setAmount(BigDecimal.valueOf(10.0));
+    request.setAccountId(1L);
+    request.setType(TransactionType.CREDIT);
+
+    given(transactionService.saveTransaction(any(Transaction.class)))
+        .willAnswer(
+            invocation -> {
+              final Transaction response = invocation.getArgument(0);
+              response.setId(1L);
+              return response;
+            });
+
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.put(TRANSACTION_URI)
+                .header(TransactionController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.id").value("1"))
+        .andExpect(jsonPath("$.idempotencyKey").doesNotExist());
+
+    verify(transactionService)
+        .saveTransaction(argThat(transaction -> "key-1".equals(transaction.getIdempotencyKey())));
+  }
+
   @Test
   public void givenInvalidTransaction_WhenSaveTransaction_ThenReturn400_BadRequest()
       throws Exception {
@@ -109,7 +165,7 @@ public class TransactionControllerTest extends AbstractTest {
       throws Exception {
     // Given
     final TransactionVO request = new TransactionVO();
-    request.setAmount(-10.0);
+    request.setAmount(BigDecimal.valueOf(-10.0));
     request.setAccountId(1L);
     request.setType(TransactionType.CREDIT);
 
@@ -126,55 +182,362 @@ public class TransactionControllerTest extends AbstractTest {
   }
 
   @Test
-  public void givenValidAccountId_WhenGetByAccountId_ThenReturn200_Success() throws Exception {
+  public void givenTransactionWithSubCentAmount_WhenSaveTransaction_ThenReturn400_BadRequest()
+      throws Exception {
+    // Given
+    final TransactionVO request = new TransactionVO();
+    request.setAmount(new BigDecimal("10.001"));
+    request.setAccountId(1L);
+    request.setType(TransactionType.CREDIT);
 
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.put(TRANSACTION_URI)
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(containsString("Error count - 1")))
+        .andExpect(content().string(containsString("amount can have at most 2 decimal places")));
+  }
+
+  @Test
+  public void givenValidTransactions_WhenSaveTransactions_ThenReturn201_Created() throws Exception {
     // Given
-    final String accountId = "1";
+    final TransactionVO first = new TransactionVO();
+    first.setAmount(BigDecimal.valueOf(10.0));
+    first.setAccountId(1L);
+    first.setType(TransactionType.CREDIT);
+
+    final TransactionVO second = new TransactionVO();
+    second.setAmount(BigDecimal.valueOf(20.0));
+    second.setAccountId(2L);
+    second.setType(TransactionType.CREDIT);
 
-    given(transactionService.findAllTransactionsByAccountId(1L))
+    given(transactionService.saveTransactions(anyList()))
         .willAnswer(
             invocation -> {
-              final List<Transaction> transactions = new ArrayList<>();
-              final Transaction transaction1 = getTransaction();
-              final Transaction transaction2 = getTransaction();
+              final List<Transaction> transactions = invocation.getArgument(0);
+              for (int i = 0; i < transactions.size(); i++) {
+                transactions.get(i).setId(i + 1L);
+              }
+              return transactions;
+            });
 
-              transaction1.setId(1L);
-              transaction2.setId(2L);
-              transaction2.setAmount(20.0);
-              transactions.add(transaction1);
-              transactions.add(transaction2);
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.put(TRANSACTION_URI + "/batch")
+                .content(objectMapper.writeValueAsString(Arrays.asList(first, second)))
+                .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[0].id").value("1"))
+        .andExpect(jsonPath("$[1].accountId").value("2"))
+        .andExpect(jsonPath("$[1].amount").value(20.0));
 
+    verify(transactionService, times(1)).saveTransactions(anyList());
+  }
+
+  @Test
+  public void givenInvalidTransactionInBatch_WhenSaveTransactions_ThenReturn400_BadRequest()
+      throws Exception {
+    // Given
+    final TransactionVO request = new TransactionVO();
+    request.setAmount(BigDecimal.valueOf(-10.0));
+    request.setAccountId(1L);
+    request.setType(TransactionType.CREDIT);
+
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.put(TRANSACTION_URI + "/batch")
+                .content(objectMapper.writeValueAsString(Collections.singletonList(request)))
+                .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(containsString("amount cannot be negative")));
+  }
+
+  @Test
+  public void givenValidTransactions_WhenIngestTransactions_ThenCommitInGroups() throws Exception {
+    // Given
+    final AtomicLong ids = new AtomicLong();
+    given(transactionService.saveTransactions(anyList()))
+        .willAnswer(
+            invocation -> {
+              final List<Transaction> transactions = new ArrayList<>(invocation.getArgument(0));
+              transactions.forEach(transaction -> transaction.setId(ids.incrementAndGet()));
               return transactions;
             });
 
     // Then
     mockMvc
-        .perform(MockMvcRequestBuilders.get(TRANSACTION_URI).param("accountId", accountId))
+        .perform(
+            MockMvcRequestBuilders.post(TRANSACTION_URI + "/ingest")
+                .content(
+                    objectMapper.writeValueAsString(
+                        Arrays.asList(
+                            getIngestRequest("10"),
+                            getIngestRequest("20"),
+                            getIngestRequest("30"))))
+                .contentType(MediaType.APPLICATION_JSON))
         .andDo(print())
-        .andExpect(status().is2xxSuccessful())
-        .andExpect(jsonPath("$", hasSize(2)));
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$", hasSize(3)))
+        .andExpect(jsonPath("$[0]").value(1))
+        .andExpect(jsonPath("$[2]").value(3));
 
-    verify(transactionService, times(1)).findAllTransactionsByAccountId(1L);
+    verify(transactionService, times(2)).saveTransactions(anyList());
+  }
+
+  @Test
+  public void givenInvalidTransaction_WhenIngestTransactions_ThenReturn400_WithIngestedCount()
+      throws Exception {
+    // Given
+    given(transactionService.saveTransactions(anyList()))
+        .willAnswer(invocation -> invocation.getArgument(0));
+
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post(TRANSACTION_URI + "/ingest")
+                .content(
+                    objectMapper.writeValueAsString(
+                        Arrays.asList(
+                            getIngestRequest("10"),
+                            getIngestRequest("20"),
+                            getIngestRequest("-1"))))
+                .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.ingested").value(2))
+        .andExpect(
+            jsonPath("$.message").value("The transaction at index 2 failed validation checks"))
+        .andExpect(content().string(containsString("amount cannot be negative")));
+
+    verify(transactionService, times(1)).saveTransactions(anyList());
+  }
+
+  @Test
+  public void givenEmptyList_WhenIngestTransactions_ThenReturn400_BadRequest() throws Exception {
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post(TRANSACTION_URI + "/ingest")
+                .content("[]")
+                .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.ingested").value(0));
+  }
+
+  @Test
+  public void givenMalformedTransaction_WhenIngestTransactions_ThenReturn400_BadRequest()
+      throws Exception {
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post(TRANSACTION_URI + "/ingest")
+                .content("[{\"accountId\":1,\"amount\":10,\"type\":\"CREDIT\"},{\"accountId\":")
+                .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("The transaction at index 1 is malformed"));
+  }
+
+  private TransactionVO getIngestRequest(final String amount) {
+    final TransactionVO request = new TransactionVO();
+    request.setAmount(new BigDecimal(amount));
+    request.setAccountId(1L);
+    request.setType(TransactionType.CREDIT);
+    return request;
   }
 
   @Test
-  public void givenValidAccountIdWithNoTransaction_WhenGetByAccountId_ThenReturn200_EmptyList()
+  public void givenValidAccountId_WhenGetByAccountId_ThenReturn200_WithNextCursor()
       throws Exception {
 
     // Given
     final String accountId = "1";
+    final Transaction transaction1 = getTransaction();
+    final Transaction transaction2 = getTransaction();
+    transaction1.setId(1L);
+    transaction2.setId(2L);
+    transaction2.setAmount(2000L);
+
+    given(transactionService.findTransactionsByAccountId(1L, null, null, null, 2))
+        .willReturn(
+            new SliceImpl<>(Arrays.asList(transaction1, transaction2), PageRequest.of(0, 2), true));
+
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get(TRANSACTION_URI)
+                .param("accountId", accountId)
+                .param("limit", "2"))
+        .andDo(print())
+        .andExpect(status().is2xxSuccessful())
+        .andExpect(jsonPath("$.transactions", hasSize(2)))
+        .andExpect(jsonPath("$.nextCursor").value(CursorUtil.encode(transaction2)));
+
+    verify(transactionService, times(1)).findTransactionsByAccountId(1L, null, null, null, 2);
+  }
+
+  @Test
+  public void givenCursor_WhenGetByAccountId_ThenReturn200_LastPage() throws Exception {
+
+    // Given
+    final Transaction previous = getTransaction();
+    previous.setId(2L);
+    final String cursor = CursorUtil.encode(previous);
 
-    given(transactionService.findAllTransactionsByAccountId(1L))
-        .willAnswer(invocation -> Collections.emptyList());
+    given(
+            transactionService.findTransactionsByAccountId(
+                eq(1L), isNull(), isNull(), eq(CursorUtil.decode(cursor)), eq(100)))
+        .willReturn(new SliceImpl<>(Collections.emptyList(), PageRequest.of(0, 100), false));
 
     // Then
     mockMvc
-        .perform(MockMvcRequestBuilders.get(TRANSACTION_URI).param("accountId", accountId))
+        .perform(
+            MockMvcRequestBuilders.get(TRANSACTION_URI)
+                .param("accountId", "1")
+                .param("cursor", cursor))
         .andDo(print())
         .andExpect(status().is2xxSuccessful())
-        .andExpect(jsonPath("$", hasSize(0)));
+        .andExpect(jsonPath("$.transactions", hasSize(0)))
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+  }
+
+  @Test
+  public void givenDebitsAboveAmount_WhenSearch_ThenReturn200_WithCriteriaInMinorUnits()
+      throws Exception {
+    // Given
+    final Transaction transaction = getTransaction();
+    transaction.setId(1L);
+    transaction.setType(TransactionType.DEBIT);
+    final TransactionSearchCriteria criteria =
+        new TransactionSearchCriteria(
+            null,
+            TransactionType.DEBIT,
+            ZonedDateTime.parse("2021-02-10T06:00:00Z"),
+            null,
+            5000L,
+            null);
+
+    given(transactionService.searchTransactions(criteria, null, 100))
+        .willReturn(
+            new SliceImpl<>(
+                Collections.singletonList(transaction), PageRequest.of(0, 100), false));
+
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get(TRANSACTION_URI + "/search")
+                .param("type", "DEBIT")
+                .param("from", "2021-02-10T06:00:00Z")
+                .param("minAmount", "50.00"))
+        .andDo(print())
+        .andExpect(status().is2xxSuccessful())
+        .andExpect(jsonPath("$.transactions", hasSize(1)))
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+    verify(transactionService, times(1)).searchTransactions(criteria, null, 100);
+  }
+
+  @Test
+  public void givenNeitherAccountIdNorFrom_WhenSearch_ThenReturn400_BadRequest() throws Exception {
+    // Then
+    mockMvc
+        .perform(MockMvcRequestBuilders.get(TRANSACTION_URI + "/search").param("type", "DEBIT"))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(status().reason("A search needs an accountId or a from time"));
+
+    verify(transactionService, never()).searchTransactions(any(), any(), anyInt());
+  }
+
+  @Test
+  public void givenInvalidCursor_WhenGetByAccountId_ThenReturn400_BadRequest() throws Exception {
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get(TRANSACTION_URI)
+                .param("accountId", "1")
+                .param("cursor", "not-a-cursor"))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(status().reason("The given cursor is invalid"));
+  }
 
-    verify(transactionService, times(1)).findAllTransactionsByAccountId(1L);
+  @Test
+  public void givenLimitAboveMaximum_WhenGetByAccountId_ThenReturn400_BadRequest()
+      throws Exception {
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get(TRANSACTION_URI)
+                .param("accountId", "1")
+                .param("limit", String.valueOf(TransactionController.MAX_PAGE_SIZE + 1)))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(containsString("must be less than or equal to 1000")));
+  }
+
+  @Test
+  public void givenValidAccountIds_WhenGetByAccountIds_ThenReturn200_Success() throws Exception {
+
+    // Given
+    given(transactionService.findTransactionsByAccountIds(Arrays.asList(1L, 2L), 100))
+        .willAnswer(
+            invocation -> {
+              final Transaction transaction1 = getTransaction();
+              final Transaction transaction2 = getTransaction();
+
+              transaction1.setId(1L);
+              transaction2.setId(2L);
+              transaction2.setAccountId(2L);
+
+              return Arrays.asList(transaction1, transaction2);
+            });
+
+    // Then
+    mockMvc
+        .perform(MockMvcRequestBuilders.get(TRANSACTION_URI + "/batch").param("accountIds", "1,2"))
+        .andDo(print())
+        .andExpect(status().is2xxSuccessful())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[1].accountId").value("2"));
+
+    verify(transactionService, times(1))
+        .findTransactionsByAccountIds(Arrays.asList(1L, 2L), 100);
+  }
+
+  @Test
+  public void givenInvalidAccountIds_WhenGetByAccountIds_ThenReturn400_BadRequest()
+      throws Exception {
+    // Then
+    mockMvc
+        .perform(MockMvcRequestBuilders.get(TRANSACTION_URI + "/batch").param("accountIds", "1,0"))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(containsString("must be greater than or equal to 1")));
+  }
+
+  @Test
+  public void givenLimitAboveMaximum_WhenGetByAccountIds_ThenReturn400_BadRequest()
+      throws Exception {
+    // Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get(TRANSACTION_URI + "/batch")
+                .param("accountIds", "1,2")
+                .param("limit", String.valueOf(TransactionController.MAX_PAGE_SIZE + 1)))
+        .andDo(print())
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(containsString("must be less than or equal to 1000")));
   }
 
   @Test
@@ -202,6 +565,79 @@ public class TransactionControllerTest extends AbstractTest {
                         "TransactionController#getByAccountId.accountId: must be greater than or equal to 1")));
   }
 
+  @Test
+  public void givenValidAccountId_WhenExportByAccountId_ThenStreamNdjson() throws Exception {
+    // Given
+    givenExportedTransactions();
+
+    // When
+    final MvcResult result =
+        mockMvc
+            .perform(
+                MockMvcRequestBuilders.get(TRANSACTION_URI + "/export").param("accountId", "1"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    // Then
+    final String body =
+        mockMvc
+            .perform(asyncDispatch(result))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    final String[] lines = body.split("\n");
+    assertEquals(2, lines.length);
+    assertEquals(1L, objectMapper.readValue(lines[0], TransactionVO.class).getId());
+    assertEquals(
+        new BigDecimal("20.00"), objectMapper.readValue(lines[1], TransactionVO.class).getAmount());
+  }
+
+  @Test
+  public void givenCsvFormat_WhenExportByAccountId_ThenStreamCsv() throws Exception {
+    // Given
+    givenExportedTransactions();
+
+    // When
+    final MvcResult result =
+        mockMvc
+            .perform(
+                MockMvcRequestBuilders.get(TRANSACTION_URI + "/export")
+                    .param("accountId", "1")
+                    .param("format", "CSV"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    // Then
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Disposition", containsString("transactions-1.csv")))
+        .andExpect(content().string(startsWith(TransactionMapper.CSV_HEADER + "1,1,10.00,CREDIT,")))
+        .andExpect(content().string(containsString("\n2,1,20.00,CREDIT,")));
+  }
+
+  private void givenExportedTransactions() throws Exception {
+    final Transaction transaction1 = getTransaction();
+    final Transaction transaction2 = getTransaction();
+    transaction1.setId(1L);
+    transaction2.setId(2L);
+    transaction2.setAmount(2000L);
+
+    given(transactionService.exportTransactionsByAccountId(eq(1L), any(TransactionConsumer.class)))
+        .willAnswer(
+            invocation -> {
+              final TransactionConsumer consumer = invocation.getArgument(1);
+              consumer.accept(transaction1);
+              consumer.accept(transaction2);
+              return 2L;
+            });
+  }
+
   @Test
   public void givenValidTransactionId_WhenDeleteById_ThenReturn200_Success() throws Exception {
     // Given
@@ -218,6 +654,21 @@ public class TransactionControllerTest extends AbstractTest {
     verify(transactionService, times(1)).deleteTransaction(1L);
   }
 
+  @Test
+  public void givenAccountId_WhenDeleteByAccountId_ThenReturnDeletedCount() throws Exception {
+    // Given
+    given(transactionService.deleteTransactionsByAccountId(1L)).willReturn(3L);
+
+    // Then
+    mockMvc
+        .perform(MockMvcRequestBuilders.delete(TRANSACTION_URI).param("accountId", "1"))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(content().string("3"));
+
+    verify(transactionService, times(1)).deleteTransactionsByAccountId(1L);
+  }
+
   @Test
   public void givenValidTransactionId_WhenDeleteById_ThenReturn404_NotFound() throws Exception {
     // Given
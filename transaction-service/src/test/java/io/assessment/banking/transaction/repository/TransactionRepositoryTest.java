@@ -0,0 +1,84 @@
+package io.assessment.banking.transaction.repository;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import io.assessment.banking.transaction.AbstractTest;
+import io.assessment.banking.transaction.model.entity.Transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for the keyset pagination of {@link TransactionRepository}
+ *
+ * @author Nikhil Vibhav
+ */
+@DataJpaTest
+public class TransactionRepositoryTest extends AbstractTest {
+
+  private static final ZonedDateTime EARLIEST =
+      ZonedDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+  private static final ZonedDateTime LATEST =
+      ZonedDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  @Autowired private TransactionRepository repository;
+
+  @Test
+  public void givenTransactions_WhenFollowingCursors_ThenEveryTransactionIsReturnedOnceInOrder() {
+    // Given
+    final List<Long> savedIds = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      savedIds.add(repository.save(getTransaction()).getId());
+    }
+    final Transaction otherAccount = getTransaction();
+    otherAccount.setAccountId(2L);
+    repository.save(otherAccount);
+
+    // When
+    final List<Long> pagedIds = new ArrayList<>();
+    Slice<Transaction> page =
+        repository.findPageByAccountId(1L, EARLIEST, LATEST, EARLIEST, 0L, PageRequest.of(0, 3));
+    pagedIds.addAll(ids(page));
+    while (page.hasNext()) {
+      final Transaction last = page.getContent().get(page.getNumberOfElements() - 1);
+      page =
+          repository.findPageByAccountId(
+              1L, EARLIEST, LATEST, last.getDateTransacted(), last.getId(), PageRequest.of(0, 3));
+      pagedIds.addAll(ids(page));
+    }
+
+    // Then
+    assertEquals(savedIds, pagedIds);
+  }
+
+  @Test
+  public void givenUpperBound_WhenFindPageByAccountId_ThenLaterTransactionsAreExcluded() {
+    // Given
+    repository.save(getTransaction());
+
+    // When
+    final Slice<Transaction> page =
+        repository.findPageByAccountId(
+            1L, EARLIEST, EARLIEST.plusDays(1), EARLIEST, 0L, PageRequest.of(0, 3));
+
+    // Then
+    assertTrue(page.getContent().isEmpty());
+    assertFalse(page.hasNext());
+  }
+
+  private static List<Long> ids(final Slice<Transaction> page) {
+    final List<Long> ids = new ArrayList<>();
+    page.forEach(transaction -> ids.add(transaction.getId()));
+    return ids;
+  }
+}
@@ -0,0 +1,168 @@
+package io.assessment.banking.transaction.repository;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.assessment.banking.transaction.AbstractTest;
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.vo.TransactionCursor;
+import io.assessment.banking.transaction.model.vo.TransactionSearchCriteria;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for {@link TransactionSearchRepository}, including the query plans H2 chooses for
+ * the searches
+ *
+ * @author Nikhil Vibhav
+ */
+@DataJpaTest(
+    properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "io.assessment.banking.transaction.repository."
+            + "TransactionSearchRepositoryTest$RecordingStatementInspector")
+public class TransactionSearchRepositoryTest extends AbstractTest {
+
+  @Autowired private TransactionRepository repository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  public void givenTransactions_WhenSearchByTypeAndAmount_ThenOnlyMatchingAreReturnedInOrder() {
+    // Given
+    final List<Long> expectedIds = new ArrayList<>();
+    for (long amount = 100; amount <= 600; amount += 100) {
+      final Transaction debit = getTransaction();
+      debit.setType(TransactionType.DEBIT);
+      debit.setAmount(amount);
+      final long id = repository.save(debit).getId();
+      if (amount >= 200 && amount <= 500) {
+        expectedIds.add(id);
+      }
+    }
+    repository.save(getTransaction());
+    final TransactionSearchCriteria criteria =
+        new TransactionSearchCriteria(1L, TransactionType.DEBIT, null, null, 200L, 500L);
+
+    // When
+    final List<Long> ids = new ArrayList<>();
+    Slice<Transaction> page = repository.search(criteria, null, 3);
+    page.forEach(transaction -> ids.add(transaction.getId()));
+    assertTrue(page.hasNext());
+    final Transaction last = page.getContent().get(page.getNumberOfElements() - 1);
+    page =
+        repository.search(
+            criteria, new TransactionCursor(last.getDateTransacted(), last.getId()), 3);
+    page.forEach(transaction -> ids.add(transaction.getId()));
+
+    // Then
+    assertFalse(page.hasNext());
+    assertEquals(expectedIds, ids);
+  }
+
+  @Test
+  public void givenTimeRange_WhenSearchAllAccounts_ThenOnlyTransactionsInRangeAreReturned() {
+    // Given
+    final Transaction otherAccount = getTransaction();
+    otherAccount.setAccountId(2L);
+    repository.save(getTransaction());
+    repository.save(otherAccount);
+    final ZonedDateTime now = ZonedDateTime.now();
+
+    // When
+    final Slice<Transaction> recent =
+        repository.search(
+            new TransactionSearchCriteria(null, null, now.minusHours(1), null, null, null),
+            null,
+            10);
+    final Slice<Transaction> future =
+        repository.search(
+            new TransactionSearchCriteria(null, null, now.plusHours(1), null, null, null),
+            null,
+            10);
+
+    // Then
+    assertEquals(2, recent.getNumberOfElements());
+    assertTrue(future.getContent().isEmpty());
+  }
+
+  @Test
+  public void givenAccountAndTimeRange_WhenSearch_ThenAccountDateIndexIsUsed() {
+    // Given
+    saveTransactions();
+    final ZonedDateTime now = ZonedDateTime.now();
+
+    // When
+    repository.search(
+        new TransactionSearchCriteria(
+            1L, TransactionType.DEBIT, now.minusDays(1), now, 100L, 10_000L),
+        new TransactionCursor(now.minusHours(1), 1L),
+        10);
+    final String plan = explainLastQuery();
+
+    // Then
+    assertTrue(plan.contains("IDX_TRANSACTION_ACCOUNT_DATE_ID"), plan);
+    assertFalse(plan.contains("tableScan"), plan);
+  }
+
+  @Test
+  public void givenDebitsOfTheLastHour_WhenSearchAllAccounts_ThenDateIndexIsUsed() {
+    // Given
+    saveTransactions();
+
+    // When
+    repository.search(
+        new TransactionSearchCriteria(
+            null, TransactionType.DEBIT, ZonedDateTime.now().minusHours(1), null, 500L, null),
+        null,
+        10);
+    final String plan = explainLastQuery();
+
+    // Then
+    assertTrue(plan.contains("IDX_TRANSACTION_DATE_ID"), plan);
+    assertFalse(plan.contains("tableScan"), plan);
+  }
+
+  /** Saves transactions of several accounts, so that H2 has rows to weigh the indexes against */
+  private void saveTransactions() {
+    for (long accountId = 1; accountId <= 20; accountId++) {
+      for (int i = 0; i < 5; i++) {
+        final Transaction transaction = getTransaction();
+        transaction.setAccountId(accountId);
+        repository.save(transaction);
+      }
+    }
+  }
+
+  /**
+   * Asks H2 for the plan of the last query Hibernate sent, with the parameters left unbound
+   *
+   * @return the plan, which names the index used for each table or {@code tableScan}
+   */
+  private String explainLastQuery() {
+    return jdbcTemplate.queryForObject(
+        "EXPLAIN " + RecordingStatementInspector.lastSql, String.class);
+  }
+
+  /** Records the last SQL statement prepared by Hibernate */
+  public static class RecordingStatementInspector implements StatementInspector {
+
+    private static volatile String lastSql;
+
+    @Override
+    public String inspect(final String sql) {
+      lastSql = sql;
+      return sql;
+    }
+  }
+}
@@ -0,0 +1,228 @@
+package io.assessment.banking.transaction.service;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.assessment.banking.transaction.AbstractTest;
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.model.entity.AccountSummary;
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.repository.AccountSummaryRepository;
+import io.assessment.banking.transaction.repository.TransactionRepository;
+import io.assessment.banking.transaction.service.impl.AccountSummaryServiceImpl;
+import io.assessment.banking.transaction.service.impl.TransactionRollupServiceImpl;
+import io.assessment.banking.transaction.service.impl.TransactionServiceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for {@link AccountSummaryService} against an H2 database, with the summaries
+ * maintained by {@link TransactionService}
+ *
+ * @author Nikhil Vibhav
+ */
+@DataJpaTest
+@Import({
+  AccountSummaryServiceImpl.class,
+  TransactionRollupServiceImpl.class,
+  TransactionServiceImpl.class
+})
+@TestPropertySource(properties = "transaction.delete.chunk-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AccountSummaryServiceTest extends AbstractTest {
+
+  @Autowired private AccountSummaryService accountSummaryService;
+  @Autowired private TransactionService transactionService;
+  @Autowired private AccountSummaryRepository accountSummaryRepository;
+  @Autowired private TransactionRepository transactionRepository;
+
+  @AfterEach
+  public void tearDown() {
+    accountSummaryRepository.deleteAll();
+    transactionRepository.deleteAll();
+  }
+
+  @Test
+  public void givenSavedTransactions_WhenGetAccountSummary_ThenTotalsIncludeEveryTransaction() {
+    // Given
+    final Transaction first = transactionService.saveTransaction(getTransaction());
+    final List<Transaction> batch =
+        transactionService.saveTransactions(Arrays.asList(getTransaction(), getDebit(400L)));
+
+    // When
+    final AccountSummary summary = accountSummaryService.getAccountSummary(1L);
+
+    // Then
+    assertEquals(2000L, summary.getCreditTotal());
+    assertEquals(400L, summary.getDebitTotal());
+    assertEquals(3L, summary.getTransactionCount());
+    assertTrue(summary.getFirstTransacted().isEqual(dateTransacted(first)));
+    assertTrue(summary.getLastTransacted().isEqual(dateTransacted(batch.get(1))));
+  }
+
+  @Test
+  public void givenConcurrentFirstTransactions_WhenSaveTransaction_ThenSummaryCountsEveryOne()
+      throws Exception {
+    // Given
+    final int threads = 8;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Future<?>> futures = new ArrayList<>();
+
+    // When - every thread saves a transaction of an account that has no summary yet
+    try {
+      for (int thread = 0; thread < threads; thread++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return transactionService.saveTransaction(getTransaction());
+                }));
+      }
+      start.countDown();
+      for (final Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Then
+    final AccountSummary summary = accountSummaryService.getAccountSummary(1L);
+    assertEquals(threads, summary.getTransactionCount());
+    assertEquals(threads * 1000L, summary.getCreditTotal());
+  }
+
+  @Test
+  public void givenLastTransactionDeleted_WhenGetAccountSummary_ThenLastTransactedMovesBack()
+      throws Exception {
+    // Given
+    transactionService.saveTransaction(getTransaction());
+    final Transaction second = transactionService.saveTransaction(getTransaction());
+    final Transaction third = transactionService.saveTransaction(getDebit(300L));
+
+    // When
+    transactionService.deleteTransaction(third.getId());
+    final AccountSummary summary = accountSummaryService.getAccountSummary(1L);
+
+    // Then
+    assertEquals(2000L, summary.getCreditTotal());
+    assertEquals(0L, summary.getDebitTotal());
+    assertEquals(2L, summary.getTransactionCount());
+    assertTrue(summary.getLastTransacted().isEqual(dateTransacted(second)));
+  }
+
+  @Test
+  public void givenOnlyTransactionDeleted_WhenGetAccountSummary_ThenSummaryIsEmpty()
+      throws Exception {
+    // Given
+    final Transaction transaction = transactionService.saveTransaction(getTransaction());
+
+    // When
+    transactionService.deleteTransaction(transaction.getId());
+    final AccountSummary summary = accountSummaryService.getAccountSummary(1L);
+
+    // Then
+    assertEquals(0L, summary.getTransactionCount());
+    assertEquals(0L, summary.getCreditTotal());
+    assertNull(summary.getFirstTransacted());
+  }
+
+  @Test
+  public void givenAccountTransactionsDeleted_WhenGetAccountSummary_ThenOnlyOtherAccountsRemain() {
+    // Given
+    for (int i = 0; i < 3; i++) {
+      transactionService.saveTransaction(getTransaction());
+    }
+    final Transaction otherAccount = getTransaction();
+    otherAccount.setAccountId(2L);
+    transactionService.saveTransaction(otherAccount);
+
+    // When
+    final long deleted = transactionService.deleteTransactionsByAccountId(1L);
+
+    // Then
+    assertEquals(3L, deleted);
+    assertEquals(0L, accountSummaryService.getAccountSummary(1L).getTransactionCount());
+    assertEquals(1L, accountSummaryService.getAccountSummary(2L).getTransactionCount());
+    assertEquals(1L, transactionRepository.count());
+  }
+
+  @Test
+  public void givenSummariesLost_WhenRebuildAccountSummaries_ThenTheyMatchTheTransactions() {
+    // Given
+    for (long accountId = 1; accountId <= 10; accountId++) {
+      final Transaction credit = getTransaction();
+      credit.setAccountId(accountId);
+      final Transaction debit = getDebit(accountId * 10);
+      debit.setAccountId(accountId);
+      transactionService.saveTransactions(Arrays.asList(credit, debit));
+    }
+    final AccountSummary expected = accountSummaryService.getAccountSummary(7L);
+    accountSummaryRepository.deleteAll();
+
+    // When
+    final long rebuilt = accountSummaryService.rebuildAccountSummaries();
+
+    // Then
+    final AccountSummary summary = accountSummaryService.getAccountSummary(7L);
+    assertEquals(10L, rebuilt);
+    assertEquals(1000L, summary.getCreditTotal());
+    assertEquals(70L, summary.getDebitTotal());
+    assertEquals(2L, summary.getTransactionCount());
+    assertTrue(summary.getFirstTransacted().isEqual(expected.getFirstTransacted()));
+    assertTrue(summary.getLastTransacted().isEqual(expected.getLastTransacted()));
+  }
+
+  @Test
+  public void givenSummariesLost_WhenComputeAccountSummaries_ThenTotalsComeFromTransactions() {
+    // Given
+    transactionService.saveTransactions(Arrays.asList(getTransaction(), getDebit(400L)));
+    final Transaction otherAccount = getTransaction();
+    otherAccount.setAccountId(3L);
+    transactionService.saveTransaction(otherAccount);
+    accountSummaryRepository.deleteAll();
+
+    // When
+    final List<AccountSummary> summaries =
+        accountSummaryService.computeAccountSummaries(Arrays.asList(3L, 2L, 1L));
+
+    // Then
+    assertEquals(2, summaries.size());
+    assertEquals(1L, summaries.get(0).getAccountId());
+    assertEquals(1000L, summaries.get(0).getCreditTotal());
+    assertEquals(400L, summaries.get(0).getDebitTotal());
+    assertEquals(2L, summaries.get(0).getTransactionCount());
+    assertEquals(3L, summaries.get(1).getAccountId());
+    assertEquals(1L, summaries.get(1).getTransactionCount());
+  }
+
+  private ZonedDateTime dateTransacted(final Transaction transaction) {
+    return transactionRepository.findById(transaction.getId()).orElseThrow().getDateTransacted();
+  }
+
+  private Transaction getDebit(final long amount) {
+    final Transaction transaction = getTransaction();
+    transaction.setAmount(amount);
+    transaction.setType(TransactionType.DEBIT);
+    return transaction;
+  }
+}
@@ -0,0 +1,143 @@
+package io.assessment.banking.transaction.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import io.assessment.banking.transaction.AbstractTest;
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.repository.TransactionRepository;
+import io.assessment.banking.transaction.service.idempotency.IdempotencyKeyIndex;
+import io.assessment.banking.transaction.service.impl.IdempotentTransactionServiceImpl;
+import io.assessment.banking.transaction.service.impl.TransactionServiceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * JUnit tests for {@link IdempotentTransactionServiceImpl}
+ *
+ * @author Nikhil Vibhav
+ */
+@ExtendWith(MockitoExtension.class)
+public class IdempotentTransactionServiceTest extends AbstractTest {
+
+  @Mock private TransactionServiceImpl delegate;
+  @Mock private TransactionRepository repository;
+  private IdempotencyKeyIndex idempotencyKeyIndex;
+  private IdempotentTransactionServiceImpl transactionService;
+
+  @BeforeEach
+  public void setUp() {
+    idempotencyKeyIndex = new IdempotencyKeyIndex(3600, 1000);
+    transactionService =
+        new IdempotentTransactionServiceImpl(delegate, repository, idempotencyKeyIndex);
+  }
+
+  @Test
+  public void givenNewKey_WhenSaveTransaction_ThenSaveAndRememberTheKey() {
+    // Given
+    given(delegate.saveTransaction(any(Transaction.class))).willAnswer(withId(5L));
+
+    // When
+    final Transaction saved = transactionService.saveTransaction(getTransaction("key-1"));
+
+    // Then
+    assertEquals(5L, saved.getId());
+    assertEquals(5L, idempotencyKeyIndex.find("key-1"));
+  }
+
+  @Test
+  public void givenReplayedKey_WhenSaveTransaction_ThenReturnOriginalWithoutInsert() {
+    // Given
+    final Transaction original = getTransaction("key-1");
+    original.setId(5L);
+    idempotencyKeyIndex.put("key-1", 5L);
+    given(repository.findById(5L)).willReturn(Optional.of(original));
+
+    // When
+    final Transaction saved = transactionService.saveTransaction(getTransaction("key-1"));
+
+    // Then
+    assertSame(original, saved);
+    verify(delegate, never()).saveTransaction(any(Transaction.class));
+  }
+
+  @Test
+  public void givenKeyUnknownToTheIndex_WhenInsertViolatesUniqueIndex_ThenReturnOriginal() {
+    // Given
+    final Transaction original = getTransaction("key-1");
+    original.setId(5L);
+    given(delegate.saveTransaction(any(Transaction.class)))
+        .willThrow(new DataIntegrityViolationException("uk_transaction_idempotency_key"));
+    given(repository.findByIdempotencyKey("key-1")).willReturn(Optional.of(original));
+
+    // When
+    final Transaction saved = transactionService.saveTransaction(getTransaction("key-1"));
+
+    // Then
+    assertSame(original, saved);
+    assertEquals(5L, idempotencyKeyIndex.find("key-1"));
+  }
+
+  @Test
+  public void givenBatchWithUsedAndRepeatedKeys_WhenSaveTransactions_ThenSaveOnlyNewOnes() {
+    // Given
+    final Transaction original = getTransaction("key-1");
+    original.setId(5L);
+    given(repository.findAllByIdempotencyKeyIn(anyList())).willReturn(List.of(original));
+    final AtomicLong ids = new AtomicLong(10);
+    given(delegate.saveTransactions(anyList()))
+        .willAnswer(
+            invocation -> {
+              final List<Transaction> transactions = invocation.getArgument(0);
+              transactions.forEach(transaction -> transaction.setId(ids.getAndIncrement()));
+              return transactions;
+            });
+
+    // When
+    final List<Transaction> saved =
+        transactionService.saveTransactions(
+            Arrays.asList(
+                getTransaction("key-1"),
+                getTransaction("key-2"),
+                getTransaction("key-2"),
+                getTransaction(null)));
+
+    // Then
+    verify(delegate).saveTransactions(argThat(transactions -> transactions.size() == 2));
+    assertEquals(5L, saved.get(0).getId());
+    assertEquals(10L, saved.get(1).getId());
+    assertEquals(10L, saved.get(2).getId());
+    assertEquals(11L, saved.get(3).getId());
+  }
+
+  private Transaction getTransaction(final String idempotencyKey) {
+    final Transaction transaction = getTransaction();
+    transaction.setIdempotencyKey(idempotencyKey);
+    return transaction;
+  }
+
+  private static Answer<Transaction> withId(final Long id) {
+    return invocation -> {
+      final Transaction transaction = invocation.getArgument(0);
+      transaction.setId(id);
+      return transaction;
+    };
+  }
+}
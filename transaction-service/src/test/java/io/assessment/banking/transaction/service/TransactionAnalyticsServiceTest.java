@@ -0,0 +1,179 @@
+package io.assessment.banking.transaction.service;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.assessment.banking.transaction.AbstractTest;
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.event.TransactionsDeletedEvent;
+import io.assessment.banking.transaction.model.event.TransactionsSavedEvent;
+import io.assessment.banking.transaction.model.vo.TransactionVolumeVO;
+import io.assessment.banking.transaction.repository.TransactionRepository;
+import io.assessment.banking.transaction.service.analytics.TransactionColumnStore;
+import io.assessment.banking.transaction.service.impl.TransactionAnalyticsServiceImpl;
+import io.assessment.banking.transaction.util.MoneyUtil;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * JUnit tests for {@link TransactionAnalyticsService} over a {@link TransactionColumnStore} loaded
+ * from a mocked repository. The store starts with room for 2 transactions, so it grows while it is
+ * loaded
+ *
+ * @author Nikhil Vibhav
+ */
+@ExtendWith(MockitoExtension.class)
+public class TransactionAnalyticsServiceTest extends AbstractTest {
+
+  private static final ZonedDateTime DAY =
+      ZonedDateTime.of(2021, 2, 10, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  @Mock private TransactionRepository repository;
+  @Mock private PlatformTransactionManager transactionManager;
+  private TransactionColumnStore columnStore;
+  private TransactionAnalyticsServiceImpl analyticsService;
+
+  @BeforeEach
+  public void setUp() {
+    given(repository.streamAllColumns())
+        .willReturn(
+            Stream.of(
+                row(1L, 1L, 1000L, TransactionType.CREDIT, DAY.plusMinutes(6 * 60 + 10)),
+                row(2L, 1L, 300L, TransactionType.DEBIT, DAY.plusMinutes(6 * 60 + 50)),
+                row(3L, 2L, 500L, TransactionType.DEBIT, DAY.plusMinutes(8 * 60 + 5)),
+                row(4L, 3L, 500L, TransactionType.DEBIT, DAY.plusMinutes(8 * 60 + 30))));
+
+    columnStore = new TransactionColumnStore(repository, transactionManager, 2);
+    columnStore.load();
+    analyticsService = new TransactionAnalyticsServiceImpl(columnStore);
+  }
+
+  @Test
+  public void givenLoadedTransactions_WhenGetTotalsByType_ThenSumEachType() {
+    final List<TransactionVolumeVO> totals = analyticsService.getTotalsByType(null, null);
+
+    assertEquals(4, columnStore.size());
+    assertEquals(2, totals.size());
+    assertVolume(totals.get(0), TransactionType.CREDIT, 1, 1000L);
+    assertVolume(totals.get(1), TransactionType.DEBIT, 3, 1300L);
+  }
+
+  @Test
+  public void givenSavedTransaction_WhenGetTopAccounts_ThenHighestTotalFirst() {
+    // Given
+    final Transaction transaction = getTransaction();
+    transaction.setId(5L);
+    transaction.setAmount(400L);
+    transaction.setType(TransactionType.DEBIT);
+    columnStore.onTransactionsSaved(new TransactionsSavedEvent(List.of(transaction)));
+
+    // When
+    final List<TransactionVolumeVO> top =
+        analyticsService.getTopAccounts(TransactionType.DEBIT, null, null, 2);
+
+    // Then
+    assertEquals(2, top.size());
+    assertEquals(1L, top.get(0).getAccountId());
+    assertVolume(top.get(0), TransactionType.DEBIT, 2, 700L);
+    assertEquals(2L, top.get(1).getAccountId());
+    assertVolume(top.get(1), TransactionType.DEBIT, 1, 500L);
+  }
+
+  @Test
+  public void givenDeletedTransaction_WhenGetTotalsByType_ThenLeaveItOut() {
+    // Given
+    columnStore.onTransactionsDeleted(new TransactionsDeletedEvent(List.of(3L, 6L)));
+
+    // When
+    final List<TransactionVolumeVO> totals = analyticsService.getTotalsByType(null, null);
+
+    // Then
+    assertEquals(3, columnStore.size());
+    assertVolume(totals.get(1), TransactionType.DEBIT, 2, 800L);
+  }
+
+  @Test
+  public void givenTransactionsSavedOutOfOrder_WhenDeleted_ThenEachIsFoundById() {
+    // Given
+    final List<Transaction> transactions = new ArrayList<>();
+    for (final long id : new long[] {8L, 6L, 7L}) {
+      final Transaction transaction = getTransaction();
+      transaction.setId(id);
+      transactions.add(transaction);
+    }
+    columnStore.onTransactionsSaved(new TransactionsSavedEvent(transactions));
+
+    // When
+    columnStore.onTransactionsDeleted(new TransactionsDeletedEvent(List.of(2L, 6L, 7L, 9L)));
+
+    // Then
+    assertEquals(4, columnStore.size());
+    assertVolume(
+        analyticsService.getTotalsByType(null, null).get(0), TransactionType.CREDIT, 2, 2000L);
+  }
+
+  @Test
+  public void givenTimeRange_WhenGetHourlyVolumes_ThenGroupByHourWithinRange() {
+    final List<TransactionVolumeVO> volumes =
+        analyticsService.getHourlyVolumes(null, DAY.plusMinutes(6 * 60 + 30), DAY.plusHours(9));
+
+    assertEquals(2, volumes.size());
+    assertEquals(DAY.plusHours(6), volumes.get(0).getHour());
+    assertVolume(volumes.get(0), null, 1, 300L);
+    assertEquals(DAY.plusHours(8), volumes.get(1).getHour());
+    assertVolume(volumes.get(1), null, 2, 1000L);
+  }
+
+  @Test
+  public void givenMoreTransactionsThanBlock_WhenGetTotalsByType_ThenScanEveryBlock() {
+    // Given
+    final int count = TransactionColumnStore.BLOCK_SIZE * 2 + 1;
+    final List<Transaction> transactions = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final Transaction transaction = getTransaction();
+      transaction.setId(10L + i);
+      transaction.setAmount(1L);
+      transactions.add(transaction);
+    }
+    columnStore.onTransactionsSaved(new TransactionsSavedEvent(transactions));
+
+    // When
+    final List<TransactionVolumeVO> totals =
+        analyticsService.getTotalsByType(DAY.plusDays(1), null);
+
+    // Then
+    assertVolume(totals.get(0), TransactionType.CREDIT, count, count);
+    assertVolume(totals.get(1), TransactionType.DEBIT, 0, 0L);
+  }
+
+  private static Object[] row(
+      final Long id,
+      final Long accountId,
+      final Long amount,
+      final TransactionType type,
+      final ZonedDateTime dateTransacted) {
+    return new Object[] {id, accountId, amount, type, dateTransacted};
+  }
+
+  private static void assertVolume(
+      final TransactionVolumeVO volume,
+      final TransactionType type,
+      final long count,
+      final long total) {
+    assertEquals(type, volume.getType());
+    assertEquals(count, volume.getCount());
+    assertEquals(MoneyUtil.toMajorUnits(total), volume.getTotal());
+  }
+}
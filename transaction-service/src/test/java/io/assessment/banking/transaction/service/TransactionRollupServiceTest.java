@@ -0,0 +1,198 @@
+package io.assessment.banking.transaction.service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.assessment.banking.transaction.AbstractTest;
+import io.assessment.banking.transaction.constant.RollupGranularity;
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.job.TransactionRollupJob;
+import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.entity.TransactionRollup;
+import io.assessment.banking.transaction.repository.AccountSummaryRepository;
+import io.assessment.banking.transaction.repository.RollupWatermarkRepository;
+import io.assessment.banking.transaction.repository.TransactionRepository;
+import io.assessment.banking.transaction.repository.TransactionRollupRepository;
+import io.assessment.banking.transaction.service.impl.AccountSummaryServiceImpl;
+import io.assessment.banking.transaction.service.impl.TransactionRollupServiceImpl;
+import io.assessment.banking.transaction.service.impl.TransactionServiceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for {@link TransactionRollupService} against an H2 database
+ *
+ * @author Nikhil Vibhav
+ */
+@DataJpaTest
+@Import({
+  AccountSummaryServiceImpl.class,
+  TransactionRollupServiceImpl.class,
+  TransactionServiceImpl.class
+})
+@TestPropertySource(
+    properties = {"transaction.rollup.lag-millis=0", "transaction.rollup.chunk-size=2"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TransactionRollupServiceTest extends AbstractTest {
+
+  @Autowired private TransactionRollupService rollupService;
+  @Autowired private TransactionService transactionService;
+  @Autowired private TransactionRepository transactionRepository;
+  @Autowired private TransactionRollupRepository rollupRepository;
+  @Autowired private RollupWatermarkRepository watermarkRepository;
+  @Autowired private AccountSummaryRepository accountSummaryRepository;
+
+  @AfterEach
+  public void tearDown() {
+    rollupRepository.deleteAll();
+    watermarkRepository.deleteAll();
+    accountSummaryRepository.deleteAll();
+    transactionRepository.deleteAll();
+  }
+
+  @Test
+  public void givenNewTransactions_WhenRollUpNewTransactions_ThenEachIsAddedOnceInChunks() {
+    // Given
+    transactionService.saveTransactions(
+        Arrays.asList(getTransaction(), getTransaction(), getDebit(2L, 250L)));
+
+    // When
+    final int first = rollupService.rollUpNewTransactions();
+    final int second = rollupService.rollUpNewTransactions();
+    final int third = rollupService.rollUpNewTransactions();
+
+    // Then
+    assertEquals(2, first);
+    assertEquals(1, second);
+    assertEquals(0, third);
+
+    final TransactionRollup account = today(RollupGranularity.DAY, 1L);
+    assertEquals(2000L, account.getCreditTotal());
+    assertEquals(2L, account.getCreditCount());
+    assertEquals(0L, account.getDebitCount());
+
+    final TransactionRollup allAccounts = today(RollupGranularity.MONTH, null);
+    assertEquals(2000L, allAccounts.getCreditTotal());
+    assertEquals(250L, allAccounts.getDebitTotal());
+    assertEquals(1L, allAccounts.getDebitCount());
+  }
+
+  @Test
+  public void givenRolledUpTransactionDeleted_WhenGetRollups_ThenItIsSubtracted()
+      throws Exception {
+    // Given
+    final List<Transaction> saved =
+        transactionService.saveTransactions(Arrays.asList(getTransaction(), getDebit(1L, 300L)));
+    rollupService.rollUpNewTransactions();
+
+    // When
+    transactionService.deleteTransaction(saved.get(1).getId());
+
+    // Then
+    final TransactionRollup account = today(RollupGranularity.DAY, 1L);
+    assertEquals(1000L, account.getCreditTotal());
+    assertEquals(0L, account.getDebitTotal());
+    assertEquals(0L, account.getDebitCount());
+  }
+
+  @Test
+  public void givenTransactionOlderThanWatermark_WhenSavedAndDeleted_ThenRollupsFollowIt()
+      throws Exception {
+    // Given
+    transactionService.saveTransaction(getTransaction());
+    rollupService.rollUpNewTransactions();
+    final Transaction backdated = getDebit(1L, 400L);
+    backdated.setDateTransacted(ZonedDateTime.now(ZoneOffset.UTC).minusDays(1));
+
+    // When
+    final Transaction saved = transactionService.saveTransaction(backdated);
+
+    // Then
+    final LocalDate yesterday = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+    final List<TransactionRollup> rollups =
+        rollupService.getRollups(RollupGranularity.DAY, 1L, yesterday, yesterday);
+    assertEquals(1, rollups.size());
+    assertEquals(400L, rollups.get(0).getDebitTotal());
+    assertEquals(1L, rollups.get(0).getDebitCount());
+    assertEquals(0, rollupService.rollUpNewTransactions());
+
+    // When
+    transactionService.deleteTransaction(saved.getId());
+
+    // Then
+    assertTrue(rollupService.getRollups(RollupGranularity.DAY, 1L, yesterday, yesterday).isEmpty());
+    assertEquals(1000L, today(RollupGranularity.DAY, 1L).getCreditTotal());
+  }
+
+  @Test
+  public void givenTransactionSavedAfterWatermarkPassedItsTime_WhenSaved_ThenItIsRolledUp()
+      throws Exception {
+    // Given
+    final Transaction slowTransaction = getTransaction();
+    Thread.sleep(5);
+    transactionService.saveTransaction(getTransaction());
+    rollupService.rollUpNewTransactions();
+
+    // When
+    transactionService.saveTransaction(slowTransaction);
+
+    // Then
+    assertEquals(0, rollupService.rollUpNewTransactions());
+    final TransactionRollup account = today(RollupGranularity.DAY, 1L);
+    assertEquals(2000L, account.getCreditTotal());
+    assertEquals(2L, account.getCreditCount());
+  }
+
+  @Test
+  public void givenHistory_WhenBackfill_ThenRollupsMatchTheIncrementalOnes() {
+    // Given
+    for (long accountId = 1; accountId <= 5; accountId++) {
+      final Transaction credit = getTransaction();
+      credit.setAccountId(accountId);
+      transactionService.saveTransactions(Arrays.asList(credit, getDebit(accountId, 10L)));
+    }
+    new TransactionRollupJob(rollupService).rollUp();
+    final TransactionRollup expected = today(RollupGranularity.DAY, null);
+
+    // When
+    final long backfilled = rollupService.backfill();
+
+    // Then
+    final TransactionRollup allAccounts = today(RollupGranularity.DAY, null);
+    assertEquals(10L, backfilled);
+    assertEquals(expected.getCreditTotal(), allAccounts.getCreditTotal());
+    assertEquals(expected.getDebitTotal(), allAccounts.getDebitTotal());
+    assertEquals(5L, allAccounts.getCreditCount());
+    assertEquals(5L, allAccounts.getDebitCount());
+    assertEquals(0, rollupService.rollUpNewTransactions());
+  }
+
+  private TransactionRollup today(final RollupGranularity granularity, final Long accountId) {
+    final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    final List<TransactionRollup> rollups =
+        rollupService.getRollups(granularity, accountId, today, today);
+    assertEquals(1, rollups.size());
+    return rollups.get(0);
+  }
+
+  private Transaction getDebit(final long accountId, final long amount) {
+    final Transaction transaction = getTransaction();
+    transaction.setAccountId(accountId);
+    transaction.setAmount(amount);
+    transaction.setType(TransactionType.DEBIT);
+    return transaction;
+  }
+}
@@ -1,26 +1,48 @@
 package io.assessment.banking.transaction.service;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import io.assessment.banking.transaction.AbstractTest;
+import io.assessment.banking.transaction.exception.TransactionNotFoundException;
 import io.assessment.banking.transaction.model.entity.Transaction;
+import io.assessment.banking.transaction.model.event.TransactionsDeletedEvent;
+import io.assessment.banking.transaction.model.event.TransactionsSavedEvent;
+import io.assessment.banking.transaction.model.vo.TransactionCursor;
 import io.assessment.banking.transaction.repository.TransactionRepository;
 import io.assessment.banking.transaction.service.impl.TransactionServiceImpl;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * JUnit tests for {@link TransactionService}
@@ -31,7 +53,25 @@ import static org.mockito.BDDMockito.willDoNothing;
 public class TransactionServiceTest extends AbstractTest {
 
   @Mock private TransactionRepository repository;
-  @InjectMocks private TransactionServiceImpl transactionService;
+  @Mock private EntityManager entityManager;
+  @Mock private AccountSummaryService accountSummaryService;
+  @Mock private TransactionRollupService rollupService;
+  @Mock private ApplicationEventPublisher eventPublisher;
+  @Mock private PlatformTransactionManager transactionManager;
+  private TransactionServiceImpl transactionService;
+
+  @BeforeEach
+  public void setUp() {
+    transactionService =
+        new TransactionServiceImpl(
+            repository,
+            entityManager,
+            accountSummaryService,
+            rollupService,
+            eventPublisher,
+            transactionManager,
+            2);
+  }
 
   @Test
   public void givenTransaction_WhenSaveTransaction_ThenSucceed() {
@@ -48,27 +88,171 @@ public class TransactionServiceTest extends AbstractTest {
     final Transaction savedTransaction = transactionService.saveTransaction(transaction);
     assertEquals(2L, savedTransaction.getId());
     assertEquals(transaction.getAccountId(), savedTransaction.getAccountId());
+    verify(accountSummaryService).createSummaries(List.of(1L));
+    verify(accountSummaryService).addTransactions(List.of(savedTransaction));
+    verify(rollupService).addTransactions(List.of(savedTransaction));
+    verify(eventPublisher).publishEvent(new TransactionsSavedEvent(List.of(savedTransaction)));
   }
 
   @Test
-  public void givenAccountId_WhenGetAllTransactionsByAccountId_ThenSucceed() {
-    given(repository.findAllByAccountId(1L))
-        .willAnswer(
-            invocation -> {
-              final Transaction transaction = getTransaction();
-              transaction.setId(1L);
-              return Collections.singletonList(transaction);
-            });
+  public void givenTransactions_WhenSaveTransactions_ThenReturnSavedInOrder() {
+    final Transaction first = getTransaction();
+    final Transaction second = getTransaction();
+    second.setAccountId(2L);
+
+    given(repository.saveAll(anyList())).willAnswer(invocation -> invocation.getArgument(0));
 
-    final List<Transaction> transactions = transactionService.findAllTransactionsByAccountId(1L);
-    assertTrue(transactions.size() > 0);
+    final List<Transaction> savedTransactions =
+        transactionService.saveTransactions(Arrays.asList(first, second));
+    assertEquals(2, savedTransactions.size());
+    assertEquals(1L, savedTransactions.get(0).getAccountId());
+    assertEquals(2L, savedTransactions.get(1).getAccountId());
+    verify(accountSummaryService).createSummaries(Set.of(1L, 2L));
+    verify(accountSummaryService).addTransactions(savedTransactions);
+    verify(rollupService).addTransactions(savedTransactions);
+    verify(eventPublisher).publishEvent(new TransactionsSavedEvent(savedTransactions));
+  }
+
+  @Test
+  public void givenAccountId_WhenFindTransactionsByAccountId_ThenSucceed() {
+    final Transaction transaction = getTransaction();
+    transaction.setId(1L);
+    given(
+            repository.findPageByAccountId(
+                eq(1L),
+                any(ZonedDateTime.class),
+                any(ZonedDateTime.class),
+                any(ZonedDateTime.class),
+                eq(0L),
+                eq(PageRequest.of(0, 10))))
+        .willReturn(new SliceImpl<>(Collections.singletonList(transaction)));
+
+    final Slice<Transaction> transactions =
+        transactionService.findTransactionsByAccountId(1L, null, null, null, 10);
+    assertEquals(1, transactions.getNumberOfElements());
+  }
+
+  @Test
+  public void givenCursor_WhenFindTransactionsByAccountId_ThenContinueAfterCursor() {
+    final ZonedDateTime from = ZonedDateTime.now().minusDays(1);
+    final TransactionCursor cursor = new TransactionCursor(ZonedDateTime.now(), 5L);
+    given(
+            repository.findPageByAccountId(
+                eq(1L),
+                eq(from),
+                any(ZonedDateTime.class),
+                eq(cursor.getDateTransacted()),
+                eq(5L),
+                eq(PageRequest.of(0, 10))))
+        .willReturn(new SliceImpl<>(Collections.emptyList()));
+
+    final Slice<Transaction> transactions =
+        transactionService.findTransactionsByAccountId(1L, from, null, cursor, 10);
+    assertFalse(transactions.hasNext());
+  }
+
+  @Test
+  public void givenAccountIds_WhenFindTransactionsByAccountIds_ThenFirstPageOfEachAccount() {
+    final Transaction transaction = getTransaction();
+    transaction.setId(1L);
+    given(
+            repository.findPageByAccountId(
+                anyLong(),
+                any(ZonedDateTime.class),
+                any(ZonedDateTime.class),
+                any(ZonedDateTime.class),
+                eq(0L),
+                eq(PageRequest.of(0, 10))))
+        .willReturn(new SliceImpl<>(Collections.emptyList()));
+    given(
+            repository.findPageByAccountId(
+                eq(1L),
+                any(ZonedDateTime.class),
+                any(ZonedDateTime.class),
+                any(ZonedDateTime.class),
+                eq(0L),
+                eq(PageRequest.of(0, 10))))
+        .willReturn(new SliceImpl<>(Collections.singletonList(transaction)));
+
+    final List<Transaction> transactions =
+        transactionService.findTransactionsByAccountIds(Arrays.asList(1L, 2L, 1L), 10);
+    assertEquals(Collections.singletonList(transaction), transactions);
+    verify(repository, times(2))
+        .findPageByAccountId(
+            anyLong(),
+            any(ZonedDateTime.class),
+            any(ZonedDateTime.class),
+            any(ZonedDateTime.class),
+            eq(0L),
+            eq(PageRequest.of(0, 10)));
+  }
+
+  @Test
+  public void givenAccountId_WhenExportTransactionsByAccountId_ThenConsumeAndDetachEach()
+      throws Exception {
+    final Transaction transaction1 = getTransaction();
+    final Transaction transaction2 = getTransaction();
+    transaction1.setId(1L);
+    transaction2.setId(2L);
+    given(repository.streamAllByAccountId(1L)).willReturn(Stream.of(transaction1, transaction2));
+
+    final List<Transaction> exported = new ArrayList<>();
+    final long count = transactionService.exportTransactionsByAccountId(1L, exported::add);
+
+    assertEquals(2, count);
+    assertEquals(Arrays.asList(transaction1, transaction2), exported);
+    verify(entityManager, times(2)).detach(any(Transaction.class));
   }
 
   @Test
   public void givenTransactionId_WhenDeleteTransaction_ThenSucceed() {
-    willDoNothing().given(repository).delete(any(Transaction.class));
-    given(repository.findById(1L)).willReturn(Optional.of(getTransaction()));
+    final Transaction transaction = getTransaction();
+    given(repository.findReadOnlyById(1L)).willReturn(Optional.of(transaction));
+    given(repository.deleteDirectlyById(1L)).willReturn(1);
 
     assertDoesNotThrow(() -> transactionService.deleteTransaction(1L));
+    verify(accountSummaryService).removeTransactions(List.of(transaction));
+    verify(rollupService).removeTransactions(List.of(transaction));
+    verify(eventPublisher).publishEvent(new TransactionsDeletedEvent(List.of(1L)));
+  }
+
+  @Test
+  public void givenConcurrentlyDeletedTransaction_WhenDeleteTransaction_ThenThrowNotFound() {
+    // Given
+    given(repository.findReadOnlyById(1L)).willReturn(Optional.of(getTransaction()));
+    given(repository.deleteDirectlyById(1L)).willReturn(0);
+
+    // When
+    assertThrows(
+        TransactionNotFoundException.class, () -> transactionService.deleteTransaction(1L));
+
+    // Then
+    verify(accountSummaryService, never()).removeTransactions(anyList());
+    verify(rollupService, never()).removeTransactions(anyList());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  public void givenAccountId_WhenDeleteTransactionsByAccountId_ThenDeleteInChunks() {
+    // Given
+    final List<Transaction> transactions = new ArrayList<>();
+    for (long id = 1; id <= 3; id++) {
+      final Transaction transaction = getTransaction();
+      transaction.setId(id);
+      transactions.add(transaction);
+    }
+    given(repository.findFirstByAccountIdForUpdate(1L, PageRequest.of(0, 2)))
+        .willReturn(transactions.subList(0, 2), transactions.subList(2, 3));
+
+    // When
+    final long deleted = transactionService.deleteTransactionsByAccountId(1L);
+
+    // Then
+    assertEquals(3L, deleted);
+    verify(repository).deleteDirectlyByIdIn(Arrays.asList(1L, 2L));
+    verify(repository).deleteDirectlyByIdIn(Collections.singletonList(3L));
+    verify(accountSummaryService).removeTransactions(transactions.subList(0, 2));
+    verify(rollupService).removeTransactions(transactions.subList(2, 3));
+    verify(transactionManager, times(2)).commit(any());
   }
 }
@@ -0,0 +1,62 @@
+package io.assessment.banking.transaction.service.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * JUnit tests for {@link IdempotencyKeyIndex}
+ *
+ * @author Nikhil Vibhav
+ */
+public class IdempotencyKeyIndexTest {
+
+  @Test
+  public void givenSavedKey_WhenFind_ThenReturnTransactionId() {
+    // Given
+    final IdempotencyKeyIndex index = new IdempotencyKeyIndex(3600, 1000);
+    index.put("key-1", 5L);
+
+    // When
+    final Long id = index.find("key-1");
+
+    // Then
+    assertEquals(5L, id);
+    assertNull(index.find("key-2"));
+  }
+
+  @Test
+  public void givenManyKeys_WhenFind_ThenEveryKeyIsFound() {
+    // Given
+    final IdempotencyKeyIndex index = new IdempotencyKeyIndex(3600, 100_000);
+    for (long id = 0; id < 10_000; id++) {
+      index.put("account-outbox-" + id, id);
+    }
+
+    // Then
+    for (long id = 0; id < 10_000; id++) {
+      assertEquals(id, index.find("account-outbox-" + id));
+    }
+  }
+
+  @Test
+  public void givenFullGenerations_WhenFind_ThenOnlyTheLastTwoGenerationsAreKept() {
+    // Given - each generation holds 2 keys
+    final IdempotencyKeyIndex index = new IdempotencyKeyIndex(3600, 4);
+    index.put("key-1", 1L);
+    index.put("key-2", 2L);
+    index.put("key-3", 3L);
+
+    // When
+    final Long previousGeneration = index.find("key-1");
+    index.put("key-4", 4L);
+    index.put("key-5", 5L);
+
+    // Then
+    assertEquals(1L, previousGeneration);
+    assertNull(index.find("key-1"));
+    assertEquals(3L, index.find("key-3"));
+    assertEquals(5L, index.find("key-5"));
+  }
+}
@@ -0,0 +1,281 @@
+package io.assessment.banking.transaction.storage;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.assessment.banking.transaction.AbstractTest;
+import io.assessment.banking.transaction.constant.TransactionType;
+import io.assessment.banking.transaction.model.entity.AccountSummary;
+import io.assessment.banking.transaction.model.entity.Transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for {@link TransactionLog}, with segments of 3 records so that the tests cross
+ * segment boundaries
+ *
+ * @author Nikhil Vibhav
+ */
+public class TransactionLogTest extends AbstractTest {
+
+  private static final int SEGMENT_RECORDS = 3;
+
+  @TempDir Path directory;
+
+  private TransactionLog transactionLog;
+
+  @BeforeEach
+  public void setUp() {
+    transactionLog = open();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    transactionLog.close();
+  }
+
+  @Test
+  public void givenAppendedTransactions_WhenFindAllByAccountId_ThenOnlyThoseOfTheAccountInOrder() {
+    // Given
+    final List<Transaction> appended = new ArrayList<>();
+    for (long i = 0; i < 8; i++) {
+      final Transaction transaction = getTransaction();
+      transaction.setAccountId(1L + i % 2);
+      transaction.setAmount(100L * i);
+      appended.add(transactionLog.append(transaction));
+    }
+
+    // When
+    final List<Transaction> transactions = transactionLog.findAllByAccountId(2L);
+
+    // Then
+    assertEquals(Arrays.asList(2L, 4L, 6L, 8L), ids(transactions));
+    assertEquals(300L, transactions.get(1).getAmount());
+    assertEquals(TransactionType.CREDIT, transactions.get(1).getType());
+    assertTrue(
+        transactions.get(1).getDateTransacted().isEqual(appended.get(3).getDateTransacted()));
+  }
+
+  @Test
+  public void givenReopenedLog_WhenAppend_ThenTransactionsAreRecoveredAndIdsContinue() {
+    // Given
+    transactionLog.appendAll(Arrays.asList(getTransaction(), getTransaction(), getTransaction()));
+    transactionLog.append(getTransaction());
+    transactionLog.close();
+
+    // When
+    transactionLog = open();
+    final Transaction appended = transactionLog.append(getTransaction());
+
+    // Then
+    assertEquals(5L, appended.getId());
+    assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), ids(transactionLog.findAllByAccountId(1L)));
+  }
+
+  @Test
+  public void givenTornLastRecord_WhenReopened_ThenTheIncompleteRecordIsDiscarded()
+      throws Exception {
+    // Given
+    transactionLog.appendAll(Arrays.asList(getTransaction(), getTransaction()));
+    transactionLog.close();
+    try (final RandomAccessFile segment =
+        new RandomAccessFile(directory.resolve("0000000000.log").toFile(), "rw")) {
+      segment.seek(LogSegment.RECORD_SIZE + 16);
+      segment.writeLong(123L);
+    }
+
+    // When
+    transactionLog = open();
+    final Transaction appended = transactionLog.append(getTransaction());
+
+    // Then
+    assertEquals(2L, appended.getId());
+    assertEquals(2L, transactionLog.size());
+    assertEquals(1000L, transactionLog.findAllByAccountId(1L).get(1).getAmount());
+  }
+
+  @Test
+  public void givenCorruptRecordBeforeWrittenOnes_WhenReopened_ThenOpeningFails()
+      throws Exception {
+    // Given
+    transactionLog.appendAll(Arrays.asList(getTransaction(), getTransaction(), getTransaction()));
+    transactionLog.close();
+    try (final RandomAccessFile segment =
+        new RandomAccessFile(directory.resolve("0000000000.log").toFile(), "rw")) {
+      segment.seek(LogSegment.RECORD_SIZE + 16);
+      segment.writeLong(123L);
+    }
+
+    // When
+    final IllegalStateException exception =
+        assertThrows(IllegalStateException.class, this::open);
+
+    // Then
+    assertTrue(exception.getMessage().contains("corrupt at record 1"));
+    try (final RandomAccessFile segment =
+        new RandomAccessFile(directory.resolve("0000000000.log").toFile(), "r")) {
+      segment.seek(2L * LogSegment.RECORD_SIZE);
+      assertEquals(3L, segment.readLong());
+    }
+  }
+
+  @Test
+  public void givenDeletedTransactions_WhenReopened_ThenTheyStayDeleted() {
+    // Given
+    final Transaction otherAccount = getTransaction();
+    otherAccount.setAccountId(2L);
+    transactionLog.appendAll(
+        Arrays.asList(getTransaction(), otherAccount, getTransaction(), getTransaction()));
+
+    // When
+    assertTrue(transactionLog.delete(3L));
+    assertFalse(transactionLog.delete(3L));
+    assertEquals(1L, transactionLog.deleteAllByAccountId(2L));
+    transactionLog.close();
+    transactionLog = open();
+
+    // Then
+    assertEquals(Arrays.asList(1L, 4L), ids(transactionLog.findAllByAccountId(1L)));
+    assertTrue(transactionLog.findAllByAccountId(2L).isEmpty());
+    assertEquals(4L, transactionLog.size());
+  }
+
+  @Test
+  public void givenCreditsDebitsAndDeletes_WhenSummarize_ThenOnlyLiveTransactionsAreCounted() {
+    // Given
+    final Transaction debit = getTransaction();
+    debit.setAmount(300L);
+    debit.setType(TransactionType.DEBIT);
+    final Transaction otherAccount = getTransaction();
+    otherAccount.setAccountId(2L);
+    final List<Transaction> saved =
+        transactionLog.appendAll(
+            Arrays.asList(getTransaction(), debit, otherAccount, getTransaction()));
+    transactionLog.delete(4L);
+
+    // When
+    final AccountSummary summary = transactionLog.summarize(1L).orElseThrow();
+
+    // Then
+    assertEquals(1000L, summary.getCreditTotal());
+    assertEquals(300L, summary.getDebitTotal());
+    assertEquals(2L, summary.getTransactionCount());
+    assertEquals(saved.get(0).getDateTransacted(), summary.getFirstTransacted());
+    assertEquals(saved.get(1).getDateTransacted(), summary.getLastTransacted());
+    assertTrue(transactionLog.summarize(3L).isEmpty());
+  }
+
+  @Test
+  public void givenCursorAndTimeRange_WhenFind_ThenOnlyLaterTransactionsInRange() {
+    // Given
+    transactionLog.appendAll(
+        Arrays.asList(getTransaction(), getTransaction(), getTransaction(), getTransaction()));
+    final ZonedDateTime now = ZonedDateTime.now();
+
+    // When
+    final List<Transaction> afterCursor = transactionLog.find(1L, null, null, 1L, null, 2);
+    final List<Transaction> evenIds =
+        transactionLog.find(
+            null,
+            now.minusHours(1),
+            now.plusHours(1),
+            0L,
+            transaction -> transaction.getId() % 2 == 0,
+            10);
+    final List<Transaction> future =
+        transactionLog.find(null, now.plusHours(1), null, 0L, null, 10);
+
+    // Then
+    assertEquals(Arrays.asList(2L, 3L), ids(afterCursor));
+    assertEquals(Arrays.asList(2L, 4L), ids(evenIds));
+    assertTrue(future.isEmpty());
+  }
+
+  @Test
+  public void givenIdempotencyKeyAppendedBefore_WhenAppendAll_ThenOriginalIsReturned() {
+    // Given
+    final Transaction original = getTransaction();
+    original.setIdempotencyKey("account-outbox-1");
+    transactionLog.append(original);
+    final Transaction retried = getTransaction();
+    retried.setIdempotencyKey("account-outbox-1");
+    retried.setAmount(5000L);
+    final Transaction duplicated = getTransaction();
+    duplicated.setIdempotencyKey("account-outbox-2");
+    final Transaction duplicate = getTransaction();
+    duplicate.setIdempotencyKey("account-outbox-2");
+
+    // When
+    final List<Transaction> saved =
+        transactionLog.appendAll(Arrays.asList(retried, duplicated, duplicate, getTransaction()));
+
+    // Then
+    assertEquals(Arrays.asList(1L, 2L, 2L, 3L), ids(saved));
+    assertEquals(1000L, saved.get(0).getAmount());
+    assertEquals("account-outbox-1", saved.get(0).getIdempotencyKey());
+    assertEquals(3L, transactionLog.size());
+  }
+
+  @Test
+  public void givenReopenedLog_WhenAppendWithKnownIdempotencyKey_ThenNothingIsAppended()
+      throws Exception {
+    // Given
+    final Transaction original = getTransaction();
+    original.setIdempotencyKey("account-outbox-1");
+    transactionLog.appendAll(Arrays.asList(original, getTransaction()));
+    transactionLog.close();
+    try (final RandomAccessFile keys =
+        new RandomAccessFile(directory.resolve("idempotency-keys.idx").toFile(), "rw")) {
+      keys.seek(keys.length());
+      keys.writeLong(3L);
+    }
+
+    // When
+    transactionLog = open();
+    final Transaction retried = getTransaction();
+    retried.setIdempotencyKey("account-outbox-1");
+    final Transaction appended = transactionLog.append(retried);
+
+    // Then
+    assertEquals(1L, appended.getId());
+    assertEquals(2L, transactionLog.size());
+  }
+
+  @Test
+  public void givenDeletedOriginal_WhenAppendWithItsIdempotencyKey_ThenTransactionIsAppended() {
+    // Given
+    final Transaction original = getTransaction();
+    original.setIdempotencyKey("account-outbox-1");
+    transactionLog.append(original);
+    transactionLog.delete(1L);
+    final Transaction retried = getTransaction();
+    retried.setIdempotencyKey("account-outbox-1");
+
+    // When
+    final Transaction appended = transactionLog.append(retried);
+
+    // Then
+    assertEquals(2L, appended.getId());
+  }
+
+  private TransactionLog open() {
+    return new TransactionLog(directory.toString(), SEGMENT_RECORDS, false);
+  }
+
+  private static List<Long> ids(final List<Transaction> transactions) {
+    return transactions.stream().map(Transaction::getId).collect(Collectors.toList());
+  }
+}